@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.labels.ClusterLabelFactory;
+import io.stackgres.common.labels.ClusterLabelMapper;
+import io.stackgres.operator.conciliation.AbstractDeployedResourcesScanner;
+import io.stackgres.operator.conciliation.DeployedResourcesCache;
+import io.stackgres.operator.conciliation.DeployedResourcesSnapshot;
+import io.stackgres.operator.conciliation.cluster.ClusterConciliator;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import io.stackgres.testutil.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of {@link ClusterConciliator#evalReconciliationState(StackGresCluster)} for all the
+ * SGClusters managed by the operator. Required resources are taken from the fixtures and deployed
+ * resources are served by the {@link DeployedResourcesCache} without calling the Kubernetes API.
+ * The check that forces the StatefulSet reconciliation is disabled since it writes patronictl
+ * configuration files.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClusterConciliatorBenchmark {
+
+  @Param({"1", "100", "1000"})
+  int clusters;
+
+  List<ClusterResources> clustersResources;
+
+  ClusterConciliator conciliator;
+
+  @Setup
+  public void setup() {
+    clustersResources = ClusterResources.createClusters(clusters);
+    final Map<String, ClusterResources> clustersResourcesByName = clustersResources.stream()
+        .collect(Collectors.toMap(
+            clusterResources -> clusterResources.cluster().getMetadata().getName(),
+            Function.identity()));
+    final DeployedResourcesCache deployedResourcesCache = new DeployedResourcesCache(
+        new OperatorPropertyContext(), JsonUtil.jsonMapper());
+    conciliator = new ClusterConciliator(
+        null,
+        (name, namespace) -> Optional.ofNullable(clustersResourcesByName.get(name))
+            .map(ClusterResources::cluster),
+        cluster -> clustersResourcesByName.get(cluster.getMetadata().getName()).required(),
+        new AbstractDeployedResourcesScanner<StackGresCluster>(deployedResourcesCache) {
+          @Override
+          public DeployedResourcesSnapshot getDeployedResources(
+              StackGresCluster config, List<HasMetadata> requiredResources) {
+            final List<HasMetadata> deployed =
+                clustersResourcesByName.get(config.getMetadata().getName()).deployed();
+            return deployedResourcesCache.createDeployedResourcesSnapshot(config, deployed, deployed);
+          }
+
+          @Override
+          protected KubernetesClient getClient() {
+            return null;
+          }
+        },
+        deployedResourcesCache,
+        new ClusterLabelFactory(new ClusterLabelMapper()),
+        null) {
+      @Override
+      protected boolean forceChange(HasMetadata requiredResource, StackGresCluster config) {
+        return false;
+      }
+    };
+    for (ClusterResources clusterResources : clustersResources) {
+      for (int index = 0; index < clusterResources.required().size(); index++) {
+        deployedResourcesCache.put(
+            clusterResources.required().get(index),
+            clusterResources.deployed().get(index));
+      }
+    }
+  }
+
+  @Benchmark
+  public void evalReconciliationState(Blackhole blackhole) {
+    for (ClusterResources clusterResources : clustersResources) {
+      blackhole.consume(conciliator.evalReconciliationState(clusterResources.cluster()));
+    }
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.fixture.Fixtures;
+import io.stackgres.operatorframework.resource.ResourceUtil;
+import io.stackgres.testutil.JsonUtil;
+
+/**
+ * A SGCluster together with the required resources generated for it and the resources found
+ * deployed in Kubernetes, built from the test fixtures.
+ */
+public record ClusterResources(
+    StackGresCluster cluster,
+    List<HasMetadata> required,
+    List<HasMetadata> deployed) {
+
+  public static List<ClusterResources> createClusters(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(ClusterResources::createCluster)
+        .toList();
+  }
+
+  public static ClusterResources createCluster(int index) {
+    final StackGresCluster cluster = Fixtures.cluster().loadDefault().get();
+    cluster.getMetadata().setName(String.format("cluster-%04d", index));
+    cluster.getMetadata().setUid(UUID.randomUUID().toString());
+    cluster.getMetadata().setResourceVersion("1");
+    final List<HasMetadata> required = List.of(
+        Fixtures.statefulSet().loadRequired().get(),
+        Fixtures.service().loadRequired().get(),
+        Fixtures.endpoints().loadRequired().get(),
+        Fixtures.cronJob().loadRequired().get(),
+        Fixtures.secret().loadPatroni().get());
+    final List<HasMetadata> deployed = List.of(
+        Fixtures.statefulSet().loadDeployed().get(),
+        Fixtures.service().loadDeployed().get(),
+        Fixtures.endpoints().loadDeployed().get(),
+        Fixtures.cronJob().loadDeployed().get(),
+        JsonUtil.copy(Fixtures.secret().loadPatroni().get()));
+    required.forEach(resource -> {
+      setOwner(cluster, resource);
+      resource.getMetadata().setManagedFields(null);
+    });
+    deployed.forEach(resource -> {
+      setOwner(cluster, resource);
+      resource.getMetadata().setUid(UUID.randomUUID().toString());
+      resource.getMetadata().setResourceVersion("1");
+    });
+    return new ClusterResources(cluster, required, deployed);
+  }
+
+  private static void setOwner(StackGresCluster cluster, HasMetadata resource) {
+    resource.getMetadata().setNamespace(cluster.getMetadata().getNamespace());
+    resource.getMetadata().setName(cluster.getMetadata().getName());
+    resource.getMetadata().setOwnerReferences(
+        List.of(ResourceUtil.getControllerOwnerReference(cluster)));
+  }
+
+}
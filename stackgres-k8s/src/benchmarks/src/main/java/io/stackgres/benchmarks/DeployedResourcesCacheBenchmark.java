@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.stackgres.operator.conciliation.DeployedResourcesCache;
+import io.stackgres.operator.conciliation.DeployedResourcesSnapshot;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import io.stackgres.testutil.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of building the deployed resources snapshot and of detecting changes of the deployed
+ * resources for all the SGClusters managed by the operator.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeployedResourcesCacheBenchmark {
+
+  @Param({"1", "100", "1000"})
+  int clusters;
+
+  List<ClusterResources> clustersResources;
+
+  DeployedResourcesCache deployedResourcesCache;
+
+  List<DeployedResourcesSnapshot> snapshots;
+
+  @Setup
+  public void setup() {
+    clustersResources = ClusterResources.createClusters(clusters);
+    deployedResourcesCache = new DeployedResourcesCache(
+        new OperatorPropertyContext(), JsonUtil.jsonMapper());
+    for (ClusterResources clusterResources : clustersResources) {
+      for (int index = 0; index < clusterResources.required().size(); index++) {
+        deployedResourcesCache.put(
+            clusterResources.required().get(index),
+            clusterResources.deployed().get(index));
+      }
+    }
+    snapshots = clustersResources.stream()
+        .map(clusterResources -> deployedResourcesCache.createDeployedResourcesSnapshot(
+            clusterResources.cluster(), clusterResources.deployed(), clusterResources.deployed()))
+        .toList();
+  }
+
+  @Benchmark
+  public void createDeployedResourcesSnapshot(Blackhole blackhole) {
+    for (ClusterResources clusterResources : clustersResources) {
+      blackhole.consume(deployedResourcesCache.createDeployedResourcesSnapshot(
+          clusterResources.cluster(), clusterResources.deployed(), clusterResources.deployed()));
+    }
+  }
+
+  @Benchmark
+  public void isDeployedChanged(Blackhole blackhole) {
+    for (int index = 0; index < clusters; index++) {
+      final DeployedResourcesSnapshot snapshot = snapshots.get(index);
+      for (HasMetadata required : clustersResources.get(index).required()) {
+        blackhole.consume(snapshot.isDeployedChanged(snapshot.get(required)));
+      }
+    }
+  }
+
+}
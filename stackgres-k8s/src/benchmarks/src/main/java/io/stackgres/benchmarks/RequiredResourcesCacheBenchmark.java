@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.common.crd.sgpgconfig.StackGresPostgresConfig;
+import io.stackgres.common.crd.sgprofile.StackGresProfile;
+import io.stackgres.common.fixture.Fixtures;
+import io.stackgres.operator.conciliation.RequiredResourcesCache;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import io.stackgres.testutil.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of the {@link RequiredResourcesCache} used by the SGCluster required resources generator:
+ * the fingerprint of the generation inputs and the copy of the cached required resources returned
+ * when the fingerprint did not change.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequiredResourcesCacheBenchmark {
+
+  @Param({"1", "100", "1000"})
+  int clusters;
+
+  List<ClusterResources> clustersResources;
+
+  RequiredResourcesCache requiredResourcesCache;
+
+  StackGresPostgresConfig postgresConfig;
+
+  StackGresProfile profile;
+
+  Secret secret;
+
+  @Setup
+  public void setup() {
+    clustersResources = ClusterResources.createClusters(clusters);
+    requiredResourcesCache = new RequiredResourcesCache(
+        new OperatorPropertyContext(), JsonUtil.jsonMapper());
+    requiredResourcesCache.setMeterRegistry(new SimpleMeterRegistry());
+    postgresConfig = Fixtures.postgresConfig().loadDefault().get();
+    postgresConfig.getMetadata().setResourceVersion("1");
+    profile = Fixtures.instanceProfile().loadSizeM().get();
+    profile.getMetadata().setResourceVersion("1");
+    secret = Fixtures.secret().loadMinio().get();
+    secret.getMetadata().setResourceVersion("1");
+    clustersResources.forEach(this::get);
+  }
+
+  @Benchmark
+  public void fingerprint(Blackhole blackhole) {
+    for (ClusterResources clusterResources : clustersResources) {
+      blackhole.consume(fingerprint(clusterResources));
+    }
+  }
+
+  @Benchmark
+  public void cacheHit(Blackhole blackhole) {
+    for (ClusterResources clusterResources : clustersResources) {
+      blackhole.consume(get(clusterResources));
+    }
+  }
+
+  private Object get(ClusterResources clusterResources) {
+    return requiredResourcesCache.get(
+        clusterResources.cluster(),
+        fingerprint(clusterResources),
+        clusterResources::required);
+  }
+
+  private RequiredResourcesCache.Fingerprint fingerprint(ClusterResources clusterResources) {
+    return requiredResourcesCache.fingerprint()
+        .add(clusterResources.cluster())
+        .add(postgresConfig)
+        .add(profile)
+        .add(Map.of(secret.getMetadata().getName(), secret));
+  }
+
+}
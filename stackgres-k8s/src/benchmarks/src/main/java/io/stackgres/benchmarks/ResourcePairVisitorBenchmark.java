@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.stackgres.operatorframework.resource.visitor.ResourcePairVisitor;
+import io.stackgres.testutil.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of comparing and updating each required resource with the deployed one for all the
+ * SGClusters managed by the operator. The update is applied to copies of the deployed resources so
+ * that the comparison is always done against the original deployed resources.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourcePairVisitorBenchmark {
+
+  @Param({"1", "100", "1000"})
+  int clusters;
+
+  List<ClusterResources> clustersResources;
+
+  List<List<HasMetadata>> toUpdate;
+
+  @Setup
+  public void setup() {
+    clustersResources = ClusterResources.createClusters(clusters);
+    toUpdate = clustersResources.stream()
+        .map(ClusterResources::deployed)
+        .map(deployed -> deployed.stream().map(JsonUtil::copy).toList())
+        .toList();
+  }
+
+  @Benchmark
+  public void equals(Blackhole blackhole) {
+    for (ClusterResources clusterResources : clustersResources) {
+      for (int index = 0; index < clusterResources.required().size(); index++) {
+        blackhole.consume(ResourcePairVisitor.equals(
+            clusterResources.deployed().get(index),
+            clusterResources.required().get(index)));
+      }
+    }
+  }
+
+  @Benchmark
+  public void update(Blackhole blackhole) {
+    for (int clusterIndex = 0; clusterIndex < clusters; clusterIndex++) {
+      final List<HasMetadata> required = clustersResources.get(clusterIndex).required();
+      final List<HasMetadata> deployed = toUpdate.get(clusterIndex);
+      for (int index = 0; index < required.size(); index++) {
+        blackhole.consume(ResourcePairVisitor.update(
+            deployed.get(index),
+            required.get(index)));
+      }
+    }
+  }
+
+}
@@ -6,6 +6,7 @@
 package io.stackgres.cluster.app;
 
 import io.stackgres.cluster.controller.PatroniExternalCdsControllerReconciliationCycle;
+import io.stackgres.cluster.controller.PatroniLeaderWatcher;
 import io.stackgres.common.OperatorProperty;
 import io.stackgres.common.app.AbstractReconciliationClock;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -15,12 +16,31 @@ import jakarta.inject.Inject;
 public class PatroniExternalCdsReconciliationClock extends AbstractReconciliationClock {
 
   private final PatroniExternalCdsControllerReconciliationCycle patroniReconciliationCycle;
+  private final PatroniLeaderWatcher patroniLeaderWatcher;
 
   @Inject
   public PatroniExternalCdsReconciliationClock(
-      PatroniExternalCdsControllerReconciliationCycle patroniReconciliationCycle) {
+      PatroniExternalCdsControllerReconciliationCycle patroniReconciliationCycle,
+      PatroniLeaderWatcher patroniLeaderWatcher) {
     super("PatroniReconciliationScheduler");
     this.patroniReconciliationCycle = patroniReconciliationCycle;
+    this.patroniLeaderWatcher = patroniLeaderWatcher;
+  }
+
+  /**
+   * Reconcile as soon as the Patroni leader changes. The periodic reconciliation is kept as a
+   * safety net for changes the watcher can not observe.
+   */
+  @Override
+  public void start() {
+    super.start();
+    patroniLeaderWatcher.start(patroniReconciliationCycle::reconcileAll);
+  }
+
+  @Override
+  public void stop() {
+    patroniLeaderWatcher.stop();
+    super.stop();
   }
 
   @Override
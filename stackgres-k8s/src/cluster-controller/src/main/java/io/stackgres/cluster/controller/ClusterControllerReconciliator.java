@@ -5,12 +5,22 @@
 
 package io.stackgres.cluster.controller;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.stackgres.cluster.common.StackGresClusterContext;
 import io.stackgres.cluster.configuration.ClusterControllerPropertyContext;
 import io.stackgres.common.CdiUtil;
@@ -22,15 +32,26 @@ import io.stackgres.common.kubernetesclient.KubernetesClientUtil;
 import io.stackgres.common.resource.CustomResourceScheduler;
 import io.stackgres.operatorframework.reconciliation.ReconciliationResult;
 import io.stackgres.operatorframework.reconciliation.Reconciliator;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import org.jooq.lambda.tuple.Tuple;
 
+/**
+ * Run the reconciliators of the cluster controller. Each reconciliator declares the
+ * reconciliators it depends on and runs, on a small executor, as soon as they completed so that
+ * independent reconciliators, like the one of PgBouncer and the one that downloads the
+ * extensions, run concurrently. Patroni labels and endpoints are reconciled by their own faster
+ * loop (see {@link PatroniExternalCdsControllerReconciliator}).
+ */
 @ApplicationScoped
 public class ClusterControllerReconciliator
     extends Reconciliator<StackGresClusterContext> {
 
+  private static final String RECONCILIATION_DURATION_METRIC =
+      "stackgres_cluster_controller_reconciliation_duration";
+
   private final CustomResourceScheduler<StackGresCluster> clusterScheduler;
   private final ClusterControllerPostgresBootstrapReconciliator postgresBootstrapReconciliator;
   private final ClusterExtensionReconciliator extensionReconciliator;
@@ -45,6 +66,10 @@ public class ClusterControllerReconciliator
   private final PatroniBackupFailoverRestartReconciliator patroniBackupFailoverRestartReconciliator;
   private final ClusterControllerPropertyContext propertyContext;
   private final String podName;
+  private final ExecutorService executorService;
+  private MeterRegistry registry = Metrics.globalRegistry;
+  private final Map<ReconciliationDurationKey, Timer> reconciliationDurationTimers =
+      new ConcurrentHashMap<>();
 
   @Inject
   public ClusterControllerReconciliator(Parameters parameters) {
@@ -63,6 +88,11 @@ public class ClusterControllerReconciliator
     this.propertyContext = parameters.propertyContext;
     this.podName = parameters.propertyContext
         .getString(ClusterControllerProperty.CLUSTER_CONTROLLER_POD_NAME);
+    this.executorService = Executors.newFixedThreadPool(
+        ClusterControllerProperty.CLUSTER_CONTROLLER_RECONCILIATION_PARALLELISM.get()
+            .map(Integer::parseInt)
+            .orElse(4),
+        r -> new Thread(r, "ClusterControllerReconciliator"));
   }
 
   public ClusterControllerReconciliator() {
@@ -82,6 +112,19 @@ public class ClusterControllerReconciliator
     this.patroniBackupFailoverRestartReconciliator = null;
     this.propertyContext = null;
     this.podName = null;
+    this.executorService = null;
+  }
+
+  @Inject
+  public void setMeterRegistry(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (executorService != null) {
+      executorService.shutdown();
+    }
   }
 
   @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION",
@@ -110,26 +153,46 @@ public class ClusterControllerReconciliator
       cluster.getStatus().getPodStatuses().add(podStatus);
     }
 
-    ReconciliationResult<Boolean> postgresBootstrapReconciliatorResult =
-        postgresBootstrapReconciliator.reconcile(client, context);
-    ReconciliationResult<Boolean> extensionReconciliationResult =
-        extensionReconciliator.reconcile(client, context);
-    ReconciliationResult<Void> pgbouncerReconciliationResult =
-        pgbouncerReconciliator.reconcile(client, context);
-    ReconciliationResult<Boolean> patroniReconciliationResult =
-        patroniReconciliator.reconcile(client, context);
-    ReconciliationResult<Boolean> managedSqlReconciliationResult =
-        managedSqlReconciliator.reconcile(client, context);
-    ReconciliationResult<Void> postgresSslReconciliationResult =
-        postgresSslReconciliator.reconcile(client, context);
-    ReconciliationResult<Void> patroniStandbyReconciliatorResult =
-        patroniStandbyReconciliator.reconcile(client, context);
-    ReconciliationResult<Void> patroniConfigReconciliationResult =
-        patroniConfigReconciliator.reconcile(client, context);
+    var postgresBootstrap = reconcile("postgres-bootstrap",
+        () -> postgresBootstrapReconciliator.reconcile(client, context));
+    var extension = reconcile("extension",
+        () -> extensionReconciliator.reconcile(client, context),
+        postgresBootstrap);
+    var pgbouncer = reconcile("pgbouncer",
+        () -> pgbouncerReconciliator.reconcile(client, context));
+    var patroni = reconcile("patroni",
+        () -> patroniReconciliator.reconcile(client, context));
+    var managedSql = reconcile("managed-sql",
+        () -> managedSqlReconciliator.reconcile(client, context),
+        postgresBootstrap, extension);
+    var postgresSsl = reconcile("postgres-ssl",
+        () -> postgresSslReconciliator.reconcile(client, context));
+    var patroniStandby = reconcile("patroni-standby",
+        () -> patroniStandbyReconciliator.reconcile(client, context),
+        postgresBootstrap);
+    var patroniConfig = reconcile("patroni-config",
+        () -> patroniConfigReconciliator.reconcile(client, context));
+    var patroniMajorVersionUpgrade = reconcile("patroni-major-version-upgrade",
+        () -> patroniMajorVersionUpgradeReconciliator.reconcile(client, context),
+        postgresBootstrap, patroniStandby, patroniConfig);
+    var patroniBackupFailoverRestart = reconcile("patroni-backup-failover-restart",
+        () -> patroniBackupFailoverRestartReconciliator.reconcile(client, context),
+        postgresBootstrap);
+
+    join(postgresBootstrap, extension, pgbouncer, patroni, managedSql, postgresSsl,
+        patroniStandby, patroniConfig, patroniMajorVersionUpgrade, patroniBackupFailoverRestart);
+    ReconciliationResult<Boolean> postgresBootstrapReconciliatorResult = postgresBootstrap.join();
+    ReconciliationResult<Boolean> extensionReconciliationResult = extension.join();
+    ReconciliationResult<Void> pgbouncerReconciliationResult = pgbouncer.join();
+    ReconciliationResult<Boolean> patroniReconciliationResult = patroni.join();
+    ReconciliationResult<Boolean> managedSqlReconciliationResult = managedSql.join();
+    ReconciliationResult<Void> postgresSslReconciliationResult = postgresSsl.join();
+    ReconciliationResult<Void> patroniStandbyReconciliatorResult = patroniStandby.join();
+    ReconciliationResult<Void> patroniConfigReconciliationResult = patroniConfig.join();
     ReconciliationResult<Void> patroniMajorVersionUpgradeReconciliatorResult =
-        patroniMajorVersionUpgradeReconciliator.reconcile(client, context);
+        patroniMajorVersionUpgrade.join();
     ReconciliationResult<Void> patroniBackupFailoverRestartReconciliatorResult =
-        patroniBackupFailoverRestartReconciliator.reconcile(client, context);
+        patroniBackupFailoverRestart.join();
 
     if (podStatusMissing
         || postgresBootstrapReconciliatorResult.result().orElse(false)
@@ -157,7 +220,8 @@ public class ClusterControllerReconciliator
           }));
     }
 
-    var pvcSizeReconciliatorResult = pvcSizeReconciliator.reconcile(client, propertyContext);
+    var pvcSizeReconciliatorResult = timed("persistent-volume-size",
+        () -> pvcSizeReconciliator.reconcile(client, propertyContext));
 
     return postgresBootstrapReconciliatorResult
         .join(extensionReconciliationResult)
@@ -172,6 +236,81 @@ public class ClusterControllerReconciliator
         .join(pvcSizeReconciliatorResult);
   }
 
+  /**
+   * Run the reconciliation on the executor after the reconciliations it depends on completed. If
+   * any of those failed with an exception the reconciliation is not run and fails with the same
+   * exception.
+   */
+  private <R> CompletableFuture<ReconciliationResult<R>> reconcile(
+      String name,
+      ReconciliationCall<R> reconciliation,
+      CompletableFuture<?>... dependencies) {
+    return CompletableFuture.allOf(dependencies)
+        .thenApplyAsync(ignored -> {
+          try {
+            return timed(name, reconciliation);
+          } catch (RuntimeException ex) {
+            throw ex;
+          } catch (Exception ex) {
+            throw new CompletionException(ex);
+          }
+        }, executorService);
+  }
+
+  /**
+   * Wait for all the reconciliations to complete and throw the exception of the first one that
+   * failed, with the exceptions of the others that failed as suppressed.
+   */
+  private void join(CompletableFuture<?>... reconciliations) throws Exception {
+    Exception exception = null;
+    for (CompletableFuture<?> reconciliation : reconciliations) {
+      try {
+        reconciliation.join();
+      } catch (CompletionException ex) {
+        final Exception cause = ex.getCause() instanceof Exception causeEx ? causeEx : ex;
+        if (exception == null) {
+          exception = cause;
+        } else if (exception != cause) {
+          exception.addSuppressed(cause);
+        }
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  private <R> ReconciliationResult<R> timed(
+      String name,
+      ReconciliationCall<R> reconciliation) throws Exception {
+    final long start = System.nanoTime();
+    String result = "failure";
+    try {
+      ReconciliationResult<R> reconciliationResult = reconciliation.reconcile();
+      if (reconciliationResult.success()) {
+        result = "success";
+      }
+      return reconciliationResult;
+    } finally {
+      reconciliationDurationTimers.computeIfAbsent(
+          new ReconciliationDurationKey(name, result), key -> Timer
+              .builder(RECONCILIATION_DURATION_METRIC)
+              .description("Time spent by the reconciliators of the cluster controller")
+              .tag("reconciliator", key.reconciliator())
+              .tag("result", key.result())
+              .register(registry))
+          .record(Duration.ofNanos(System.nanoTime() - start));
+    }
+  }
+
+  @FunctionalInterface
+  private interface ReconciliationCall<R> {
+    ReconciliationResult<R> reconcile() throws Exception;
+  }
+
+  record ReconciliationDurationKey(String reconciliator, String result) {
+  }
+
   private void updateClusterPodStatus(StackGresCluster currentCluster,
       StackGresCluster cluster) {
     var podStatus = Optional.ofNullable(cluster.getStatus())
@@ -5,6 +5,9 @@
 
 package io.stackgres.cluster.controller;
 
+import java.nio.file.Paths;
+
+import io.stackgres.common.ClusterControllerProperty;
 import io.stackgres.common.FileSystemHandler;
 import io.stackgres.common.WebClientFactory;
 import io.stackgres.common.extension.ExtensionManager;
@@ -20,7 +23,10 @@ public class ClusterExtensionManager extends ExtensionManager {
       ExtensionMetadataManager extensionMetadataManager) {
     super(
         extensionMetadataManager,
-        new WebClientFactory(), new FileSystemHandler());
+        new WebClientFactory(), new FileSystemHandler(),
+        ClusterControllerProperty.CLUSTER_CONTROLLER_EXTENSIONS_CACHE_PATH.get()
+            .map(Paths::get)
+            .orElse(null));
   }
 
 }
@@ -5,6 +5,9 @@
 
 package io.stackgres.cluster.controller;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.stackgres.cluster.common.StackGresClusterContext;
@@ -21,11 +24,13 @@ public class PatroniExternalCdsControllerReconciliator
 
   private final PatroniEndpointsReconciliator patroniEndpointsReconciliator;
   private final PatroniLabelsReconciliator patroniLabelsReconciliator;
+  private final PatroniLeaderWatcher patroniLeaderWatcher;
 
   @Inject
   public PatroniExternalCdsControllerReconciliator(Parameters parameters) {
     this.patroniEndpointsReconciliator = parameters.patroniEndpointsReconciliator;
     this.patroniLabelsReconciliator = parameters.patroniLabelsReconciliator;
+    this.patroniLeaderWatcher = parameters.patroniLeaderWatcher;
   }
 
   public PatroniExternalCdsControllerReconciliator() {
@@ -33,6 +38,7 @@ public class PatroniExternalCdsControllerReconciliator
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.patroniEndpointsReconciliator = null;
     this.patroniLabelsReconciliator = null;
+    this.patroniLeaderWatcher = null;
   }
 
   @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION",
@@ -40,15 +46,21 @@ public class PatroniExternalCdsControllerReconciliator
   @Override
   public ReconciliationResult<?> reconcile(KubernetesClient client,
       StackGresClusterContext context) throws Exception {
-
-    return patroniEndpointsReconciliator.reconcile(client, context)
+    final Optional<Instant> leaderChangedAt = patroniLeaderWatcher.getLeaderChangedAt();
+    patroniLeaderWatcher.watch(context.getCluster());
+    final ReconciliationResult<?> result = patroniEndpointsReconciliator.reconcile(client, context)
         .join(patroniLabelsReconciliator.reconcile(client, context));
+    if (result.success()) {
+      leaderChangedAt.ifPresent(patroniLeaderWatcher::leaderChangePropagated);
+    }
+    return result;
   }
 
   @Dependent
   public static class Parameters {
     @Inject PatroniEndpointsReconciliator patroniEndpointsReconciliator;
     @Inject PatroniLabelsReconciliator patroniLabelsReconciliator;
+    @Inject PatroniLeaderWatcher patroniLeaderWatcher;
   }
 
 }
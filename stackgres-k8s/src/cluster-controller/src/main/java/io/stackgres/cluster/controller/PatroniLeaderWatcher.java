@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.cluster.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.stackgres.common.CdiUtil;
+import io.stackgres.common.ClusterControllerProperty;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.patroni.PatroniCtl;
+import io.stackgres.common.patroni.PatroniMember;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jooq.lambda.Unchecked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watch the leader of the Patroni cluster through the Patroni REST API and trigger the
+ * reconciliation of the Patroni endpoints and labels as soon as it changes, so that a failover
+ * does not have to wait for the next tick of the Patroni reconciliation clock.
+ */
+@ApplicationScoped
+public class PatroniLeaderWatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PatroniLeaderWatcher.class);
+
+  private static final String LEADER_CHANGE_PROPAGATION_METRIC =
+      "stackgres_patroni_leader_change_propagation_duration";
+
+  private final PatroniCtl patroniCtl;
+  private final AtomicReference<PatroniCtl.PatroniCtlInstance> patroniCtlInstance =
+      new AtomicReference<>();
+  private final AtomicReference<Optional<String>> lastLeader = new AtomicReference<>();
+  private final AtomicReference<Instant> leaderChangedAt = new AtomicReference<>();
+  private Timer leaderChangePropagationTimer =
+      createLeaderChangePropagationTimer(Metrics.globalRegistry);
+  private ScheduledExecutorService scheduledExecutorService;
+
+  @Inject
+  public PatroniLeaderWatcher(PatroniCtl patroniCtl) {
+    this.patroniCtl = patroniCtl;
+  }
+
+  public PatroniLeaderWatcher() {
+    CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
+    this.patroniCtl = null;
+  }
+
+  @Inject
+  public void setMeterRegistry(MeterRegistry registry) {
+    this.leaderChangePropagationTimer = createLeaderChangePropagationTimer(registry);
+  }
+
+  private static Timer createLeaderChangePropagationTimer(MeterRegistry registry) {
+    return Timer.builder(LEADER_CHANGE_PROPAGATION_METRIC)
+        .description("Time from a change of the Patroni leader to the update of the Patroni"
+            + " endpoints and labels")
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /**
+   * Start checking the leader periodically and call {@code onLeaderChange} each time a
+   * different leader (or no leader) is observed.
+   */
+  public synchronized void start(Runnable onLeaderChange) {
+    scheduledExecutorService =
+        Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "PatroniLeaderWatcher"));
+    scheduledExecutorService.scheduleWithFixedDelay(
+        () -> checkLeader(onLeaderChange), 0, getPeriod(), TimeUnit.MILLISECONDS);
+  }
+
+  public synchronized void stop() {
+    if (scheduledExecutorService != null) {
+      scheduledExecutorService.shutdown();
+      Unchecked.runnable(() -> scheduledExecutorService.awaitTermination(60, TimeUnit.SECONDS))
+          .run();
+    }
+  }
+
+  /**
+   * Set the cluster to watch. It is called on each reconciliation so that the watcher follows
+   * the changes to the cluster.
+   */
+  public void watch(StackGresCluster cluster) {
+    patroniCtlInstance.set(patroniCtl.instanceFor(cluster));
+  }
+
+  void checkLeader(Runnable onLeaderChange) {
+    final PatroniCtl.PatroniCtlInstance instance = patroniCtlInstance.get();
+    if (instance == null) {
+      return;
+    }
+    final Optional<String> leader;
+    try {
+      leader = instance.listFromApi()
+          .stream()
+          .filter(PatroniMember::isPrimary)
+          .map(PatroniMember::getMember)
+          .findFirst();
+    } catch (IOException | RuntimeException ex) {
+      LOGGER.debug("Can not retrieve the leader from the Patroni REST API", ex);
+      return;
+    }
+    final Optional<String> previousLeader = lastLeader.getAndSet(leader);
+    if (previousLeader == null || Objects.equals(previousLeader, leader)) {
+      return;
+    }
+    LOGGER.info("Patroni leader changed from {} to {}",
+        previousLeader.orElse("<none>"), leader.orElse("<none>"));
+    leaderChangedAt.compareAndSet(null, Instant.now());
+    onLeaderChange.run();
+  }
+
+  /**
+   * Return the instant of the oldest leader change that was not yet propagated, if any.
+   */
+  public Optional<Instant> getLeaderChangedAt() {
+    return Optional.ofNullable(leaderChangedAt.get());
+  }
+
+  /**
+   * Record the time elapsed since the leader change observed before the reconciliation that
+   * propagated it to the Patroni endpoints and labels.
+   */
+  public void leaderChangePropagated(Instant changedAt) {
+    if (leaderChangedAt.compareAndSet(changedAt, null)) {
+      leaderChangePropagationTimer.record(Duration.between(changedAt, Instant.now()));
+    }
+  }
+
+  private int getPeriod() {
+    return ClusterControllerProperty.CLUSTER_CONTROLLER_PATRONI_LEADER_WATCH_PERIOD.get()
+        .map(Integer::parseInt)
+        .orElse(1000);
+  }
+
+}
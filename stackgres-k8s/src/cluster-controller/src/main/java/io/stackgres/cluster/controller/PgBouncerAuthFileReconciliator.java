@@ -132,7 +132,7 @@ public class PgBouncerAuthFileReconciliator {
       Collection<String> users)
       throws SQLException {
     List<String> authFileUsersLines = new ArrayList<>();
-    try (Connection connection = postgresConnectionManager.getConnection(
+    try (Connection connection = postgresConnectionManager.getPooledConnection(
         "localhost", EnvoyUtil.PG_PORT,
         SUPERUSER_DATABASE,
         postgresUser,
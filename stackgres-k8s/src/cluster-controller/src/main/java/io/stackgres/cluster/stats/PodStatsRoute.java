@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.cluster.stats;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Expose the Pod stats samples as JSON so that the REST API does not have to execute a shell
+ * script in the Patroni container to retrieve them. The whole history is served on
+ * {@value #STATS_PATH} while {@value #LATEST_STATS_PATH} serves only the latest sample. The
+ * REST API checks that the user it impersonates is allowed to read the stats of the Pod before
+ * calling these routes.
+ */
+@ApplicationScoped
+public class PodStatsRoute {
+
+  public static final String STATS_PATH = "/stats";
+  public static final String LATEST_STATS_PATH = STATS_PATH + "/latest";
+
+  private PodStatsSampler podStatsSampler;
+  private ObjectMapper objectMapper;
+
+  void init(@Observes Router router) {
+    router.route(HttpMethod.GET, STATS_PATH)
+        .handler(context -> respond(context, podStatsSampler.getSamples()));
+    router.route(HttpMethod.GET, LATEST_STATS_PATH)
+        .handler(context -> podStatsSampler.getLatestSample()
+            .ifPresentOrElse(
+                sample -> respond(context, sample),
+                () -> context.response().setStatusCode(404).end()));
+  }
+
+  private void respond(RoutingContext context, Object value) {
+    try {
+      context.response()
+          .putHeader("Content-Type", "application/json")
+          .end(objectMapper.writeValueAsString(value));
+    } catch (JsonProcessingException ex) {
+      context.fail(ex);
+    }
+  }
+
+  @Inject
+  public void setPodStatsSampler(PodStatsSampler podStatsSampler) {
+    this.podStatsSampler = podStatsSampler;
+  }
+
+  @Inject
+  public void setObjectMapper(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.cluster.stats;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.stackgres.cluster.app.StackGresClusterControllerMain.StackGresClusterControllerAppShutdownEvent;
+import io.stackgres.cluster.app.StackGresClusterControllerMain.StackGresClusterControllerAppStartupEvent;
+import io.stackgres.common.ClusterControllerProperty;
+import io.stackgres.common.ClusterPath;
+import io.stackgres.common.EnvoyUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically sample the stats of the Pod that the REST API used to retrieve by executing a shell
+ * script in the Patroni container and keep the latest samples in a ring buffer, so that a short
+ * history is available for sparklines. The values are read from the same files and with the same
+ * semantics of the script (see {@code patroni-stats.properties} in the REST API). Since the Pod
+ * shares the process namespace the files of the Patroni container are read through the root of the
+ * Patroni process.
+ */
+@ApplicationScoped
+public class PodStatsSampler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PodStatsSampler.class);
+
+  private static final String PATRONI_COMMAND = "patroni";
+
+  private final ScheduledExecutorService scheduledExecutorService =
+      Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "PodStatsSampler"));
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(1))
+      .build();
+  private final ArrayDeque<PodStatsSample> samples = new ArrayDeque<>();
+  private final int historySize;
+  private final Duration period;
+
+  public PodStatsSampler() {
+    this(
+        ClusterControllerProperty.CLUSTER_CONTROLLER_STATS_HISTORY_SIZE.get()
+            .map(Integer::parseInt)
+            .orElse(60),
+        Duration.ofSeconds(ClusterControllerProperty.CLUSTER_CONTROLLER_STATS_PERIOD.get()
+            .map(Integer::parseInt)
+            .orElse(10)));
+  }
+
+  PodStatsSampler(int historySize, Duration period) {
+    this.historySize = historySize;
+    this.period = period;
+  }
+
+  void onStart(@Observes StackGresClusterControllerAppStartupEvent ev) {
+    scheduledExecutorService.scheduleAtFixedRate(
+        this::sample, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  void onStop(@Observes StackGresClusterControllerAppShutdownEvent ev) {
+    scheduledExecutorService.shutdown();
+  }
+
+  /**
+   * Return the samples in the ring buffer, from the oldest to the latest.
+   */
+  public synchronized List<PodStatsSample> getSamples() {
+    return List.copyOf(samples);
+  }
+
+  /**
+   * Return the latest sample, if any.
+   */
+  public synchronized Optional<PodStatsSample> getLatestSample() {
+    return Optional.ofNullable(samples.peekLast());
+  }
+
+  void sample() {
+    try {
+      PodStatsSample sample = new PodStatsSample(Instant.now(), readStats());
+      synchronized (this) {
+        if (samples.size() >= historySize) {
+          samples.removeFirst();
+        }
+        samples.addLast(sample);
+      }
+    } catch (Exception ex) {
+      LOGGER.warn("Error while sampling Pod stats", ex);
+    }
+  }
+
+  Map<String, String> readStats() {
+    return readStats(findPatroniRoot());
+  }
+
+  Map<String, String> readStats(Path root) {
+    final Path cgroup = root.resolve("sys/fs/cgroup");
+    final Map<String, String> stats = new LinkedHashMap<>();
+    read(() -> lines(root.resolve("proc/cpuinfo"))
+        .filter(line -> line.startsWith("processor"))
+        .count())
+        .ifPresent(value -> stats.put("cpuFound", String.valueOf(value)));
+    stats.put("cpuQuota", read(() -> firstLine(cgroup.resolve("cpu/cpu.cfs_quota_us")))
+        .orElse("-1"));
+    stats.put("cpuPeriod", read(() -> firstLine(cgroup.resolve("cpu/cpu.cfs_period_us")))
+        .orElse("1000000"));
+    putPressure(stats, "cpuPsi", cgroup.resolve("cpu.pressure"), "some");
+    read(() -> firstLine(cgroup.resolve("memory.max")))
+        .filter(max -> !max.isEmpty() && !max.equals("max"))
+        .or(() -> read(() -> lines(root.resolve("proc/meminfo"))
+            .filter(line -> line.startsWith("MemTotal"))
+            .map(line -> String.valueOf(Long.parseLong(line.split("\\s+")[1]) * 1024))
+            .findFirst()
+            .orElseThrow()))
+        .ifPresent(value -> stats.put("memoryFound", value));
+    read(() -> lines(cgroup.resolve("memory/memory.stat"))
+        .filter(line -> line.startsWith("total_rss "))
+        .map(line -> line.split(" ")[1])
+        .findFirst()
+        .orElseThrow())
+        .or(() -> read(() -> firstLine(cgroup.resolve("memory.current"))))
+        .ifPresent(value -> stats.put("memoryUsed", value));
+    putPressure(stats, "memoryPsi", cgroup.resolve("memory.pressure"), "some");
+    putPressure(stats, "memoryPsiFull", cgroup.resolve("memory.pressure"), "full");
+    read(() -> Files.getFileStore(root.resolve(
+        ClusterPath.PG_BASE_PATH.path().substring(1))))
+        .ifPresent(fileStore -> putDisk(stats, fileStore));
+    putPressure(stats, "diskPsi", cgroup.resolve("io.pressure"), "some");
+    putPressure(stats, "diskPsiFull", cgroup.resolve("io.pressure"), "full");
+    read(() -> firstLine(root.resolve("proc/loadavg")).split("\\s+"))
+        .ifPresent(load -> {
+          stats.put("load1m", load[0]);
+          stats.put("load5m", load[1]);
+          stats.put("load10m", load[2]);
+        });
+    read(this::readConnections)
+        .ifPresent(value -> stats.put("connections", value));
+    return stats;
+  }
+
+  private Path findPatroniRoot() {
+    try (Stream<Path> processes = Files.list(Path.of("/proc"))) {
+      return processes
+          .filter(process -> process.getFileName().toString().chars().allMatch(Character::isDigit))
+          .filter(process -> read(() -> Files.readString(process.resolve("cmdline")))
+              .map(cmdline -> cmdline.split("\0"))
+              .filter(args -> Stream.of(args).limit(2)
+                  .anyMatch(arg -> arg.endsWith("/" + PATRONI_COMMAND)
+                      || arg.equals(PATRONI_COMMAND)))
+              .isPresent())
+          .map(process -> process.resolve("root"))
+          .filter(Files::isReadable)
+          .findFirst()
+          .orElse(Path.of("/"));
+    } catch (IOException ex) {
+      return Path.of("/");
+    }
+  }
+
+  private void putPressure(Map<String, String> stats, String prefix, Path file, String type) {
+    read(() -> lines(file)
+        .filter(line -> line.startsWith(type + " "))
+        .map(line -> line.split(" "))
+        .findFirst()
+        .orElseThrow())
+        .ifPresent(fields -> {
+          stats.put(prefix + "Avg10", fields[1].substring(fields[1].indexOf('=') + 1));
+          stats.put(prefix + "Avg60", fields[2].substring(fields[2].indexOf('=') + 1));
+          stats.put(prefix + "Avg300", fields[3].substring(fields[3].indexOf('=') + 1));
+          stats.put(prefix + "Total", fields[4].substring(fields[4].indexOf('=') + 1));
+        });
+  }
+
+  private void putDisk(Map<String, String> stats, FileStore fileStore) {
+    read(() -> {
+      long total = fileStore.getTotalSpace();
+      stats.put("diskFound", String.valueOf(total));
+      stats.put("diskUsed", String.valueOf(total - fileStore.getUnallocatedSpace()));
+      return total;
+    });
+  }
+
+  private String readConnections() throws IOException, InterruptedException {
+    HttpResponse<Stream<String>> response = httpClient.send(HttpRequest
+        .newBuilder(URI.create("http://localhost:" + EnvoyUtil.ENVOY_PORT + "/stats"))
+        .timeout(Duration.ofSeconds(1))
+        .build(), HttpResponse.BodyHandlers.ofLines());
+    try (Stream<String> lines = response.body()) {
+      return lines
+          .filter(line -> line.startsWith("postgres.ingress_postgres.sessions:"))
+          .map(line -> line.substring(line.indexOf(':') + 1).trim())
+          .findFirst()
+          .orElseThrow();
+    }
+  }
+
+  private Stream<String> lines(Path file) throws IOException {
+    return Files.readAllLines(file, StandardCharsets.UTF_8).stream();
+  }
+
+  private String firstLine(Path file) throws IOException {
+    return lines(file).findFirst().orElseThrow().trim();
+  }
+
+  private <T> Optional<T> read(StatReader<T> reader) {
+    try {
+      return Optional.ofNullable(reader.read());
+    } catch (Exception ex) {
+      LOGGER.trace("Error while reading Pod stat", ex);
+      return Optional.empty();
+    }
+  }
+
+  @FunctionalInterface
+  interface StatReader<T> {
+    T read() throws Exception;
+  }
+
+  public record PodStatsSample(Instant timestamp, Map<String, String> stats) {
+  }
+
+}
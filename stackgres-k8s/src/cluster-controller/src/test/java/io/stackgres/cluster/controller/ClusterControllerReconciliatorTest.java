@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.cluster.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.cluster.common.StackGresClusterContext;
+import io.stackgres.cluster.configuration.ClusterControllerPropertyContext;
+import io.stackgres.common.ClusterControllerProperty;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.fixture.Fixtures;
+import io.stackgres.common.resource.CustomResourceScheduler;
+import io.stackgres.operatorframework.reconciliation.ReconciliationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterControllerReconciliatorTest {
+
+  @Mock
+  KubernetesClient client;
+  @Mock
+  StackGresClusterContext context;
+  @Mock
+  CustomResourceScheduler<StackGresCluster> clusterScheduler;
+  @Mock
+  ClusterControllerPostgresBootstrapReconciliator postgresBootstrapReconciliator;
+  @Mock
+  ClusterExtensionReconciliator extensionReconciliator;
+  @Mock
+  PgBouncerReconciliator pgbouncerReconciliator;
+  @Mock
+  ClusterControllerPropertyContext propertyContext;
+  @Mock
+  ClusterPersistentVolumeSizeReconciliator clusterPersistentVolumeSizeReconciliator;
+  @Mock
+  PatroniReconciliator patroniReconciliator;
+  @Mock
+  ManagedSqlReconciliator managedSqlReconciliator;
+  @Mock
+  PostgresSslReconciliator postgresSslReconciliator;
+  @Mock
+  PatroniStandbyReconciliator patroniStandbyReconciliator;
+  @Mock
+  PatroniConfigReconciliator patroniConfigReconciliator;
+  @Mock
+  PatroniMajorVersionUpgradeReconciliator patroniMajorVersionUpgradeReconciliator;
+  @Mock
+  PatroniBackupFailoverRestartReconciliator patroniBackupFailoverRestartReconciliator;
+
+  private SimpleMeterRegistry registry;
+
+  private ClusterControllerReconciliator reconciliator;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(propertyContext.getString(ClusterControllerProperty.CLUSTER_CONTROLLER_POD_NAME))
+        .thenReturn("test-0");
+    lenient().when(context.getCluster()).thenReturn(Fixtures.cluster().loadDefault().get());
+    ClusterControllerReconciliator.Parameters parameters =
+        new ClusterControllerReconciliator.Parameters();
+    parameters.clusterScheduler = clusterScheduler;
+    parameters.postgresBootstrapReconciliator = postgresBootstrapReconciliator;
+    parameters.extensionReconciliator = extensionReconciliator;
+    parameters.pgbouncerReconciliator = pgbouncerReconciliator;
+    parameters.propertyContext = propertyContext;
+    parameters.clusterPersistentVolumeSizeReconciliator = clusterPersistentVolumeSizeReconciliator;
+    parameters.patroniReconciliator = patroniReconciliator;
+    parameters.managedSqlReconciliator = managedSqlReconciliator;
+    parameters.postgresSslReconciliator = postgresSslReconciliator;
+    parameters.patroniStandbyReconciliator = patroniStandbyReconciliator;
+    parameters.patroniConfigReconciliator = patroniConfigReconciliator;
+    parameters.patroniMajorVersionUpgradeReconciliator = patroniMajorVersionUpgradeReconciliator;
+    parameters.patroniBackupFailoverRestartReconciliator =
+        patroniBackupFailoverRestartReconciliator;
+    reconciliator = new ClusterControllerReconciliator(parameters);
+    registry = new SimpleMeterRegistry();
+    reconciliator.setMeterRegistry(registry);
+    lenient().when(postgresBootstrapReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>(false));
+    lenient().when(extensionReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>(false));
+    lenient().when(pgbouncerReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>());
+    lenient().when(patroniReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>(false));
+    lenient().when(managedSqlReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>(false));
+    lenient().when(postgresSslReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>());
+    lenient().when(patroniStandbyReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>());
+    lenient().when(patroniConfigReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>());
+    lenient().when(patroniMajorVersionUpgradeReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>());
+    lenient().when(patroniBackupFailoverRestartReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>());
+    lenient().when(clusterPersistentVolumeSizeReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>());
+  }
+
+  @AfterEach
+  void tearDown() {
+    reconciliator.shutdown();
+  }
+
+  @Test
+  void independentReconciliators_shouldRunConcurrently() throws Exception {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    when(pgbouncerReconciliator.reconcile(any(), any())).then(invocation -> {
+      bothStarted.countDown();
+      assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+      return new ReconciliationResult<>();
+    });
+    when(patroniReconciliator.reconcile(any(), any())).then(invocation -> {
+      bothStarted.countDown();
+      assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+      return new ReconciliationResult<>(false);
+    });
+
+    ReconciliationResult<Void> result = reconciliator.reconcile(client, context);
+
+    assertTrue(result.success());
+  }
+
+  @Test
+  void dependentReconciliators_shouldRunAfterTheirDependencies() throws Exception {
+    AtomicBoolean postgresBootstrapped = new AtomicBoolean(false);
+    when(postgresBootstrapReconciliator.reconcile(any(), any())).then(invocation -> {
+      Thread.sleep(100);
+      postgresBootstrapped.set(true);
+      return new ReconciliationResult<>(false);
+    });
+    AtomicBoolean extensionRanAfterBootstrap = new AtomicBoolean(false);
+    when(extensionReconciliator.reconcile(any(), any())).then(invocation -> {
+      extensionRanAfterBootstrap.set(postgresBootstrapped.get());
+      return new ReconciliationResult<>(false);
+    });
+
+    reconciliator.reconcile(client, context);
+
+    assertTrue(extensionRanAfterBootstrap.get());
+  }
+
+  @Test
+  void failedDependency_shouldPreventDependentReconciliatorsAndBeRethrown() throws Exception {
+    RuntimeException failure = new RuntimeException("test");
+    when(postgresBootstrapReconciliator.reconcile(any(), any())).thenThrow(failure);
+
+    RuntimeException ex = assertThrows(RuntimeException.class,
+        () -> reconciliator.reconcile(client, context));
+
+    assertSame(failure, ex);
+    verify(extensionReconciliator, never()).reconcile(any(), any());
+    verify(managedSqlReconciliator, never()).reconcile(any(), any());
+    verify(clusterPersistentVolumeSizeReconciliator, never()).reconcile(any(), any());
+  }
+
+  @Test
+  void reconciliation_shouldRecordTheDurationOfEachReconciliator() throws Exception {
+    when(postgresSslReconciliator.reconcile(any(), any()))
+        .thenReturn(new ReconciliationResult<>(new RuntimeException("test")));
+
+    reconciliator.reconcile(client, context);
+
+    assertEquals(11, registry.find("stackgres_cluster_controller_reconciliation_duration")
+        .timers().size());
+    assertEquals(1, registry.get("stackgres_cluster_controller_reconciliation_duration")
+        .tag("reconciliator", "postgres-ssl")
+        .tag("result", "failure")
+        .timer().count());
+    assertEquals(1, registry.get("stackgres_cluster_controller_reconciliation_duration")
+        .tag("reconciliator", "persistent-volume-size")
+        .tag("result", "success")
+        .timer().count());
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.cluster.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.fixture.Fixtures;
+import io.stackgres.common.patroni.PatroniCtl;
+import io.stackgres.common.patroni.PatroniMember;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PatroniLeaderWatcherTest {
+
+  @Mock
+  PatroniCtl patroniCtl;
+  @Mock
+  PatroniCtl.PatroniCtlInstance patroniCtlInstance;
+
+  private SimpleMeterRegistry registry;
+
+  private PatroniLeaderWatcher watcher;
+
+  private final AtomicInteger leaderChanges = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    watcher = new PatroniLeaderWatcher(patroniCtl);
+    watcher.setMeterRegistry(registry);
+    StackGresCluster cluster = Fixtures.cluster().loadDefault().get();
+    when(patroniCtl.instanceFor(any())).thenReturn(patroniCtlInstance);
+    watcher.watch(cluster);
+  }
+
+  @Test
+  void leaderChange_shouldTriggerTheReconciliationOnlyWhenTheLeaderChanges() throws Exception {
+    when(patroniCtlInstance.listFromApi())
+        .thenReturn(List.of(member("test-0", PatroniMember.LEADER)))
+        .thenReturn(List.of(member("test-0", PatroniMember.LEADER)))
+        .thenReturn(List.of(member("test-0", PatroniMember.REPLICA)))
+        .thenReturn(List.of(member("test-1", PatroniMember.LEADER)));
+
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+    assertEquals(0, leaderChanges.get());
+    assertTrue(watcher.getLeaderChangedAt().isEmpty());
+
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+    assertEquals(1, leaderChanges.get());
+    Instant changedAt = watcher.getLeaderChangedAt().orElseThrow();
+
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+    assertEquals(2, leaderChanges.get());
+    assertEquals(changedAt, watcher.getLeaderChangedAt().orElseThrow());
+  }
+
+  @Test
+  void leaderChangePropagated_shouldRecordTheElapsedTimeOnce() throws Exception {
+    when(patroniCtlInstance.listFromApi())
+        .thenReturn(List.of(member("test-0", PatroniMember.LEADER)))
+        .thenReturn(List.of(member("test-1", PatroniMember.LEADER)));
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+    Instant changedAt = watcher.getLeaderChangedAt().orElseThrow();
+
+    watcher.leaderChangePropagated(changedAt);
+    watcher.leaderChangePropagated(changedAt);
+
+    assertTrue(watcher.getLeaderChangedAt().isEmpty());
+    assertEquals(1, registry.get("stackgres_patroni_leader_change_propagation_duration")
+        .timer().count());
+  }
+
+  @Test
+  void unavailableRestApi_shouldBeIgnored() throws Exception {
+    when(patroniCtlInstance.listFromApi())
+        .thenReturn(List.of(member("test-0", PatroniMember.LEADER)))
+        .thenThrow(new IOException("test"))
+        .thenReturn(List.of(member("test-0", PatroniMember.LEADER)));
+
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+    watcher.checkLeader(leaderChanges::incrementAndGet);
+
+    assertEquals(0, leaderChanges.get());
+    assertEquals(0, registry.get("stackgres_patroni_leader_change_propagation_duration")
+        .timer().count());
+  }
+
+  private PatroniMember member(String name, String role) {
+    PatroniMember member = new PatroniMember();
+    member.setMember(name);
+    member.setRole(role);
+    member.setState(PatroniMember.RUNNING);
+    return member;
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.cluster.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.stackgres.cluster.stats.PodStatsSampler.PodStatsSample;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PodStatsSamplerTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void sample_shouldKeepOnlyTheLatestSamplesOfTheHistory() {
+    AtomicInteger count = new AtomicInteger();
+    PodStatsSampler podStatsSampler = new PodStatsSampler(3, Duration.ofSeconds(10)) {
+      @Override
+      Map<String, String> readStats() {
+        return Map.of("connections", String.valueOf(count.incrementAndGet()));
+      }
+    };
+
+    for (int index = 0; index < 5; index++) {
+      podStatsSampler.sample();
+    }
+
+    assertEquals(List.of("3", "4", "5"), podStatsSampler.getSamples().stream()
+        .map(PodStatsSample::stats)
+        .map(stats -> stats.get("connections"))
+        .toList());
+    assertEquals("5", podStatsSampler.getLatestSample()
+        .map(PodStatsSample::stats)
+        .map(stats -> stats.get("connections"))
+        .orElseThrow());
+  }
+
+  @Test
+  void readStats_shouldReadTheValuesOfTheStatsScripts() throws IOException {
+    Path proc = Files.createDirectories(tempDir.resolve("proc"));
+    Path cgroup = Files.createDirectories(tempDir.resolve("sys/fs/cgroup"));
+    Files.writeString(proc.resolve("cpuinfo"),
+        "processor\t: 0\nmodel name\t: test\n\nprocessor\t: 1\nmodel name\t: test\n");
+    Files.writeString(proc.resolve("loadavg"), "0.50 1.00 1.50 2/300 1234\n");
+    Files.writeString(cgroup.resolve("memory.max"), "1073741824\n");
+    Files.writeString(cgroup.resolve("memory.current"), "536870912\n");
+    Files.writeString(cgroup.resolve("cpu.pressure"),
+        "some avg10=0.50 avg60=1.00 avg300=1.50 total=100\n"
+        + "full avg10=0.00 avg60=0.00 avg300=0.00 total=0\n");
+    PodStatsSampler podStatsSampler = new PodStatsSampler(60, Duration.ofSeconds(10));
+
+    Map<String, String> stats = podStatsSampler.readStats(tempDir);
+
+    assertEquals("2", stats.get("cpuFound"));
+    assertEquals("-1", stats.get("cpuQuota"));
+    assertEquals("1000000", stats.get("cpuPeriod"));
+    assertEquals("0.50", stats.get("cpuPsiAvg10"));
+    assertEquals("100", stats.get("cpuPsiTotal"));
+    assertEquals("1073741824", stats.get("memoryFound"));
+    assertEquals("536870912", stats.get("memoryUsed"));
+    assertEquals("0.50", stats.get("load1m"));
+    assertEquals("1.00", stats.get("load5m"));
+    assertEquals("1.50", stats.get("load10m"));
+  }
+
+  @Test
+  void readStats_shouldReadCgroupV1ValuesAndFallBackToTheTotalMemory() throws IOException {
+    Path proc = Files.createDirectories(tempDir.resolve("proc"));
+    Path cgroup = Files.createDirectories(tempDir.resolve("sys/fs/cgroup"));
+    Files.createDirectories(cgroup.resolve("cpu"));
+    Files.createDirectories(cgroup.resolve("memory"));
+    Files.writeString(proc.resolve("meminfo"), "MemTotal:        2048 kB\nMemFree:    1024 kB\n");
+    Files.writeString(cgroup.resolve("cpu/cpu.cfs_quota_us"), "50000\n");
+    Files.writeString(cgroup.resolve("cpu/cpu.cfs_period_us"), "100000\n");
+    Files.writeString(cgroup.resolve("memory/memory.stat"), "cache 1\ntotal_rss 4096\n");
+    PodStatsSampler podStatsSampler = new PodStatsSampler(60, Duration.ofSeconds(10));
+
+    Map<String, String> stats = podStatsSampler.readStats(tempDir);
+
+    assertEquals("50000", stats.get("cpuQuota"));
+    assertEquals("100000", stats.get("cpuPeriod"));
+    assertEquals(String.valueOf(2048 * 1024), stats.get("memoryFound"));
+    assertEquals("4096", stats.get("memoryUsed"));
+  }
+
+  @Test
+  void readStats_shouldFallBackToTheTotalMemoryWhenTheLimitIsUnlimited() throws IOException {
+    Path proc = Files.createDirectories(tempDir.resolve("proc"));
+    Path cgroup = Files.createDirectories(tempDir.resolve("sys/fs/cgroup"));
+    Files.writeString(proc.resolve("meminfo"), "MemTotal:        2048 kB\n");
+    Files.writeString(cgroup.resolve("memory.max"), "max\n");
+    PodStatsSampler podStatsSampler = new PodStatsSampler(60, Duration.ofSeconds(10));
+
+    Map<String, String> stats = podStatsSampler.readStats(tempDir);
+
+    assertEquals(String.valueOf(2048 * 1024), stats.get("memoryFound"));
+  }
+
+  @Test
+  void sample_shouldNotFailWhenStatsAreNotAvailable() {
+    PodStatsSampler podStatsSampler = new PodStatsSampler(60, Duration.ofSeconds(10));
+
+    podStatsSampler.sample();
+
+    assertTrue(podStatsSampler.getLatestSample().isPresent());
+  }
+
+}
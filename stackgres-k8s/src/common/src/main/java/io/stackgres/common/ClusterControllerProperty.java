@@ -26,7 +26,17 @@ public enum ClusterControllerProperty implements StackGresPropertyReader {
   CLUSTER_CONTROLLER_RECONCILE_MANAGED_SQL(
       "stackgres.clusterReconcileManagedSql"),
   CLUSTER_CONTROLLER_RECONCILE_PATRONI_AFTER_MAJOR_VERSION_UPGRADE(
-      "stackgres.clusterReconcilePatroniAfterMajorVersionUpgrade");
+      "stackgres.clusterReconcilePatroniAfterMajorVersionUpgrade"),
+  CLUSTER_CONTROLLER_STATS_PERIOD(
+      "stackgres.clusterControllerStatsPeriod"),
+  CLUSTER_CONTROLLER_STATS_HISTORY_SIZE(
+      "stackgres.clusterControllerStatsHistorySize"),
+  CLUSTER_CONTROLLER_RECONCILIATION_PARALLELISM(
+      "stackgres.clusterControllerReconciliationParallelism"),
+  CLUSTER_CONTROLLER_PATRONI_LEADER_WATCH_PERIOD(
+      "stackgres.clusterControllerPatroniLeaderWatchPeriod"),
+  CLUSTER_CONTROLLER_EXTENSIONS_CACHE_PATH(
+      "stackgres.clusterControllerExtensionsCachePath");
 
   private static final Properties APPLICATION_PROPERTIES =
       StackGresPropertyReader.readApplicationProperties(ClusterControllerProperty.class);
@@ -71,6 +71,7 @@ public enum ClusterPath implements EnvVarPathSource<StackGresCluster> {
       ClusterEnvVar.POSTGRES_MAJOR_VERSION.substVar()),
   PG_EXTENSIONS_EXTENSION_PATH(PG_EXTENSIONS_SHARE_PATH, "extension"),
   PG_EXTENSIONS_LIB64_PATH(PG_EXTENSIONS_PATH, "usr/lib64"),
+  PG_EXTENSIONS_CACHE_PATH("/var/cache/postgresql/extensions"),
   PG_LIB64_PATH("/usr/lib64"),
   PG_BINARIES_PATH("/usr/lib/postgresql",
       ClusterEnvVar.POSTGRES_VERSION.substVar()),
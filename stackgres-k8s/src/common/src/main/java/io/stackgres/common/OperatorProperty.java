@@ -14,6 +14,7 @@ public enum OperatorProperty implements StackGresPropertyReader {
   DISABLE_RECONCILIATION("stackgres.disableReconciliation"),
   DISABLE_BOOTSTRAP("stackgres.disableBootstrap"),
   RECONCILIATION_PERIOD("stackgres.reconciliationPeriod"),
+  RECONCILIATION_RESYNC_PERIOD("stackgres.reconciliationResyncPeriod"),
   PATRONI_RECONCILIATION_PERIOD("stackgres.patroniReconciliationPeriod"),
   OPERATOR_NAME("stackgres.operatorName"),
   OPERATOR_NAMESPACE("stackgres.operatorNamespace"),
@@ -46,9 +47,12 @@ public enum OperatorProperty implements StackGresPropertyReader {
   FORCE_UNLOCK_OPERATOR("stackgres.forceUnlockOperator"),
   STOP_AFTER_BOOTSTRAP("stackgres.stopAfterBootstrap"),
   RECONCILIATION_THREADS("stackgres.reconciliationThreads"),
+  RECONCILIATION_APPLY_PARALLELISM("stackgres.reconciliationApplyParallelism"),
   RECONCILIATION_INITIAL_BACKOFF("stackgres.reconciliationInitialBackoff"),
   RECONCILIATION_MAX_BACKOFF("stackgres.reconciliationMaxBackoff"),
-  RECONCILIATION_BACKOFF_VARIATION("stackgres.reconciliationBackoffVariation");
+  RECONCILIATION_BACKOFF_VARIATION("stackgres.reconciliationBackoffVariation"),
+  RESOURCE_INFORMER_CACHE("stackgres.resourceInformerCache"),
+  REQUIRED_RESOURCES_CACHE("stackgres.requiredResourcesCache");
 
   private static final Properties APPLICATION_PROPERTIES =
       StackGresPropertyReader.readApplicationProperties(OperatorProperty.class);
@@ -29,6 +29,7 @@ public enum StackGresVolume implements StackGresNamedObject {
   POSTGRES_SOCKET("socket"),
   POSTGRES_SSL("ssl"),
   POSTGRES_SSL_COPY("ssl-copy"),
+  EXTENSIONS_CACHE("extensions-cache"),
   INIT_SCRIPT("distributed-logs-template", "%s-init-template"),
   FLUENTD_CONFIG("fluentd-config", "%s-fluentd"),
   DSHM("dshm"),
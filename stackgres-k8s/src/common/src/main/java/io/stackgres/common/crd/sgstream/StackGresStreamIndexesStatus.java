@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.crd.sgstream;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+import io.sundr.builder.annotations.Buildable;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Buildable(editableEnabled = false, validationEnabled = false, generateBuilderPackage = false,
+    lazyCollectionInitEnabled = false, lazyMapInitEnabled = false,
+    builderPackage = "io.fabric8.kubernetes.api.builder")
+public class StackGresStreamIndexesStatus {
+
+  private Boolean restoreRunning;
+
+  private Boolean restoreCompleted;
+
+  private Integer totalIndexCount;
+
+  private Integer remainingIndexCount;
+
+  private Integer failedIndexCount;
+
+  private Long restoreDurationInSeconds;
+
+  public Boolean getRestoreRunning() {
+    return restoreRunning;
+  }
+
+  public void setRestoreRunning(Boolean restoreRunning) {
+    this.restoreRunning = restoreRunning;
+  }
+
+  public Boolean getRestoreCompleted() {
+    return restoreCompleted;
+  }
+
+  public void setRestoreCompleted(Boolean restoreCompleted) {
+    this.restoreCompleted = restoreCompleted;
+  }
+
+  public Integer getTotalIndexCount() {
+    return totalIndexCount;
+  }
+
+  public void setTotalIndexCount(Integer totalIndexCount) {
+    this.totalIndexCount = totalIndexCount;
+  }
+
+  public Integer getRemainingIndexCount() {
+    return remainingIndexCount;
+  }
+
+  public void setRemainingIndexCount(Integer remainingIndexCount) {
+    this.remainingIndexCount = remainingIndexCount;
+  }
+
+  public Integer getFailedIndexCount() {
+    return failedIndexCount;
+  }
+
+  public void setFailedIndexCount(Integer failedIndexCount) {
+    this.failedIndexCount = failedIndexCount;
+  }
+
+  public Long getRestoreDurationInSeconds() {
+    return restoreDurationInSeconds;
+  }
+
+  public void setRestoreDurationInSeconds(Long restoreDurationInSeconds) {
+    this.restoreDurationInSeconds = restoreDurationInSeconds;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(failedIndexCount, remainingIndexCount, restoreCompleted,
+        restoreDurationInSeconds, restoreRunning, totalIndexCount);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof StackGresStreamIndexesStatus)) {
+      return false;
+    }
+    StackGresStreamIndexesStatus other = (StackGresStreamIndexesStatus) obj;
+    return Objects.equals(failedIndexCount, other.failedIndexCount)
+        && Objects.equals(remainingIndexCount, other.remainingIndexCount)
+        && Objects.equals(restoreCompleted, other.restoreCompleted)
+        && Objects.equals(restoreDurationInSeconds, other.restoreDurationInSeconds)
+        && Objects.equals(restoreRunning, other.restoreRunning)
+        && Objects.equals(totalIndexCount, other.totalIndexCount);
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
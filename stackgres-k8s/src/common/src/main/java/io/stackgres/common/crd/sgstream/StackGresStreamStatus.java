@@ -38,6 +38,9 @@ public class StackGresStreamStatus {
   @Valid
   private StackGresStreamEventsStatus events;
 
+  @Valid
+  private StackGresStreamIndexesStatus indexes;
+
   @Valid
   private String failure;
 
@@ -73,6 +76,14 @@ public class StackGresStreamStatus {
     this.events = events;
   }
 
+  public StackGresStreamIndexesStatus getIndexes() {
+    return indexes;
+  }
+
+  public void setIndexes(StackGresStreamIndexesStatus indexes) {
+    this.indexes = indexes;
+  }
+
   public String getFailure() {
     return failure;
   }
@@ -83,7 +94,7 @@ public class StackGresStreamStatus {
 
   @Override
   public int hashCode() {
-    return Objects.hash(conditions, events, failure, snapshot, streaming);
+    return Objects.hash(conditions, events, failure, indexes, snapshot, streaming);
   }
 
   @Override
@@ -96,7 +107,8 @@ public class StackGresStreamStatus {
     }
     StackGresStreamStatus other = (StackGresStreamStatus) obj;
     return Objects.equals(conditions, other.conditions) && Objects.equals(events, other.events)
-        && Objects.equals(failure, other.failure) && Objects.equals(snapshot, other.snapshot)
+        && Objects.equals(failure, other.failure) && Objects.equals(indexes, other.indexes)
+        && Objects.equals(snapshot, other.snapshot)
         && Objects.equals(streaming, other.streaming);
   }
 
@@ -14,6 +14,7 @@ import io.stackgres.common.StackGresUtil;
 import io.stackgres.common.crd.SecretKeySelector;
 import io.sundr.builder.annotations.Buildable;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 @RegisterForReflection
@@ -39,6 +40,20 @@ public class StackGresStreamTargetSgCluster {
 
   private String ddlImportRoleSkipFilter;
 
+  @Min(value = 1, message = "snapshotParallelism must be greather or equals to 1.")
+  private Integer snapshotParallelism;
+
+  private Boolean skipSnapshotCopy;
+
+  @Min(value = 1, message = "restoreIndexesParallelism must be greather or equals to 1.")
+  private Integer restoreIndexesParallelism;
+
+  private String restoreIndexesMaintenanceWorkMem;
+
+  @Min(value = 0,
+      message = "restoreIndexesMaxParallelMaintenanceWorkers must be greather or equals to 0.")
+  private Integer restoreIndexesMaxParallelMaintenanceWorkers;
+
   @Valid
   private StackGresStreamTargetJdbcSinkDebeziumProperties debeziumProperties;
 
@@ -90,6 +105,46 @@ public class StackGresStreamTargetSgCluster {
     this.ddlImportRoleSkipFilter = ddlImportRoleSkipFilter;
   }
 
+  public Integer getSnapshotParallelism() {
+    return snapshotParallelism;
+  }
+
+  public void setSnapshotParallelism(Integer snapshotParallelism) {
+    this.snapshotParallelism = snapshotParallelism;
+  }
+
+  public Boolean getSkipSnapshotCopy() {
+    return skipSnapshotCopy;
+  }
+
+  public void setSkipSnapshotCopy(Boolean skipSnapshotCopy) {
+    this.skipSnapshotCopy = skipSnapshotCopy;
+  }
+
+  public Integer getRestoreIndexesParallelism() {
+    return restoreIndexesParallelism;
+  }
+
+  public void setRestoreIndexesParallelism(Integer restoreIndexesParallelism) {
+    this.restoreIndexesParallelism = restoreIndexesParallelism;
+  }
+
+  public String getRestoreIndexesMaintenanceWorkMem() {
+    return restoreIndexesMaintenanceWorkMem;
+  }
+
+  public void setRestoreIndexesMaintenanceWorkMem(String restoreIndexesMaintenanceWorkMem) {
+    this.restoreIndexesMaintenanceWorkMem = restoreIndexesMaintenanceWorkMem;
+  }
+
+  public Integer getRestoreIndexesMaxParallelMaintenanceWorkers() {
+    return restoreIndexesMaxParallelMaintenanceWorkers;
+  }
+
+  public void setRestoreIndexesMaxParallelMaintenanceWorkers(Integer restoreIndexesMaxParallelMaintenanceWorkers) {
+    this.restoreIndexesMaxParallelMaintenanceWorkers = restoreIndexesMaxParallelMaintenanceWorkers;
+  }
+
   public StackGresStreamTargetJdbcSinkDebeziumProperties getDebeziumProperties() {
     return debeziumProperties;
   }
@@ -102,7 +157,9 @@ public class StackGresStreamTargetSgCluster {
   @Override
   public int hashCode() {
     return Objects.hash(database, ddlImportRoleSkipFilter, debeziumProperties, name, password,
-        skipDdlImport, username);
+        restoreIndexesMaintenanceWorkMem, restoreIndexesMaxParallelMaintenanceWorkers,
+        restoreIndexesParallelism, skipDdlImport, skipSnapshotCopy, snapshotParallelism,
+        username);
   }
 
   @Override
@@ -118,7 +175,13 @@ public class StackGresStreamTargetSgCluster {
         && Objects.equals(ddlImportRoleSkipFilter, other.ddlImportRoleSkipFilter)
         && Objects.equals(debeziumProperties, other.debeziumProperties)
         && Objects.equals(name, other.name) && Objects.equals(password, other.password)
+        && Objects.equals(restoreIndexesMaintenanceWorkMem, other.restoreIndexesMaintenanceWorkMem)
+        && Objects.equals(restoreIndexesMaxParallelMaintenanceWorkers,
+            other.restoreIndexesMaxParallelMaintenanceWorkers)
+        && Objects.equals(restoreIndexesParallelism, other.restoreIndexesParallelism)
         && Objects.equals(skipDdlImport, other.skipDdlImport)
+        && Objects.equals(skipSnapshotCopy, other.skipSnapshotCopy)
+        && Objects.equals(snapshotParallelism, other.snapshotParallelism)
         && Objects.equals(username, other.username);
   }
 
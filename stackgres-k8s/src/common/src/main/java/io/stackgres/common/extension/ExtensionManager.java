@@ -5,20 +5,31 @@
 
 package io.stackgres.common.extension;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.Signature;
 import java.security.SignatureException;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.zip.GZIPInputStream;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.stackgres.common.CdiUtil;
 import io.stackgres.common.ClusterContext;
 import io.stackgres.common.ClusterPath;
@@ -27,6 +38,7 @@ import io.stackgres.common.SignatureUtil;
 import io.stackgres.common.WebClientFactory;
 import io.stackgres.common.WebClientFactory.WebClient;
 import io.stackgres.common.crd.sgcluster.StackGresClusterInstalledExtension;
+import jakarta.inject.Inject;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.jooq.lambda.Unchecked;
@@ -44,17 +56,36 @@ public abstract class ExtensionManager {
   public static final String INSTALLED_SUFFIX = ".installed";
   public static final String LINKS_CREATED_SUFFIX = ".links-created";
   public static final String PENDING_SUFFIX = ".pending";
+  public static final String TAR_SUFFIX = ".tar";
+
+  private static final String PACKAGE_BYTES_METRIC = "stackgres_extension_package_bytes";
 
   private final ExtensionMetadataManager extensionMetadataManager;
   private final WebClientFactory webClientFactory;
   private final FileSystemHandler fileSystemHandler;
+  private final Path packageCachePath;
+  private MeterRegistry registry = Metrics.globalRegistry;
 
   protected ExtensionManager(ExtensionMetadataManager extensionMetadataManager,
       WebClientFactory webClientFactory,
       FileSystemHandler fileSystemHandler) {
+    this(extensionMetadataManager, webClientFactory, fileSystemHandler, null);
+  }
+
+  /**
+   * When {@code packageCachePath} is not {@code null} the downloaded packages are stored in that
+   * path and reused by any installation of the same package. Each entry is written atomically so
+   * that the containers of the Pod that mount the path (the reconciliation init container and the
+   * cluster controller) can reuse it, also after a restart. The path is not shared between Pods.
+   */
+  protected ExtensionManager(ExtensionMetadataManager extensionMetadataManager,
+      WebClientFactory webClientFactory,
+      FileSystemHandler fileSystemHandler,
+      Path packageCachePath) {
     this.extensionMetadataManager = extensionMetadataManager;
     this.webClientFactory = webClientFactory;
     this.fileSystemHandler = fileSystemHandler;
+    this.packageCachePath = packageCachePath;
   }
 
   public ExtensionManager() {
@@ -62,6 +93,12 @@ public abstract class ExtensionManager {
     this.extensionMetadataManager = null;
     this.webClientFactory = null;
     this.fileSystemHandler = null;
+    this.packageCachePath = null;
+  }
+
+  @Inject
+  public void setMeterRegistry(MeterRegistry registry) {
+    this.registry = registry;
   }
 
   public ExtensionMetadataManager getMetadataManager() {
@@ -90,6 +127,7 @@ public abstract class ExtensionManager {
     private final String packageName;
     private final URI extensionsRepositoryUri;
     private final URI extensionUri;
+    private Boolean packageVerified;
 
     private ExtensionInstaller(ClusterContext context,
         StackGresClusterInstalledExtension installedExtension,
@@ -125,31 +163,120 @@ public abstract class ExtensionManager {
         "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE" },
         justification = "False positive")
     public void downloadAndExtract() throws Exception {
-      LOGGER.info("Downloading {} from {}",
-          ExtensionUtil.getDescription(context.getCluster(), installedExtension, true),
-          extensionUri);
-      try (WebClient client = webClientFactory.create(extensionsRepositoryUri)) {
-        try (InputStream inputStream = client.getInputStream(extensionUri)) {
-          extractTar(inputStream);
+      if (packageCachePath == null) {
+        LOGGER.info("Downloading {} from {}",
+            ExtensionUtil.getDescription(context.getCluster(), installedExtension, true),
+            extensionUri);
+        try (WebClient client = webClientFactory.create(extensionsRepositoryUri)) {
+          try (InputStream inputStream = client.getInputStream(extensionUri)) {
+            extractPackage(countBytes(inputStream, "repository"));
+          }
+        }
+        return;
+      }
+      final Path cachedPackagePath = getCachedPackagePath();
+      final boolean cached = fileSystemHandler.exists(cachedPackagePath);
+      if (cached) {
+        LOGGER.info("Using cached {} from {}",
+            ExtensionUtil.getDescription(context.getCluster(), installedExtension, true),
+            cachedPackagePath);
+      } else {
+        LOGGER.info("Downloading {} from {} to {}",
+            ExtensionUtil.getDescription(context.getCluster(), installedExtension, true),
+            extensionUri, cachedPackagePath);
+        fileSystemHandler.createDirectories(packageCachePath);
+        try (WebClient client = webClientFactory.create(extensionsRepositoryUri)) {
+          try (InputStream inputStream = client.getInputStream(extensionUri)) {
+            fileSystemHandler.copyOrReplace(
+                countBytes(inputStream, "repository"), cachedPackagePath);
+          }
         }
       }
+      try (InputStream inputStream = fileSystemHandler.newInputStream(cachedPackagePath)) {
+        extractPackage(cached ? countBytes(inputStream, "cache") : inputStream);
+      }
+    }
+
+    /**
+     * Extract the package and its signature verifying the package while it is extracted so that
+     * {@link #verify()} does not have to read it again.
+     */
+    private void extractPackage(InputStream inputStream) throws Exception {
+      final Path extensionsPath = Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context));
+      final Path packagePath = extensionsPath.resolve(packageName + TGZ_SUFFIX);
+      final Path signaturePath = extensionsPath.resolve(packageName + SHA256_SUFFIX);
+      final Signature signature = SignatureUtil.createVerifier(extensionPublisher.getPublicKey());
+      final AtomicReference<byte[]> packageSignature = new AtomicReference<>();
+      final AtomicBoolean packageExtracted = new AtomicBoolean(false);
+      visitTar(extensionsPath, inputStream,
+          (tarEntryInputStream, targetPath) -> {
+            final TarArchiveEntry tarEntry = tarEntryInputStream.getCurrentEntry();
+            if (targetPath.equals(packagePath)) {
+              packageExtracted.set(true);
+              return extractFile(tarEntry,
+                  new ObservedInputStream(tarEntryInputStream, (buffer, offset, length) -> {
+                    try {
+                      signature.update(buffer, offset, length);
+                    } catch (SignatureException ex) {
+                      throw new IOException(ex);
+                    }
+                  }),
+                  targetPath);
+            }
+            if (targetPath.equals(signaturePath)) {
+              try {
+                packageSignature.set(tarEntryInputStream.readAllBytes());
+              } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+              }
+              return extractFile(tarEntry,
+                  new ByteArrayInputStream(packageSignature.get()), targetPath);
+            }
+            return extractFile(tarEntry, tarEntryInputStream, targetPath);
+          },
+          null, (prev, next) -> null);
+      if (packageExtracted.get() && packageSignature.get() != null) {
+        packageVerified = signature.verify(packageSignature.get());
+      }
+    }
+
+    private Path getCachedPackagePath() throws Exception {
+      return packageCachePath.resolve(HexFormat.of().formatHex(
+          MessageDigest.getInstance("SHA-256").digest(
+              extensionUri.toString().getBytes(StandardCharsets.UTF_8)))
+          + TAR_SUFFIX);
+    }
+
+    private InputStream countBytes(InputStream inputStream, String source) {
+      final Counter counter = Counter.builder(PACKAGE_BYTES_METRIC)
+          .description("Bytes of extension packages read from the repository or from the cache")
+          .tag("source", source)
+          .register(registry);
+      return new ObservedInputStream(inputStream,
+          (buffer, offset, length) -> counter.increment(length));
     }
 
     @SuppressFBWarnings(value = { "UPM_UNCALLED_PRIVATE_METHOD",
         "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE" },
         justification = "False positive")
     public void verify() throws Exception {
-      try (InputStream signatureInputStream = fileSystemHandler.newInputStream(
-          Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
-          .resolve(packageName + SHA256_SUFFIX));
-          InputStream extensionPackageInputStream = fileSystemHandler.newInputStream(
-              Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
-              .resolve(packageName + TGZ_SUFFIX))) {
-        if (!SignatureUtil.verify(extensionPublisher.getPublicKey(),
-            signatureInputStream, extensionPackageInputStream)) {
-          throw new SignatureException("Signature verification failed");
+      if (packageVerified == null) {
+        try (InputStream signatureInputStream = fileSystemHandler.newInputStream(
+            Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
+            .resolve(packageName + SHA256_SUFFIX));
+            InputStream extensionPackageInputStream = fileSystemHandler.newInputStream(
+                Paths.get(ClusterPath.PG_EXTENSIONS_PATH.path(context))
+                .resolve(packageName + TGZ_SUFFIX))) {
+          packageVerified = SignatureUtil.verify(extensionPublisher.getPublicKey(),
+              signatureInputStream, extensionPackageInputStream);
         }
       }
+      if (!packageVerified) {
+        if (packageCachePath != null) {
+          fileSystemHandler.deleteIfExists(getCachedPackagePath());
+        }
+        throw new SignatureException("Signature verification failed");
+      }
     }
 
     @SuppressFBWarnings(value = { "UPM_UNCALLED_PRIVATE_METHOD",
@@ -357,9 +484,12 @@ public abstract class ExtensionManager {
       justification = "False positive")
   private Void extractFile(TarArchiveInputStream tarEntryInputStream, Path targetPath)
       throws UncheckedIOException {
-    try {
-      final TarArchiveEntry tarEntry = tarEntryInputStream.getCurrentEntry();
+    return extractFile(tarEntryInputStream.getCurrentEntry(), tarEntryInputStream, targetPath);
+  }
 
+  private Void extractFile(TarArchiveEntry tarEntry, InputStream tarEntryInputStream,
+      Path targetPath) throws UncheckedIOException {
+    try {
       if (tarEntry.isFile()) {
         Path targetParent = targetPath.getParent();
         if (targetParent != null) {
@@ -456,4 +586,59 @@ public abstract class ExtensionManager {
         || targetPath.toString().endsWith(".control");
   }
 
+  @FunctionalInterface
+  private interface BytesObserver {
+    void observe(byte[] buffer, int offset, int length) throws IOException;
+  }
+
+  /**
+   * Pass the bytes read to an observer, used to count or verify the bytes of a package while it
+   * is read.
+   */
+  private static class ObservedInputStream extends FilterInputStream {
+    private final BytesObserver observer;
+
+    ObservedInputStream(InputStream inputStream, BytesObserver observer) {
+      super(inputStream);
+      this.observer = observer;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int value = super.read();
+      if (value != -1) {
+        observer.observe(new byte[] { (byte) value }, 0, 1);
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      final int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        observer.observe(buffer, offset, read);
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+      final byte[] buffer = new byte[8192];
+      long skipped = 0;
+      while (skipped < length) {
+        final int read = read(buffer, 0, (int) Math.min(buffer.length, length - skipped));
+        if (read < 0) {
+          break;
+        }
+        skipped += read;
+      }
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+
 }
@@ -8,6 +8,10 @@ package io.stackgres.common.extension;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableList;
@@ -31,6 +35,8 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ExtensionReconciliator.class);
 
+  private static final int DOWNLOAD_PARALLELISM = 4;
+
   private final String podName;
   private final ExtensionManager extensionManager;
   private final boolean skipSharedLibrariesOverwrites;
@@ -120,102 +126,132 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
             podName, ex);
       }
     }
-    for (StackGresClusterInstalledExtension toInstallExtension : toInstallExtensions) {
-      final StackGresClusterInstalledExtension extension;
-      try {
-        Optional<StackGresClusterInstalledExtension> installedExtension =
-            podStatus.getInstalledPostgresExtensions().stream().filter(
-                toInstallExtension::equals).findFirst();
-        if (installedExtension.isPresent()) {
-          extension = installedExtension.get();
-        } else {
-          StackGresClusterExtension clusterExtension = new StackGresClusterExtension();
-          clusterExtension.setName(toInstallExtension.getName());
-          clusterExtension.setPublisher(toInstallExtension.getPublisher());
-          clusterExtension.setRepository(toInstallExtension.getRepository());
-          clusterExtension.setVersion(toInstallExtension.getVersion());
-          StackGresExtensionMetadata candidateExtension =
-              extensionManager.getMetadataManager()
-              .getExtensionCandidateSameMajorBuild(cluster, clusterExtension, true);
-          extension = ExtensionUtil.getInstalledExtension(
-              cluster, clusterExtension, candidateExtension, true);
-          LOGGER.info("Detected extension {}",
-              ExtensionUtil.getDescription(cluster, extension, true));
-        }
-      } catch (Exception ex) {
-        LOGGER.warn("Can not detected extension {}",
-            ExtensionUtil.getDescription(cluster, toInstallExtension, true));
-        exceptions.add(ex);
-        onInstallException(client, cluster, ExtensionUtil.getDescription(
-            cluster, toInstallExtension, true),
-            podName, ex);
-        continue;
-      }
-      try {
-        final ExtensionInstaller extensionInstaller = Optional.ofNullable(
-            extensionManager.getExtensionInstaller(context, extension))
-            .orElseThrow(() -> new IllegalStateException(
-                "Can not find extension "
-                    + ExtensionUtil.getDescription(cluster, extension, true)));
-        if (!extensionInstaller.isExtensionInstalled()
-            && (!skipSharedLibrariesOverwrites
-                || !extensionInstaller.isExtensionPendingOverwrite())) {
-          LOGGER.info("Download extension {}",
-              ExtensionUtil.getDescription(cluster, extension, true));
-          extensionEventEmitter.emitExtensionDownloading(extension);
-          extensionInstaller.downloadAndExtract();
-          LOGGER.info("Verify extension {}",
-              ExtensionUtil.getDescription(cluster, extension, true));
-          extensionInstaller.verify();
-          if (skipSharedLibrariesOverwrites
-              && extensionInstaller.doesInstallOverwriteAnySharedFile()) {
-            LOGGER.info("Skip installation of extension {}",
-                ExtensionUtil.getDescription(cluster, extension, true));
-            if (!extensionInstaller.isExtensionPendingOverwrite()) {
-              extensionInstaller.setExtensionAsPending();
-            }
-            if (!Optional.ofNullable(podStatus.getPendingRestart()).orElse(false)) {
-              extensionEventEmitter.emitExtensionDeployedRestart(extension);
-              podStatus.setPendingRestart(true);
-              clusterUpdated = true;
-            }
+    final List<ExtensionToInstall> extensionsToInstall = new ArrayList<>();
+    final ExecutorService downloadExecutorService = Executors.newFixedThreadPool(
+        DOWNLOAD_PARALLELISM, r -> new Thread(r, "ExtensionDownloader"));
+    try {
+      for (StackGresClusterInstalledExtension toInstallExtension : toInstallExtensions) {
+        final StackGresClusterInstalledExtension extension;
+        try {
+          Optional<StackGresClusterInstalledExtension> installedExtension =
+              podStatus.getInstalledPostgresExtensions().stream().filter(
+                  toInstallExtension::equals).findFirst();
+          if (installedExtension.isPresent()) {
+            extension = installedExtension.get();
           } else {
-            LOGGER.info("Install extension {}",
+            StackGresClusterExtension clusterExtension = new StackGresClusterExtension();
+            clusterExtension.setName(toInstallExtension.getName());
+            clusterExtension.setPublisher(toInstallExtension.getPublisher());
+            clusterExtension.setRepository(toInstallExtension.getRepository());
+            clusterExtension.setVersion(toInstallExtension.getVersion());
+            StackGresExtensionMetadata candidateExtension =
+                extensionManager.getMetadataManager()
+                .getExtensionCandidateSameMajorBuild(cluster, clusterExtension, true);
+            extension = ExtensionUtil.getInstalledExtension(
+                cluster, clusterExtension, candidateExtension, true);
+            LOGGER.info("Detected extension {}",
                 ExtensionUtil.getDescription(cluster, extension, true));
-            extensionInstaller.installExtension();
-            extensionEventEmitter.emitExtensionDeployed(extension);
           }
+        } catch (Exception ex) {
+          LOGGER.warn("Can not detected extension {}",
+              ExtensionUtil.getDescription(cluster, toInstallExtension, true));
+          exceptions.add(ex);
+          onInstallException(client, cluster, ExtensionUtil.getDescription(
+              cluster, toInstallExtension, true),
+              podName, ex);
+          continue;
         }
-        if (extensionInstaller.isExtensionInstalled()) {
-          if (!extensionInstaller.areLinksCreated()) {
-            LOGGER.info("Create links for extension {}",
+        try {
+          final ExtensionInstaller extensionInstaller = Optional.ofNullable(
+              extensionManager.getExtensionInstaller(context, extension))
+              .orElseThrow(() -> new IllegalStateException(
+                  "Can not find extension "
+                      + ExtensionUtil.getDescription(cluster, extension, true)));
+          CompletableFuture<Void> download = null;
+          if (!extensionInstaller.isExtensionInstalled()
+              && (!skipSharedLibrariesOverwrites
+                  || !extensionInstaller.isExtensionPendingOverwrite())) {
+            LOGGER.info("Download extension {}",
                 ExtensionUtil.getDescription(cluster, extension, true));
-            extensionInstaller.createExtensionLinks();
+            extensionEventEmitter.emitExtensionDownloading(extension);
+            download = CompletableFuture.runAsync(() -> {
+              try {
+                extensionInstaller.downloadAndExtract();
+                LOGGER.info("Verify extension {}",
+                    ExtensionUtil.getDescription(cluster, extension, true));
+                extensionInstaller.verify();
+              } catch (RuntimeException ex) {
+                throw ex;
+              } catch (Exception ex) {
+                throw new CompletionException(ex);
+              }
+            }, downloadExecutorService);
           }
-          if (installedExtensions
-              .stream()
-              .noneMatch(anInstalledExtension -> anInstalledExtension.equals(extension))) {
-            installedExtensions.stream()
-                .filter(anInstalledExtension -> anInstalledExtension.same(extension))
-                .map(previousInstalledExtension -> {
-                  LOGGER.info("Extension upgraded from {} to {}",
-                      ExtensionUtil.getDescription(cluster, previousInstalledExtension, true),
-                      ExtensionUtil.getDescription(cluster, extension, true));
-                  extensionEventEmitter.emitExtensionChanged(
-                      previousInstalledExtension, extension);
-                  return previousInstalledExtension;
-                })
-                .findAny()
-                .ifPresent(installedExtensions::remove);
-            installedExtensions.add(extension);
-            clusterUpdated = true;
+          extensionsToInstall.add(new ExtensionToInstall(extension, extensionInstaller, download));
+        } catch (Exception ex) {
+          exceptions.add(ex);
+          onInstallException(client, cluster, ExtensionUtil.getDescription(cluster, extension, true),
+              podName, ex);
+        }
+      }
+      for (ExtensionToInstall extensionToInstall : extensionsToInstall) {
+        final StackGresClusterInstalledExtension extension = extensionToInstall.extension();
+        final ExtensionInstaller extensionInstaller = extensionToInstall.extensionInstaller();
+        try {
+          if (extensionToInstall.download() != null) {
+            waitForDownload(extensionToInstall.download());
+            if (skipSharedLibrariesOverwrites
+                && extensionInstaller.doesInstallOverwriteAnySharedFile()) {
+              LOGGER.info("Skip installation of extension {}",
+                  ExtensionUtil.getDescription(cluster, extension, true));
+              if (!extensionInstaller.isExtensionPendingOverwrite()) {
+                extensionInstaller.setExtensionAsPending();
+              }
+              if (!Optional.ofNullable(podStatus.getPendingRestart()).orElse(false)) {
+                extensionEventEmitter.emitExtensionDeployedRestart(extension);
+                podStatus.setPendingRestart(true);
+                clusterUpdated = true;
+              }
+            } else {
+              LOGGER.info("Install extension {}",
+                  ExtensionUtil.getDescription(cluster, extension, true));
+              extensionInstaller.installExtension();
+              extensionEventEmitter.emitExtensionDeployed(extension);
+            }
+          }
+          if (extensionInstaller.isExtensionInstalled()) {
+            if (!extensionInstaller.areLinksCreated()) {
+              LOGGER.info("Create links for extension {}",
+                  ExtensionUtil.getDescription(cluster, extension, true));
+              extensionInstaller.createExtensionLinks();
+            }
+            if (installedExtensions
+                .stream()
+                .noneMatch(anInstalledExtension -> anInstalledExtension.equals(extension))) {
+              installedExtensions.stream()
+                  .filter(anInstalledExtension -> anInstalledExtension.same(extension))
+                  .map(previousInstalledExtension -> {
+                    LOGGER.info("Extension upgraded from {} to {}",
+                        ExtensionUtil.getDescription(cluster, previousInstalledExtension, true),
+                        ExtensionUtil.getDescription(cluster, extension, true));
+                    extensionEventEmitter.emitExtensionChanged(
+                        previousInstalledExtension, extension);
+                    return previousInstalledExtension;
+                  })
+                  .findAny()
+                  .ifPresent(installedExtensions::remove);
+              installedExtensions.add(extension);
+              clusterUpdated = true;
+            }
           }
+        } catch (Exception ex) {
+          exceptions.add(ex);
+          onInstallException(client, cluster, ExtensionUtil.getDescription(cluster, extension, true),
+              podName, ex);
         }
-      } catch (Exception ex) {
-        exceptions.add(ex);
-        onInstallException(client, cluster, ExtensionUtil.getDescription(cluster, extension, true),
-            podName, ex);
       }
+    } finally {
+      downloadExecutorService.shutdown();
     }
     if (!skipSharedLibrariesOverwrites
         && Optional.ofNullable(podStatus.getPendingRestart()).orElse(false)) {
@@ -226,6 +262,27 @@ public abstract class ExtensionReconciliator<T extends ExtensionReconciliatorCon
     return new ReconciliationResult<>(clusterUpdated, exceptions.build());
   }
 
+  private void waitForDownload(CompletableFuture<Void> download) throws Exception {
+    try {
+      download.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * An extension to install with the download of its package, that is {@code null} when the
+   * package does not have to be downloaded.
+   */
+  private record ExtensionToInstall(
+      StackGresClusterInstalledExtension extension,
+      ExtensionInstaller extensionInstaller,
+      CompletableFuture<Void> download) {
+  }
+
   protected abstract void onUninstallException(KubernetesClient client, StackGresCluster cluster,
       String extension, String podName, Exception ex);
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.patroni;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.AnyType;
+import io.fabric8.kubernetes.api.model.IntOrString;
+
+/**
+ * Client of the Patroni REST API that returns the same model that is parsed from the output of
+ * {@code patronictl}. The underlying HTTP client is shared so that connections are pooled between
+ * calls.
+ */
+class PatroniApiClient {
+
+  private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  private static final String API_URL_SUFFIX = "/patroni";
+  private static final int DEFAULT_POSTGRES_PORT = 5432;
+  private static final TypeReference<Map<String, AnyType>> TAGS_TYPE_REFERENCE =
+      new TypeReference<Map<String, AnyType>>() { };
+
+  private final ObjectMapper objectMapper;
+
+  PatroniApiClient(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  List<PatroniMember> list(URI apiUri, Duration timeout, String scope, Integer group)
+      throws IOException {
+    return toMembers(get(apiUri.resolve("/cluster"), timeout), scope, group);
+  }
+
+  List<PatroniHistoryEntry> history(URI apiUri, Duration timeout) throws IOException {
+    return toHistory(get(apiUri.resolve("/history"), timeout));
+  }
+
+  ObjectNode config(URI apiUri, Duration timeout) throws IOException {
+    if (get(apiUri.resolve("/config"), timeout) instanceof ObjectNode config) {
+      return config;
+    }
+    return objectMapper.createObjectNode();
+  }
+
+  /**
+   * Restart the member. A {@link PatroniApiNotSentException} is thrown when the restart request
+   * was not sent, any other {@link IOException} means the restart may have been requested.
+   */
+  void restart(URI apiUri, Duration timeout, String username, String password, String member)
+      throws IOException {
+    final URI memberApiUri = getMemberApiUri(apiUri, timeout, member);
+    final HttpResponse<String> response = post(memberApiUri.resolve("/restart"), timeout,
+        username, password, objectMapper.createObjectNode());
+    if (response.statusCode() != 200) {
+      throw new RuntimeException("Failed: restart for member " + member
+          + ", status code=" + response.statusCode() + ", (" + response.body() + ")");
+    }
+  }
+
+  /**
+   * Switchover from the leader to the candidate. A {@link PatroniApiNotSentException} is thrown
+   * when the switchover request was not sent, any other {@link IOException} means the switchover
+   * may have been requested.
+   */
+  void switchover(URI apiUri, Duration timeout, String username, String password,
+      String leader, String candidate) throws IOException {
+    final URI leaderApiUri = getMemberApiUri(apiUri, timeout, leader);
+    final HttpResponse<String> response = post(leaderApiUri.resolve("/switchover"), timeout,
+        username, password, objectMapper.createObjectNode()
+        .put("leader", leader)
+        .put("candidate", candidate));
+    if (response.statusCode() != 200) {
+      throw new RuntimeException("Switchover failed, status code=" + response.statusCode()
+          + ", (" + response.body() + ")");
+    }
+  }
+
+  private URI getMemberApiUri(URI apiUri, Duration timeout, String member) throws IOException {
+    final JsonNode cluster;
+    try {
+      cluster = get(apiUri.resolve("/cluster"), timeout);
+    } catch (IOException ex) {
+      throw new PatroniApiNotSentException("Can not find member " + member, ex);
+    }
+    for (JsonNode node : cluster.path("members")) {
+      final String apiUrl = node.path("api_url").asText(null);
+      if (member.equals(node.path("name").asText()) && apiUrl != null) {
+        return URI.create(apiUrl.endsWith(API_URL_SUFFIX)
+            ? apiUrl.substring(0, apiUrl.length() - API_URL_SUFFIX.length()) : apiUrl);
+      }
+    }
+    throw new PatroniApiNotSentException(
+        "Member " + member + " was not found in " + apiUri.resolve("/cluster"), null);
+  }
+
+  private JsonNode get(URI uri, Duration timeout) throws IOException {
+    final HttpResponse<String> response = send(HttpRequest.newBuilder(uri)
+        .timeout(timeout)
+        .header("Accept", "application/json")
+        .GET()
+        .build());
+    if (response.statusCode() != 200) {
+      throw new IOException("Request to " + uri + " failed with status code "
+          + response.statusCode() + ": " + response.body());
+    }
+    return objectMapper.readTree(response.body());
+  }
+
+  private HttpResponse<String> post(URI uri, Duration timeout, String username,
+      String password, JsonNode body) throws IOException {
+    try {
+      return send(HttpRequest.newBuilder(uri)
+          .timeout(timeout)
+          .header("Content-Type", "application/json")
+          .header("Authorization", "Basic " + Base64.getEncoder().encodeToString(
+              (username + ":" + password).getBytes(StandardCharsets.UTF_8)))
+          .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+          .build());
+    } catch (ConnectException | HttpConnectTimeoutException ex) {
+      throw new PatroniApiNotSentException("Can not connect to " + uri, ex);
+    }
+  }
+
+  private HttpResponse<String> send(HttpRequest request) throws IOException {
+    try {
+      return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException(ex);
+    }
+  }
+
+  // Sync the code below with the code of the function
+  // patroni.ctl.output_members(...)
+  List<PatroniMember> toMembers(JsonNode cluster, String scope, Integer group) {
+    final JsonNode members = cluster.path("members");
+    final List<PatroniMember> result = new ArrayList<>(members.size());
+    for (JsonNode node : members) {
+      final PatroniMember member = new PatroniMember();
+      member.setCluster(scope);
+      member.setMember(node.path("name").asText(null));
+      member.setHost(Optional.ofNullable(node.get("host"))
+          .map(JsonNode::asText)
+          .map(host -> node.path("port").asInt(DEFAULT_POSTGRES_PORT) != DEFAULT_POSTGRES_PORT
+              ? host + ":" + node.path("port").asInt() : host)
+          .orElse(null));
+      member.setRole(Optional.ofNullable(node.get("role"))
+          .map(JsonNode::asText)
+          .map(PatroniApiClient::toRole)
+          .orElse(null));
+      member.setState(node.path("state").asText(null));
+      member.setTimeline(node.path("timeline").asText(null));
+      member.setLagInMb(Optional.ofNullable(node.get("lag"))
+          .map(lag -> lag.isNumber()
+              ? new IntOrString((int) Math.round(lag.asDouble() / 1024 / 1024))
+              : new IntOrString(lag.asText()))
+          .orElse(null));
+      member.setGroup(group != null ? new IntOrString(group) : null);
+      member.setPendingRestart(node.path("pending_restart").asBoolean() ? "*" : null);
+      member.setScheduledRestart(Optional.ofNullable(node.get("scheduled_restart"))
+          .map(scheduledRestart -> scheduledRestart.path("schedule").asText(null))
+          .orElse(null));
+      member.setTags(Optional.ofNullable(node.get("tags"))
+          .filter(JsonNode::isObject)
+          .map(tags -> objectMapper.convertValue(tags, TAGS_TYPE_REFERENCE))
+          .orElse(null));
+      result.add(member);
+    }
+    return result;
+  }
+
+  private static String toRole(String role) {
+    return List.of(role.split("_")).stream()
+        .filter(word -> !word.isEmpty())
+        .map(word -> word.substring(0, 1).toUpperCase(Locale.ROOT)
+            + word.substring(1).toLowerCase(Locale.ROOT))
+        .collect(Collectors.joining(" "));
+  }
+
+  // Sync the code below with the code of the function
+  // patroni.ctl.history(...)
+  List<PatroniHistoryEntry> toHistory(JsonNode history) {
+    final List<PatroniHistoryEntry> result = new ArrayList<>(history.size());
+    for (JsonNode line : history) {
+      final PatroniHistoryEntry entry = new PatroniHistoryEntry();
+      entry.setTimeline(line.path(0).asText(""));
+      entry.setLsn(line.path(1).asText(""));
+      entry.setReason(line.path(2).asText(""));
+      entry.setTimestamp(line.path(3).asText(""));
+      entry.setNewLeader(line.path(4).asText(""));
+      result.add(entry);
+    }
+    return result;
+  }
+
+}
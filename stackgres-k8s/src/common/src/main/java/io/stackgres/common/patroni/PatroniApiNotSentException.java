@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.patroni;
+
+import java.io.IOException;
+
+/**
+ * Signals that a mutating request to the Patroni REST API was never sent, so it is safe to retry
+ * the same action with {@code patronictl}.
+ */
+class PatroniApiNotSentException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  PatroniApiNotSentException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+}
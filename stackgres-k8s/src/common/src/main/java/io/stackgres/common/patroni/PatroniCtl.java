@@ -9,15 +9,16 @@ import static io.stackgres.common.StackGresUtil.getPatroniMajorVersion;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
-import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
@@ -36,6 +37,7 @@ import com.ongres.process.FluentProcess;
 import com.ongres.process.FluentProcessBuilder;
 import com.ongres.process.Output;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.stackgres.common.EnvoyUtil;
 import io.stackgres.common.OperatorProperty;
 import io.stackgres.common.PatroniUtil;
 import io.stackgres.common.StackGresUtil;
@@ -63,6 +65,7 @@ public class PatroniCtl {
   final ObjectMapper objectMapper;
   final YAMLMapper yamlMapper;
   final LabelFactoryForCluster clusterLabelFactory;
+  final PatroniApiClient patroniApiClient;
 
   @Inject
   public PatroniCtl(ObjectMapper objectMapper, YamlMapperProvider yamlMapperProvider,
@@ -70,6 +73,7 @@ public class PatroniCtl {
     this.objectMapper = objectMapper;
     this.yamlMapper = yamlMapperProvider.get();
     this.clusterLabelFactory = clusterLabelFactory;
+    this.patroniApiClient = new PatroniApiClient(objectMapper);
   }
 
   public PatroniCtlInstance instanceFor(StackGresCluster cluster) {
@@ -99,6 +103,7 @@ public class PatroniCtl {
     final int patroniMajorVersion;
     final Path configPath;
     final String config;
+    final URI patroniApiUri;
     final Duration patroniCtlTimeout = Duration
         .ofSeconds(OperatorProperty.PATRONI_CTL_TIMEOUT.get()
         .map(Long::parseLong)
@@ -120,6 +125,8 @@ public class PatroniCtl {
       this.configPath = getConfigPath();
       this.config = PatroniUtil.getInitialConfig(
           cluster, clusterLabelFactory, yamlMapper, objectMapper);
+      this.patroniApiUri = URI.create("http://" + PatroniUtil.restName(cluster)
+          + "." + cluster.getMetadata().getNamespace() + ":" + EnvoyUtil.PATRONI_ENTRY_PORT);
     }
 
     final String[] patroniCtlCommands(String version, int patroniMajorVersion) {
@@ -192,11 +199,20 @@ public class PatroniCtl {
           + "/config.yaml");
     }
 
+    /**
+     * Write the configuration to a temporary file and move it in place so that a concurrent
+     * patronictl invocation never reads a partially written configuration.
+     */
     final void writeConfig() {
       try {
         Files.createDirectories(configPath.getParent());
-        try (FileOutputStream fos = new FileOutputStream(configPath.toFile())) {
-          fos.write(config.getBytes(StandardCharsets.UTF_8));
+        Path tempConfigPath = Files.createTempFile(configPath.getParent(), "config", ".yaml");
+        try {
+          Files.writeString(tempConfigPath, config, StandardCharsets.UTF_8);
+          Files.move(tempConfigPath, configPath,
+              StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+          Files.deleteIfExists(tempConfigPath);
         }
       } catch (IOException ex) {
         throw new RuntimeException(ex);
@@ -204,6 +220,11 @@ public class PatroniCtl {
     }
 
     public List<PatroniMember> list() {
+      try {
+        return listFromApi();
+      } catch (IOException ex) {
+        logPatroniApiFallback("list", ex);
+      }
       Output output = patronictl("list", "-f", "json", "-e")
           .start()
           .withTimeout(patroniCtlTimeout)
@@ -217,7 +238,20 @@ public class PatroniCtl {
       }
     }
 
+    /**
+     * Return the members only through the Patroni REST API, without falling back to patronictl,
+     * so that it is cheap enough to be called frequently.
+     */
+    public List<PatroniMember> listFromApi() throws IOException {
+      return patroniApiClient.list(patroniApiUri, patroniCtlTimeout, scope, group);
+    }
+
     public List<PatroniHistoryEntry> history() {
+      try {
+        return patroniApiClient.history(patroniApiUri, patroniCtlTimeout);
+      } catch (IOException ex) {
+        logPatroniApiFallback("history", ex);
+      }
       Output output = patronictl("history", "-f", "json")
           .start()
           .withTimeout(patroniCtlTimeout)
@@ -232,6 +266,12 @@ public class PatroniCtl {
     }
 
     public PatroniConfig showConfig() {
+      try {
+        return objectMapper.treeToValue(
+            patroniApiClient.config(patroniApiUri, patroniCtlTimeout), PatroniConfig.class);
+      } catch (IOException ex) {
+        logPatroniApiFallback("show-config", ex);
+      }
       Output output = patronictl("show-config")
           .start()
           .withTimeout(patroniCtlTimeout)
@@ -249,6 +289,11 @@ public class PatroniCtl {
     }
 
     public ObjectNode showConfigJson() {
+      try {
+        return patroniApiClient.config(patroniApiUri, patroniCtlTimeout);
+      } catch (IOException ex) {
+        logPatroniApiFallback("show-config", ex);
+      }
       Output output = patronictl("show-config")
           .start()
           .withTimeout(patroniCtlTimeout)
@@ -295,6 +340,15 @@ public class PatroniCtl {
     }
 
     public void restart(String username, String password, String member) {
+      try {
+        patroniApiClient.restart(patroniApiUri, patroniCtlTimeout, username, password, member);
+        return;
+      } catch (PatroniApiNotSentException ex) {
+        logPatroniApiFallback("restart", ex);
+      } catch (IOException ex) {
+        throw new RuntimeException("The restart of member " + member
+            + " may have been requested but its result is unknown", ex);
+      }
       Output output = patronictl("restart", scope, member, "--force")
           .environment("PATRONI_RESTAPI_USERNAME", username)
           .environment("PATRONI_RESTAPI_PASSWORD", password)
@@ -313,6 +367,16 @@ public class PatroniCtl {
     }
 
     public void switchover(String username, String password, String leader, String candidate) {
+      try {
+        patroniApiClient.switchover(patroniApiUri, patroniCtlTimeout,
+            username, password, leader, candidate);
+        return;
+      } catch (PatroniApiNotSentException ex) {
+        logPatroniApiFallback("switchover", ex);
+      } catch (IOException ex) {
+        throw new RuntimeException("The switchover from " + leader + " to " + candidate
+            + " may have been requested but its result is unknown", ex);
+      }
       Output output = patronictl(
           "switchover", scope,
           patroniMajorVersion < PatroniUtil.PATRONI_VERSION_4 ? "--master" : "--primary", leader,
@@ -376,6 +440,12 @@ public class PatroniCtl {
       }
     }
 
+    private void logPatroniApiFallback(String command, IOException ex) {
+      LOGGER.debug("Error while calling Patroni REST API at {} for cluster {}.{},"
+          + " falling back to patronictl {}", patroniApiUri,
+          cluster.getMetadata().getNamespace(), cluster.getMetadata().getName(), command, ex);
+    }
+
     private FluentProcessBuilder patronictl(String command, String... args) {
       return FluentProcess
           .builder(patroniCtlCommands[0], Seq.of(patroniCtlCommands[1])
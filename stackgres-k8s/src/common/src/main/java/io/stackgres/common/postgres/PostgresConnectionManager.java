@@ -8,17 +8,77 @@ package io.stackgres.common.postgres;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 @Singleton
 public class PostgresConnectionManager {
 
+  private static final String ACQUIRE_DURATION_METRIC =
+      "stackgres_postgres_connection_acquire_duration";
+  private static final String POOL_CONNECTIONS_METRIC =
+      "stackgres_postgres_connection_pool_connections";
+
+  private static final int POOL_MAX_SIZE = 4;
+  private static final Duration POOL_IDLE_TIMEOUT = Duration.ofSeconds(60);
+  private static final Duration POOL_ACQUIRE_TIMEOUT = Duration.ofSeconds(10);
+  private static final int POOL_ACQUIRE_ATTEMPTS = 3;
+
+  private final Map<PoolKey, Pool> pools = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService evictor =
+      Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "PostgresConnectionEvictor");
+        thread.setDaemon(true);
+        return thread;
+      });
+  private final AtomicBoolean evictorStarted = new AtomicBoolean();
+  private final Duration idleTimeout;
+  private final LongSupplier clock;
+  private MeterRegistry registry = Metrics.globalRegistry;
+
+  public PostgresConnectionManager() {
+    this(POOL_IDLE_TIMEOUT, System::currentTimeMillis);
+  }
+
+  PostgresConnectionManager(Duration idleTimeout, LongSupplier clock) {
+    this.idleTimeout = idleTimeout;
+    this.clock = clock;
+  }
+
+  @Inject
+  public void setRegistry(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  void onStop(@Observes ShutdownEvent ev) {
+    evictor.shutdownNow();
+    pools.keySet().forEach(this::closePool);
+  }
+
   public Connection getConnection(
       @Nonnull String host,
       int port,
@@ -63,4 +123,144 @@ public class PostgresConnectionManager {
         "jdbc:postgresql://unix/" + database, properties);
   }
 
+  /**
+   * Return a connection from a bounded pool of connections to the same host, port, database and
+   * user. Closing the returned connection releases it back to the pool after its session state
+   * is reset. When the password changes (for example, after the credentials secret was rotated)
+   * the pool is replaced by a new one and the connections of the previous pool are closed.
+   */
+  public Connection getPooledConnection(
+      @Nonnull String host,
+      int port,
+      @Nonnull String database,
+      @Nonnull String username,
+      @Nonnull String password) throws SQLException {
+    return acquirePooledConnection(
+        new PoolKey(host + ":" + port, database, username), password,
+        () -> getConnection(host, port, database, username, password));
+  }
+
+  /**
+   * Same as {@link #getPooledConnection(String, int, String, String, String)} but connecting
+   * through the unix socket found in the specified path.
+   */
+  public Connection getPooledUnixConnection(
+      @Nonnull String path,
+      int port,
+      @Nonnull String database,
+      @Nonnull String username,
+      @Nonnull String password) throws SQLException {
+    return acquirePooledConnection(
+        new PoolKey(path + "/.s.PGSQL." + port, database, username), password,
+        () -> getUnixConnection(path, port, database, username, password));
+  }
+
+  /**
+   * Return a connection from the pool of the key. Since the pool may be replaced or evicted
+   * between being looked up and handing out the connection, the connection is only returned when
+   * its pool is still the one registered for the key, otherwise it is released and the acquire
+   * is retried.
+   */
+  Connection acquirePooledConnection(PoolKey key, String password,
+      PostgresConnectionPool.ConnectionFactory connectionFactory) throws SQLException {
+    for (int attempt = 1; ; attempt++) {
+      Pool pool = pools.compute(key, (ignored, foundPool) -> {
+        if (foundPool != null && Objects.equals(foundPool.password(), password)) {
+          return foundPool;
+        }
+        if (foundPool != null) {
+          foundPool.close(registry);
+        }
+        return createPool(key, password, connectionFactory);
+      });
+      Timer.Sample sample = Timer.start(registry);
+      final Connection connection;
+      try {
+        connection = pool.pool().getConnection();
+      } finally {
+        sample.stop(pool.acquireTimer());
+      }
+      if (pools.get(key) == pool) {
+        return connection;
+      }
+      connection.close();
+      if (attempt >= POOL_ACQUIRE_ATTEMPTS) {
+        throw new SQLTransientConnectionException(
+            "The connection pool was replaced while acquiring a connection");
+      }
+    }
+  }
+
+  /**
+   * Close the connections that were idle for longer than the idle timeout and remove the pools
+   * that are left without connections, deregistering their meters.
+   */
+  void evictIdlePools() {
+    pools.forEach((key, pool) -> {
+      pool.pool().evictIdleConnections();
+      if (pool.isEmpty()) {
+        pools.computeIfPresent(key, (ignored, foundPool) -> {
+          if (foundPool != pool || !foundPool.isEmpty()) {
+            return foundPool;
+          }
+          foundPool.close(registry);
+          return null;
+        });
+      }
+    });
+  }
+
+  private Pool createPool(PoolKey key, String password,
+      PostgresConnectionPool.ConnectionFactory connectionFactory) {
+    if (evictorStarted.compareAndSet(false, true)) {
+      evictor.scheduleWithFixedDelay(this::evictIdlePools,
+          idleTimeout.toMillis(), idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    PostgresConnectionPool pool = new PostgresConnectionPool(
+        connectionFactory, POOL_MAX_SIZE, idleTimeout, POOL_ACQUIRE_TIMEOUT, clock);
+    Tags tags = Tags.of(
+        "target", key.target(),
+        "database", key.database(),
+        "user", key.username());
+    return new Pool(pool, password,
+        Timer.builder(ACQUIRE_DURATION_METRIC)
+            .description("Time spent acquiring a connection from a Postgres connection pool")
+            .tags(tags)
+            .register(registry),
+        List.of(
+            Gauge.builder(POOL_CONNECTIONS_METRIC, pool,
+                PostgresConnectionPool::getActiveConnections)
+                .description("Number of connections of a Postgres connection pool")
+                .tags(tags.and("state", "active"))
+                .register(registry),
+            Gauge.builder(POOL_CONNECTIONS_METRIC, pool,
+                PostgresConnectionPool::getIdleConnections)
+                .description("Number of connections of a Postgres connection pool")
+                .tags(tags.and("state", "idle"))
+                .register(registry)));
+  }
+
+  private void closePool(PoolKey key) {
+    pools.computeIfPresent(key, (ignored, pool) -> {
+      pool.close(registry);
+      return null;
+    });
+  }
+
+  record PoolKey(String target, String database, String username) {
+  }
+
+  record Pool(PostgresConnectionPool pool, String password, Timer acquireTimer,
+      List<Meter> gauges) {
+    boolean isEmpty() {
+      return pool.getActiveConnections() == 0 && pool.getIdleConnections() == 0;
+    }
+
+    void close(MeterRegistry registry) {
+      pool.close();
+      registry.remove(acquireTimer);
+      gauges.forEach(registry::remove);
+    }
+  }
+
 }
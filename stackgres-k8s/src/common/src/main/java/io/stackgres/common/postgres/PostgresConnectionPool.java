@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.postgres;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import io.quarkus.runtime.annotations.RegisterForProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded pool of connections to a single Postgres target. Connections returned by the pool
+ * are released back when closed after their session state is reset. Connections that stay idle
+ * for longer than the idle timeout or that failed with a connection error are closed.
+ */
+@RegisterForProxy(targets = Connection.class)
+class PostgresConnectionPool implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PostgresConnectionPool.class);
+
+  private static final String CONNECTION_EXCEPTION_SQL_STATE_CLASS = "08";
+
+  private final ConnectionFactory connectionFactory;
+  private final Duration idleTimeout;
+  private final Duration acquireTimeout;
+  private final LongSupplier clock;
+  private final Semaphore permits;
+  private final Deque<IdleConnection> idleConnections = new ArrayDeque<>();
+  private final AtomicInteger activeConnections = new AtomicInteger();
+  private volatile boolean closed;
+
+  PostgresConnectionPool(ConnectionFactory connectionFactory, int maxSize,
+      Duration idleTimeout, Duration acquireTimeout, LongSupplier clock) {
+    this.connectionFactory = connectionFactory;
+    this.idleTimeout = idleTimeout;
+    this.acquireTimeout = acquireTimeout;
+    this.clock = clock;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  Connection getConnection() throws SQLException {
+    try {
+      if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Timeout while waiting for a connection to be available in the pool");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException(ex);
+    }
+    try {
+      Connection connection = pollIdleConnection();
+      if (connection == null) {
+        connection = connectionFactory.create();
+      }
+      activeConnections.incrementAndGet();
+      return (Connection) Proxy.newProxyInstance(
+          Connection.class.getClassLoader(),
+          new Class<?>[] { Connection.class },
+          new PooledConnectionHandler(connection));
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  int getActiveConnections() {
+    return activeConnections.get();
+  }
+
+  synchronized int getIdleConnections() {
+    return idleConnections.size();
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Close the connections that were idle for longer than the idle timeout.
+   */
+  void evictIdleConnections() {
+    final List<Connection> evicted = new ArrayList<>();
+    final long now = clock.getAsLong();
+    synchronized (this) {
+      while (!idleConnections.isEmpty()
+          && now - idleConnections.peekFirst().idleSince() >= idleTimeout.toMillis()) {
+        evicted.add(idleConnections.removeFirst().connection());
+      }
+    }
+    evicted.forEach(this::closeQuietly);
+  }
+
+  /**
+   * Close the idle connections. Connections that are in use are closed when released.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    final List<Connection> evicted = new ArrayList<>();
+    synchronized (this) {
+      idleConnections.forEach(idleConnection -> evicted.add(idleConnection.connection()));
+      idleConnections.clear();
+    }
+    evicted.forEach(this::closeQuietly);
+  }
+
+  private Connection pollIdleConnection() throws SQLException {
+    evictIdleConnections();
+    while (true) {
+      final IdleConnection idleConnection;
+      synchronized (this) {
+        idleConnection = idleConnections.pollLast();
+      }
+      if (idleConnection == null) {
+        return null;
+      }
+      if (idleConnection.connection().isValid(1)) {
+        return idleConnection.connection();
+      }
+      closeQuietly(idleConnection.connection());
+    }
+  }
+
+  private void release(Connection connection, boolean broken) {
+    activeConnections.decrementAndGet();
+    try {
+      if (closed || broken || !reset(connection)) {
+        closeQuietly(connection);
+        return;
+      }
+      synchronized (this) {
+        idleConnections.addLast(new IdleConnection(connection, clock.getAsLong()));
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  private boolean reset(Connection connection) {
+    try {
+      if (!connection.getAutoCommit()) {
+        connection.rollback();
+        connection.setAutoCommit(true);
+      }
+      connection.setReadOnly(false);
+      connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("DISCARD ALL");
+      }
+      return true;
+    } catch (SQLException ex) {
+      LOGGER.debug("Error while resetting pooled connection, closing it", ex);
+      return false;
+    }
+  }
+
+  private void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException ex) {
+      LOGGER.debug("Error while closing pooled connection", ex);
+    }
+  }
+
+  @FunctionalInterface
+  interface ConnectionFactory {
+    Connection create() throws SQLException;
+  }
+
+  record IdleConnection(Connection connection, long idleSince) {
+  }
+
+  class PooledConnectionHandler implements InvocationHandler {
+
+    private final Connection connection;
+    private boolean released;
+    private boolean broken;
+
+    PooledConnectionHandler(Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public synchronized Object invoke(Object proxy, Method method, Object[] args)
+        throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (!released) {
+            released = true;
+            release(connection, broken);
+          }
+          return null;
+        case "isClosed":
+          return released || connection.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled" + connection;
+        default:
+          break;
+      }
+      if (released) {
+        throw new SQLException("Connection was closed");
+      }
+      try {
+        return method.invoke(connection, args);
+      } catch (InvocationTargetException ex) {
+        if (ex.getCause() instanceof SQLException sqlException
+            && sqlException.getSQLState() != null
+            && sqlException.getSQLState().startsWith(CONNECTION_EXCEPTION_SQL_STATE_CLASS)) {
+          broken = true;
+        }
+        throw ex.getCause();
+      }
+    }
+
+  }
+
+}
@@ -10,7 +10,11 @@ import java.util.Optional;
 import io.fabric8.kubernetes.api.model.DefaultKubernetesResourceList;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
 import io.stackgres.common.CdiUtil;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 
 public abstract class AbstractCustomResourceFinder<T extends CustomResource<?, ?>>
     implements CustomResourceFinder<T> {
@@ -18,6 +22,7 @@ public abstract class AbstractCustomResourceFinder<T extends CustomResource<?, ?
   private final KubernetesClient client;
   private final Class<T> customResourceClass;
   private final Class<? extends DefaultKubernetesResourceList<T>> customResourceListClass;
+  private ResourceInformerCache resourceInformerCache;
 
   protected AbstractCustomResourceFinder(KubernetesClient client,
       Class<T> customResourceClass,
@@ -43,11 +48,28 @@ public abstract class AbstractCustomResourceFinder<T extends CustomResource<?, ?
    */
   @Override
   public Optional<T> findByNameAndNamespace(String name, String namespace) {
-    return Optional.ofNullable(client.resources(
-        customResourceClass, customResourceListClass)
-        .inNamespace(namespace)
-        .withName(name)
-        .get());
+    return Optional.ofNullable(resourceInformerCache)
+        .flatMap(cache -> cache.getIndex(customResourceClass, this::getOperation, namespace))
+        .map(index -> index.findByNameAndNamespace(name, namespace))
+        .orElseGet(() -> Optional.ofNullable(getOperation(client)
+            .inNamespace(namespace)
+            .withName(name)
+            .get()));
+  }
+
+  private MixedOperation<T, ? extends DefaultKubernetesResourceList<T>, Resource<T>> getOperation(
+      KubernetesClient client) {
+    return client.resources(customResourceClass, customResourceListClass);
+  }
+
+  /**
+   * Only the operator produces the cache, see {@link ResourceInformerCache}.
+   */
+  @Inject
+  public void setResourceInformerCache(Instance<ResourceInformerCache> resourceInformerCache) {
+    if (resourceInformerCache.isResolvable()) {
+      this.resourceInformerCache = resourceInformerCache.get();
+    }
   }
 
 }
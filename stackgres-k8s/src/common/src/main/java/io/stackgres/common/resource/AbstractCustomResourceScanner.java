@@ -15,8 +15,12 @@ import java.util.function.Predicate;
 import io.fabric8.kubernetes.api.model.DefaultKubernetesResourceList;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
 import io.stackgres.common.CdiUtil;
 import io.stackgres.common.OperatorProperty;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jooq.lambda.Seq;
@@ -33,6 +37,8 @@ public abstract class AbstractCustomResourceScanner<T extends CustomResource<?,
   private final Class<T> customResourceClass;
   private final Class<L> customResourceListClass;
 
+  private ResourceInformerCache resourceInformerCache;
+
   protected AbstractCustomResourceScanner(KubernetesClient client,
       Class<T> customResourceClass,
       Class<L> customResourceListClass) {
@@ -50,6 +56,10 @@ public abstract class AbstractCustomResourceScanner<T extends CustomResource<?,
 
   @Override
   public Optional<List<T>> findResources() {
+    var index = getIndex(null);
+    if (index.isPresent()) {
+      return index.map(ResourceInformerCache.ResourceIndex::getResources);
+    }
     String crdName = CustomResource.getCRDName(customResourceClass);
     return Optional.of(allowedNamespaces)
         .filter(Predicate.not(List::isEmpty))
@@ -84,6 +94,10 @@ public abstract class AbstractCustomResourceScanner<T extends CustomResource<?,
 
   @Override
   public Optional<List<T>> findResources(@Nullable String namespace) {
+    var index = getIndex(namespace);
+    if (index.isPresent()) {
+      return index.map(cachedIndex -> cachedIndex.getResourcesInNamespace(namespace));
+    }
     String crdName = CustomResource.getCRDName(customResourceClass);
     return Optional.of(clusterRoleDisabled)
         .filter(clusterRoleDisabled -> clusterRoleDisabled)
@@ -100,6 +114,38 @@ public abstract class AbstractCustomResourceScanner<T extends CustomResource<?,
 
   @Override
   public List<T> getResources() {
+    return getIndex(null)
+        .map(ResourceInformerCache.ResourceIndex::getResources)
+        .orElseGet(this::listResources);
+  }
+
+  @Override
+  public List<T> getResources(@Nullable String namespace) {
+    return getIndex(namespace)
+        .map(index -> index.getResourcesInNamespace(namespace))
+        .orElseGet(() -> listResourcesInNamespace(namespace));
+  }
+
+  @Override
+  public @NotNull List<@NotNull T> getResourcesWithLabels(Map<String, String> labels) {
+    return getIndex(null)
+        .map(index -> index.getResourcesWithLabels(labels))
+        .orElseGet(() -> listResourcesWithLabels(labels));
+  }
+
+  @Override
+  public @NotNull List<@NotNull T> getResourcesWithLabels(
+      String namespace, Map<String, String> labels) {
+    return getIndex(namespace)
+        .map(index -> index.getResourcesInNamespaceWithLabels(namespace, labels))
+        .orElseGet(() -> client.resources(customResourceClass, customResourceListClass)
+            .inNamespace(namespace)
+            .withLabels(labels)
+            .list()
+            .getItems());
+  }
+
+  private List<T> listResources() {
     return Optional.of(allowedNamespaces)
         .filter(Predicate.not(List::isEmpty))
         .map(allowedNamespaces -> allowedNamespaces.stream()
@@ -116,16 +162,14 @@ public abstract class AbstractCustomResourceScanner<T extends CustomResource<?,
             .getItems());
   }
 
-  @Override
-  public List<T> getResources(@Nullable String namespace) {
+  private List<T> listResourcesInNamespace(@Nullable String namespace) {
     return client.resources(customResourceClass, customResourceListClass)
         .inNamespace(namespace)
         .list()
         .getItems();
   }
 
-  @Override
-  public @NotNull List<@NotNull T> getResourcesWithLabels(Map<String, String> labels) {
+  private List<T> listResourcesWithLabels(Map<String, String> labels) {
     return Optional.of(allowedNamespaces)
         .filter(Predicate.not(List::isEmpty))
         .map(allowedNamespaces -> allowedNamespaces.stream()
@@ -143,14 +187,23 @@ public abstract class AbstractCustomResourceScanner<T extends CustomResource<?,
             .getItems());
   }
 
-  @Override
-  public @NotNull List<@NotNull T> getResourcesWithLabels(
-      String namespace, Map<String, String> labels) {
-    return client.resources(customResourceClass, customResourceListClass)
-        .inNamespace(namespace)
-        .withLabels(labels)
-        .list()
-        .getItems();
+  private Optional<ResourceInformerCache.ResourceIndex<T>> getIndex(@Nullable String namespace) {
+    return Optional.ofNullable(resourceInformerCache)
+        .flatMap(cache -> cache.getIndex(customResourceClass, this::getOperation, namespace));
+  }
+
+  private MixedOperation<T, L, Resource<T>> getOperation(KubernetesClient client) {
+    return client.resources(customResourceClass, customResourceListClass);
+  }
+
+  /**
+   * Only the operator produces the cache, see {@link ResourceInformerCache}.
+   */
+  @Inject
+  public void setResourceInformerCache(Instance<ResourceInformerCache> resourceInformerCache) {
+    if (resourceInformerCache.isResolvable()) {
+      this.resourceInformerCache = resourceInformerCache.get();
+    }
   }
 
 }
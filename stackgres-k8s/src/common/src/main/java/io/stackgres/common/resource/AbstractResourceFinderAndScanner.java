@@ -19,6 +19,8 @@ import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.stackgres.common.CdiUtil;
 import io.stackgres.common.OperatorProperty;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 import org.jooq.lambda.Seq;
 
 public abstract class AbstractResourceFinderAndScanner<T extends HasMetadata>
@@ -28,6 +30,8 @@ public abstract class AbstractResourceFinderAndScanner<T extends HasMetadata>
 
   private final KubernetesClient client;
 
+  private ResourceInformerCache resourceInformerCache;
+
   public AbstractResourceFinderAndScanner(KubernetesClient client) {
     this.client = client;
   }
@@ -44,14 +48,50 @@ public abstract class AbstractResourceFinderAndScanner<T extends HasMetadata>
 
   @Override
   public Optional<T> findByNameAndNamespace(String name, String namespace) {
-    return Optional.ofNullable(getOperation(client)
-        .inNamespace(namespace)
-        .withName(name)
-        .get());
+    return getIndex(namespace)
+        .flatMap(index -> index.findByNameAndNamespace(name, namespace))
+        .or(() -> Optional.ofNullable(getOperation(client)
+            .inNamespace(namespace)
+            .withName(name)
+            .get()));
   }
 
   @Override
   public List<T> getResources() {
+    return getIndex(null, null)
+        .map(ResourceInformerCache.ResourceIndex::getResources)
+        .orElseGet(this::listResources);
+  }
+
+  @Override
+  public List<T> getResourcesWithLabels(Map<String, String> labels) {
+    return getIndex(null, labels)
+        .map(index -> index.getResourcesWithLabels(labels))
+        .orElseGet(() -> listResourcesWithLabels(labels));
+  }
+
+  @Override
+  public List<T> getResourcesInNamespace(String namespace) {
+    return getIndex(namespace, null)
+        .map(index -> index.getResourcesInNamespace(namespace))
+        .orElseGet(() -> getOperation(client)
+            .inNamespace(namespace)
+            .list()
+            .getItems());
+  }
+
+  @Override
+  public List<T> getResourcesInNamespaceWithLabels(String namespace, Map<String, String> labels) {
+    return getIndex(namespace, labels)
+        .map(index -> index.getResourcesInNamespaceWithLabels(namespace, labels))
+        .orElseGet(() -> getOperation(client)
+            .inNamespace(namespace)
+            .withLabels(labels)
+            .list()
+            .getItems());
+  }
+
+  private List<T> listResources() {
     return Optional.of(allowedNamespaces)
         .filter(Predicate.not(List::isEmpty))
         .map(allowedNamespaces -> allowedNamespaces.stream()
@@ -68,8 +108,7 @@ public abstract class AbstractResourceFinderAndScanner<T extends HasMetadata>
             .getItems());
   }
 
-  @Override
-  public List<T> getResourcesWithLabels(Map<String, String> labels) {
+  private List<T> listResourcesWithLabels(Map<String, String> labels) {
     return Optional.of(allowedNamespaces)
         .filter(Predicate.not(List::isEmpty))
         .map(allowedNamespaces -> allowedNamespaces.stream()
@@ -87,21 +126,27 @@ public abstract class AbstractResourceFinderAndScanner<T extends HasMetadata>
             .getItems());
   }
 
-  @Override
-  public List<T> getResourcesInNamespace(String namespace) {
-    return getOperation(client)
-        .inNamespace(namespace)
-        .list()
-        .getItems();
+  private Optional<ResourceInformerCache.ResourceIndex<T>> getIndex(String namespace) {
+    return Optional.ofNullable(resourceInformerCache)
+        .flatMap(cache -> cache.getIndex(getResourceClass(), this::getOperation, namespace));
   }
 
-  @Override
-  public List<T> getResourcesInNamespaceWithLabels(String namespace, Map<String, String> labels) {
-    return getOperation(client)
-        .inNamespace(namespace)
-        .withLabels(labels)
-        .list()
-        .getItems();
+  private Optional<ResourceInformerCache.ResourceIndex<T>> getIndex(
+      String namespace, Map<String, String> labels) {
+    return Optional.ofNullable(resourceInformerCache)
+        .flatMap(cache -> cache.getIndex(getResourceClass(), this::getOperation, namespace, labels));
+  }
+
+  protected abstract Class<T> getResourceClass();
+
+  /**
+   * Only the operator produces the cache, see {@link ResourceInformerCache}.
+   */
+  @Inject
+  public void setResourceInformerCache(Instance<ResourceInformerCache> resourceInformerCache) {
+    if (resourceInformerCache.isResolvable()) {
+      this.resourceInformerCache = resourceInformerCache.get();
+    }
   }
 
   protected abstract MixedOperation<T, ? extends KubernetesResourceList<T>, ? extends Resource<T>> getOperation(
@@ -10,6 +10,7 @@ import java.util.Optional;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
@@ -17,6 +18,8 @@ public class ConfigMapFinder implements ResourceFinder<ConfigMap> {
 
   private final KubernetesClient client;
 
+  private ResourceInformerCache resourceInformerCache;
+
   @Inject
   public ConfigMapFinder(KubernetesClient client) {
     this.client = client;
@@ -30,9 +33,22 @@ public class ConfigMapFinder implements ResourceFinder<ConfigMap> {
 
   @Override
   public Optional<ConfigMap> findByNameAndNamespace(String name, String namespace) {
-    return Optional.ofNullable(client.configMaps().inNamespace(namespace)
-        .withName(name)
-        .get());
+    return Optional.ofNullable(resourceInformerCache)
+        .flatMap(cache -> cache.getIndex(ConfigMap.class, KubernetesClient::configMaps, namespace))
+        .flatMap(index -> index.findByNameAndNamespace(name, namespace))
+        .or(() -> Optional.ofNullable(client.configMaps().inNamespace(namespace)
+            .withName(name)
+            .get()));
+  }
+
+  /**
+   * Only the operator produces the cache, see {@link ResourceInformerCache}.
+   */
+  @Inject
+  public void setResourceInformerCache(Instance<ResourceInformerCache> resourceInformerCache) {
+    if (resourceInformerCache.isResolvable()) {
+      this.resourceInformerCache = resourceInformerCache.get();
+    }
   }
 
 }
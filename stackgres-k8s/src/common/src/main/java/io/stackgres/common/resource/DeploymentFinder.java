@@ -30,4 +30,9 @@ public class DeploymentFinder extends AbstractResourceFinderAndScanner<Deploymen
     return client.apps().deployments();
   }
 
+  @Override
+  protected Class<Deployment> getResourceClass() {
+    return Deployment.class;
+  }
+
 }
@@ -27,4 +27,9 @@ public class EndpointsFinder extends AbstractResourceFinderAndScanner<Endpoints>
     return client.endpoints();
   }
 
+  @Override
+  protected Class<Endpoints> getResourceClass() {
+    return Endpoints.class;
+  }
+
 }
@@ -27,4 +27,9 @@ public class JobFinder extends AbstractResourceFinderAndScanner<Job> {
     return client.batch().v1().jobs();
   }
 
+  @Override
+  protected Class<Job> getResourceClass() {
+    return Job.class;
+  }
+
 }
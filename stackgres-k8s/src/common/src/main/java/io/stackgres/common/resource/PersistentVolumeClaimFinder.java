@@ -28,4 +28,9 @@ public class PersistentVolumeClaimFinder extends AbstractResourceFinderAndScanne
     return client.persistentVolumeClaims();
   }
 
+  @Override
+  protected Class<PersistentVolumeClaim> getResourceClass() {
+    return PersistentVolumeClaim.class;
+  }
+
 }
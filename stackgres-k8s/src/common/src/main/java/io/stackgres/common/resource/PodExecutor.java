@@ -15,7 +15,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import io.fabric8.kubernetes.api.model.Pod;
@@ -35,7 +38,8 @@ public class PodExecutor {
   private KubernetesClient client;
 
   /**
-   * Execute a command inside a container of a pod.
+   * Execute a command inside a container of a pod. If the calling thread is interrupted the
+   * execution is closed and a {@link CancellationException} is thrown.
    */
   public List<String> exec(@NotNull Pod pod, @NotNull String container, @NotNull String... args) {
     CompletableFuture<Void> completableFuture = new CompletableFuture<>();
@@ -51,7 +55,16 @@ public class PodExecutor {
             .usingListener(new PodExecListener(outputStream, pod, args, completableFuture,
                 errorStream, container, errorCodeStream))
             .exec(args)) {
-      completableFuture.join();
+      try {
+        completableFuture.get();
+      } catch (ExecutionException ex) {
+        throw new CompletionException(ex.getCause());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Interrupted while executing command on container "
+            + container + " of pod " + pod.getMetadata().getName()
+            + " in namespace " + pod.getMetadata().getNamespace());
+      }
 
       try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(
           outputStream.toByteArray());
@@ -27,4 +27,9 @@ public class PodFinder extends AbstractResourceFinderAndScanner<Pod> {
     return client.pods();
   }
 
+  @Override
+  protected Class<Pod> getResourceClass() {
+    return Pod.class;
+  }
+
 }
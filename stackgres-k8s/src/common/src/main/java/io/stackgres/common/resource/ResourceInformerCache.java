@@ -0,0 +1,384 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.resource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stackgres.common.OperatorProperty;
+import io.stackgres.common.StackGresContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opt-in read cache backed by fabric8 {@code SharedIndexInformer} stores. Informers are created
+ * lazily the first time a resource kind is read and are shared by all the finders and scanners of
+ * that kind. Until an informer has synced (or if it failed to start, e.g. due to missing RBAC
+ * permissions) callers are expected to fall back to a live read.
+ *
+ * <p>Informers of StackGres custom resources cover all the resources in the allowed namespaces.
+ * Informers of other kinds (Secrets, ConfigMaps, Pods, ...) only cover the resources labeled with
+ * a StackGres {@code app} label, so that unrelated resources are neither kept in memory nor
+ * exposed through the cache. For those kinds a resource that is not found in the index must be
+ * looked up in the API server and listing is only served from the index when the labels select a
+ * StackGres app.
+ *
+ * <p>The informers use the service account of the component, so this class is not a bean of
+ * the common module: only the operator produces it. Other components, like the REST API, must
+ * keep reading through the client of the request to honor the RBAC of the user.
+ */
+public class ResourceInformerCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResourceInformerCache.class);
+
+  static final String LABELS_INDEX = "labels";
+
+  private static final String READS_METRIC = "stackgres_resource_cache_reads";
+
+  private static final List<String> STACKGRES_APP_NAMES = List.of(
+      StackGresContext.CLUSTER_APP_NAME,
+      StackGresContext.DISTRIBUTED_LOGS_APP_NAME,
+      StackGresContext.DBOPS_APP_NAME,
+      StackGresContext.BACKUP_APP_NAME,
+      StackGresContext.SHARDED_CLUSTER_APP_NAME,
+      StackGresContext.SHARDED_BACKUP_APP_NAME,
+      StackGresContext.SHARDED_DBOPS_APP_NAME,
+      StackGresContext.STREAM_APP_NAME,
+      StackGresContext.CONFIG_APP_NAME);
+
+  private final boolean enabled;
+  private final List<String> allowedNamespaces;
+  private final List<String> appNames;
+  private final KubernetesClient client;
+  private final MeterRegistry registry;
+  private final Map<Class<?>, List<NamespaceInformer<?>>> informers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Counter> hitCounters = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Counter> liveReadCounters = new ConcurrentHashMap<>();
+  private final List<ResourceEventHandler<HasMetadata>> eventHandlers =
+      new CopyOnWriteArrayList<>();
+
+  public ResourceInformerCache(KubernetesClient client, MeterRegistry registry) {
+    this(client, registry,
+        OperatorProperty.RESOURCE_INFORMER_CACHE.getBoolean(),
+        OperatorProperty.getAllowedNamespaces(),
+        STACKGRES_APP_NAMES);
+  }
+
+  ResourceInformerCache(KubernetesClient client, MeterRegistry registry,
+      boolean enabled, List<String> allowedNamespaces, List<String> appNames) {
+    this.client = client;
+    this.registry = registry;
+    this.enabled = enabled;
+    this.allowedNamespaces = allowedNamespaces;
+    this.appNames = appNames;
+  }
+
+  public void stop() {
+    informers.values().stream()
+        .flatMap(List::stream)
+        .forEach(namespaceInformer -> namespaceInformer.informer.stop());
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Register a handler that will receive the events of all the informers. Events are delivered
+   * with the instances of the informer stores: handlers must not modify them and must copy those
+   * they retain (see {@link #copy(HasMetadata)}).
+   */
+  public void addEventHandler(@NotNull ResourceEventHandler<HasMetadata> eventHandler) {
+    eventHandlers.add(eventHandler);
+  }
+
+  /**
+   * Return an index that covers all the namespaces the operator is allowed to read. Empty is
+   * returned (and a live read is accounted) if the cache is disabled or any of the underlying
+   * informers is not fresh.
+   */
+  public <T extends HasMetadata> Optional<ResourceIndex<T>> getIndex(
+      @NotNull Class<T> type,
+      @NotNull Function<KubernetesClient, MixedOperation<T, ? extends KubernetesResourceList<T>,
+          ? extends Resource<T>>> operation) {
+    return getIndex(type, operation, null);
+  }
+
+  /**
+   * Return an index that covers the specified namespace. Empty is returned (and a live read is
+   * accounted) if the cache is disabled, the namespace is not covered by any informer or the
+   * informer is not fresh.
+   */
+  public <T extends HasMetadata> Optional<ResourceIndex<T>> getIndex(
+      @NotNull Class<T> type,
+      @NotNull Function<KubernetesClient, MixedOperation<T, ? extends KubernetesResourceList<T>,
+          ? extends Resource<T>>> operation,
+      @Nullable String namespace) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return getFreshIndex(type, operation, namespace);
+  }
+
+  /**
+   * Return an index to list the resources with the specified labels (or all the resources if
+   * {@code null}) in the specified namespace. Besides the cases of
+   * {@link #getIndex(Class, Function, String)}, empty is returned when the informers of the kind
+   * do not cover all the resources selected by the labels.
+   */
+  public <T extends HasMetadata> Optional<ResourceIndex<T>> getIndex(
+      @NotNull Class<T> type,
+      @NotNull Function<KubernetesClient, MixedOperation<T, ? extends KubernetesResourceList<T>,
+          ? extends Resource<T>>> operation,
+      @Nullable String namespace,
+      @Nullable Map<String, String> labels) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    if (isScopedToApps(type)
+        && Optional.ofNullable(labels)
+        .map(selectedLabels -> selectedLabels.get(StackGresContext.APP_KEY))
+        .filter(appNames::contains)
+        .isEmpty()) {
+      liveReadCounters.computeIfAbsent(type, t -> counter(t, "api")).increment();
+      return Optional.empty();
+    }
+    return getFreshIndex(type, operation, namespace);
+  }
+
+  private <T extends HasMetadata> Optional<ResourceIndex<T>> getFreshIndex(
+      Class<T> type,
+      Function<KubernetesClient, MixedOperation<T, ? extends KubernetesResourceList<T>,
+          ? extends Resource<T>>> operation,
+      String namespace) {
+    List<NamespaceInformer<T>> namespaceInformers = getInformers(type, operation)
+        .stream()
+        .filter(namespaceInformer -> namespace == null
+            || namespaceInformer.namespace == null
+            || namespaceInformer.namespace.equals(namespace))
+        .toList();
+    if (namespaceInformers.isEmpty()
+        || !namespaceInformers.stream().allMatch(NamespaceInformer::isFresh)) {
+      liveReadCounters.computeIfAbsent(type, t -> counter(t, "api")).increment();
+      return Optional.empty();
+    }
+    hitCounters.computeIfAbsent(type, t -> counter(t, "cache")).increment();
+    return Optional.of(new ResourceIndex<>(client, namespaceInformers.stream()
+        .map(namespaceInformer -> namespaceInformer.informer)
+        .toList()));
+  }
+
+  private Counter counter(Class<?> type, String source) {
+    return Counter.builder(READS_METRIC)
+        .description("Number of reads of a resource kind served from the informer cache or from the API server")
+        .tag("kind", HasMetadata.getKind(type))
+        .tag("source", source)
+        .register(registry);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends HasMetadata> List<NamespaceInformer<T>> getInformers(
+      Class<T> type,
+      Function<KubernetesClient, MixedOperation<T, ? extends KubernetesResourceList<T>,
+          ? extends Resource<T>>> operation) {
+    return (List<NamespaceInformer<T>>) (List<?>) informers.computeIfAbsent(type,
+        ignored -> Optional.of(allowedNamespaces)
+        .filter(Predicate.not(List::isEmpty))
+        .map(allowedNamespaces -> allowedNamespaces.stream()
+            .<NamespaceInformer<?>>map(allowedNamespace -> startInformer(type, allowedNamespace,
+                createInformer(type, operation.apply(client).inNamespace(allowedNamespace))))
+            .toList())
+        .orElseGet(() -> List.of(startInformer(type, null,
+            createInformer(type, operation.apply(client).inAnyNamespace())))));
+  }
+
+  private <T extends HasMetadata> SharedIndexInformer<T> createInformer(
+      Class<T> type, FilterWatchListDeletable<T, ?, ?> operation) {
+    if (!isScopedToApps(type)) {
+      return operation.runnableInformer(0);
+    }
+    if (appNames.size() == 1) {
+      return operation.withLabel(StackGresContext.APP_KEY, appNames.get(0)).runnableInformer(0);
+    }
+    return operation
+        .withLabelIn(StackGresContext.APP_KEY, appNames.toArray(String[]::new))
+        .runnableInformer(0);
+  }
+
+  private boolean isScopedToApps(Class<?> type) {
+    return !CustomResource.class.isAssignableFrom(type);
+  }
+
+  private <T extends HasMetadata> NamespaceInformer<T> startInformer(
+      Class<T> type, String namespace, SharedIndexInformer<T> informer) {
+    informer.addIndexers(Map.of(LABELS_INDEX, ResourceInformerCache::labelsIndex));
+    informer.addEventHandler(new DispatchingEventHandler<>());
+    NamespaceInformer<T> namespaceInformer = new NamespaceInformer<>(namespace, informer);
+    LOGGER.debug("Starting informer for {} in {}", HasMetadata.getKind(type),
+        namespace == null ? "any namespace" : "namespace " + namespace);
+    informer.start()
+        .whenComplete((ignored, ex) -> {
+          if (ex != null) {
+            LOGGER.warn("Informer for {} in {} failed to start, the API server will be used instead",
+                HasMetadata.getKind(type),
+                namespace == null ? "any namespace" : "namespace " + namespace, ex);
+            namespaceInformer.failed = true;
+            informer.stop();
+          }
+        });
+    return namespaceInformer;
+  }
+
+  static List<String> labelsIndex(HasMetadata resource) {
+    return Optional.ofNullable(resource.getMetadata().getLabels())
+        .map(Map::entrySet)
+        .stream()
+        .flatMap(Set::stream)
+        .map(label -> labelKey(label.getKey(), label.getValue()))
+        .toList();
+  }
+
+  static String labelKey(String key, String value) {
+    return key + "=" + value;
+  }
+
+  public <T extends HasMetadata> T copy(T resource) {
+    return client.getKubernetesSerialization().clone(resource);
+  }
+
+  private class DispatchingEventHandler<T extends HasMetadata> implements ResourceEventHandler<T> {
+    @Override
+    public void onAdd(T obj) {
+      eventHandlers.forEach(eventHandler -> eventHandler.onAdd(obj));
+    }
+
+    @Override
+    public void onUpdate(T oldObj, T newObj) {
+      eventHandlers.forEach(eventHandler -> eventHandler.onUpdate(oldObj, newObj));
+    }
+
+    @Override
+    public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+      eventHandlers.forEach(eventHandler -> eventHandler.onDelete(
+          obj, deletedFinalStateUnknown));
+    }
+  }
+
+  static class NamespaceInformer<T extends HasMetadata> {
+    final String namespace;
+    final SharedIndexInformer<T> informer;
+    volatile boolean failed = false;
+
+    NamespaceInformer(String namespace, SharedIndexInformer<T> informer) {
+      this.namespace = namespace;
+      this.informer = informer;
+    }
+
+    /**
+     * An informer store is considered fresh when the initial list has been fully processed, the
+     * watch is currently established and a resourceVersion has been observed. A store that is not
+     * fresh may be missing events and must not be used.
+     */
+    boolean isFresh() {
+      return !failed
+          && informer.hasSynced()
+          && informer.isWatching()
+          && informer.lastSyncResourceVersion() != null;
+    }
+  }
+
+  /**
+   * Read only view of the informer stores for a resource kind. Returned resources are copies so
+   * that callers can freely modify them without corrupting the store.
+   */
+  public static class ResourceIndex<T extends HasMetadata> {
+    private final KubernetesClient client;
+    private final List<SharedIndexInformer<T>> informers;
+
+    ResourceIndex(KubernetesClient client, List<SharedIndexInformer<T>> informers) {
+      this.client = client;
+      this.informers = informers;
+    }
+
+    public Optional<T> findByNameAndNamespace(String name, String namespace) {
+      String key = Cache.namespaceKeyFunc(namespace, name);
+      return informers.stream()
+          .map(informer -> informer.getStore().getByKey(key))
+          .filter(Objects::nonNull)
+          .findFirst()
+          .map(this::copy);
+    }
+
+    public List<T> getResources() {
+      return informers.stream()
+          .map(informer -> informer.getStore().list())
+          .flatMap(List::stream)
+          .map(this::copy)
+          .toList();
+    }
+
+    public List<T> getResourcesInNamespace(String namespace) {
+      return informers.stream()
+          .map(informer -> informer.getIndexer().byIndex(Cache.NAMESPACE_INDEX, namespace))
+          .flatMap(List::stream)
+          .map(this::copy)
+          .toList();
+    }
+
+    public List<T> getResourcesWithLabels(Map<String, String> labels) {
+      return getResourcesInNamespaceWithLabels(null, labels);
+    }
+
+    public List<T> getResourcesInNamespaceWithLabels(
+        @Nullable String namespace, Map<String, String> labels) {
+      if (labels == null || labels.isEmpty()) {
+        return namespace == null ? getResources() : getResourcesInNamespace(namespace);
+      }
+      var firstLabel = labels.entrySet().iterator().next();
+      String firstLabelKey = labelKey(firstLabel.getKey(), firstLabel.getValue());
+      return informers.stream()
+          .map(informer -> informer.getIndexer().byIndex(LABELS_INDEX, firstLabelKey))
+          .flatMap(List::stream)
+          .filter(resource -> namespace == null
+              || Objects.equals(resource.getMetadata().getNamespace(), namespace))
+          .filter(resource -> hasLabels(resource, labels))
+          .map(this::copy)
+          .toList();
+    }
+
+    private boolean hasLabels(T resource, Map<String, String> labels) {
+      final Map<String, String> resourceLabels = resource.getMetadata().getLabels();
+      return resourceLabels != null
+          && resourceLabels.entrySet().containsAll(labels.entrySet());
+    }
+
+    private T copy(T resource) {
+      return client.getKubernetesSerialization().clone(resource);
+    }
+  }
+
+}
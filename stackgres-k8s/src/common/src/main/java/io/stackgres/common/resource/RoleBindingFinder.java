@@ -27,4 +27,9 @@ public class RoleBindingFinder extends AbstractResourceFinderAndScanner<RoleBind
     return client.rbac().roleBindings();
   }
 
+  @Override
+  protected Class<RoleBinding> getResourceClass() {
+    return RoleBinding.class;
+  }
+
 }
@@ -27,4 +27,9 @@ public class RoleFinder extends AbstractResourceFinderAndScanner<Role> {
     return client.rbac().roles();
   }
 
+  @Override
+  protected Class<Role> getResourceClass() {
+    return Role.class;
+  }
+
 }
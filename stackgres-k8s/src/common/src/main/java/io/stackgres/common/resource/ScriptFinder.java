@@ -5,8 +5,6 @@
 
 package io.stackgres.common.resource;
 
-import java.util.Optional;
-
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.stackgres.common.crd.sgscript.StackGresScript;
 import io.stackgres.common.crd.sgscript.StackGresScriptList;
@@ -14,22 +12,11 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
-public class ScriptFinder implements CustomResourceFinder<StackGresScript> {
-
-  private final KubernetesClient client;
+public class ScriptFinder extends AbstractCustomResourceFinder<StackGresScript> {
 
   @Inject
   public ScriptFinder(KubernetesClient client) {
-    this.client = client;
+    super(client, StackGresScript.class, StackGresScriptList.class);
   }
 
-  @Override
-  public Optional<StackGresScript> findByNameAndNamespace(String name, String namespace) {
-    return Optional.ofNullable(client.resources(
-        StackGresScript.class,
-        StackGresScriptList.class)
-        .inNamespace(namespace)
-        .withName(name)
-        .get());
-  }
 }
@@ -27,4 +27,9 @@ public class SecretFinder extends AbstractResourceFinderAndScanner<Secret> {
     return client.secrets();
   }
 
+  @Override
+  protected Class<Secret> getResourceClass() {
+    return Secret.class;
+  }
+
 }
@@ -27,4 +27,9 @@ public class ServiceFinder extends AbstractResourceFinderAndScanner<Service> {
     return client.services();
   }
 
+  @Override
+  protected Class<Service> getResourceClass() {
+    return Service.class;
+  }
+
 }
@@ -27,4 +27,9 @@ public class StatefulSetFinder extends AbstractResourceFinderAndScanner<Stateful
     return client.apps().statefulSets();
   }
 
+  @Override
+  protected Class<StatefulSet> getResourceClass() {
+    return StatefulSet.class;
+  }
+
 }
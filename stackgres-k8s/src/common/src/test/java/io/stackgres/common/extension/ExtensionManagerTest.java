@@ -7,13 +7,17 @@ package io.stackgres.common.extension;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
@@ -23,6 +27,7 @@ import java.util.stream.Stream;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stackgres.common.ClusterContext;
 import io.stackgres.common.ClusterPath;
 import io.stackgres.common.FileSystemHandler;
@@ -33,6 +38,8 @@ import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.crd.sgcluster.StackGresClusterInstalledExtension;
 import io.stackgres.common.extension.ExtensionManager.ExtensionInstaller;
 import io.stackgres.common.fixture.Fixtures;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -724,4 +731,82 @@ public class ExtensionManagerTest {
     verify(fileSystemHandler, times(0)).identical(any(), any());
   }
 
+  @Test
+  void testDownloadAndExtractVerifiesThePackageWhileExtracting() throws Exception {
+    StackGresCluster cluster = getCluster();
+    StackGresClusterInstalledExtension extension = getInstalledExtension();
+    final String extensionPackageName =
+        ExtensionUtil.getExtensionPackageName(cluster, extension);
+    final byte[] packageTar = getPackageTar(extensionPackageName);
+    when(webClientFactory.create(any())).thenReturn(webClient);
+    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getInputStream(any()))
+        .then(invocation -> new ByteArrayInputStream(packageTar));
+    consumeCopiedInputStreams();
+    ExtensionInstaller extensionInstaller =
+        extensionManager.getExtensionInstaller(context(cluster), extension);
+    extensionInstaller.downloadAndExtract();
+    extensionInstaller.verify();
+    verify(fileSystemHandler, times(2)).copyOrReplace(any(InputStream.class), any());
+    verify(fileSystemHandler, times(0)).newInputStream(any());
+    verify(fileSystemHandler, times(0)).deleteIfExists(any());
+  }
+
+  @Test
+  void testDownloadAndExtractUsesThePackageCache() throws Exception {
+    final Path packageCachePath = Paths.get("/cache");
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    extensionManager = new ExtensionManager(extensionMetadataManager,
+        webClientFactory, fileSystemHandler, packageCachePath) {};
+    extensionManager.setMeterRegistry(registry);
+    StackGresCluster cluster = getCluster();
+    StackGresClusterInstalledExtension extension = getInstalledExtension();
+    final byte[] packageTar = getPackageTar(
+        ExtensionUtil.getExtensionPackageName(cluster, extension));
+    when(webClientFactory.create(any())).thenReturn(webClient);
+    when(webClient.getJson(any(), any())).thenReturn(getExtensions());
+    when(webClient.getInputStream(any()))
+        .then(invocation -> new ByteArrayInputStream(packageTar));
+    when(fileSystemHandler.exists(any())).thenReturn(false, true);
+    when(fileSystemHandler.newInputStream(any()))
+        .then(invocation -> new ByteArrayInputStream(packageTar));
+    consumeCopiedInputStreams();
+    extensionManager.getExtensionInstaller(context(cluster), extension).downloadAndExtract();
+    extensionManager.getExtensionInstaller(context(cluster), extension).downloadAndExtract();
+    verify(webClient, times(1)).getInputStream(
+        eq(ExtensionUtil.getExtensionPackageUri(REPOSITORY, cluster, extension)));
+    verify(fileSystemHandler, times(1)).createDirectories(eq(packageCachePath));
+    verify(fileSystemHandler, times(2)).newInputStream(any());
+    Assertions.assertEquals(packageTar.length, registry.get("stackgres_extension_package_bytes")
+        .tag("source", "repository").counter().count());
+    Assertions.assertEquals(packageTar.length, registry.get("stackgres_extension_package_bytes")
+        .tag("source", "cache").counter().count());
+  }
+
+  private void consumeCopiedInputStreams() throws Exception {
+    doAnswer(invocation -> invocation.getArgument(0, InputStream.class).readAllBytes())
+        .when(fileSystemHandler).copyOrReplace(any(InputStream.class), any());
+  }
+
+  private byte[] getPackageTar(String extensionPackageName) throws Exception {
+    ByteArrayOutputStream packageTar = new ByteArrayOutputStream();
+    try (TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(packageTar)) {
+      addTarEntry(tarOutputStream, extensionPackageName + ExtensionManager.TGZ_SUFFIX,
+          "/test.tgz");
+      addTarEntry(tarOutputStream, extensionPackageName + ExtensionManager.SHA256_SUFFIX,
+          "/test.tgz.sha256");
+    }
+    return packageTar.toByteArray();
+  }
+
+  private void addTarEntry(TarArchiveOutputStream tarOutputStream, String name,
+      String resource) throws Exception {
+    byte[] content = IOUtils.toByteArray(getClass().getResourceAsStream(resource));
+    TarArchiveEntry tarEntry = new TarArchiveEntry(name);
+    tarEntry.setSize(content.length);
+    tarOutputStream.putArchiveEntry(tarEntry);
+    tarOutputStream.write(content);
+    tarOutputStream.closeArchiveEntry();
+  }
+
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.patroni;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.stackgres.testutil.JsonUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PatroniApiClientTest {
+
+  private final PatroniApiClient client = new PatroniApiClient(JsonUtil.jsonMapper());
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  private HttpServer server;
+
+  private URI apiUri;
+
+  private final AtomicReference<String> switchoverBody = new AtomicReference<>();
+
+  private final AtomicInteger restarts = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    apiUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    server.createContext("/cluster", exchange -> reply(exchange, 200, """
+        {"members": [
+          {"name": "test-0", "role": "leader", "state": "running",
+           "api_url": "%1$s/patroni", "host": "10.0.0.1", "port": 7433, "timeline": 2,
+           "pending_restart": true, "tags": {"nofailover": false}},
+          {"name": "test-1", "role": "sync_standby", "state": "streaming",
+           "api_url": "%1$s/patroni", "host": "10.0.0.2", "port": 5432, "timeline": 2,
+           "lag": 3145728}
+        ], "scope": "test"}
+        """.formatted(apiUri)));
+    server.createContext("/history", exchange -> reply(exchange, 200, """
+        [[1, 25623960, "no recovery target specified", "2024-01-02T03:04:05+00:00", "test-1"],
+         [2, 25624048, "no recovery target specified"]]
+        """));
+    server.createContext("/config", exchange -> reply(exchange, 502, "No configuration"));
+    server.createContext("/switchover", exchange -> {
+      switchoverBody.set(new String(exchange.getRequestBody().readAllBytes(),
+          StandardCharsets.UTF_8));
+      reply(exchange, 412, "candidate name does not match with sync_standby");
+    });
+    server.createContext("/restart", exchange -> {
+      restarts.incrementAndGet();
+      try {
+        Thread.sleep(Duration.ofSeconds(2));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      reply(exchange, 200, "restarted successfully");
+    });
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  @Test
+  void list_shouldReturnTheMembersAsPatronictlWould() throws IOException {
+    List<PatroniMember> members = client.list(apiUri, Duration.ofSeconds(5), "test", null);
+
+    assertEquals(2, members.size());
+    PatroniMember leader = members.get(0);
+    assertEquals("test", leader.getCluster());
+    assertEquals("test-0", leader.getMember());
+    assertEquals("10.0.0.1:7433", leader.getHost());
+    assertEquals(PatroniMember.LEADER, leader.getRole());
+    assertTrue(leader.isPrimary());
+    assertTrue(leader.isRunning());
+    assertEquals("2", leader.getTimeline());
+    assertEquals("*", leader.getPendingRestart());
+    assertEquals(1, leader.getTags().size());
+    PatroniMember replica = members.get(1);
+    assertEquals("10.0.0.2", replica.getHost());
+    assertEquals(PatroniMember.SYNC_STANDBY, replica.getRole());
+    assertTrue(replica.isReplica());
+    assertTrue(replica.isRunning());
+    assertEquals(new IntOrString(3), replica.getLagInMb());
+    assertNull(replica.getPendingRestart());
+  }
+
+  @Test
+  void history_shouldFillMissingColumns() throws IOException {
+    List<PatroniHistoryEntry> history = client.history(apiUri, Duration.ofSeconds(5));
+
+    assertEquals(2, history.size());
+    assertEquals("1", history.get(0).getTimeline());
+    assertEquals("25623960", history.get(0).getLsn());
+    assertEquals("test-1", history.get(0).getNewLeader());
+    assertEquals("2", history.get(1).getTimeline());
+    assertEquals("", history.get(1).getTimestamp());
+  }
+
+  @Test
+  void config_shouldFailWithIoExceptionSoThatPatronictlIsUsed() {
+    assertThrows(IOException.class, () -> client.config(apiUri, Duration.ofSeconds(5)));
+  }
+
+  @Test
+  void switchover_shouldBeSentToTheLeaderAndFailWithTheResponse() {
+    RuntimeException ex = assertThrows(RuntimeException.class, () -> client.switchover(
+        apiUri, Duration.ofSeconds(5), "superuser", "secret", "test-0", "test-2"));
+
+    assertTrue(ex.getMessage().contains("candidate name does not match with sync_standby"));
+    assertEquals("{\"leader\":\"test-0\",\"candidate\":\"test-2\"}", switchoverBody.get());
+  }
+
+  @Test
+  void restart_shouldNotFailAsNotSentWhenTheResponseTimesOut() {
+    IOException ex = assertThrows(IOException.class, () -> client.restart(
+        apiUri, Duration.ofMillis(500), "superuser", "secret", "test-0"));
+
+    assertTrue(ex instanceof HttpTimeoutException, ex.toString());
+    assertFalse(ex instanceof PatroniApiNotSentException);
+    assertEquals(1, restarts.get());
+  }
+
+  @Test
+  void restart_shouldFailAsNotSentWhenTheMemberIsNotFound() {
+    assertThrows(PatroniApiNotSentException.class, () -> client.restart(
+        apiUri, Duration.ofSeconds(5), "superuser", "secret", "test-2"));
+
+    assertEquals(0, restarts.get());
+  }
+
+  @Test
+  void switchover_shouldFailAsNotSentWhenTheConnectionIsRefused() throws IOException {
+    final int closedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+    HttpServer clusterServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    clusterServer.createContext("/cluster", exchange -> reply(exchange, 200, """
+        {"members": [{"name": "test-0", "role": "leader",
+          "api_url": "http://127.0.0.1:%d/patroni"}]}
+        """.formatted(closedPort)));
+    clusterServer.start();
+    try {
+      assertThrows(PatroniApiNotSentException.class, () -> client.switchover(
+          URI.create("http://127.0.0.1:" + clusterServer.getAddress().getPort()),
+          Duration.ofSeconds(5), "superuser", "secret", "test-0", "test-1"));
+    } finally {
+      clusterServer.stop(0);
+    }
+  }
+
+  private void reply(HttpExchange exchange, int statusCode, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(statusCode, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.common.postgres.PostgresConnectionManager.PoolKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PostgresConnectionManagerTest {
+
+  private static final PoolKey KEY = new PoolKey("localhost:5432", "postgres", "postgres");
+
+  private final List<Connection> created = new ArrayList<>();
+  private final AtomicLong clock = new AtomicLong();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private PostgresConnectionManager postgresConnectionManager;
+
+  @BeforeEach
+  void setUp() {
+    postgresConnectionManager = new PostgresConnectionManager(Duration.ofSeconds(60), clock::get);
+    postgresConnectionManager.setRegistry(registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    postgresConnectionManager.onStop(null);
+  }
+
+  private Connection createConnection() throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.isValid(anyInt())).thenReturn(true);
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    created.add(connection);
+    return connection;
+  }
+
+  @Test
+  void evictIdlePools_shouldRemoveEmptyPoolsAndTheirMeters() throws Exception {
+    postgresConnectionManager.acquirePooledConnection(KEY, "password", this::createConnection)
+        .close();
+    assertFalse(registry.getMeters().isEmpty());
+
+    postgresConnectionManager.evictIdlePools();
+    assertFalse(registry.getMeters().isEmpty());
+    verify(created.get(0), never()).close();
+
+    clock.addAndGet(Duration.ofSeconds(60).toMillis());
+    postgresConnectionManager.evictIdlePools();
+
+    verify(created.get(0)).close();
+    assertEquals(List.of(), registry.getMeters());
+  }
+
+  @Test
+  void evictIdlePools_shouldKeepPoolsWithActiveConnections() throws Exception {
+    try (Connection connection = postgresConnectionManager.acquirePooledConnection(
+        KEY, "password", this::createConnection)) {
+      clock.addAndGet(Duration.ofSeconds(60).toMillis());
+      postgresConnectionManager.evictIdlePools();
+
+      assertFalse(registry.getMeters().isEmpty());
+      assertFalse(connection.isClosed());
+    }
+    verify(created.get(0), never()).close();
+  }
+
+  @Test
+  void acquirePooledConnection_shouldRetryWhenThePoolIsEvictedWhileAcquiring() throws Exception {
+    Connection connection = postgresConnectionManager.acquirePooledConnection(
+        KEY, "password", () -> {
+          if (created.isEmpty()) {
+            postgresConnectionManager.evictIdlePools();
+          }
+          return createConnection();
+        });
+
+    assertEquals(2, created.size());
+    verify(created.get(0)).close();
+    verify(created.get(1), never()).close();
+    connection.close();
+    verify(created.get(1), never()).close();
+  }
+
+}
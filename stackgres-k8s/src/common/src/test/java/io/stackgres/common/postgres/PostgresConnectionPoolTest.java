@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PostgresConnectionPoolTest {
+
+  private final List<Connection> created = new ArrayList<>();
+  private final AtomicLong clock = new AtomicLong();
+  private PostgresConnectionPool pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = new PostgresConnectionPool(this::createConnection, 1,
+        Duration.ofSeconds(60), Duration.ofMillis(10), clock::get);
+  }
+
+  private Connection createConnection() throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.isValid(anyInt())).thenReturn(true);
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    created.add(connection);
+    return connection;
+  }
+
+  @Test
+  void getConnection_shouldReuseReleasedConnectionAfterResettingIt() throws Exception {
+    pool.getConnection().close();
+    try (Connection connection = pool.getConnection()) {
+      assertFalse(connection.isClosed());
+      assertEquals(1, pool.getActiveConnections());
+    }
+
+    assertEquals(1, created.size());
+    assertEquals(0, pool.getActiveConnections());
+    assertEquals(1, pool.getIdleConnections());
+    verify(created.get(0).createStatement(), times(2)).execute("DISCARD ALL");
+    verify(created.get(0), never()).close();
+  }
+
+  @Test
+  void getConnection_shouldTimeoutWhenPoolIsExhausted() throws Exception {
+    try (Connection connection = pool.getConnection()) {
+      assertFalse(connection.isClosed());
+      assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+    }
+  }
+
+  @Test
+  void evictIdleConnections_shouldCloseConnectionsIdleForLongerThanTheIdleTimeout()
+      throws Exception {
+    pool.getConnection().close();
+    clock.addAndGet(Duration.ofSeconds(60).toMillis());
+
+    pool.evictIdleConnections();
+
+    assertEquals(0, pool.getIdleConnections());
+    verify(created.get(0)).close();
+  }
+
+  @Test
+  void getConnection_shouldNotReuseConnectionThatFailedWithAConnectionError() throws Exception {
+    try (Connection connection = pool.getConnection()) {
+      when(created.get(0).prepareStatement("SELECT 1"))
+          .thenThrow(new SQLException("connection lost", "08006"));
+      assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT 1"));
+    }
+
+    pool.getConnection().close();
+
+    assertEquals(2, created.size());
+    verify(created.get(0)).close();
+  }
+
+}
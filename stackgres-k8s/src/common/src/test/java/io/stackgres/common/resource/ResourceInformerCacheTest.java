@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.common.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResourceInformerCacheTest {
+
+  // The mock server does not support set based label selectors
+  private static final List<String> APP_NAMES = List.of("StackGresCluster");
+
+  private KubernetesServer server;
+  private KubernetesClient client;
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    server = new KubernetesServer(true, true);
+    server.before();
+    client = server.getClient();
+    registry = new SimpleMeterRegistry();
+    createSecret("test", "stackgres", Map.of("app", "StackGresCluster", "cluster-name", "test"));
+    createSecret("other", "stackgres", Map.of("app", "StackGresCluster", "cluster-name", "other"));
+    createSecret("test", "default", Map.of("app", "StackGresCluster", "cluster-name", "test"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.after();
+  }
+
+  @Test
+  void givenDisabledCache_shouldNotReturnAnIndex() {
+    var cache = new ResourceInformerCache(client, registry, false, List.of(), APP_NAMES);
+
+    assertTrue(cache.getIndex(Secret.class, KubernetesClient::secrets).isEmpty());
+    assertTrue(registry.getMeters().isEmpty());
+  }
+
+  @Test
+  void givenEnabledCache_shouldServeReadsFromInformerStore() throws Exception {
+    var cache = new ResourceInformerCache(client, registry, true, List.of(), APP_NAMES);
+
+    var index = awaitIndex(cache, null);
+
+    assertEquals(3, index.getResources().size());
+    assertEquals(2, index.getResourcesInNamespace("stackgres").size());
+    assertEquals(2, index.getResourcesWithLabels(Map.of("cluster-name", "test")).size());
+    assertEquals(1, index.getResourcesInNamespaceWithLabels(
+        "stackgres", Map.of("app", "StackGresCluster", "cluster-name", "test")).size());
+    Secret secret = index.findByNameAndNamespace("other", "stackgres").orElseThrow();
+    assertEquals("other", secret.getMetadata().getName());
+    assertNotSame(secret, index.findByNameAndNamespace("other", "stackgres").orElseThrow());
+    assertTrue(index.findByNameAndNamespace("other", "default").isEmpty());
+    assertEquals(1d, registry.get("stackgres_resource_cache_reads")
+        .tag("kind", "Secret").tag("source", "cache").counter().count());
+  }
+
+  @Test
+  void givenEnabledCacheWithAllowedNamespaces_shouldOnlyCoverAllowedNamespaces() throws Exception {
+    var cache = new ResourceInformerCache(client, registry, true, List.of("stackgres"), APP_NAMES);
+
+    var index = awaitIndex(cache, "stackgres");
+
+    assertEquals(2, index.getResources().size());
+    assertTrue(cache.getIndex(Secret.class, KubernetesClient::secrets, "default").isEmpty());
+  }
+
+  @Test
+  void givenEnabledCache_shouldOnlyCoverResourcesOfStackGresApps() throws Exception {
+    createSecret("user", "stackgres", Map.of());
+    var cache = new ResourceInformerCache(client, registry, true, List.of(), APP_NAMES);
+
+    var index = awaitIndex(cache, null);
+
+    assertEquals(3, index.getResources().size());
+    assertTrue(index.findByNameAndNamespace("user", "stackgres").isEmpty());
+    assertTrue(cache.getIndex(Secret.class, KubernetesClient::secrets, null, null).isEmpty());
+    assertTrue(cache.getIndex(Secret.class, KubernetesClient::secrets, "stackgres",
+        Map.of("cluster-name", "test")).isEmpty());
+    assertTrue(cache.getIndex(Secret.class, KubernetesClient::secrets, "stackgres",
+        Map.of("app", "StackGresCluster", "cluster-name", "test")).isPresent());
+  }
+
+  @Test
+  void givenEnabledCacheWithEventHandler_shouldDispatchInformerEvents() throws Exception {
+    var cache = new ResourceInformerCache(client, registry, true, List.of(), APP_NAMES);
+    List<HasMetadata> added = new CopyOnWriteArrayList<>();
+    List<HasMetadata> deleted = new CopyOnWriteArrayList<>();
+    cache.addEventHandler(new ResourceEventHandler<>() {
+      @Override
+      public void onAdd(HasMetadata obj) {
+        added.add(obj);
+      }
+
+      @Override
+      public void onUpdate(HasMetadata oldObj, HasMetadata newObj) {
+      }
+
+      @Override
+      public void onDelete(HasMetadata obj, boolean deletedFinalStateUnknown) {
+        deleted.add(obj);
+      }
+    });
+
+    final var index = awaitIndex(cache, null);
+    client.secrets().inNamespace("stackgres").withName("other").delete();
+    for (int retry = 0; retry < 100 && deleted.isEmpty(); retry++) {
+      Thread.sleep(100);
+    }
+
+    assertEquals(3, added.size());
+    assertEquals(1, deleted.size());
+    assertEquals("other", deleted.get(0).getMetadata().getName());
+    assertTrue(index.findByNameAndNamespace("other", "stackgres").isEmpty());
+  }
+
+  private ResourceInformerCache.ResourceIndex<Secret> awaitIndex(
+      ResourceInformerCache cache, String namespace) throws InterruptedException {
+    for (int retry = 0; retry < 100; retry++) {
+      Optional<ResourceInformerCache.ResourceIndex<Secret>> index =
+          cache.getIndex(Secret.class, KubernetesClient::secrets, namespace);
+      if (index.isPresent()) {
+        return index.get();
+      }
+      Thread.sleep(100);
+    }
+    throw new AssertionError("Informer did not sync in time");
+  }
+
+  private void createSecret(String name, String namespace, Map<String, String> labels) {
+    client.secrets()
+        .resource(new SecretBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withNamespace(namespace)
+            .withLabels(labels)
+            .endMetadata()
+            .build())
+        .create();
+  }
+
+}
@@ -5,6 +5,7 @@
 
 package io.stackgres.operatorframework.resource.visitor;
 
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
@@ -18,7 +19,6 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jooq.lambda.tuple.Tuple;
@@ -221,18 +221,7 @@ class PairComparator<T> extends PairVisitor<T, Boolean> {
     if (leftMap == null || rightMap == null) {
       return leftMap == null && rightMap == null;
     }
-    return Stream.concat(leftMap.keySet().stream(), rightMap.keySet().stream())
-      .collect(Collectors.groupingBy(key -> key))
-      .keySet()
-      .stream()
-      .map(key -> Tuple.tuple(
-          leftMap.entrySet().stream()
-          .filter(e -> e.getKey().equals(key))
-          .findAny().orElse(null),
-          rightMap.entrySet().stream()
-          .filter(e -> e.getKey().equals(key))
-          .findAny().orElse(null)))
-      .allMatch(t -> equals(t.v1, t.v2));
+    return leftMap.equals(rightMap);
   }
 
   <K, V, O extends Map<K, V>> boolean equalsMap(
@@ -244,16 +233,8 @@ class PairComparator<T> extends PairVisitor<T, Boolean> {
     Map<K, V> rightMap = Optional.<Map<K, V>>ofNullable(getter.apply(right))
         .orElseGet(() -> new HashMap<K, V>(0));
     return Stream.concat(leftMap.keySet().stream(), rightMap.keySet().stream())
-      .collect(Collectors.groupingBy(key -> key))
-      .keySet()
-      .stream()
-      .map(key -> Tuple.tuple(
-          leftMap.entrySet().stream()
-          .filter(e -> e.getKey().equals(key))
-          .findAny().orElse(null),
-          rightMap.entrySet().stream()
-          .filter(e -> e.getKey().equals(key))
-          .findAny().orElse(null)))
+      .distinct()
+      .map(key -> Tuple.tuple(entry(leftMap, key), entry(rightMap, key)))
       .map(t -> Tuple.tuple(
           Optional.ofNullable(leftTransformer.apply(t.v1, t.v2))
           .map(e -> e.getValue()).orElse(null),
@@ -262,6 +243,13 @@ class PairComparator<T> extends PairVisitor<T, Boolean> {
       .allMatch(t -> equals(t.v1, t.v2));
   }
 
+  private <K, V> Entry<K, V> entry(Map<K, V> map, K key) {
+    if (!map.containsKey(key)) {
+      return null;
+    }
+    return new AbstractMap.SimpleImmutableEntry<>(key, map.get(key));
+  }
+
   private boolean equals(Object left, Object right) {
     if (!Objects.equals(left, right)) {
       return false;
@@ -7,11 +7,10 @@ package io.stackgres.operator.app;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 import io.fabric8.kubernetes.api.model.DefaultKubernetesResourceList;
@@ -21,22 +20,32 @@ import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretList;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.Watcher.Action;
 import io.stackgres.common.OperatorProperty;
 import io.stackgres.common.StackGresContext;
+import io.stackgres.common.crd.SecretKeySelector;
 import io.stackgres.common.crd.sgbackup.StackGresBackup;
 import io.stackgres.common.crd.sgbackup.StackGresBackupList;
 import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.crd.sgcluster.StackGresClusterBackupConfiguration;
 import io.stackgres.common.crd.sgcluster.StackGresClusterConfigurations;
+import io.stackgres.common.crd.sgcluster.StackGresClusterCredentials;
 import io.stackgres.common.crd.sgcluster.StackGresClusterList;
+import io.stackgres.common.crd.sgcluster.StackGresClusterPatroniCredentials;
+import io.stackgres.common.crd.sgcluster.StackGresClusterPostgres;
+import io.stackgres.common.crd.sgcluster.StackGresClusterSsl;
+import io.stackgres.common.crd.sgcluster.StackGresClusterUserSecretKeyRef;
+import io.stackgres.common.crd.sgcluster.StackGresClusterUsersCredentials;
 import io.stackgres.common.crd.sgconfig.StackGresConfig;
 import io.stackgres.common.crd.sgconfig.StackGresConfigList;
 import io.stackgres.common.crd.sgdbops.StackGresDbOps;
 import io.stackgres.common.crd.sgdbops.StackGresDbOpsList;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogs;
+import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsConfigurations;
 import io.stackgres.common.crd.sgdistributedlogs.StackGresDistributedLogsList;
 import io.stackgres.common.crd.sgobjectstorage.StackGresObjectStorage;
 import io.stackgres.common.crd.sgobjectstorage.StackGresObjectStorageList;
@@ -52,6 +61,7 @@ import io.stackgres.common.crd.sgshardedcluster.StackGresShardedCluster;
 import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterBackupConfiguration;
 import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterConfigurations;
 import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterList;
+import io.stackgres.common.crd.sgshardedcluster.StackGresShardedClusterShard;
 import io.stackgres.common.crd.sgshardeddbops.StackGresShardedDbOps;
 import io.stackgres.common.crd.sgshardeddbops.StackGresShardedDbOpsList;
 import io.stackgres.common.crd.sgstream.StackGresStream;
@@ -70,6 +80,7 @@ import io.stackgres.operatorframework.resource.WatcherMonitor;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jetbrains.annotations.NotNull;
+import org.jooq.lambda.Seq;
 
 @ApplicationScoped
 public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
@@ -89,24 +100,30 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
   private final ShardedDbOpsReconciliator shardedDbOpsReconciliatorCycle;
   private final StreamReconciliator streamReconciliatorCycle;
   private final ResourceWatcherFactory watcherFactory;
-  private final Map<String, StackGresConfig> configs =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresCluster> clusters =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresDistributedLogs> distributedLogs =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresBackup> backups =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresDbOps> dbOps =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresShardedCluster> shardedClusters =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresShardedBackup> shardedBackups =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresShardedDbOps> shardedDbOps =
-      Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, StackGresStream> streams =
-      Collections.synchronizedMap(new HashMap<>());
+  private final ReferenceIndex<StackGresConfig> configs = new ReferenceIndex<>();
+  private final ReferenceIndex<StackGresCluster> clusters =
+      new ReferenceIndex<>(DefaultOperatorWatchersHandler::clusterReferences);
+  private final ReferenceIndex<StackGresDistributedLogs> distributedLogs =
+      new ReferenceIndex<>(DefaultOperatorWatchersHandler::distributedLogsReferences);
+  private final ReferenceIndex<StackGresBackup> backups =
+      new ReferenceIndex<>(backup -> ReferenceIndex.references(StackGresCluster.class,
+          backup.getMetadata().getNamespace(),
+          Collections.singletonList(backup.getSpec().getSgCluster())));
+  private final ReferenceIndex<StackGresDbOps> dbOps =
+      new ReferenceIndex<>(dbOps -> ReferenceIndex.references(StackGresCluster.class,
+          dbOps.getMetadata().getNamespace(),
+          Collections.singletonList(dbOps.getSpec().getSgCluster())));
+  private final ReferenceIndex<StackGresShardedCluster> shardedClusters =
+      new ReferenceIndex<>(DefaultOperatorWatchersHandler::shardedClusterReferences);
+  private final ReferenceIndex<StackGresShardedBackup> shardedBackups =
+      new ReferenceIndex<>(backup -> ReferenceIndex.references(StackGresShardedCluster.class,
+          backup.getMetadata().getNamespace(),
+          Collections.singletonList(backup.getSpec().getSgShardedCluster())));
+  private final ReferenceIndex<StackGresShardedDbOps> shardedDbOps =
+      new ReferenceIndex<>(dbOps -> ReferenceIndex.references(StackGresShardedCluster.class,
+          dbOps.getMetadata().getNamespace(),
+          Collections.singletonList(dbOps.getSpec().getSgShardedCluster())));
+  private final ReferenceIndex<StackGresStream> streams = new ReferenceIndex<>();
 
   @Inject
   public DefaultOperatorWatchersHandler(
@@ -140,16 +157,16 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     monitors.addAll(createCustomResourceWatchers(
         StackGresConfig.class,
         StackGresConfigList.class,
-        onCreateOrUpdate(
-            reconcileConfig()
-            .andThen(putConfig()))));
+        onCreateOrUpdateOrDelete(
+            onCreateOrUpdate(reconcileConfig())
+            .andThen(putOrRemove(configs)))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresCluster.class,
         StackGresClusterList.class,
-        onCreateOrUpdate(
-            putCluster()
-            .andThen(reconcileCluster()))));
+        onCreateOrUpdateOrDelete(
+            putOrRemove(clusters)
+            .andThen(onCreateOrUpdate(reconcileCluster())))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresProfile.class,
@@ -183,51 +200,57 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     monitors.addAll(createCustomResourceWatchers(
         StackGresBackup.class,
         StackGresBackupList.class,
-        onCreateOrUpdate(
-            putBackup()
-            .andThen(reconcileBackup()))));
+        onCreateOrUpdateOrDelete(
+            putOrRemove(backups)
+            .andThen(onCreateOrUpdate(reconcileBackup())))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresDbOps.class,
         StackGresDbOpsList.class,
-        onCreateOrUpdate(
-            putDbOps()
-            .andThen(reconcileDbOps()))));
+        onCreateOrUpdateOrDelete(
+            putOrRemove(dbOps)
+            .andThen(onCreateOrUpdate(reconcileDbOps())))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresDistributedLogs.class,
         StackGresDistributedLogsList.class,
-        onCreateOrUpdate(
-            putDistributedLogs()
-            .andThen(reconcileDistributedLogs()))));
+        onCreateOrUpdateOrDelete(
+            putOrRemove(distributedLogs)
+            .andThen(onCreateOrUpdate(reconcileDistributedLogs())))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresShardedCluster.class,
         StackGresShardedClusterList.class,
-        onCreateOrUpdate(
-            putShardedCluster()
-            .andThen(reconcileShardedCluster()))));
+        onCreateOrUpdateOrDelete(
+            putOrRemove(shardedClusters)
+            .andThen(onCreateOrUpdate(reconcileShardedCluster())))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresShardedBackup.class,
         StackGresShardedBackupList.class,
-        onCreateOrUpdate(
-            putShardedBackup()
-            .andThen(reconcileShardedBackup()))));
+        onCreateOrUpdateOrDelete(
+            putOrRemove(shardedBackups)
+            .andThen(onCreateOrUpdate(reconcileShardedBackup())))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresShardedDbOps.class,
         StackGresShardedDbOpsList.class,
-        onCreateOrUpdate(
-            putShardedDbOps()
-            .andThen(reconcileShardedDbOps()))));
+        onCreateOrUpdateOrDelete(
+            putOrRemove(shardedDbOps)
+            .andThen(onCreateOrUpdate(reconcileShardedDbOps())))));
 
     monitors.addAll(createCustomResourceWatchers(
         StackGresStream.class,
         StackGresStreamList.class,
+        onCreateOrUpdateOrDelete(
+            putOrRemove(streams)
+            .andThen(onCreateOrUpdate(reconcileStream())))));
+
+    monitors.addAll(createWatchers(
+        Secret.class,
+        SecretList.class,
         onCreateOrUpdate(
-            putStream()
-            .andThen(reconcileStream()))));
+            reconcileSecretClusters())));
 
     monitors.addAll(createWatchers(
         Endpoints.class,
@@ -308,52 +331,20 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     };
   }
 
-  private String resourceId(HasMetadata resource) {
-    return resource.getMetadata().getNamespace() + "." + resource.getMetadata().getName();
-  }
-
-  private BiConsumer<Action, StackGresConfig> putConfig() {
-    return (action, config) -> configs.put(resourceId(config), config);
-  }
-
-  private BiConsumer<Action, StackGresCluster> putCluster() {
-    return (action, cluster) -> clusters.put(resourceId(cluster), cluster);
-  }
-
-  private BiConsumer<Action, StackGresDistributedLogs> putDistributedLogs() {
-    return (action, distributedLogs) -> this.distributedLogs
-        .put(resourceId(distributedLogs), distributedLogs);
-  }
-
-  private BiConsumer<Action, StackGresBackup> putBackup() {
-    return (action, backup) -> backups.put(resourceId(backup), backup);
-  }
-
-  private BiConsumer<Action, StackGresDbOps> putDbOps() {
-    return (action, dbOps) -> this.dbOps.put(resourceId(dbOps), dbOps);
-  }
-
-  private BiConsumer<Action, StackGresShardedCluster> putShardedCluster() {
-    return (action, cluster) -> shardedClusters.put(resourceId(cluster), cluster);
-  }
-
-  private BiConsumer<Action, StackGresShardedBackup> putShardedBackup() {
-    return (action, backup) -> shardedBackups.put(resourceId(backup), backup);
-  }
-
-  private BiConsumer<Action, StackGresShardedDbOps> putShardedDbOps() {
-    return (action, dbOps) -> shardedDbOps.put(resourceId(dbOps), dbOps);
-  }
-
-  private BiConsumer<Action, StackGresStream> putStream() {
-    return (action, stream) -> this.streams.put(resourceId(stream), stream);
+  private <T extends HasMetadata> BiConsumer<Action, T> putOrRemove(ReferenceIndex<T> index) {
+    return (action, resource) -> {
+      if (action == Action.DELETED) {
+        index.remove(resource);
+      } else {
+        index.put(resource);
+      }
+    };
   }
 
   private BiConsumer<Action, StackGresConfig> reconcileConfig() {
-    return (action, config) -> Optional
-        .ofNullable(configs.get(resourceId(config)))
+    return (action, config) -> configs
+        .get(config.getMetadata().getNamespace(), config.getMetadata().getName())
         .filter(oldConfig -> config.getMetadata().getAnnotations() == null
-            || oldConfig == null
             || oldConfig.getMetadata().getAnnotations() == null
             || Objects.equals(
                 config.getMetadata().getAnnotations().get(StackGresContext.LOCK_TIMEOUT_KEY),
@@ -394,321 +385,265 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     return (action, stream) -> streamReconciliatorCycle.reconcile(stream);
   }
 
+  private <T extends HasMetadata, R extends HasMetadata> BiConsumer<Action, R> reconcileReferencing(
+      ReferenceIndex<T> index, BiConsumer<Action, T> reconcile) {
+    return (action, referenced) -> index
+        .getReferencing(ReferenceIndex.reference(
+            referenced.getClass(),
+            referenced.getMetadata().getNamespace(),
+            referenced.getMetadata().getName()))
+        .forEach(resource -> reconcile.accept(action, resource));
+  }
+
   private BiConsumer<Action, StackGresProfile> reconcileInstanceProfileClusters() {
-    return (action, instanceProfile) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            instanceProfile.getMetadata().getNamespace()))
-        .filter(cluster -> Objects.equals(
-            cluster.getSpec().getSgInstanceProfile(),
-            instanceProfile.getMetadata().getName()))
-        .forEach(cluster -> reconcileCluster().accept(action, cluster));
+    return reconcileReferencing(clusters, reconcileCluster());
   }
 
   private BiConsumer<Action, StackGresPostgresConfig> reconcilePostgresConfigClusters() {
-    return (action, postgresConfig) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            postgresConfig.getMetadata().getNamespace()))
-        .filter(cluster -> Objects.equals(
-            cluster.getSpec().getConfigurations().getSgPostgresConfig(),
-            postgresConfig.getMetadata().getName()))
-        .forEach(cluster -> reconcileCluster().accept(action, cluster));
+    return reconcileReferencing(clusters, reconcileCluster());
   }
 
   private BiConsumer<Action, StackGresPoolingConfig> reconcilePoolingConfigClusters() {
-    return (action, poolingConfig) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            poolingConfig.getMetadata().getNamespace()))
-        .filter(cluster -> Objects.equals(
-            cluster.getSpec().getConfigurations().getSgPoolingConfig(),
-            poolingConfig.getMetadata().getName()))
-        .forEach(cluster -> reconcileCluster().accept(action, cluster));
+    return reconcileReferencing(clusters, reconcileCluster());
   }
 
   private BiConsumer<Action, StackGresObjectStorage> reconcileObjectStorageClusters() {
-    return (action, objectStorage) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            objectStorage.getMetadata().getNamespace()))
-        .filter(cluster -> Objects.equals(
-            Optional.ofNullable(cluster.getSpec().getConfigurations().getBackups())
-            .orElse(List.of())
-            .stream().findFirst().map(StackGresClusterBackupConfiguration::getSgObjectStorage)
-            .orElse(null),
-            objectStorage.getMetadata().getName()))
-        .forEach(cluster -> reconcileCluster().accept(action, cluster));
+    return reconcileReferencing(clusters, reconcileCluster());
+  }
+
+  private BiConsumer<Action, Secret> reconcileSecretClusters() {
+    return reconcileReferencing(clusters, reconcileCluster());
   }
 
   private BiConsumer<Action, StackGresProfile> reconcileInstanceProfileDistributedLogs() {
-    return (action, instanceProfile) -> synchronizedCopyOfValues(distributedLogs)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            instanceProfile.getMetadata().getNamespace()))
-        .filter(distributedLogs -> Objects.equals(
-            distributedLogs.getSpec().getSgInstanceProfile(),
-            instanceProfile.getMetadata().getName()))
-        .forEach(distributedLogs -> reconcileDistributedLogs().accept(action, distributedLogs));
+    return reconcileReferencing(distributedLogs, reconcileDistributedLogs());
   }
 
   private BiConsumer<Action, StackGresPostgresConfig> reconcilePostgresConfigDistributedLogs() {
-    return (action, postgresConfig) -> synchronizedCopyOfValues(distributedLogs)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            postgresConfig.getMetadata().getNamespace()))
-        .filter(distributedLogs -> Objects.equals(
-            distributedLogs.getSpec().getConfigurations().getSgPostgresConfig(),
-            postgresConfig.getMetadata().getName()))
-        .forEach(distributedLogs -> reconcileDistributedLogs().accept(action, distributedLogs));
+    return reconcileReferencing(distributedLogs, reconcileDistributedLogs());
   }
 
   private BiConsumer<Action, StackGresProfile> reconcileInstanceProfileShardedClusters() {
-    return (action, instanceProfile) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            instanceProfile.getMetadata().getNamespace()))
-        .filter(shardedCluster -> Objects.equals(
-            shardedCluster.getSpec().getCoordinator().getSgInstanceProfile(),
-            instanceProfile.getMetadata().getName())
-            || Objects.equals(
-                shardedCluster.getSpec().getShards().getSgInstanceProfile(),
-                instanceProfile.getMetadata().getName())
-            || Optional.ofNullable(shardedCluster.getSpec()
-                .getShards().getOverrides()).orElse(List.of())
-            .stream().anyMatch(spec -> Objects
-                .equals(
-                    spec.getSgInstanceProfile(),
-                    instanceProfile.getMetadata().getName())))
-        .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
+    return reconcileReferencing(shardedClusters, reconcileShardedCluster());
   }
 
   private BiConsumer<Action, StackGresPostgresConfig> reconcilePostgresConfigShardedClusters() {
-    return (action, postgresConfig) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            postgresConfig.getMetadata().getNamespace()))
-        .filter(shardedCluster -> {
-          return Objects.equals(
-              Optional.ofNullable(
-                  shardedCluster.getSpec().getCoordinator().getConfigurationsForCoordinator())
-              .map(StackGresClusterConfigurations::getSgPostgresConfig),
-              Optional.of(postgresConfig.getMetadata().getName()))
-              || Objects.equals(
-                  Optional.ofNullable(
-                      shardedCluster.getSpec().getShards().getConfigurations())
-                  .map(StackGresClusterConfigurations::getSgPostgresConfig),
-                  Optional.of(postgresConfig.getMetadata().getName()))
-              || Optional.ofNullable(shardedCluster.getSpec().getShards().getOverrides())
-                  .orElse(List.of())
-                  .stream().anyMatch(spec -> spec.getConfigurationsForShards() != null
-                      && Objects.equals(
-                          spec.getConfigurationsForShards().getSgPostgresConfig(),
-                          postgresConfig.getMetadata().getName()));
-        })
-        .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
+    return reconcileReferencing(shardedClusters, reconcileShardedCluster());
   }
 
   private BiConsumer<Action, StackGresPoolingConfig> reconcilePoolingConfigShardedClusters() {
-    return (action, poolingConfig) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            poolingConfig.getMetadata().getNamespace()))
-        .filter(shardedCluster -> Objects.equals(
-            Optional.ofNullable(
-                shardedCluster.getSpec().getCoordinator().getConfigurationsForCoordinator())
-            .map(StackGresClusterConfigurations::getSgPoolingConfig),
-            Optional.of(poolingConfig.getMetadata().getName()))
-            || Objects.equals(
-                Optional.ofNullable(
-                    shardedCluster.getSpec().getShards().getConfigurations())
-                .map(StackGresClusterConfigurations::getSgPoolingConfig),
-                Optional.of(poolingConfig.getMetadata().getName()))
-            || Optional.ofNullable(shardedCluster.getSpec().getShards().getOverrides())
-                .orElse(List.of())
-                .stream().anyMatch(spec -> spec.getConfigurationsForShards() != null
-                    && Objects.equals(
-                        spec.getConfigurationsForShards().getSgPoolingConfig(),
-                        poolingConfig.getMetadata().getName())))
-        .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
+    return reconcileReferencing(shardedClusters, reconcileShardedCluster());
   }
 
   private BiConsumer<Action, StackGresObjectStorage> reconcileObjectStorageShardedClusters() {
-    return (action, objectStorage) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            objectStorage.getMetadata().getNamespace()))
-        .filter(shardedCluster -> Objects.equals(
-            Optional.ofNullable(shardedCluster.getSpec().getConfigurations())
-            .map(StackGresShardedClusterConfigurations::getBackups)
-            .orElse(List.of())
-            .stream().findFirst()
-            .map(StackGresShardedClusterBackupConfiguration::getSgObjectStorage)
-            .orElse(null),
-            objectStorage.getMetadata().getName()))
-        .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
+    return reconcileReferencing(shardedClusters, reconcileShardedCluster());
   }
 
   private BiConsumer<Action, Endpoints> reconcileEndpointsShardedClusters() {
     String clusterScopeKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.CLUSTER_SCOPE_KEY;
-    return (action, endpoints) -> synchronizedCopyOfValues(shardedClusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            endpoints.getMetadata().getNamespace()))
-        .filter(shardedCluster -> endpoints.getMetadata().getLabels() != null)
-        .filter(shardedCluster -> Objects.equals(
-            endpoints.getMetadata().getLabels().get(clusterScopeKey),
-            shardedCluster.getMetadata().getName()))
-        .forEach(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
+    return (action, endpoints) -> labelValue(endpoints, clusterScopeKey)
+        .flatMap(name -> shardedClusters.get(endpoints.getMetadata().getNamespace(), name))
+        .ifPresent(shardedCluster -> reconcileShardedCluster().accept(action, shardedCluster));
   }
 
   private BiConsumer<Action, Pod> reconcilePodClusters() {
     String clusterNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.CLUSTER_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(clusters)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(cluster -> pod.getMetadata().getLabels() != null)
-        .filter(cluster -> Objects.equals(
-            pod.getMetadata().getLabels().get(clusterNameKey),
-            cluster.getMetadata().getName()))
-        .forEach(cluster -> reconcileCluster().accept(action, cluster));
+    return (action, pod) -> labelValue(pod, clusterNameKey)
+        .flatMap(name -> clusters.get(pod.getMetadata().getNamespace(), name))
+        .ifPresent(cluster -> reconcileCluster().accept(action, cluster));
   }
 
   private BiConsumer<Action, Pod> reconcilePodDistributedLogs() {
     String distributedLogsNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.DISTRIBUTED_LOGS_CLUSTER_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(distributedLogs)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(distributedLogs -> pod.getMetadata().getLabels() != null)
-        .filter(distributedLogs -> Objects.equals(
-            pod.getMetadata().getLabels().get(distributedLogsNameKey),
-            distributedLogs.getMetadata().getName()))
-        .forEach(distributedLogs -> reconcileDistributedLogs().accept(action, distributedLogs));
+    return (action, pod) -> labelValue(pod, distributedLogsNameKey)
+        .flatMap(name -> distributedLogs.get(pod.getMetadata().getNamespace(), name))
+        .ifPresent(distributedLogs -> reconcileDistributedLogs().accept(action, distributedLogs));
   }
 
   private BiConsumer<Action, Pod> reconcilePodBackups() {
     String clusterNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.CLUSTER_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(backups)
-        .stream()
-        .filter(backup -> Objects.equals(
-            backup.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(backup -> pod.getMetadata().getLabels() != null)
-        .forEach(backup -> synchronizedCopyOfValues(clusters)
-            .stream()
-            .filter(cluster -> Objects.equals(
-                backup.getMetadata().getNamespace(),
-                cluster.getMetadata().getNamespace()))
-            .filter(cluster -> Objects.equals(
-                backup.getSpec().getSgCluster(),
-                cluster.getMetadata().getName()))
-            .filter(cluster -> Objects.equals(
-                pod.getMetadata().getLabels().get(clusterNameKey),
-                cluster.getMetadata().getName()))
-            .forEach(cluster -> reconcileBackup().accept(action, backup)));
+    return (action, pod) -> labelValue(pod, clusterNameKey)
+        .flatMap(name -> clusters.get(pod.getMetadata().getNamespace(), name))
+        .map(cluster -> backups.getReferencing(ReferenceIndex.reference(
+            StackGresCluster.class,
+            cluster.getMetadata().getNamespace(),
+            cluster.getMetadata().getName())))
+        .orElse(List.of())
+        .forEach(backup -> reconcileBackup().accept(action, backup));
   }
 
   private BiConsumer<Action, Pod> reconcilePodDbOps() {
     String clusterNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.CLUSTER_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(dbOps)
-        .stream()
-        .filter(cluster -> Objects.equals(
+    return (action, pod) -> labelValue(pod, clusterNameKey)
+        .flatMap(name -> clusters.get(pod.getMetadata().getNamespace(), name))
+        .map(cluster -> dbOps.getReferencing(ReferenceIndex.reference(
+            StackGresCluster.class,
             cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(dbOps -> pod.getMetadata().getLabels() != null)
-        .forEach(dbOps -> synchronizedCopyOfValues(clusters)
-            .stream()
-            .filter(cluster -> Objects.equals(
-                dbOps.getMetadata().getNamespace(),
-                cluster.getMetadata().getNamespace()))
-            .filter(cluster -> Objects.equals(
-                dbOps.getSpec().getSgCluster(),
-                cluster.getMetadata().getName()))
-            .filter(cluster -> Objects.equals(
-                pod.getMetadata().getLabels().get(clusterNameKey),
-                cluster.getMetadata().getName()))
-            .forEach(cluster -> reconcileDbOps().accept(action, dbOps)));
+            cluster.getMetadata().getName())))
+        .orElse(List.of())
+        .forEach(dbOps -> reconcileDbOps().accept(action, dbOps));
   }
 
   private BiConsumer<Action, Pod> reconcilePodShardedBackups() {
     String clusterNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.SHARDED_CLUSTER_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(shardedBackups)
-        .stream()
-        .filter(cluster -> Objects.equals(
+    return (action, pod) -> labelValue(pod, clusterNameKey)
+        .flatMap(name -> shardedClusters.get(pod.getMetadata().getNamespace(), name))
+        .map(cluster -> shardedBackups.getReferencing(ReferenceIndex.reference(
+            StackGresShardedCluster.class,
             cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(backup -> pod.getMetadata().getLabels() != null)
-        .forEach(backup -> synchronizedCopyOfValues(shardedClusters)
-            .stream()
-            .filter(cluster -> Objects.equals(
-                backup.getMetadata().getNamespace(),
-                cluster.getMetadata().getNamespace()))
-            .filter(cluster -> Objects.equals(
-                backup.getSpec().getSgShardedCluster(),
-                cluster.getMetadata().getName()))
-            .filter(cluster -> Objects.equals(
-                pod.getMetadata().getLabels().get(clusterNameKey),
-                cluster.getMetadata().getName()))
-            .forEach(cluster -> reconcileShardedBackup().accept(action, backup)));
+            cluster.getMetadata().getName())))
+        .orElse(List.of())
+        .forEach(backup -> reconcileShardedBackup().accept(action, backup));
   }
 
   private BiConsumer<Action, Pod> reconcilePodShardedDbOps() {
     String clusterNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.SHARDED_CLUSTER_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(shardedDbOps)
-        .stream()
-        .filter(cluster -> Objects.equals(
+    return (action, pod) -> labelValue(pod, clusterNameKey)
+        .flatMap(name -> shardedClusters.get(pod.getMetadata().getNamespace(), name))
+        .map(cluster -> shardedDbOps.getReferencing(ReferenceIndex.reference(
+            StackGresShardedCluster.class,
             cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(dbOps -> pod.getMetadata().getLabels() != null)
-        .forEach(dbOps -> synchronizedCopyOfValues(shardedClusters)
-            .stream()
-            .filter(cluster -> Objects.equals(
-                dbOps.getMetadata().getNamespace(),
-                cluster.getMetadata().getNamespace()))
-            .filter(cluster -> Objects.equals(
-                dbOps.getSpec().getSgShardedCluster(),
-                cluster.getMetadata().getName()))
-            .filter(cluster -> Objects.equals(
-                pod.getMetadata().getLabels().get(clusterNameKey),
-                cluster.getMetadata().getName()))
-            .forEach(cluster -> reconcileShardedDbOps().accept(action, dbOps)));
+            cluster.getMetadata().getName())))
+        .orElse(List.of())
+        .forEach(dbOps -> reconcileShardedDbOps().accept(action, dbOps));
   }
 
   private BiConsumer<Action, Pod> reconcilePodStreams() {
     String streamNameKey =
         StackGresContext.STACKGRES_KEY_PREFIX + StackGresContext.STREAM_NAME_KEY;
-    return (action, pod) -> synchronizedCopyOfValues(streams)
-        .stream()
-        .filter(cluster -> Objects.equals(
-            cluster.getMetadata().getNamespace(),
-            pod.getMetadata().getNamespace()))
-        .filter(stream -> pod.getMetadata().getLabels() != null)
-        .filter(stream -> Objects.equals(
-            pod.getMetadata().getLabels().get(streamNameKey),
-            stream.getMetadata().getName()))
-        .forEach(stream -> reconcileStream().accept(action, stream));
+    return (action, pod) -> labelValue(pod, streamNameKey)
+        .flatMap(name -> streams.get(pod.getMetadata().getNamespace(), name))
+        .ifPresent(stream -> reconcileStream().accept(action, stream));
+  }
+
+  private Optional<String> labelValue(HasMetadata resource, String key) {
+    return Optional.ofNullable(resource.getMetadata().getLabels())
+        .map(labels -> labels.get(key));
+  }
+
+  static Set<String> clusterReferences(StackGresCluster cluster) {
+    final String namespace = cluster.getMetadata().getNamespace();
+    final var configurations = Optional.ofNullable(cluster.getSpec().getConfigurations());
+    return Seq.seq(ReferenceIndex.references(StackGresProfile.class, namespace,
+        Collections.singletonList(cluster.getSpec().getSgInstanceProfile())))
+        .append(ReferenceIndex.references(StackGresPostgresConfig.class, namespace,
+            Collections.singletonList(configurations
+                .map(StackGresClusterConfigurations::getSgPostgresConfig)
+                .orElse(null))))
+        .append(ReferenceIndex.references(StackGresPoolingConfig.class, namespace,
+            Collections.singletonList(configurations
+                .map(StackGresClusterConfigurations::getSgPoolingConfig)
+                .orElse(null))))
+        .append(ReferenceIndex.references(StackGresObjectStorage.class, namespace,
+            Collections.singletonList(configurations
+                .map(StackGresClusterConfigurations::getBackups)
+                .stream()
+                .flatMap(List::stream)
+                .findFirst()
+                .map(StackGresClusterBackupConfiguration::getSgObjectStorage)
+                .orElse(null))))
+        .append(ReferenceIndex.references(Secret.class, namespace,
+            Seq.of(
+                configurations
+                .map(StackGresClusterConfigurations::getCredentials)
+                .map(StackGresClusterCredentials::getPatroni)
+                .map(StackGresClusterPatroniCredentials::getRestApiPassword),
+                configurations
+                .map(StackGresClusterConfigurations::getCredentials)
+                .map(StackGresClusterCredentials::getUsers)
+                .map(StackGresClusterUsersCredentials::getSuperuser)
+                .map(StackGresClusterUserSecretKeyRef::getUsername),
+                configurations
+                .map(StackGresClusterConfigurations::getCredentials)
+                .map(StackGresClusterCredentials::getUsers)
+                .map(StackGresClusterUsersCredentials::getSuperuser)
+                .map(StackGresClusterUserSecretKeyRef::getPassword),
+                configurations
+                .map(StackGresClusterConfigurations::getCredentials)
+                .map(StackGresClusterCredentials::getUsers)
+                .map(StackGresClusterUsersCredentials::getReplication)
+                .map(StackGresClusterUserSecretKeyRef::getUsername),
+                configurations
+                .map(StackGresClusterConfigurations::getCredentials)
+                .map(StackGresClusterCredentials::getUsers)
+                .map(StackGresClusterUsersCredentials::getReplication)
+                .map(StackGresClusterUserSecretKeyRef::getPassword),
+                configurations
+                .map(StackGresClusterConfigurations::getCredentials)
+                .map(StackGresClusterCredentials::getUsers)
+                .map(StackGresClusterUsersCredentials::getAuthenticator)
+                .map(StackGresClusterUserSecretKeyRef::getUsername),
+                configurations
+                .map(StackGresClusterConfigurations::getCredentials)
+                .map(StackGresClusterCredentials::getUsers)
+                .map(StackGresClusterUsersCredentials::getAuthenticator)
+                .map(StackGresClusterUserSecretKeyRef::getPassword),
+                Optional.ofNullable(cluster.getSpec().getPostgres())
+                .map(StackGresClusterPostgres::getSsl)
+                .map(StackGresClusterSsl::getCertificateSecretKeySelector),
+                Optional.ofNullable(cluster.getSpec().getPostgres())
+                .map(StackGresClusterPostgres::getSsl)
+                .map(StackGresClusterSsl::getPrivateKeySecretKeySelector))
+            .flatMap(Optional::stream)
+            .map(SecretKeySelector::getName)
+            .toList()))
+        .toUnmodifiableSet();
+  }
+
+  static Set<String> distributedLogsReferences(StackGresDistributedLogs distributedLogs) {
+    final String namespace = distributedLogs.getMetadata().getNamespace();
+    return Seq.seq(ReferenceIndex.references(StackGresProfile.class, namespace,
+        Collections.singletonList(distributedLogs.getSpec().getSgInstanceProfile())))
+        .append(ReferenceIndex.references(StackGresPostgresConfig.class, namespace,
+            Collections.singletonList(Optional
+                .ofNullable(distributedLogs.getSpec().getConfigurations())
+                .map(StackGresDistributedLogsConfigurations::getSgPostgresConfig)
+                .orElse(null))))
+        .toUnmodifiableSet();
+  }
+
+  static Set<String> shardedClusterReferences(StackGresShardedCluster shardedCluster) {
+    final String namespace = shardedCluster.getMetadata().getNamespace();
+    final var coordinator = shardedCluster.getSpec().getCoordinator();
+    final var shards = shardedCluster.getSpec().getShards();
+    final List<StackGresShardedClusterShard> overrides =
+        Optional.ofNullable(shards.getOverrides()).orElse(List.of());
+    final List<StackGresClusterConfigurations> configurations = Seq
+        .<StackGresClusterConfigurations>of(
+            coordinator.getConfigurationsForCoordinator(),
+            shards.getConfigurations())
+        .append(overrides.stream().map(StackGresShardedClusterShard::getConfigurationsForShards))
+        .filter(Objects::nonNull)
+        .toList();
+    return Seq.seq(ReferenceIndex.references(StackGresProfile.class, namespace,
+        Seq.of(coordinator.getSgInstanceProfile(), shards.getSgInstanceProfile())
+        .append(overrides.stream().map(StackGresShardedClusterShard::getSgInstanceProfile))
+        .toList()))
+        .append(ReferenceIndex.references(StackGresPostgresConfig.class, namespace,
+            configurations.stream()
+            .map(StackGresClusterConfigurations::getSgPostgresConfig)
+            .toList()))
+        .append(ReferenceIndex.references(StackGresPoolingConfig.class, namespace,
+            configurations.stream()
+            .map(StackGresClusterConfigurations::getSgPoolingConfig)
+            .toList()))
+        .append(ReferenceIndex.references(StackGresObjectStorage.class, namespace,
+            Collections.singletonList(Optional
+                .ofNullable(shardedCluster.getSpec().getConfigurations())
+                .map(StackGresShardedClusterConfigurations::getBackups)
+                .stream()
+                .flatMap(List::stream)
+                .findFirst()
+                .map(StackGresShardedClusterBackupConfiguration::getSgObjectStorage)
+                .orElse(null))))
+        .toUnmodifiableSet();
   }
 
   @Override
@@ -716,10 +651,4 @@ public class DefaultOperatorWatchersHandler implements OperatorWatchersHandler {
     monitors.forEach(WatcherMonitor::close);
   }
 
-  private <T> List<T> synchronizedCopyOfValues(Map<?, T> map) {
-    synchronized (map) {
-      return List.copyOf(map.values());
-    }
-  }
-
 }
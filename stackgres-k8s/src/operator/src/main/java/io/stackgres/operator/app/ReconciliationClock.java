@@ -5,6 +5,9 @@
 
 package io.stackgres.operator.app;
 
+import java.time.Duration;
+
+import io.stackgres.common.OperatorProperty;
 import io.stackgres.common.app.AbstractReconciliationClock;
 import io.stackgres.operator.conciliation.AbstractReconciliator;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -24,7 +27,20 @@ public class ReconciliationClock extends AbstractReconciliationClock {
 
   @Override
   protected void reconcile() {
-    reconciliators.forEach(AbstractReconciliator::reconcileAll);
+    final Duration period = Duration.of(getPeriod(), getTimeUnit().toChronoUnit());
+    reconciliators.forEach(reconciliator -> reconciliator.resyncAll(period));
+  }
+
+  /**
+   * Changes to the custom resources and their dependencies are reconciled as soon as they are
+   * received by the watchers so the full resync only needs to run slowly to detect drift.
+   */
+  @Override
+  protected int getPeriod() {
+    return OperatorProperty.RECONCILIATION_RESYNC_PERIOD
+        .get()
+        .map(Integer::valueOf)
+        .orElseGet(() -> super.getPeriod() * 5);
   }
 
 }
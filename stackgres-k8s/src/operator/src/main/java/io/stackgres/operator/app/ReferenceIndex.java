@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.app;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+/**
+ * Keep the last seen version of a kind of resource indexed by namespace and name together with a
+ * reverse index from the resources they reference (see {@link #reference(Class, String, String)})
+ * to the resources that reference them. Lookups are O(1) and do not copy the whole set of
+ * resources.
+ */
+class ReferenceIndex<T extends HasMetadata> {
+
+  private final Function<T, Set<String>> referencesFunction;
+  private final Map<String, T> resources = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> referencedBy = new ConcurrentHashMap<>();
+
+  ReferenceIndex() {
+    this(resource -> Set.of());
+  }
+
+  ReferenceIndex(Function<T, Set<String>> referencesFunction) {
+    this.referencesFunction = referencesFunction;
+  }
+
+  static String reference(Class<? extends HasMetadata> kind, String namespace, String name) {
+    return HasMetadata.getKind(kind) + "/" + namespace + "/" + name;
+  }
+
+  static Set<String> references(
+      Class<? extends HasMetadata> kind, String namespace, List<String> names) {
+    return names.stream()
+        .filter(name -> name != null)
+        .map(name -> reference(kind, namespace, name))
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  void put(T resource) {
+    final String id = resourceId(resource);
+    final T previous = resources.put(id, resource);
+    final Set<String> previousReferences = Optional.ofNullable(previous)
+        .map(referencesFunction)
+        .orElse(Set.of());
+    final Set<String> references = referencesFunction.apply(resource);
+    previousReferences.stream()
+        .filter(reference -> !references.contains(reference))
+        .forEach(reference -> removeReferencedBy(reference, id));
+    references.forEach(reference -> addReferencedBy(reference, id));
+  }
+
+  void remove(T resource) {
+    final String id = resourceId(resource);
+    Optional.ofNullable(resources.remove(id))
+        .map(referencesFunction)
+        .orElse(Set.of())
+        .forEach(reference -> removeReferencedBy(reference, id));
+  }
+
+  Optional<T> get(String namespace, String name) {
+    return Optional.ofNullable(resources.get(resourceId(namespace, name)));
+  }
+
+  List<T> getReferencing(String reference) {
+    return referencedBy.getOrDefault(reference, Set.of())
+        .stream()
+        .map(resources::get)
+        .filter(resource -> resource != null)
+        .toList();
+  }
+
+  private void addReferencedBy(String reference, String id) {
+    referencedBy.compute(reference, (key, ids) -> {
+      Set<String> result = ids == null ? new HashSet<>() : new HashSet<>(ids);
+      result.add(id);
+      return Set.copyOf(result);
+    });
+  }
+
+  private void removeReferencedBy(String reference, String id) {
+    referencedBy.computeIfPresent(reference, (key, ids) -> {
+      Set<String> result = new HashSet<>(ids);
+      result.remove(id);
+      return result.isEmpty() ? null : Set.copyOf(result);
+    });
+  }
+
+  private String resourceId(T resource) {
+    return resourceId(resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+  }
+
+  private String resourceId(String namespace, String name) {
+    return namespace + "." + name;
+  }
+
+}
@@ -23,6 +23,9 @@ import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.stackgres.common.OperatorProperty;
+import io.stackgres.common.resource.ResourceInformerCache;
+import io.stackgres.common.resource.ResourceInformerCache.ResourceIndex;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
 import org.jooq.lambda.Seq;
 
@@ -32,10 +35,17 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
 
   private final DeployedResourcesCache deployedResourcesCache;
 
+  private ResourceInformerCache resourceInformerCache;
+
   protected AbstractDeployedResourcesScanner(DeployedResourcesCache deployedResourcesCache) {
     this.deployedResourcesCache = deployedResourcesCache;
   }
 
+  @Inject
+  public void setResourceInformerCache(ResourceInformerCache resourceInformerCache) {
+    this.resourceInformerCache = resourceInformerCache;
+  }
+
   public DeployedResourcesSnapshot getDeployedResources(
       T config, List<HasMetadata> requiredResources) {
     final String kind = HasMetadata.getKind(config.getClass());
@@ -46,14 +56,21 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
 
     final var inNamepspaceResourceOperations = getInNamepspaceResourceOperations(config);
     final List<HasMetadata> inNamespace = inNamepspaceResourceOperations
-        .values()
+        .entrySet()
         .stream()
         .filter(op -> !genericLabels.isEmpty())
-        .<HasMetadata>flatMap(streamList(op -> listOrEmptyOnForbiddenOrNotFound(() -> op.apply(client)
-            .inNamespace(config.getMetadata().getNamespace())
-            .withLabels(genericLabels)
-            .list()
-            .getItems())))
+        .<HasMetadata>flatMap(streamList(op -> getIndex(
+            op.getKey(), op.getValue(), config.getMetadata().getNamespace(), genericLabels)
+            .map(index -> index.getResourcesInNamespaceWithLabels(
+                config.getMetadata().getNamespace(), genericLabels))
+            .orElseGet(() -> listOrEmptyOnForbiddenOrNotFound(() -> op.getValue().apply(client)
+                .inNamespace(config.getMetadata().getNamespace())
+                .withLabels(genericLabels)
+                .list()
+                .getItems())
+                .stream()
+                .map(HasMetadata.class::cast)
+                .toList())))
         .toList();
     final List<HasMetadata> inNamespaceRequired = requiredResources
         .stream()
@@ -66,37 +83,18 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
                 requiredResource.getMetadata().getName())))
         .filter(requiredResource -> inNamepspaceResourceOperations
             .containsKey(requiredResource.getClass()))
-        .<HasMetadata>flatMap(streamResource(requiredResource -> inNamepspaceResourceOperations
-            .get(requiredResource.getClass()).apply(client)
-            .inNamespace(requiredResource.getMetadata().getNamespace())
-            .withName(requiredResource.getMetadata().getName())
-            .get()))
+        .<HasMetadata>flatMap(streamResource(requiredResource -> findRequiredResource(
+            requiredResource, inNamepspaceResourceOperations.get(requiredResource.getClass()))))
         .toList();
 
     final var inAnyNamespaceResourceOperations = getInAnyNamespaceResourceOperations(config);
     final List<HasMetadata> inAnyNamespace = inAnyNamespaceResourceOperations
-        .values()
+        .entrySet()
         .stream()
         .filter(op -> !crossNamespaceLabels.isEmpty())
-        .map(op -> Optional.of(allowedNamespaces)
-            .filter(Predicate.not(List::isEmpty))
-            .map(allowedNamespaces -> allowedNamespaces.stream()
-                .flatMap(allowedNamespace -> Optional.of(
-                    listOrEmptyOnForbiddenOrNotFound(() -> op.apply(client)
-                        .inNamespace(allowedNamespace)
-                        .withLabels(crossNamespaceLabels)
-                        .list()
-                        .getItems())).stream())
-                .reduce(Seq.<HasMetadata>of(), (seq, items) -> seq.append(items), (u, v) -> v)
-                .toList())
-            .orElseGet(() -> listOrEmptyOnForbiddenOrNotFound(() -> op.apply(client)
-                .inAnyNamespace()
-                .withLabels(crossNamespaceLabels)
-                .list()
-                .getItems())
-                .stream()
-                .map(HasMetadata.class::cast)
-                .toList()))
+        .map(op -> getIndex(op.getKey(), op.getValue(), null, crossNamespaceLabels)
+            .map(index -> index.getResourcesWithLabels(crossNamespaceLabels))
+            .orElseGet(() -> listInAnyNamespace(client, op.getValue(), crossNamespaceLabels)))
         .<HasMetadata>flatMap(streamList(Function.identity()))
         .toList();
     final List<HasMetadata> inAnyNamespaceRequired = requiredResources
@@ -110,11 +108,8 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
                     requiredResource.getMetadata().getNamespace())))
         .filter(requiredResource -> inAnyNamespaceResourceOperations
             .containsKey(requiredResource.getClass()))
-        .<HasMetadata>flatMap(streamResource(requiredResource -> inAnyNamespaceResourceOperations
-              .get(requiredResource.getClass()).apply(client)
-              .inNamespace(requiredResource.getMetadata().getNamespace())
-              .withName(requiredResource.getMetadata().getName())
-              .get()))
+        .<HasMetadata>flatMap(streamResource(requiredResource -> findRequiredResource(
+            requiredResource, inAnyNamespaceResourceOperations.get(requiredResource.getClass()))))
         .filter(Objects::nonNull)
         .toList();
 
@@ -127,14 +122,82 @@ public abstract class AbstractDeployedResourcesScanner<T extends CustomResource<
         .filter(resource -> checkOwnerReference(config, kind, resource))
         .toList();
 
-    deployedResourcesCache.removeWithLabelsNotIn(genericLabels, deployedResources);
+    deployedResourcesCache.removeWithLabelsNotIn(config, genericLabels, deployedResources);
     final DeployedResourcesSnapshot deployedResourcesSnapshot =
         deployedResourcesCache.createDeployedResourcesSnapshot(
-            ownedDeployedResources, deployedResources);
+            config, ownedDeployedResources, deployedResources);
 
     return deployedResourcesSnapshot;
   }
 
+  private List<HasMetadata> listInAnyNamespace(
+      KubernetesClient client,
+      Function<KubernetesClient, MixedOperation<? extends HasMetadata,
+          ? extends KubernetesResourceList<? extends HasMetadata>,
+              ? extends Resource<? extends HasMetadata>>> operation,
+      Map<String, String> crossNamespaceLabels) {
+    return Optional.of(allowedNamespaces)
+        .filter(Predicate.not(List::isEmpty))
+        .map(allowedNamespaces -> allowedNamespaces.stream()
+            .flatMap(allowedNamespace -> Optional.of(
+                listOrEmptyOnForbiddenOrNotFound(() -> operation.apply(client)
+                    .inNamespace(allowedNamespace)
+                    .withLabels(crossNamespaceLabels)
+                    .list()
+                    .getItems())).stream())
+            .reduce(Seq.<HasMetadata>of(), (seq, items) -> seq.append(items), (u, v) -> v)
+            .toList())
+        .orElseGet(() -> listOrEmptyOnForbiddenOrNotFound(() -> operation.apply(client)
+            .inAnyNamespace()
+            .withLabels(crossNamespaceLabels)
+            .list()
+            .getItems())
+            .stream()
+            .map(HasMetadata.class::cast)
+            .toList());
+  }
+
+  private HasMetadata findRequiredResource(
+      HasMetadata requiredResource,
+      Function<KubernetesClient, MixedOperation<? extends HasMetadata,
+          ? extends KubernetesResourceList<? extends HasMetadata>,
+              ? extends Resource<? extends HasMetadata>>> operation) {
+    return getIndex(requiredResource.getClass(), operation,
+        requiredResource.getMetadata().getNamespace(), null)
+        .flatMap(index -> index.findByNameAndNamespace(
+            requiredResource.getMetadata().getName(),
+            requiredResource.getMetadata().getNamespace()))
+        .orElseGet(() -> operation.apply(getClient())
+            .inNamespace(requiredResource.getMetadata().getNamespace())
+            .withName(requiredResource.getMetadata().getName())
+            .get());
+  }
+
+  /**
+   * Return the index to list the resources with the specified labels or, if labels are
+   * {@code null}, to look up resources by name.
+   */
+  @SuppressWarnings("unchecked")
+  private Optional<ResourceIndex<HasMetadata>> getIndex(
+      Class<? extends HasMetadata> resourceClass,
+      Function<KubernetesClient, MixedOperation<? extends HasMetadata,
+          ? extends KubernetesResourceList<? extends HasMetadata>,
+              ? extends Resource<? extends HasMetadata>>> operation,
+      String namespace,
+      Map<String, String> labels) {
+    final Class<HasMetadata> type = (Class<HasMetadata>) resourceClass;
+    final Function<KubernetesClient, MixedOperation<HasMetadata,
+        ? extends KubernetesResourceList<HasMetadata>,
+            ? extends Resource<HasMetadata>>> typedOperation =
+        (Function<KubernetesClient, MixedOperation<HasMetadata,
+            ? extends KubernetesResourceList<HasMetadata>,
+                ? extends Resource<HasMetadata>>>) (Function<?, ?>) operation;
+    return Optional.ofNullable(resourceInformerCache)
+        .flatMap(cache -> labels == null
+            ? cache.getIndex(type, typedOperation, namespace)
+            : cache.getIndex(type, typedOperation, namespace, labels));
+  }
+
   private boolean checkOwnerReference(T config, final String kind, HasMetadata resource) {
     return resource.getMetadata().getOwnerReferences() != null
         && resource.getMetadata().getOwnerReferences()
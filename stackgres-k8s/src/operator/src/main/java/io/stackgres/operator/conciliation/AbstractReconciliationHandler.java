@@ -5,12 +5,16 @@
 
 package io.stackgres.operator.conciliation;
 
+import java.util.List;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.base.PatchContext;
 import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
 import io.stackgres.common.CdiUtil;
 import io.stackgres.common.StackGresContext;
 
@@ -19,6 +23,14 @@ public abstract class AbstractReconciliationHandler<T extends CustomResource<?,
 
   private static final String STACKGRES_FIELD_MANAGER = "StackGres";
 
+  private static final List<String> SERVER_POPULATED_METADATA_FIELDS = List.of(
+      "managedFields",
+      "resourceVersion",
+      "uid",
+      "creationTimestamp",
+      "generation",
+      "selfLink");
+
   protected final KubernetesClient client;
 
   protected AbstractReconciliationHandler(KubernetesClient client) {
@@ -32,26 +44,39 @@ public abstract class AbstractReconciliationHandler<T extends CustomResource<?,
 
   @Override
   public HasMetadata create(T context, HasMetadata resource) {
-    resource.getMetadata().setManagedFields(null);
-    return client.resource(resource)
-        .patch(new PatchContext.Builder()
-            .withPatchType(PatchType.SERVER_SIDE_APPLY)
-            .withFieldManager(getFieldManager(context, resource))
-            .withForce(true)
-            .build(),
-            resource);
+    return serverSideApply(context, resource);
   }
 
   @Override
   public HasMetadata patch(T context, HasMetadata resource, HasMetadata oldResource) {
-    resource.getMetadata().setManagedFields(null);
+    return serverSideApply(context, resource);
+  }
+
+  /**
+   * Apply the resource using server-side apply so that the deployed resource does not have to be
+   * read before writing it. The status and the metadata fields populated by the API server are
+   * not sent: the status is a subresource ignored by the apply and the resourceVersion would turn
+   * the apply into an optimistic lock that fails with a conflict when the resource changed.
+   * The resource is not modified since it may be an instance shared with an informer store.
+   */
+  private HasMetadata serverSideApply(T context, HasMetadata resource) {
     return client.resource(resource)
         .patch(new PatchContext.Builder()
             .withPatchType(PatchType.SERVER_SIDE_APPLY)
             .withFieldManager(getFieldManager(context, resource))
             .withForce(true)
             .build(),
-            resource);
+            toApplyPayload(resource));
+  }
+
+  private String toApplyPayload(HasMetadata resource) {
+    final KubernetesSerialization serialization = client.getKubernetesSerialization();
+    final ObjectNode payload = serialization.convertValue(resource, ObjectNode.class);
+    payload.remove("status");
+    if (payload.get("metadata") instanceof ObjectNode metadata) {
+      metadata.remove(SERVER_POPULATED_METADATA_FIELDS);
+    }
+    return serialization.asJson(payload);
   }
 
   private String getFieldManager(T context, HasMetadata resource) {
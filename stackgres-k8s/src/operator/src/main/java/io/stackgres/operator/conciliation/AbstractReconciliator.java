@@ -5,25 +5,34 @@
 
 package io.stackgres.operator.conciliation;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.rbac.Role;
 import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.stackgres.common.CdiUtil;
 import io.stackgres.common.OperatorProperty;
 import io.stackgres.common.RetryUtil;
@@ -31,6 +40,7 @@ import io.stackgres.common.StackGresContext;
 import io.stackgres.common.resource.CustomResourceFinder;
 import io.stackgres.common.resource.CustomResourceScanner;
 import io.stackgres.operator.app.OperatorLockHolder;
+import jakarta.inject.Inject;
 import org.jooq.lambda.Seq;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple2;
@@ -46,6 +56,8 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
   private static final String STACKGRES_IO_RECONCILIATION = StackGresContext
       .RECONCILIATION_PAUSE_KEY;
 
+  private static final String APPLY_DURATION_METRIC = "stackgres_reconciliation_apply_duration";
+
   private final CustomResourceScanner<T> scanner;
   private final CustomResourceFinder<T> finder;
   private final AbstractConciliator<T> conciliator;
@@ -60,11 +72,15 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
       new AtomicReference<>(List.of());
   private final ArrayBlockingQueue<Boolean> arrayBlockingQueue = new ArrayBlockingQueue<>(1);
   private final ReconciliatorWorkerThreadPool reconciliatorWorkerThreadPool;
+  private final ResourcesApplier resourcesApplier;
 
   private final int reconciliationInitialBackoff;
   private final int reconciliationMaxBackoff;
   private final int reconciliationBackoffVariation;
 
+  private MeterRegistry registry = Metrics.globalRegistry;
+  private final Map<ApplyDurationKey, Timer> applyDurationTimers = new ConcurrentHashMap<>();
+
   private final CompletableFuture<Void> stopped = new CompletableFuture<>();
   private boolean close = false;
 
@@ -91,6 +107,12 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
         r -> new Thread(r, reconciliationName + "-ReconciliationScheduler"));
     this.reconciliatorWorkerThreadPool = reconciliatorWorkerThreadPool;
+    this.resourcesApplier = new ResourcesApplier(
+        reconciliationName,
+        OperatorProperty.RECONCILIATION_APPLY_PARALLELISM
+        .get()
+        .map(Integer::parseInt)
+        .orElse(8));
     this.reconciliationInitialBackoff = OperatorProperty.RECONCILIATION_INITIAL_BACKOFF
         .get()
         .map(Integer::parseInt)
@@ -119,11 +141,17 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     this.executorService = null;
     this.scheduledExecutorService = null;
     this.reconciliatorWorkerThreadPool = null;
+    this.resourcesApplier = null;
     this.reconciliationInitialBackoff = 0;
     this.reconciliationMaxBackoff = 0;
     this.reconciliationBackoffVariation = 0;
   }
 
+  @Inject
+  public void setMeterRegistry(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
   protected void start() {
     operatorLockReconciliator.register(this);
     executorService.execute(this::reconciliationLoop);
@@ -135,6 +163,7 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     executorService.shutdown();
     reconcile(List.of());
     stopped.join();
+    resourcesApplier.shutdown();
   }
 
   protected String getReconciliationName() {
@@ -145,6 +174,34 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     reconcile(List.of(Optional.empty()));
   }
 
+  /**
+   * Reconcile all the existing resources with low priority, each one at a random instant within
+   * the specified period, so that a periodic resync is spread out instead of flooding the
+   * reconciliation queue at once.
+   */
+  public void resyncAll(Duration period) {
+    if (close || !operatorLockReconciliator.isLeader()) {
+      return;
+    }
+    final long periodMillis = Math.max(1, period.toMillis());
+    getExistentSources().forEach(config -> scheduledExecutorService.schedule(
+        () -> resync(config),
+        ThreadLocalRandom.current().nextLong(periodMillis),
+        TimeUnit.MILLISECONDS));
+  }
+
+  private void resync(T config) {
+    if (close
+        || !operatorLockReconciliator.isLeader()
+        || isReconciliationPaused(config)) {
+      return;
+    }
+    reconciliatorWorkerThreadPool.scheduleReconciliation(
+        () -> reconciliationCycle(config, 0, true),
+        configId(config),
+        false);
+  }
+
   public void reconcile(T config) {
     reconcile(List.of(Optional.of(Tuple.tuple(config, 0))));
   }
@@ -190,17 +247,20 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
 
   protected void reconciliationsCycle(List<Optional<Tuple2<T, Integer>>> configs) {
     mergedConfigs(configs).stream()
-        .filter(t -> Optional.ofNullable(t.v1.getMetadata().getAnnotations())
-            .map(annotations -> annotations.get(STACKGRES_IO_RECONCILIATION))
-            .map(Boolean::parseBoolean)
-            .map(b -> !b)
-            .orElse(true))
+        .filter(t -> !isReconciliationPaused(t.v1))
         .forEach(t -> reconciliatorWorkerThreadPool.scheduleReconciliation(
             () -> reconciliationCycle(t.v1, t.v2, t.v3),
             t.v4,
             t.v5));
   }
 
+  private boolean isReconciliationPaused(T config) {
+    return Optional.ofNullable(config.getMetadata().getAnnotations())
+        .map(annotations -> annotations.get(STACKGRES_IO_RECONCILIATION))
+        .map(Boolean::parseBoolean)
+        .orElse(false);
+  }
+
   private List<Tuple5<T, Integer, Boolean, String, Boolean>> mergedConfigs(List<Optional<Tuple2<T, Integer>>> configs) {
     var groupedConfigs = Seq.seq(configs)
         .flatMap(Optional::stream)
@@ -255,62 +315,55 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
       if (!result.isUpToDate()) {
         LOGGER.info("{} it's not up to date. Reconciling", configId);
 
-        result.getCreations()
-            .stream()
-            .sorted(ReconciliationOperations.RESOURCES_COMPARATOR)
-            .forEach(resource -> {
-              try {
-                LOGGER.info("Creating {} {}.{}",
-                    resource.getKind(),
-                    resource.getMetadata().getNamespace(),
-                    resource.getMetadata().getName());
-                var created = handlerDelegator.create(config, resource);
-                deployedResourcesCache.put(resource, created);
-              } catch (Exception ex) {
-                if (resource instanceof Role
-                    || resource instanceof RoleBinding) {
-                  if (ex instanceof RuntimeException rex) {
-                    throw rex;
-                  }
-                  throw new RuntimeException(ex);
-                }
-                exceptions.add(ex);
-              }
-            });
-
-        result.getPatches()
-            .stream()
-            .sorted(Comparator.comparing(
-                Tuple2::v1, ReconciliationOperations.RESOURCES_COMPARATOR))
-            .forEach(resource -> {
-              try {
-                LOGGER.info("Patching {} {}.{}",
-                    resource.v2.getKind(),
-                    resource.v2.getMetadata().getNamespace(),
-                    resource.v2.getMetadata().getName());
-                var patched = handlerDelegator.patch(config, resource.v1, resource.v2);
-                deployedResourcesCache.put(resource.v1, patched);
-              } catch (Exception ex) {
-                exceptions.add(ex);
-              }
-            });
-
-        result.getDeletions()
-            .stream()
-            .sorted(Collections.reverseOrder(
-                ReconciliationOperations.RESOURCES_COMPARATOR))
-            .forEach(resource -> {
+        resourcesApplier.apply(
+            result.getCreations(),
+            ReconciliationOperations.RESOURCES_COMPARATOR,
+            resource -> {
+              LOGGER.info("Creating {} {}.{}",
+                  resource.getKind(),
+                  resource.getMetadata().getNamespace(),
+                  resource.getMetadata().getName());
+              var created = timed("create", resource,
+                  () -> handlerDelegator.create(config, resource));
+              deployedResourcesCache.put(resource, created);
+            },
+            resource -> resource instanceof Role
+                || resource instanceof RoleBinding,
+            exceptions);
+
+        resourcesApplier.apply(
+            result.getPatches(),
+            Comparator.comparing(
+                Tuple2::v1, ReconciliationOperations.RESOURCES_COMPARATOR),
+            resource -> {
+              LOGGER.info("Patching {} {}.{}",
+                  resource.v2.getKind(),
+                  resource.v2.getMetadata().getNamespace(),
+                  resource.v2.getMetadata().getName());
+              var patched = timed("patch", resource.v1,
+                  () -> handlerDelegator.patch(config, resource.v1, resource.v2));
+              deployedResourcesCache.put(resource.v1, patched);
+            },
+            resource -> false,
+            exceptions);
+
+        resourcesApplier.apply(
+            result.getDeletions(),
+            Collections.reverseOrder(
+                ReconciliationOperations.RESOURCES_COMPARATOR),
+            resource -> {
               LOGGER.info("Deleting resource {}.{} of kind: {}",
                   resource.getMetadata().getNamespace(),
                   resource.getMetadata().getName(),
                   resource.getKind());
-              try {
-                deployedResourcesCache.remove(resource);
+              deployedResourcesCache.remove(resource);
+              timed("delete", resource, () -> {
                 handlerDelegator.delete(config, resource);
-              } catch (Exception ex) {
-                exceptions.add(ex);
-              }
-            });
+                return null;
+              });
+            },
+            resource -> false,
+            exceptions);
         if (result.getDeletions().isEmpty() && result.getPatches().isEmpty()) {
           onConfigCreated(config, result);
         } else {
@@ -343,6 +396,28 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     }
   }
 
+  private <R> R timed(String operation, HasMetadata resource, Supplier<R> call) {
+    final long start = System.nanoTime();
+    String result = "success";
+    try {
+      return call.get();
+    } catch (RuntimeException ex) {
+      result = "failure";
+      throw ex;
+    } finally {
+      applyDurationTimers.computeIfAbsent(
+          new ApplyDurationKey(resource.getKind(), operation, result), key -> Timer
+              .builder(APPLY_DURATION_METRIC)
+              .description("Time spent by the reconciliation handlers applying a resource")
+              .tag("reconciler", reconciliationName)
+              .tag("kind", key.kind())
+              .tag("operation", key.operation())
+              .tag("result", key.result())
+              .register(registry))
+          .record(Duration.ofNanos(System.nanoTime() - start));
+    }
+  }
+
   protected abstract void onPreReconciliation(T config);
 
   protected abstract void onPostReconciliation(T config);
@@ -357,4 +432,7 @@ public abstract class AbstractReconciliator<T extends CustomResource<?, ?>> {
     return client;
   }
 
+  record ApplyDurationKey(String kind, String operation, String result) {
+  }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+/**
+ * Filter the fields of a deployed resource that are compared with the ones of the same resource
+ * after it was last deployed: the status and the metadata are ignored except for the owner
+ * references and the annotations and labels that are also present in the required resource.
+ */
+class ComparableResourceFilter extends TokenFilter {
+
+  private final HasMetadata requiredResource;
+
+  ComparableResourceFilter(HasMetadata requiredResource) {
+    this.requiredResource = requiredResource;
+  }
+
+  @Override
+  public TokenFilter includeProperty(String name) {
+    return switch (name) {
+      case "status" -> null;
+      case "metadata" -> new MetadataFilter(requiredResource);
+      // Native image requires this. It is not clear but seems subsets are not deserialized when
+      // returned after patching
+      case "subsets" -> requiredResource instanceof Endpoints requiredEndpoints
+          && (requiredEndpoints.getSubsets() == null
+          || requiredEndpoints.getSubsets().isEmpty()) ? null : TokenFilter.INCLUDE_ALL;
+      default -> TokenFilter.INCLUDE_ALL;
+    };
+  }
+
+  static class MetadataFilter extends TokenFilter {
+
+    private final HasMetadata requiredResource;
+
+    MetadataFilter(HasMetadata requiredResource) {
+      this.requiredResource = requiredResource;
+    }
+
+    @Override
+    public TokenFilter includeProperty(String name) {
+      return switch (name) {
+        case "annotations" -> new KeysFilter(Optional
+            .ofNullable(requiredResource.getMetadata().getAnnotations())
+            .orElse(Map.of()));
+        case "labels" -> new KeysFilter(Optional
+            .ofNullable(requiredResource.getMetadata().getLabels())
+            .orElse(Map.of()));
+        case "ownerReferences" -> TokenFilter.INCLUDE_ALL;
+        default -> null;
+      };
+    }
+
+  }
+
+  static class KeysFilter extends TokenFilter {
+
+    private final Map<String, String> requiredEntries;
+
+    KeysFilter(Map<String, String> requiredEntries) {
+      this.requiredEntries = requiredEntries;
+    }
+
+    @Override
+    public TokenFilter includeProperty(String name) {
+      return requiredEntries.containsKey(name) ? TokenFilter.INCLUDE_ALL : null;
+    }
+
+  }
+
+}
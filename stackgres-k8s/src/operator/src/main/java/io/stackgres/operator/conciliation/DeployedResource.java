@@ -7,64 +7,69 @@ package io.stackgres.operator.conciliation;
 
 import java.util.Optional;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 
+/**
+ * A resource found deployed together with the required and deployed version of it when it was
+ * last deployed by the operator. The hashes identify the comparable fields (see
+ * {@link ComparableResourceFilter}) of the deployed and of the found deployed resources and are
+ * computed once for each resourceVersion.
+ */
 public record DeployedResource(
     Optional<HasMetadata> required,
     HasMetadata deployed,
-    ObjectNode deployedNode,
+    String deployedHash,
     HasMetadata foundDeployed,
-    ObjectNode foundDeployedNode) {
+    String foundDeployedHash) {
 
   public static DeployedResource create(
       HasMetadata required,
       HasMetadata deployed,
-      ObjectNode deployedNode,
+      String deployedHash,
       HasMetadata foundDeployed,
-      ObjectNode foundDeployedNode) {
+      String foundDeployedHash) {
     return new DeployedResource(
         Optional.of(required),
         deployed,
-        deployedNode,
+        deployedHash,
         foundDeployed,
-        foundDeployedNode);
+        foundDeployedHash);
   }
 
   public static DeployedResource create(
       HasMetadata deployed,
-      ObjectNode deployedNode,
+      String deployedHash,
       HasMetadata foundDeployed,
-      ObjectNode foundDeployedNode) {
+      String foundDeployedHash) {
     return new DeployedResource(
         Optional.empty(),
         deployed,
-        deployedNode,
+        deployedHash,
         foundDeployed,
-        foundDeployedNode);
+        foundDeployedHash);
   }
 
   public static DeployedResource create(
       HasMetadata required,
       HasMetadata deployed,
-      ObjectNode deployedNode) {
+      String deployedHash) {
     return new DeployedResource(
         Optional.of(required),
         deployed,
-        deployedNode,
+        deployedHash,
         deployed,
-        deployedNode);
+        deployedHash);
   }
 
   public static DeployedResource create(
       HasMetadata deployed,
-      ObjectNode deployedNode) {
+      String deployedHash) {
     return new DeployedResource(
         Optional.empty(),
         deployed,
-        deployedNode,
+        deployedHash,
         deployed,
-        deployedNode);
+        deployedHash);
   }
 
 }
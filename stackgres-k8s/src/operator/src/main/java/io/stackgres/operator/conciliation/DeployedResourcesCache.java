@@ -5,19 +5,35 @@
 
 package io.stackgres.operator.conciliation;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.benmanes.caffeine.cache.Cache;
@@ -25,7 +41,13 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.fabric8.kubernetes.api.model.Endpoints;
 import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.stackgres.common.OperatorProperty;
+import io.stackgres.common.resource.ResourceInformerCache;
 import io.stackgres.operator.configuration.OperatorPropertyContext;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -35,29 +57,80 @@ import org.jooq.lambda.tuple.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keep the resources deployed by the operator together with the last version found of them. The
+ * keys of the resources found for each owner custom resource are indexed by kind so that a
+ * snapshot or a lookup for an owner only touches the resources of that owner.
+ */
 @ApplicationScoped
 public class DeployedResourcesCache {
 
   protected static final Logger LOGGER = LoggerFactory.getLogger(DeployedResourcesCache.class);
 
+  private static final String SNAPSHOT_SIZE_METRIC = "stackgres_deployed_resources_snapshot_size";
+  private static final String SNAPSHOT_DURATION_METRIC =
+      "stackgres_deployed_resources_snapshot_duration";
+
   private final Cache<ResourceKey, DeployedResource> cache;
+  private final Cache<ResourceKey, Map<String, List<ResourceKey>>> ownerIndex;
   private final ObjectMapper objectMapper;
+  private final ObjectWriter comparableWriter;
+  private MeterRegistry registry = Metrics.globalRegistry;
+  private final Map<String, DistributionSummary> snapshotSizeSummaries = new ConcurrentHashMap<>();
+  private final Map<String, Timer> snapshotDurationTimers = new ConcurrentHashMap<>();
 
   @Inject
   public DeployedResourcesCache(
       OperatorPropertyContext propertyContext,
       ObjectMapper objectMapper) {
     var cacheBuilder = Caffeine.newBuilder();
+    var ownerIndexBuilder = Caffeine.newBuilder();
     propertyContext.get(
         OperatorProperty.RECONCILIATION_CACHE_EXPIRATION)
         .map(Integer::valueOf)
-        .ifPresent(duration -> cacheBuilder.expireAfterWrite(Duration.ofSeconds(duration)));
+        .ifPresent(duration -> {
+          cacheBuilder.expireAfterWrite(Duration.ofSeconds(duration));
+          ownerIndexBuilder.expireAfterWrite(Duration.ofSeconds(duration));
+        });
     propertyContext.get(
         OperatorProperty.RECONCILIATION_CACHE_SIZE)
         .map(Integer::valueOf)
         .ifPresent(size -> cacheBuilder.maximumSize(size));
     this.cache = cacheBuilder.build();
+    this.ownerIndex = ownerIndexBuilder.build();
     this.objectMapper = objectMapper;
+    this.comparableWriter = objectMapper.writer()
+        .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .with(JsonNodeFeature.WRITE_PROPERTIES_SORTED);
+  }
+
+  @Inject
+  public void setMeterRegistry(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Keep the found deployed resources up to date with the events received by the informers so
+   * that changes are detected without waiting for the next scan.
+   */
+  @Inject
+  public void setResourceInformerCache(ResourceInformerCache resourceInformerCache) {
+    resourceInformerCache.addEventHandler(new ResourceEventHandler<>() {
+      @Override
+      public void onAdd(HasMetadata obj) {
+        updateFoundDeployed(obj, resourceInformerCache::copy);
+      }
+
+      @Override
+      public void onUpdate(HasMetadata oldObj, HasMetadata newObj) {
+        updateFoundDeployed(newObj, resourceInformerCache::copy);
+      }
+
+      @Override
+      public void onDelete(HasMetadata obj, boolean deletedFinalStateUnknown) {
+        invalidateKey(ResourceKey.create(obj));
+      }
+    });
   }
 
   public void put(HasMetadata requiredResource, HasMetadata deployedResource) {
@@ -78,7 +151,7 @@ public class DeployedResourcesCache {
         DeployedResource.create(
             requiredResource,
             deployedResource,
-            toComparableDeployedNode(requiredResource, deployedResource)));
+            toComparableDeployedHash(requiredResource, deployedResource)));
   }
 
   public void remove(HasMetadata deletedResource) {
@@ -101,58 +174,61 @@ public class DeployedResourcesCache {
     return cache.asMap().values().stream();
   }
 
+  /**
+   * Return the cached resources of the specified kind that were found for the owner in its last
+   * snapshot.
+   */
+  public Stream<DeployedResource> stream(
+      HasMetadata owner,
+      Class<? extends HasMetadata> kind) {
+    return Optional.ofNullable(ownerIndex.getIfPresent(ResourceKey.create(owner)))
+        .map(keysByKind -> keysByKind.getOrDefault(HasMetadata.getKind(kind), List.of()))
+        .orElse(List.of())
+        .stream()
+        .map(cache::getIfPresent)
+        .filter(Objects::nonNull);
+  }
+
+  /**
+   * Create a snapshot with the resources found deployed for the owner. Only the cache entries of
+   * those resources are looked up so that the cost does not depend on the resources of the other
+   * owners.
+   */
   public DeployedResourcesSnapshot createDeployedResourcesSnapshot(
+      HasMetadata owner,
       List<HasMetadata> ownedDeployedResources,
       List<HasMetadata> deployedResources) {
-    var deployedResourcesMap = new HashMap<>(cache.asMap());
-    deployedResources.stream()
-        .map(resource -> Tuple.tuple(resource, deployedResourcesMap))
-        .forEach(t -> putOrUpdateLatest(t.v1, t.v2));
+    final long start = System.nanoTime();
+    final Map<ResourceKey, DeployedResource> deployedResourcesMap =
+        new HashMap<>(deployedResources.size() * 4 / 3 + 1);
+    deployedResources.forEach(resource -> putOrUpdateLatest(resource, deployedResourcesMap));
     putAll(deployedResourcesMap);
+    ownerIndex.put(ResourceKey.create(owner), deployedResourcesMap.keySet().stream()
+        .collect(Collectors.groupingBy(ResourceKey::kind)));
+    snapshotSizeSummaries.computeIfAbsent(owner.getKind(), kind -> DistributionSummary
+        .builder(SNAPSHOT_SIZE_METRIC)
+        .description("Number of resources in the deployed resources snapshot of an owner")
+        .tag("kind", kind)
+        .register(registry))
+        .record(deployedResourcesMap.size());
+    snapshotDurationTimers.computeIfAbsent(owner.getKind(), kind -> Timer
+        .builder(SNAPSHOT_DURATION_METRIC)
+        .description("Time spent creating the deployed resources snapshot of an owner")
+        .tag("kind", kind)
+        .register(registry))
+        .record(Duration.ofNanos(System.nanoTime() - start));
     return new DeployedResourcesSnapshot(
-        ownedDeployedResources, deployedResources, deployedResourcesMap);
+        ownedDeployedResources, deployedResources, deployedResourcesMap,
+        this::toComparableDeployedNode);
   }
 
   private void putOrUpdateLatest(
       HasMetadata foundDeployedResource,
       Map<ResourceKey, DeployedResource> deployedResourceMap) {
     ResourceKey key = ResourceKey.create(foundDeployedResource);
-    DeployedResource deployedResource = deployedResourceMap.get(key);
+    DeployedResource deployedResource = cache.getIfPresent(key);
     if (deployedResource != null) {
-      if (Objects.equals(
-          deployedResource.foundDeployed().getMetadata().getResourceVersion(),
-          foundDeployedResource.getMetadata().getResourceVersion())) {
-        return;
-      }
-      if (deployedResource.required().isPresent()) {
-        if (LOGGER.isTraceEnabled()) {
-          LOGGER.trace("Updated previously required resource {} {}.{}",
-              foundDeployedResource.getKind(),
-              foundDeployedResource.getMetadata().getNamespace(),
-              foundDeployedResource.getMetadata().getName());
-        }
-        HasMetadata requiredResource = deployedResource.required().get();
-        deployedResourceMap.put(key,
-            DeployedResource.create(
-                requiredResource,
-                deployedResource.deployed(),
-                deployedResource.deployedNode(),
-                foundDeployedResource,
-                toComparableDeployedNode(requiredResource, foundDeployedResource)));
-      } else {
-        if (LOGGER.isTraceEnabled()) {
-          LOGGER.trace("Updated already found resource {} {}.{}",
-              foundDeployedResource.getKind(),
-              foundDeployedResource.getMetadata().getNamespace(),
-              foundDeployedResource.getMetadata().getName());
-        }
-        deployedResourceMap.put(key,
-            DeployedResource.create(
-                deployedResource.deployed(),
-                deployedResource.deployedNode(),
-                foundDeployedResource,
-                null));
-      }
+      deployedResourceMap.put(key, updateLatest(deployedResource, foundDeployedResource));
     } else {
       if (LOGGER.isTraceEnabled()) {
         LOGGER.trace("Found resource {} {}.{}",
@@ -167,28 +243,93 @@ public class DeployedResourcesCache {
     }
   }
 
+  /**
+   * Update the found deployed resource only if its key is tracked and its resourceVersion changed,
+   * so that the informer store instance is copied only when it has to be retained.
+   */
+  private void updateFoundDeployed(
+      HasMetadata foundDeployedResource,
+      Function<HasMetadata, HasMetadata> copy) {
+    final ResourceKey resourceKey = ResourceKey.create(foundDeployedResource);
+    final DeployedResource tracked = cache.getIfPresent(resourceKey);
+    if (tracked == null || Objects.equals(
+        tracked.foundDeployed().getMetadata().getResourceVersion(),
+        foundDeployedResource.getMetadata().getResourceVersion())) {
+      return;
+    }
+    final HasMetadata foundDeployedResourceCopy = copy.apply(foundDeployedResource);
+    cache.asMap().computeIfPresent(
+        resourceKey,
+        (key, deployedResource) -> updateLatest(deployedResource, foundDeployedResourceCopy));
+  }
+
+  private DeployedResource updateLatest(
+      DeployedResource deployedResource,
+      HasMetadata foundDeployedResource) {
+    if (Objects.equals(
+        deployedResource.foundDeployed().getMetadata().getResourceVersion(),
+        foundDeployedResource.getMetadata().getResourceVersion())) {
+      return deployedResource;
+    }
+    if (deployedResource.required().isPresent()) {
+      if (LOGGER.isTraceEnabled()) {
+        LOGGER.trace("Updated previously required resource {} {}.{}",
+            foundDeployedResource.getKind(),
+            foundDeployedResource.getMetadata().getNamespace(),
+            foundDeployedResource.getMetadata().getName());
+      }
+      HasMetadata requiredResource = deployedResource.required().get();
+      return DeployedResource.create(
+          requiredResource,
+          deployedResource.deployed(),
+          deployedResource.deployedHash(),
+          foundDeployedResource,
+          toComparableDeployedHash(requiredResource, foundDeployedResource));
+    }
+    if (LOGGER.isTraceEnabled()) {
+      LOGGER.trace("Updated already found resource {} {}.{}",
+          foundDeployedResource.getKind(),
+          foundDeployedResource.getMetadata().getNamespace(),
+          foundDeployedResource.getMetadata().getName());
+    }
+    return DeployedResource.create(
+        deployedResource.deployed(),
+        deployedResource.deployedHash(),
+        foundDeployedResource,
+        null);
+  }
+
   private void putAll(Map<ResourceKey, DeployedResource> deployedResourcesMap) {
     cache.putAll(deployedResourcesMap);
   }
 
+  /**
+   * Remove the resources with the generic labels that were found for the owner in its last
+   * snapshot and that are no longer found deployed.
+   */
   public void removeWithLabelsNotIn(
+      HasMetadata owner,
       Map<String, String> genericLabels,
       List<HasMetadata> deployedResources) {
     Set<ResourceKey> deployedKeys = deployedResources
         .stream()
         .map(ResourceKey::create)
         .collect(Collectors.toSet());
-    cache.asMap().entrySet().stream()
-        .map(e -> Tuple.tuple(
-            e.getKey(),
-            Optional.ofNullable(e.getValue().foundDeployed().getMetadata().getLabels())
+    Optional.ofNullable(ownerIndex.getIfPresent(ResourceKey.create(owner)))
+        .map(Map::values)
+        .stream()
+        .flatMap(Collection::stream)
+        .flatMap(List::stream)
+        .filter(Predicate.not(deployedKeys::contains))
+        .map(key -> Tuple.tuple(key, cache.getIfPresent(key)))
+        .filter(t -> t.v2 != null)
+        .map(t -> t.map2(deployedResource -> Optional
+            .ofNullable(deployedResource.foundDeployed().getMetadata().getLabels())
             .orElse(Map.of())))
         .filter(t -> genericLabels.entrySet().stream()
             .allMatch(genericLabel -> t.v2.entrySet().stream().anyMatch(genericLabel::equals)))
         .map(Tuple2::v1)
         .toList()
-        .stream()
-        .filter(Predicate.not(deployedKeys::contains))
         .forEach(this::invalidateKey);
   }
 
@@ -203,6 +344,37 @@ public class DeployedResourcesCache {
     cache.invalidate(key);
   }
 
+  /**
+   * Hash the fields of the deployed resource selected by {@link ComparableResourceFilter} while
+   * they are serialized, without building an intermediate JSON tree. Map entries and the fields of
+   * JSON nodes are serialized ordered by key so that the hash does not depend on the order of
+   * labels, annotations or untyped fields.
+   */
+  private String toComparableDeployedHash(
+      HasMetadata requiredResource,
+      HasMetadata deployedResource) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+    try (JsonGenerator generator = new FilteringGeneratorDelegate(
+        comparableWriter.createGenerator(
+            new DigestOutputStream(OutputStream.nullOutputStream(), digest)),
+        new ComparableResourceFilter(requiredResource),
+        TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH,
+        true)) {
+      comparableWriter.writeValue(generator, deployedResource);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * Used only to log the differences between the deployed and the found deployed resources.
+   */
   @SuppressFBWarnings(value = "SA_LOCAL_SELF_COMPARISON",
       justification = "False positive")
   private ObjectNode toComparableDeployedNode(
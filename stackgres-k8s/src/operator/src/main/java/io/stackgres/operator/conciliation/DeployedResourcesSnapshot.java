@@ -8,6 +8,7 @@ package io.stackgres.operator.conciliation;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -24,14 +25,17 @@ public class DeployedResourcesSnapshot {
   private final List<HasMetadata> ownedDeployedResources;
   private final List<HasMetadata> deployedResources;
   private final Map<ResourceKey, DeployedResource> map;
+  private final BiFunction<HasMetadata, HasMetadata, ? extends JsonNode> comparableNodeFunction;
 
   DeployedResourcesSnapshot(
       List<HasMetadata> ownedDeployedResources,
       List<HasMetadata> deployedResources,
-      Map<ResourceKey, DeployedResource> map) {
+      Map<ResourceKey, DeployedResource> map,
+      BiFunction<HasMetadata, HasMetadata, ? extends JsonNode> comparableNodeFunction) {
     this.ownedDeployedResources = ownedDeployedResources;
     this.deployedResources = deployedResources;
     this.map = map;
+    this.comparableNodeFunction = comparableNodeFunction;
   }
 
   public List<HasMetadata> ownedDeployedResources() {
@@ -76,27 +80,31 @@ public class DeployedResourcesSnapshot {
   }
 
   public boolean isDeployedChanged(DeployedResource deployedResourceValue) {
-    boolean result = deployedResourceValue.deployedNode() == null
-        || deployedResourceValue.foundDeployedNode() == null
-        || !deployedResourceValue.deployedNode()
-          .equals(deployedResourceValue.foundDeployedNode());
+    boolean result = deployedResourceValue.deployedHash() == null
+        || deployedResourceValue.foundDeployedHash() == null
+        || !deployedResourceValue.deployedHash()
+          .equals(deployedResourceValue.foundDeployedHash());
     if (result && LOGGER.isTraceEnabled()) {
       HasMetadata foundDeployed = deployedResourceValue.foundDeployed();
       LOGGER.trace("Detected change for deployed resource {} {}.{}",
           foundDeployed.getKind(),
           foundDeployed.getMetadata().getNamespace(),
           foundDeployed.getMetadata().getName());
-      if (deployedResourceValue.deployedNode() != null
-          && deployedResourceValue.foundDeployedNode() != null) {
+      if (deployedResourceValue.deployedHash() != null
+          && deployedResourceValue.foundDeployedHash() != null
+          && deployedResourceValue.required().isPresent()) {
+        HasMetadata required = deployedResourceValue.required().get();
+        JsonNode deployedNode = comparableNodeFunction.apply(
+            required, deployedResourceValue.deployed());
+        JsonNode foundDeployedNode = comparableNodeFunction.apply(
+            required, deployedResourceValue.foundDeployed());
         try {
-          JsonNode diffs = JsonDiff.asJson(
-              deployedResourceValue.deployedNode(),
-              deployedResourceValue.foundDeployedNode());
+          JsonNode diffs = JsonDiff.asJson(deployedNode, foundDeployedNode);
           LOGGER.trace("Diff {}", diffs);
         } catch (Exception ex) {
           LOGGER.warn("Diff failed for {} and {}",
-              deployedResourceValue.deployedNode(),
-              deployedResourceValue.foundDeployedNode(),
+              deployedNode,
+              foundDeployedNode,
               ex);
         }
       }
@@ -105,7 +113,7 @@ public class DeployedResourcesSnapshot {
   }
 
   public static DeployedResourcesSnapshot emptySnapshot() {
-    return new DeployedResourcesSnapshot(List.of(), List.of(), Map.of());
+    return new DeployedResourcesSnapshot(List.of(), List.of(), Map.of(), (required, deployed) -> null);
   }
 
 }
@@ -5,242 +5,266 @@
 
 package io.stackgres.operator.conciliation;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.time.Duration;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.runtime.ShutdownEvent;
 import io.stackgres.common.OperatorProperty;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import org.jooq.lambda.Seq;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keyed work queue for reconciliations. A configId is present at most once in the queue and is
+ * never reconciled by two workers at the same time: if it is scheduled while executing it will be
+ * reconciled again once the current execution finishes. High priority reconciliations are always
+ * taken before low priority ones and each priority class is served in FIFO order.
+ */
 @Singleton
 public class ReconciliatorWorkerThreadPool {
 
   protected static final Logger LOGGER = LoggerFactory.getLogger(
       ReconciliatorWorkerThreadPool.class.getName());
 
-  private final PriorityBlockingQueue<Runnable> queue = new PriorityBlockingQueue<>();
+  private static final String QUEUE_DEPTH_METRIC = "stackgres_reconciliation_queue_depth";
+  private static final String QUEUE_WAIT_METRIC = "stackgres_reconciliation_queue_wait";
+  private static final String WORK_DURATION_METRIC = "stackgres_reconciliation_work_duration";
+
+  private final Map<String, KeyState> keys = new ConcurrentHashMap<>();
+
+  private final Queue<Token> highPriorityQueue = new ConcurrentLinkedQueue<>();
+
+  private final Queue<Token> lowPriorityQueue = new ConcurrentLinkedQueue<>();
+
+  private final Semaphore available = new Semaphore(0);
 
-  private final ReconciliatorThreadPoolExecutor executor;
+  private final Map<String, ReconcilerMetrics> metrics = new ConcurrentHashMap<>();
+
+  private final ExecutorService executor;
 
   private final AtomicInteger threadIndex = new AtomicInteger(0);
 
+  private MeterRegistry registry = Metrics.globalRegistry;
+
+  private volatile boolean shutdown = false;
+
   @Inject
   public ReconciliatorWorkerThreadPool() {
     final Integer threads = OperatorProperty.RECONCILIATION_THREADS
         .get()
         .map(Integer::parseInt)
         .orElseGet(() -> (Runtime.getRuntime().availableProcessors() + 1) / 2);
-    this.executor = new ReconciliatorThreadPoolExecutor(
+    this.executor = Executors.newFixedThreadPool(
         threads,
-        queue,
         r -> new Thread(r, "ReconciliationWorker-" + threadIndex.getAndIncrement()));
+    for (int thread = 0; thread < threads; thread++) {
+      executor.execute(this::workerLoop);
+    }
+  }
+
+  @Inject
+  public void setMeterRegistry(MeterRegistry registry) {
+    this.registry = registry;
   }
 
   void onStop(@Observes ShutdownEvent ev) {
-    executor.shutdown();
+    shutdown = true;
+    executor.shutdownNow();
   }
 
-  public synchronized void scheduleReconciliation(Runnable runnable, String configId, boolean priority) {
-    var prioritizedRunnable = new ReconciliationRunnable(
-        executor, runnable, configId, priority);
-    if (LOGGER.isTraceEnabled()) {
-      synchronized (executor.executingReconciliations) {
-        final long currentTimestamp = System.currentTimeMillis();
-        LOGGER.trace("{} will be scheduled, current state of the pool:\n\nqueue:\n\n{}\n\nexecuting:\n\n{}\n",
-            configId,
-            Seq.of(queue.toArray())
-            .map(ReconciliationRunnable.class::cast)
-            .groupBy(r -> r.priority)
-            .entrySet()
-            .stream()
-            .flatMap(group -> group.getValue().size() <= 10
-                ? Seq.<Object>seq(group.getValue())
-                    : Seq.<Object>seq(group.getValue()).limit(10)
-                    .append("...and other " + (group.getKey() ? "high" : "low")
-                        + " priority found: " + group.getValue().size()
-                        + " (max " + group.getValue().stream()
-                        .mapToLong(r -> r.timestamp)
-                        .map(t -> System.currentTimeMillis() - t)
-                        .max()
-                        .orElse(0) + "ms)"))
-            .map(Object::toString)
-            .collect(Collectors.joining("\n")),
-            executor.executingReconciliations.entrySet().stream()
-            .map(entry -> entry.getKey().toString() + " " + (currentTimestamp - entry.getValue()) + "ms")
-            .collect(Collectors.joining("\n")));
+  public void scheduleReconciliation(Runnable runnable, String configId, boolean priority) {
+    final WorkItem item = new WorkItem(runnable, configId, priority);
+    final AtomicReference<Token> enqueue = new AtomicReference<>();
+    keys.compute(configId, (key, state) -> {
+      if (state == null) {
+        getMetrics(configId).depth.incrementAndGet();
+        enqueue.set(new Token(configId, priority));
+        return new KeyState(false, item);
       }
-    }
-    var inversePrioritizedRunnable = new ReconciliationRunnable(
-        executor, runnable, configId, !priority);
-    if (priority) {
-      final boolean removed = queue.remove(new ReconciliationRunnable(
-          executor, runnable, configId, false));
-      if (removed) {
-        LOGGER.trace("{} with low priority has been removed from the reconciliation queue", configId);
+      if (state.pending == null) {
+        getMetrics(configId).depth.incrementAndGet();
+        return new KeyState(state.processing, item);
       }
-    } else if (queue.contains(new ReconciliationRunnable(
-        executor, runnable, configId, true))) {
-      LOGGER.trace("{} with high priority is already present in the reconciliation queue", configId);
-      return;
-    }
-    if (executor.isExecuting(prioritizedRunnable)
-        || executor.isExecuting(inversePrioritizedRunnable)) {
-      LOGGER.trace("{} is already executing, will be scheduled to be reconcilied when current one finishes", configId);
-      executor.executeWhenCompleted(prioritizedRunnable);
-    } else {
+      final WorkItem merged = state.pending.merge(item);
+      if (!state.processing && merged.priority && !state.pending.priority) {
+        enqueue.set(new Token(configId, true));
+      }
+      return new KeyState(state.processing, merged);
+    });
+    if (enqueue.get() != null) {
       LOGGER.trace("{} has been scheduled to be reconcilied", configId);
-      executor.execute(prioritizedRunnable);
+      offer(enqueue.get());
+    } else {
+      LOGGER.trace("{} is already scheduled or executing, will be reconcilied once", configId);
     }
   }
 
-  static class ReconciliationRunnable implements Runnable, Comparable<ReconciliationRunnable> {
-
-    final ReconciliatorThreadPoolExecutor executor;
-    final Runnable runnable;
-    final long timestamp;
-    final String configId;
-    final Boolean priority;
-    final ClassLoader contextClassLoader;
+  int getQueueDepth() {
+    return metrics.values().stream().mapToInt(reconcilerMetrics -> reconcilerMetrics.depth.get()).sum();
+  }
 
-    public ReconciliationRunnable(
-        ReconciliatorThreadPoolExecutor executor,
-        Runnable runnable,
-        String configId,
-        boolean priority) {
-      this.executor = executor;
-      this.runnable = runnable;
-      this.timestamp = System.currentTimeMillis();
-      this.configId = configId;
-      this.priority = priority;
-      this.contextClassLoader = Thread.currentThread().getContextClassLoader();
-    }
+  private void offer(Token token) {
+    (token.priority ? highPriorityQueue : lowPriorityQueue).offer(token);
+    available.release();
+  }
 
-    @Override
-    public void run() {
-      executor.executeReconciliation(this);
+  private void workerLoop() {
+    while (!shutdown) {
+      try {
+        available.acquire();
+        Token token = highPriorityQueue.poll();
+        if (token == null) {
+          token = lowPriorityQueue.poll();
+        }
+        if (token != null) {
+          execute(token);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Throwable ex) {
+        // Errors thrown by a reconciliation must not end the worker since it would never be
+        // replaced and the pool would silently lose capacity
+        LOGGER.error("Reconciliation worker failed", ex);
+      }
     }
+  }
 
-    @Override
-    public int compareTo(ReconciliationRunnable o) {
-      return o.priority.compareTo(priority);
+  private void execute(Token token) {
+    final AtomicReference<WorkItem> taken = new AtomicReference<>();
+    keys.computeIfPresent(token.configId, (key, state) -> {
+      if (state.processing
+          || state.pending == null
+          || state.pending.priority != token.priority) {
+        return state;
+      }
+      taken.set(state.pending);
+      return new KeyState(true, null);
+    });
+    final WorkItem item = taken.get();
+    if (item == null) {
+      LOGGER.trace("{} stale queue entry skipped", token.configId);
+      return;
     }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(configId, priority);
+    final ReconcilerMetrics reconcilerMetrics = getMetrics(item.configId);
+    reconcilerMetrics.depth.decrementAndGet();
+    final long start = System.nanoTime();
+    reconcilerMetrics.queueWait.record(Duration.ofNanos(start - item.timestamp));
+    LOGGER.trace("{} started executing", item.configId);
+    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    try {
+      Thread.currentThread().setContextClassLoader(item.contextClassLoader);
+      item.runnable.run();
+    } finally {
+      Thread.currentThread().setContextClassLoader(contextClassLoader);
+      final long duration = System.nanoTime() - start;
+      reconcilerMetrics.workDuration.record(Duration.ofNanos(duration));
+      LOGGER.trace("{} finished executing after {}ms",
+          item.configId, Duration.ofNanos(duration).toMillis());
+      done(item.configId);
     }
+  }
 
-    @Override
-    public boolean equals(Object obj) {
-      if (this == obj) {
-        return true;
+  private void done(String configId) {
+    final AtomicReference<Token> enqueue = new AtomicReference<>();
+    keys.computeIfPresent(configId, (key, state) -> {
+      if (state.pending == null) {
+        return null;
       }
-      if (!(obj instanceof ReconciliationRunnable)) {
-        return false;
-      }
-      ReconciliationRunnable other = (ReconciliationRunnable) obj;
-      return Objects.equals(configId, other.configId)
-          && Objects.equals(priority, other.priority);
+      enqueue.set(new Token(configId, state.pending.priority));
+      return new KeyState(false, state.pending);
+    });
+    if (enqueue.get() != null && !shutdown) {
+      LOGGER.trace("{} has been scheduled again to be reconcilied", configId);
+      offer(enqueue.get());
     }
+  }
 
-    @Override
-    public String toString() {
-      return (priority ? "* " : "  ") + configId + " " + (System.currentTimeMillis() - timestamp) + "ms";
-    }
+  private ReconcilerMetrics getMetrics(String configId) {
+    final int separatorIndex = configId.indexOf('/');
+    final String reconciler = separatorIndex < 0 ? configId : configId.substring(0, separatorIndex);
+    return metrics.computeIfAbsent(reconciler, this::createMetrics);
+  }
 
+  private ReconcilerMetrics createMetrics(String reconciler) {
+    final AtomicInteger depth = new AtomicInteger(0);
+    Gauge.builder(QUEUE_DEPTH_METRIC, depth, AtomicInteger::get)
+        .description("Number of reconciliations waiting to be executed")
+        .tag("reconciler", reconciler)
+        .register(registry);
+    return new ReconcilerMetrics(
+        depth,
+        Timer.builder(QUEUE_WAIT_METRIC)
+            .description("Time a reconciliation waited in the queue before being executed")
+            .tag("reconciler", reconciler)
+            .register(registry),
+        Timer.builder(WORK_DURATION_METRIC)
+            .description("Time spent executing a reconciliation")
+            .tag("reconciler", reconciler)
+            .register(registry));
   }
 
-  static class ReconciliatorThreadPoolExecutor {
-
-    final ThreadPoolExecutor threadPoolExecutor;
-    final Map<ReconciliationRunnable, Long> executingReconciliations = Collections.synchronizedMap(new HashMap<>());
-    final Set<ReconciliationRunnable> toExecuteReconciliations = Collections.synchronizedSet(new HashSet<>());
-
-    public ReconciliatorThreadPoolExecutor(
-        int threads,
-        BlockingQueue<Runnable> workQueue,
-        ThreadFactory threadFactory) {
-      this.threadPoolExecutor = new ThreadPoolExecutor(
-          threads,
-          threads,
-          0L,
-          TimeUnit.MILLISECONDS,
-          workQueue,
-          threadFactory);
-    }
+  record Token(String configId, boolean priority) {
+  }
 
-    void executeReconciliation(ReconciliationRunnable r) {
-      executingReconciliations.put(r, System.currentTimeMillis());
-      if (LOGGER.isTraceEnabled()) {
-        LOGGER.trace("{} started executing",
-            r);
-      }
-      final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
-      try {
-        Thread.currentThread().setContextClassLoader(r.contextClassLoader);
-        r.runnable.run();
-      } finally {
-        Thread.currentThread().setContextClassLoader(contextClassLoader);
-        if (LOGGER.isTraceEnabled()) {
-          LOGGER.trace("{} finished executing after {}ms",
-              r,
-              Optional.ofNullable(executingReconciliations.get(r))
-              .map(start -> System.currentTimeMillis() - start)
-              .map(Object::toString)
-              .orElse("?"));
-        }
-        executingReconciliations.remove(r);
-        if (!isShutdown()
-            && !isTerminated()) {
-          if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("{} has been scheduled to be reconcilied",
-                r);
-          }
-          toExecuteReconciliations.stream().filter(r::equals).forEach(this::execute);
-          toExecuteReconciliations.remove(r);
-        }
-      }
-    }
+  record KeyState(boolean processing, WorkItem pending) {
+  }
 
-    boolean isExecuting(ReconciliationRunnable r) {
-      return executingReconciliations.containsKey(r);
-    }
+  record ReconcilerMetrics(AtomicInteger depth, Timer queueWait, Timer workDuration) {
+  }
 
-    void executeWhenCompleted(ReconciliationRunnable r) {
-      toExecuteReconciliations.add(r);
-    }
+  static class WorkItem {
 
-    public void execute(ReconciliationRunnable r) {
-      threadPoolExecutor.execute(r);
+    final Runnable runnable;
+    final String configId;
+    final boolean priority;
+    final long timestamp;
+    final ClassLoader contextClassLoader;
+
+    WorkItem(Runnable runnable, String configId, boolean priority) {
+      this(runnable, configId, priority, System.nanoTime(),
+          Thread.currentThread().getContextClassLoader());
     }
 
-    public void shutdown() {
-      this.threadPoolExecutor.shutdown();
+    private WorkItem(Runnable runnable, String configId, boolean priority,
+        long timestamp, ClassLoader contextClassLoader) {
+      this.runnable = runnable;
+      this.configId = configId;
+      this.priority = priority;
+      this.timestamp = timestamp;
+      this.contextClassLoader = contextClassLoader;
     }
 
-    public boolean isShutdown() {
-      return this.threadPoolExecutor.isShutdown();
+    /**
+     * The latest runnable is kept while the original enqueue time is preserved so that wait time
+     * is not reset by duplicated schedules.
+     */
+    WorkItem merge(WorkItem other) {
+      return new WorkItem(
+          other.runnable,
+          configId,
+          priority || other.priority,
+          timestamp,
+          other.contextClassLoader);
     }
 
-    public boolean isTerminated() {
-      return this.threadPoolExecutor.isTerminated();
+    @Override
+    public String toString() {
+      return (priority ? "* " : "  ") + configId;
     }
 
   }
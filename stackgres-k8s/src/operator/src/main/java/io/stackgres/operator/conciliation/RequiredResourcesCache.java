@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.stackgres.common.OperatorProperty;
+import io.stackgres.common.StackGresProperty;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keep the last generated required resources of each custom resource together with a hash of the
+ * inputs used to generate them (see {@link #fingerprint()}). Required resources are generated
+ * again only when the hash changes, otherwise a copy of the previously generated resources is
+ * returned.
+ */
+@ApplicationScoped
+public class RequiredResourcesCache {
+
+  protected static final Logger LOGGER = LoggerFactory.getLogger(RequiredResourcesCache.class);
+
+  private static final String CACHE_METRIC = "stackgres_required_resources_cache";
+
+  private static final Duration EXPIRATION = Duration.ofHours(1);
+
+  private final Cache<String, GeneratedResources> cache;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private MeterRegistry registry = Metrics.globalRegistry;
+  private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+  @Inject
+  public RequiredResourcesCache(
+      OperatorPropertyContext propertyContext,
+      ObjectMapper objectMapper) {
+    var cacheBuilder = Caffeine.newBuilder()
+        .expireAfterAccess(EXPIRATION);
+    propertyContext.get(
+        OperatorProperty.RECONCILIATION_CACHE_SIZE)
+        .map(Integer::valueOf)
+        .ifPresent(size -> cacheBuilder.maximumSize(size));
+    this.cache = cacheBuilder.build();
+    this.objectMapper = objectMapper;
+    this.enabled = propertyContext.get(OperatorProperty.REQUIRED_RESOURCES_CACHE)
+        .map(Boolean::parseBoolean)
+        .orElse(true);
+  }
+
+  @Inject
+  public void setMeterRegistry(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  public Fingerprint fingerprint() {
+    return new Fingerprint(objectMapper);
+  }
+
+  /**
+   * Return the required resources previously generated for the specified resource if the
+   * fingerprint did not change, otherwise generate and store them. Required resources generated
+   * from a time dependent fingerprint are neither served from nor stored in the cache.
+   */
+  public List<HasMetadata> get(
+      HasMetadata resource,
+      Fingerprint fingerprint,
+      Supplier<List<HasMetadata>> generator) {
+    if (!enabled) {
+      return generator.get();
+    }
+    final String key = resource.getKind()
+        + "/" + resource.getMetadata().getNamespace()
+        + "/" + resource.getMetadata().getName();
+    if (fingerprint.timeDependent) {
+      LOGGER.trace("Required resources for {} depend on the current time", key);
+      counter(resource, "bypass").increment();
+      cache.invalidate(key);
+      return generator.get();
+    }
+    final String hash = fingerprint.hash();
+    final GeneratedResources generated = cache.getIfPresent(key);
+    if (generated != null && generated.hash.equals(hash)) {
+      LOGGER.trace("Required resources for {} found in cache", key);
+      counter(resource, "hit").increment();
+      return copy(generated.resources);
+    }
+    counter(resource, "miss").increment();
+    final List<HasMetadata> resources = generator.get();
+    cache.put(key, new GeneratedResources(hash, copy(resources)));
+    return resources;
+  }
+
+  private Counter counter(HasMetadata resource, String result) {
+    return counters.computeIfAbsent(new CounterKey(resource.getKind(), result), key -> Counter
+        .builder(CACHE_METRIC)
+        .description("Required resources served from the cache (hit), generated (miss) or"
+            + " generated without using the cache since they depend on the current time (bypass)")
+        .tag("kind", key.kind())
+        .tag("result", key.result())
+        .register(registry));
+  }
+
+  /**
+   * Required resources are mutated by the conciliator (owner references, managed fields) so the
+   * cache never shares instances with the callers.
+   */
+  private List<HasMetadata> copy(List<HasMetadata> resources) {
+    return resources.stream()
+        .map(resource -> (HasMetadata) objectMapper.convertValue(resource, resource.getClass()))
+        .toList();
+  }
+
+  record GeneratedResources(String hash, List<HasMetadata> resources) {
+  }
+
+  record CounterKey(String kind, String result) {
+  }
+
+  /**
+   * Hash of the inputs used to generate the required resources. Resources that have a
+   * resourceVersion are identified by kind, namespace, name, uid and resourceVersion, any other
+   * value is identified by its JSON representation. The operator version is always included.
+   */
+  public static class Fingerprint {
+
+    private final ObjectMapper objectMapper;
+    private final MessageDigest digest;
+    private boolean timeDependent = false;
+
+    Fingerprint(ObjectMapper objectMapper) {
+      this.objectMapper = objectMapper;
+      try {
+        this.digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+        throw new IllegalStateException(ex);
+      }
+      add(StackGresProperty.OPERATOR_VERSION.getString());
+    }
+
+    public Fingerprint add(Object value) {
+      if (value instanceof Optional<?> optional) {
+        return add(optional.orElse(null));
+      }
+      if (value instanceof Map<?, ?> map) {
+        map.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey((left, right) -> left.toString().compareTo(right.toString())))
+            .forEach(entry -> add(entry.getKey()).add(entry.getValue()));
+        return update("}");
+      }
+      if (value instanceof Collection<?> collection) {
+        collection.forEach(this::add);
+        return update("]");
+      }
+      if (value instanceof HasMetadata resource
+          && resource.getMetadata() != null
+          && resource.getMetadata().getResourceVersion() != null) {
+        return update(resource.getKind()
+            + "/" + resource.getMetadata().getNamespace()
+            + "/" + resource.getMetadata().getName()
+            + "/" + resource.getMetadata().getUid()
+            + "/" + resource.getMetadata().getResourceVersion());
+      }
+      if (value == null || value instanceof CharSequence || value instanceof Number
+          || value instanceof Boolean) {
+        return update(String.valueOf(value));
+      }
+      try {
+        return update(objectMapper.writeValueAsString(value));
+      } catch (JsonProcessingException ex) {
+        throw new IllegalArgumentException(ex);
+      }
+    }
+
+    /**
+     * Mark the required resources as dependent on the current time (e.g. a name generated from a
+     * timestamp) so that they are generated again each time.
+     */
+    public Fingerprint timeDependent(boolean timeDependent) {
+      this.timeDependent = this.timeDependent || timeDependent;
+      return this;
+    }
+
+    private Fingerprint update(String value) {
+      digest.update(value.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      return this;
+    }
+
+    String hash() {
+      return HexFormat.of().formatHex(digest.digest());
+    }
+
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Apply an operation to a list of resources following the ordering constraints of a comparator.
+ * Resources are split in levels of resources that the comparator considers equal. Resources of
+ * the same level do not depend on each other and are applied concurrently, up to the configured
+ * parallelism, while each level waits for the previous one to complete.
+ */
+class ResourcesApplier {
+
+  private final ExecutorService executor;
+  private final int parallelism;
+
+  ResourcesApplier(String name, int parallelism) {
+    this.executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name(name + "-ReconciliationApply-", 0).factory());
+    this.parallelism = parallelism;
+  }
+
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Apply the operation to each resource. Exceptions thrown by the operation are added to the
+   * exceptions list in the order of the resources. If the operation fails for a resource that
+   * matches the abort predicate the exception is thrown once its level completes and the
+   * following levels are not applied.
+   */
+  <R> void apply(
+      List<R> resources,
+      Comparator<R> comparator,
+      Consumer<R> operation,
+      Predicate<R> abortOn,
+      List<Exception> exceptions) {
+    for (List<R> level : levels(resources, comparator)) {
+      final List<Exception> levelExceptions = applyLevel(level, operation);
+      RuntimeException abortException = null;
+      for (int index = 0; index < level.size(); index++) {
+        final Exception ex = levelExceptions.get(index);
+        if (ex == null) {
+          continue;
+        }
+        if (abortException == null && abortOn.test(level.get(index))) {
+          abortException = ex instanceof RuntimeException rex ? rex : new RuntimeException(ex);
+        } else {
+          exceptions.add(ex);
+        }
+      }
+      if (abortException != null) {
+        throw abortException;
+      }
+    }
+  }
+
+  static <R> List<List<R>> levels(List<R> resources, Comparator<R> comparator) {
+    final List<List<R>> levels = new ArrayList<>();
+    List<R> level = null;
+    R previous = null;
+    for (R resource : resources.stream().sorted(comparator).toList()) {
+      if (level == null || comparator.compare(previous, resource) != 0) {
+        level = new ArrayList<>();
+        levels.add(level);
+      }
+      level.add(resource);
+      previous = resource;
+    }
+    return levels;
+  }
+
+  private <R> List<Exception> applyLevel(List<R> level, Consumer<R> operation) {
+    if (level.size() == 1 || parallelism <= 1) {
+      return level.stream()
+          .map(resource -> applyResource(resource, operation))
+          .toList();
+    }
+    final Semaphore permits = new Semaphore(parallelism);
+    final List<CompletableFuture<Exception>> futures = new ArrayList<>(level.size());
+    for (R resource : level) {
+      permits.acquireUninterruptibly();
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return applyResource(resource, operation);
+        } finally {
+          permits.release();
+        }
+      }, executor));
+    }
+    return futures.stream()
+        .map(CompletableFuture::join)
+        .toList();
+  }
+
+  private <R> Exception applyResource(R resource, Consumer<R> operation) {
+    try {
+      operation.accept(resource);
+      return null;
+    } catch (Exception ex) {
+      return ex;
+    }
+  }
+
+}
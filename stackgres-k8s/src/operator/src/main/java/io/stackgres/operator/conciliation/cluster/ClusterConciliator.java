@@ -98,7 +98,7 @@ public class ClusterConciliator extends AbstractConciliator<StackGresCluster> {
               .noneMatch(member -> member.isPrimary()
                   && !member.getMember().startsWith(config.getMetadata().getName() + "-")))
           && deployedResourcesCache
-          .stream()
+          .stream(config, Pod.class)
           .map(DeployedResource::foundDeployed)
           .noneMatch(foundDeployedResource -> isPrimaryPod(foundDeployedResource, primaryLabels));
       if (noPrimaryPod && LOGGER.isDebugEnabled()) {
@@ -112,7 +112,7 @@ public class ClusterConciliator extends AbstractConciliator<StackGresCluster> {
       if (!isPatroniOnKubernetes) {
         var members = patroniCtl.list();
         anyPodWithWrongOrMissingRole = deployedResourcesCache
-            .stream()
+            .stream(config, Pod.class)
             .map(DeployedResource::foundDeployed)
             .anyMatch(foundDeployedResource -> isPodWithWrongOrMissingRole(config, foundDeployedResource, members));
       } else {
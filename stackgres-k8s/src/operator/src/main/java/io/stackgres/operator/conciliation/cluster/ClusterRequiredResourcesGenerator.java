@@ -73,6 +73,7 @@ import io.stackgres.common.resource.CustomResourceScanner;
 import io.stackgres.common.resource.ResourceFinder;
 import io.stackgres.common.resource.ResourceScanner;
 import io.stackgres.operator.conciliation.RequiredResourceGenerator;
+import io.stackgres.operator.conciliation.RequiredResourcesCache;
 import io.stackgres.operator.conciliation.ResourceGenerationDiscoverer;
 import io.stackgres.operator.conciliation.factory.cluster.PostgresSslSecret;
 import io.stackgres.operator.conciliation.factory.cluster.backup.BackupEnvVarFactory;
@@ -122,6 +123,8 @@ public class ClusterRequiredResourcesGenerator
 
   private final ResourceGenerationDiscoverer<StackGresClusterContext> discoverer;
 
+  private final RequiredResourcesCache requiredResourcesCache;
+
   @Inject
   public ClusterRequiredResourcesGenerator(
       Supplier<VersionInfo> kubernetesVersionSupplier,
@@ -138,7 +141,8 @@ public class ClusterRequiredResourcesGenerator
       ResourceScanner<Pod> podScanner,
       ResourceScanner<PersistentVolumeClaim> pvcScanner,
       BackupEnvVarFactory backupEnvVarFactory,
-      ResourceGenerationDiscoverer<StackGresClusterContext> discoverer) {
+      ResourceGenerationDiscoverer<StackGresClusterContext> discoverer,
+      RequiredResourcesCache requiredResourcesCache) {
     this.kubernetesVersionSupplier = kubernetesVersionSupplier;
     this.configScanner = configScanner;
     this.clusterFinder = clusterFinder;
@@ -154,6 +158,7 @@ public class ClusterRequiredResourcesGenerator
     this.pvcScanner = pvcScanner;
     this.backupEnvVarFactory = backupEnvVarFactory;
     this.discoverer = discoverer;
+    this.requiredResourcesCache = requiredResourcesCache;
   }
 
   @Override
@@ -355,7 +360,54 @@ public class ClusterRequiredResourcesGenerator
         .clusterBackupNamespaces(clusterBackupNamespaces)
         .build();
 
-    return discoverer.generateResources(context);
+    return requiredResourcesCache.get(cluster, fingerprint(context),
+        () -> discoverer.generateResources(context));
+  }
+
+  private RequiredResourcesCache.Fingerprint fingerprint(StackGresClusterContext context) {
+    return requiredResourcesCache.fingerprint()
+        .add(context.getKubernetesVersion().map(VersionInfo::getGitVersion))
+        .add(context.getConfig())
+        .add(context.getSource())
+        .add(context.getPostgresConfig())
+        .add(context.getProfile())
+        .add(context.getObjectStorage())
+        .add(context.getPoolingConfig())
+        .add(context.getBackupSecrets())
+        .add(context.getReplicationInitializationBackup())
+        .add(context.getReplicationInitializationBackupToCreate())
+        .add(context.getReplicationInitializationSecrets())
+        .add(context.getCurrentInstances())
+        .add(context.getPodDataPersistentVolumeNames())
+        .add(context.getRestoreBackup())
+        .add(context.getRestoreSecrets())
+        .add(context.getDatabaseSecret())
+        .add(context.getReplicateCluster())
+        .add(context.getReplicateObjectStorageConfig())
+        .add(context.getReplicateSecrets())
+        .add(context.getSuperuserUsername())
+        .add(context.getSuperuserPassword())
+        .add(context.getReplicationUsername())
+        .add(context.getReplicationPassword())
+        .add(context.getAuthenticatorUsername())
+        .add(context.getAuthenticatorPassword())
+        .add(context.getPatroniRestApiPassword())
+        .add(context.getUserPasswordForBinding())
+        .add(context.getPostgresSslCertificate())
+        .add(context.getPostgresSslPrivateKey())
+        .add(context.getClusterBackupNamespaces().stream().sorted().toList())
+        .timeDependent(isReplicationInitializationBackupNameTimeDependent(context));
+  }
+
+  /**
+   * The name of the replication initialization backup that has not been created yet is generated
+   * from the current time (see {@code ReplicationInitializationNewBackup#name}).
+   */
+  private boolean isReplicationInitializationBackupNameTimeDependent(
+      StackGresClusterContext context) {
+    return StackGresReplicationInitializationMode.FROM_NEWLY_CREATED_BACKUP.equals(
+        context.getCluster().getSpec().getReplication().getInitializationModeOrDefault())
+        && context.getReplicationInitializationBackupToCreate().isEmpty();
   }
 
   private Optional<Tuple2<StackGresBackup, Map<String, Secret>>> getReplicationInitializationBackupAndSecrets(
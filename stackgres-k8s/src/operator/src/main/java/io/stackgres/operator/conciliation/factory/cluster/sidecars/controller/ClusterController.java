@@ -113,6 +113,12 @@ public class ClusterController implements ContainerFactory<ClusterContainerConte
             .withValue(Boolean.TRUE.toString())
             .build(),
             new EnvVarBuilder()
+            .withName(ClusterControllerProperty
+                .CLUSTER_CONTROLLER_EXTENSIONS_CACHE_PATH
+                .getEnvironmentVariableName())
+            .withValue(ClusterPath.PG_EXTENSIONS_CACHE_PATH.path())
+            .build(),
+            new EnvVarBuilder()
             .withName(ClusterControllerProperty
                 .CLUSTER_CONTROLLER_RECONCILE_PGBOUNCER
                 .getEnvironmentVariableName())
@@ -217,6 +223,10 @@ public class ClusterController implements ContainerFactory<ClusterContainerConte
             new VolumeMountBuilder()
                 .withName(StackGresVolume.POSTGRES_SSL_COPY.getName())
                 .withMountPath(ClusterPath.SSL_COPY_PATH.path())
+                .build(),
+            new VolumeMountBuilder()
+                .withName(StackGresVolume.EXTENSIONS_CACHE.getName())
+                .withMountPath(ClusterPath.PG_EXTENSIONS_CACHE_PATH.path())
                 .build())
         .addAllToVolumeMounts(Optional.of(context.getClusterContext().getConfig().getSpec())
             .map(StackGresConfigSpec::getDeveloper)
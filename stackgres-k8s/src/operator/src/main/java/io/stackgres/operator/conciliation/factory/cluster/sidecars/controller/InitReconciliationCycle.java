@@ -81,6 +81,11 @@ public class InitReconciliationCycle implements ContainerFactory<ClusterContaine
             .withValue(Boolean.FALSE.toString())
             .build(),
             new EnvVarBuilder()
+            .withName(ClusterControllerProperty.CLUSTER_CONTROLLER_EXTENSIONS_CACHE_PATH
+                .getEnvironmentVariableName())
+            .withValue(ClusterPath.PG_EXTENSIONS_CACHE_PATH.path())
+            .build(),
+            new EnvVarBuilder()
             .withName(ClusterControllerProperty.CLUSTER_CONTROLLER_RECONCILE_PGBOUNCER
                 .getEnvironmentVariableName())
             .withValue(Boolean.FALSE.toString())
@@ -140,6 +145,11 @@ public class InitReconciliationCycle implements ContainerFactory<ClusterContaine
                 .withName(StackGresVolume.POSTGRES_SSL_COPY.getName())
                 .withMountPath(ClusterPath.SSL_COPY_PATH.path())
                 .build())
+        .addToVolumeMounts(
+            new VolumeMountBuilder()
+                .withName(StackGresVolume.EXTENSIONS_CACHE.getName())
+                .withMountPath(ClusterPath.PG_EXTENSIONS_CACHE_PATH.path())
+                .build())
         .addAllToVolumeMounts(Optional.of(context.getClusterContext().getConfig().getSpec())
             .map(StackGresConfigSpec::getDeveloper)
             .map(StackGresConfigDeveloper::getPatches)
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.resource;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stackgres.common.resource.ResourceInformerCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * The informer cache is produced only by the operator since its informers read with the
+ * operator service account.
+ */
+@ApplicationScoped
+public class ResourceInformerCacheProducer {
+
+  @Produces
+  @Singleton
+  ResourceInformerCache resourceInformerCache(KubernetesClient client, MeterRegistry registry) {
+    return new ResourceInformerCache(client, registry);
+  }
+
+  void stop(@Disposes ResourceInformerCache resourceInformerCache) {
+    resourceInformerCache.stop();
+  }
+
+}
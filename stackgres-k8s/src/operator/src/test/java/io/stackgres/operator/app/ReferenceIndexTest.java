@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.stackgres.common.crd.SecretKeySelector;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.crd.sgcluster.StackGresClusterCredentials;
+import io.stackgres.common.crd.sgcluster.StackGresClusterPatroniCredentials;
+import io.stackgres.common.crd.sgpgconfig.StackGresPostgresConfig;
+import io.stackgres.common.crd.sgprofile.StackGresProfile;
+import io.stackgres.common.crd.sgshardedcluster.StackGresShardedCluster;
+import io.stackgres.common.fixture.Fixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReferenceIndexTest {
+
+  private ReferenceIndex<StackGresCluster> clusters;
+
+  private StackGresCluster cluster;
+
+  @BeforeEach
+  void setUp() {
+    clusters = new ReferenceIndex<>(DefaultOperatorWatchersHandler::clusterReferences);
+    cluster = Fixtures.cluster().loadDefault().get();
+  }
+
+  @Test
+  void givenACluster_shouldIndexItsReferences() {
+    clusters.put(cluster);
+
+    final String namespace = cluster.getMetadata().getNamespace();
+    assertEquals(List.of(cluster), clusters.getReferencing(ReferenceIndex.reference(
+        StackGresProfile.class, namespace, cluster.getSpec().getSgInstanceProfile())));
+    assertEquals(List.of(cluster), clusters.getReferencing(ReferenceIndex.reference(
+        StackGresPostgresConfig.class, namespace,
+        cluster.getSpec().getConfigurations().getSgPostgresConfig())));
+    assertTrue(clusters.getReferencing(ReferenceIndex.reference(
+        StackGresProfile.class, "other", cluster.getSpec().getSgInstanceProfile())).isEmpty());
+    assertEquals(cluster, clusters.get(namespace, cluster.getMetadata().getName()).orElseThrow());
+  }
+
+  @Test
+  void givenAClusterWithChangedReferences_shouldOnlyIndexTheNewReferences() {
+    clusters.put(cluster);
+    final String namespace = cluster.getMetadata().getNamespace();
+    final String previousProfile = cluster.getSpec().getSgInstanceProfile();
+
+    StackGresCluster updatedCluster = Fixtures.cluster().loadDefault().get();
+    updatedCluster.getSpec().setSgInstanceProfile("other-profile");
+    SecretKeySelector restApiPassword = new SecretKeySelector();
+    restApiPassword.setName("patroni-secret");
+    restApiPassword.setKey("password");
+    updatedCluster.getSpec().getConfigurations().setCredentials(new StackGresClusterCredentials());
+    updatedCluster.getSpec().getConfigurations().getCredentials()
+        .setPatroni(new StackGresClusterPatroniCredentials());
+    updatedCluster.getSpec().getConfigurations().getCredentials().getPatroni()
+        .setRestApiPassword(restApiPassword);
+    clusters.put(updatedCluster);
+
+    assertTrue(clusters.getReferencing(ReferenceIndex.reference(
+        StackGresProfile.class, namespace, previousProfile)).isEmpty());
+    assertEquals(List.of(updatedCluster), clusters.getReferencing(ReferenceIndex.reference(
+        StackGresProfile.class, namespace, "other-profile")));
+    assertEquals(List.of(updatedCluster), clusters.getReferencing(ReferenceIndex.reference(
+        Secret.class, namespace, "patroni-secret")));
+  }
+
+  @Test
+  void givenARemovedCluster_shouldRemoveItsReferences() {
+    clusters.put(cluster);
+
+    clusters.remove(cluster);
+
+    final String namespace = cluster.getMetadata().getNamespace();
+    assertTrue(clusters.getReferencing(ReferenceIndex.reference(
+        StackGresProfile.class, namespace, cluster.getSpec().getSgInstanceProfile())).isEmpty());
+    assertTrue(clusters.get(namespace, cluster.getMetadata().getName()).isEmpty());
+  }
+
+  @Test
+  void givenAShardedCluster_shouldIndexCoordinatorAndShardsReferences() {
+    StackGresShardedCluster shardedCluster = Fixtures.shardedCluster().loadDefault().get();
+    ReferenceIndex<StackGresShardedCluster> shardedClusters =
+        new ReferenceIndex<>(DefaultOperatorWatchersHandler::shardedClusterReferences);
+
+    shardedClusters.put(shardedCluster);
+
+    final String namespace = shardedCluster.getMetadata().getNamespace();
+    assertEquals(List.of(shardedCluster), shardedClusters.getReferencing(ReferenceIndex.reference(
+        StackGresProfile.class, namespace,
+        shardedCluster.getSpec().getCoordinator().getSgInstanceProfile())));
+    assertEquals(List.of(shardedCluster), shardedClusters.getReferencing(ReferenceIndex.reference(
+        StackGresProfile.class, namespace,
+        shardedCluster.getSpec().getShards().getSgInstanceProfile())));
+  }
+
+}
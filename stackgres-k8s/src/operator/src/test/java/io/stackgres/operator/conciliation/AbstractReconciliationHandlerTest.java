@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.NamespaceableResource;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.testutil.JsonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AbstractReconciliationHandlerTest {
+
+  @Mock
+  private KubernetesClient client;
+
+  @Mock
+  private NamespaceableResource<HasMetadata> resource;
+
+  @Captor
+  private ArgumentCaptor<PatchContext> patchContextCaptor;
+
+  @Captor
+  private ArgumentCaptor<String> payloadCaptor;
+
+  private AbstractReconciliationHandler<StackGresCluster> handler;
+
+  @BeforeEach
+  void setUp() {
+    handler = new AbstractReconciliationHandler<>(client) {
+    };
+    when(client.getKubernetesSerialization()).thenReturn(new KubernetesSerialization());
+    when(client.resource(any(HasMetadata.class))).thenReturn(resource);
+  }
+
+  @Test
+  void patch_shouldServerSideApplyWithoutServerPopulatedFields() throws Exception {
+    Pod pod = new PodBuilder()
+        .withNewMetadata()
+        .withNamespace("test")
+        .withName("test")
+        .withUid("1")
+        .withResourceVersion("1")
+        .withManagedFields(new ManagedFieldsEntryBuilder().withManager("test").build())
+        .withLabels(Map.of("key", "value"))
+        .endMetadata()
+        .withNewStatus()
+        .withPhase("Running")
+        .endStatus()
+        .build();
+    Pod patched = new PodBuilder().build();
+    when(resource.patch(any(PatchContext.class), anyString())).thenReturn(patched);
+
+    assertSame(patched, handler.patch(new StackGresCluster(), pod, null));
+
+    verify(resource).patch(patchContextCaptor.capture(), payloadCaptor.capture());
+    assertEquals(PatchType.SERVER_SIDE_APPLY, patchContextCaptor.getValue().getPatchType());
+    assertEquals("StackGres", patchContextCaptor.getValue().getFieldManager());
+    JsonNode payload = JsonUtil.jsonMapper().readTree(payloadCaptor.getValue());
+    assertFalse(payload.has("status"));
+    assertFalse(payload.get("metadata").has("uid"));
+    assertFalse(payload.get("metadata").has("resourceVersion"));
+    assertFalse(payload.get("metadata").has("managedFields"));
+    assertEquals("value", payload.get("metadata").get("labels").get("key").asText());
+    assertEquals("1", pod.getMetadata().getResourceVersion());
+    assertNotNull(pod.getMetadata().getManagedFields());
+    assertNotNull(pod.getStatus());
+  }
+
+}
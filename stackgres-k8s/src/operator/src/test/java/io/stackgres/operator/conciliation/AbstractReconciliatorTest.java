@@ -17,6 +17,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -362,6 +363,23 @@ class AbstractReconciliatorTest {
     verify(finder, times(1)).findByNameAndNamespace(any(), any());
   }
 
+  @Test
+  void shouldReconcileExistingResourcesWithinThePeriodIfResyncAllMethodIsCalled() {
+    when(scanner.getResources()).thenReturn(List.of(customResource));
+    when(finder.findByNameAndNamespace(any(), any())).thenReturn(Optional.of(customResource));
+    when(conciliator.evalReconciliationState(any()))
+        .thenReturn(new ReconciliationResult(
+            List.of(),
+            List.of(),
+            List.of()));
+
+    reconciliator.resyncAll(Duration.ofMillis(100));
+
+    verify(reconciliator, timeout(1000).times(1)).reconciliationCycle(customResource, 0, true);
+    verify(reconciliator, timeout(1000).times(1)).onPostReconciliation(any());
+    verify(reconciliator, times(0)).reconciliationsCycle(any());
+  }
+
   private AbstractReconciliator<TestResource> buildConciliator() {
     final AbstractReconciliator<TestResource> reconciliator =
         new TestReconciliator(scanner, finder, conciliator, deployedResourcesCache,
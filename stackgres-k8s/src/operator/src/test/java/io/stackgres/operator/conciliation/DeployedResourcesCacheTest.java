@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.resource.ResourceInformerCache;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import io.stackgres.testutil.JsonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DeployedResourcesCacheTest {
+
+  @Mock
+  private ResourceInformerCache resourceInformerCache;
+
+  @Captor
+  private ArgumentCaptor<ResourceEventHandler<HasMetadata>> eventHandlerCaptor;
+
+  private DeployedResourcesCache deployedResourcesCache;
+
+  private ResourceEventHandler<HasMetadata> eventHandler;
+
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    deployedResourcesCache = new DeployedResourcesCache(
+        new OperatorPropertyContext(), JsonUtil.jsonMapper());
+    registry = new SimpleMeterRegistry();
+    deployedResourcesCache.setMeterRegistry(registry);
+    lenient().when(resourceInformerCache.copy(any())).then(returnsFirstArg());
+    deployedResourcesCache.setResourceInformerCache(resourceInformerCache);
+    verify(resourceInformerCache).addEventHandler(eventHandlerCaptor.capture());
+    eventHandler = eventHandlerCaptor.getValue();
+  }
+
+  @Test
+  void givenAnInformerUpdate_shouldUpdateFoundDeployedResource() {
+    Secret required = secret("1", Map.of("key", "value"));
+    Secret deployed = secret("1", Map.of("key", "value"));
+    deployedResourcesCache.put(required, deployed);
+
+    Secret updated = secret("2", Map.of("key", "value", "other", "value"));
+    eventHandler.onUpdate(deployed, updated);
+
+    DeployedResource deployedResource = deployedResourcesCache.get(required);
+    assertSame(deployed, deployedResource.deployed());
+    assertSame(updated, deployedResource.foundDeployed());
+    assertEquals(deployedResource.deployedHash(), deployedResource.foundDeployedHash());
+  }
+
+  @Test
+  void givenAnInformerUpdateOfARequiredField_shouldChangeFoundDeployedHash() {
+    Secret required = secret("1", Map.of("key", "value"));
+    Secret deployed = secret("1", Map.of("key", "value"));
+    deployedResourcesCache.put(required, deployed);
+
+    Secret updated = secret("2", Map.of("key", "changed"));
+    eventHandler.onUpdate(deployed, updated);
+
+    DeployedResource deployedResource = deployedResourcesCache.get(required);
+    assertSame(updated, deployedResource.foundDeployed());
+    assertNotEquals(deployedResource.deployedHash(), deployedResource.foundDeployedHash());
+  }
+
+  @Test
+  void givenAnInformerUpdateWithReorderedJsonFields_shouldNotChangeFoundDeployedHash() {
+    GenericKubernetesResource required = generic("1", spec("first", "second"));
+    GenericKubernetesResource deployed = generic("1", spec("first", "second"));
+    deployedResourcesCache.put(required, deployed);
+
+    GenericKubernetesResource updated = generic("2", spec("second", "first"));
+    eventHandler.onUpdate(deployed, updated);
+
+    DeployedResource deployedResource = deployedResourcesCache.get(required);
+    assertSame(updated, deployedResource.foundDeployed());
+    assertEquals(deployedResource.deployedHash(), deployedResource.foundDeployedHash());
+  }
+
+  @Test
+  void givenAnInformerAddForAnUnknownResource_shouldNotCacheIt() {
+    eventHandler.onAdd(secret("1", Map.of()));
+
+    assertEquals(List.of(), deployedResourcesCache.stream().toList());
+  }
+
+  @Test
+  void givenAnInformerEvent_shouldCopyOnlyTrackedAndChangedResources() {
+    Secret required = secret("1", Map.of());
+    Secret deployed = secret("1", Map.of());
+    deployedResourcesCache.put(required, deployed);
+
+    eventHandler.onAdd(new SecretBuilder(secret("1", Map.of()))
+        .editMetadata().withName("untracked").endMetadata()
+        .build());
+    eventHandler.onUpdate(deployed, secret("1", Map.of()));
+    verify(resourceInformerCache, never()).copy(any());
+
+    Secret updated = secret("2", Map.of());
+    eventHandler.onUpdate(deployed, updated);
+    verify(resourceInformerCache).copy(updated);
+  }
+
+  @Test
+  void givenAnInformerDelete_shouldRemoveDeployedResource() {
+    Secret required = secret("1", Map.of());
+    Secret deployed = secret("1", Map.of());
+    deployedResourcesCache.put(required, deployed);
+
+    eventHandler.onDelete(deployed, false);
+
+    assertNull(deployedResourcesCache.get(required));
+  }
+
+  @Test
+  void givenSnapshotsOfTwoOwners_shouldIndexTheFoundResourcesByOwnerAndKind() {
+    StackGresCluster owner = cluster("test");
+    StackGresCluster otherOwner = cluster("other");
+    Secret secret = secret("1", Map.of());
+    Pod pod = pod("test-0");
+    Pod otherPod = pod("other-0");
+    deployedResourcesCache.put(secret, secret);
+
+    DeployedResourcesSnapshot snapshot = deployedResourcesCache.createDeployedResourcesSnapshot(
+        owner, List.of(secret), List.of(secret, pod));
+    deployedResourcesCache.createDeployedResourcesSnapshot(
+        otherOwner, List.of(), List.of(otherPod));
+
+    assertEquals(2, snapshot.map().size());
+    assertTrue(snapshot.isDeployed(secret));
+    assertEquals(List.of(pod), deployedResourcesCache.stream(owner, Pod.class)
+        .map(DeployedResource::foundDeployed)
+        .toList());
+    assertEquals(List.of(otherPod), deployedResourcesCache.stream(otherOwner, Pod.class)
+        .map(DeployedResource::foundDeployed)
+        .toList());
+    assertEquals(List.of(), deployedResourcesCache.stream(cluster("unknown"), Pod.class).toList());
+    assertEquals(3, registry.get("stackgres_deployed_resources_snapshot_size")
+        .tag("kind", HasMetadata.getKind(StackGresCluster.class))
+        .summary().totalAmount());
+    assertEquals(2, registry.get("stackgres_deployed_resources_snapshot_duration")
+        .timer().count());
+  }
+
+  @Test
+  void givenAResourceNoLongerFoundForTheOwner_shouldRemoveItOnlyForThatOwner() {
+    StackGresCluster owner = cluster("test");
+    StackGresCluster otherOwner = cluster("other");
+    Pod pod = pod("test-0");
+    Pod otherPod = pod("other-0");
+    deployedResourcesCache.createDeployedResourcesSnapshot(owner, List.of(), List.of(pod));
+    deployedResourcesCache.createDeployedResourcesSnapshot(otherOwner, List.of(), List.of(otherPod));
+
+    deployedResourcesCache.removeWithLabelsNotIn(owner, Map.of("app", "StackGres"), List.of());
+
+    assertNull(deployedResourcesCache.get(pod));
+    assertSame(otherPod, deployedResourcesCache.get(otherPod).foundDeployed());
+  }
+
+  private StackGresCluster cluster(String name) {
+    StackGresCluster cluster = new StackGresCluster();
+    cluster.getMetadata().setNamespace("test");
+    cluster.getMetadata().setName(name);
+    return cluster;
+  }
+
+  private Pod pod(String name) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withNamespace("test")
+        .withName(name)
+        .withResourceVersion("1")
+        .withLabels(Map.of("app", "StackGres"))
+        .endMetadata()
+        .build();
+  }
+
+  private GenericKubernetesResource generic(String resourceVersion, ObjectNode spec) {
+    GenericKubernetesResource resource = new GenericKubernetesResourceBuilder()
+        .withApiVersion("stackgres.io/v1")
+        .withKind("Test")
+        .withNewMetadata()
+        .withNamespace("test")
+        .withName("test")
+        .withResourceVersion(resourceVersion)
+        .endMetadata()
+        .build();
+    resource.setAdditionalProperty("spec", spec);
+    return resource;
+  }
+
+  private ObjectNode spec(String... fields) {
+    ObjectNode spec = JsonUtil.jsonMapper().createObjectNode();
+    for (String field : fields) {
+      spec.put(field, field);
+    }
+    return spec;
+  }
+
+  private Secret secret(String resourceVersion, Map<String, String> labels) {
+    return new SecretBuilder()
+        .withNewMetadata()
+        .withNamespace("test")
+        .withName("test")
+        .withResourceVersion(resourceVersion)
+        .withLabels(labels)
+        .endMetadata()
+        .build();
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReconciliatorWorkerThreadPoolTest {
+
+  private SimpleMeterRegistry registry;
+
+  private ReconciliatorWorkerThreadPool pool;
+
+  @BeforeEach
+  void setUp() {
+    System.setProperty("stackgres.reconciliationThreads", "1");
+    registry = new SimpleMeterRegistry();
+    pool = new ReconciliatorWorkerThreadPool();
+    pool.setMeterRegistry(registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.onStop(null);
+    System.clearProperty("stackgres.reconciliationThreads");
+  }
+
+  @Test
+  void givenSameConfigIdScheduledManyTimes_shouldReconcileOnceAfterCurrentExecution()
+      throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger(0);
+    AtomicInteger concurrentExecutions = new AtomicInteger(0);
+    AtomicInteger maxConcurrentExecutions = new AtomicInteger(0);
+    CountDownLatch finished = new CountDownLatch(2);
+    Runnable runnable = () -> {
+      maxConcurrentExecutions.accumulateAndGet(
+          concurrentExecutions.incrementAndGet(), Math::max);
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      executions.incrementAndGet();
+      concurrentExecutions.decrementAndGet();
+      finished.countDown();
+    };
+
+    pool.scheduleReconciliation(runnable, "sgclusters.stackgres.io/test/test", false);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    for (int index = 0; index < 100; index++) {
+      pool.scheduleReconciliation(runnable, "sgclusters.stackgres.io/test/test", index % 2 == 0);
+    }
+    assertEquals(1, pool.getQueueDepth());
+    release.countDown();
+
+    assertTrue(finished.await(5, TimeUnit.SECONDS));
+    Thread.sleep(100);
+    assertEquals(2, executions.get());
+    assertEquals(1, maxConcurrentExecutions.get());
+    assertEquals(0, pool.getQueueDepth());
+    assertEquals(2, registry.get("stackgres_reconciliation_work_duration")
+        .tag("reconciler", "sgclusters.stackgres.io").timer().count());
+  }
+
+  @Test
+  void givenReconciliationThrowingAnError_shouldKeepTheWorkerRunning() throws Exception {
+    CountDownLatch executed = new CountDownLatch(1);
+
+    pool.scheduleReconciliation(() -> {
+      throw new StackOverflowError("test");
+    }, "sgclusters.stackgres.io/test/test", false);
+    pool.scheduleReconciliation(executed::countDown, "sgclusters.stackgres.io/test/other", false);
+
+    assertTrue(executed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void givenPendingReconciliations_shouldExecuteHighPriorityFirstInFifoOrder() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(5);
+    List<String> executed = new CopyOnWriteArrayList<>();
+    pool.scheduleReconciliation(() -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }, "sgclusters.stackgres.io/test/blocker", true);
+    for (String name : List.of("low-1", "high-1", "low-2", "high-2")) {
+      pool.scheduleReconciliation(() -> {
+        executed.add(name);
+        finished.countDown();
+      }, "sgclusters.stackgres.io/test/" + name, name.startsWith("high"));
+    }
+    pool.scheduleReconciliation(() -> {
+      executed.add("low-1-upgraded");
+      finished.countDown();
+    }, "sgclusters.stackgres.io/test/low-1", true);
+    pool.scheduleReconciliation(() -> {
+      executed.add("other");
+      finished.countDown();
+    }, "sgbackups.stackgres.io/test/other", false);
+    release.countDown();
+
+    assertTrue(finished.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("high-1", "high-2", "low-1-upgraded", "low-2", "other"), executed);
+  }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.fixture.Fixtures;
+import io.stackgres.operator.configuration.OperatorPropertyContext;
+import io.stackgres.testutil.JsonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequiredResourcesCacheTest {
+
+  private SimpleMeterRegistry registry;
+
+  private RequiredResourcesCache requiredResourcesCache;
+
+  private StackGresCluster cluster;
+
+  private AtomicInteger generations;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    requiredResourcesCache = new RequiredResourcesCache(
+        new OperatorPropertyContext(), JsonUtil.jsonMapper());
+    requiredResourcesCache.setMeterRegistry(registry);
+    cluster = Fixtures.cluster().loadDefault().get();
+    cluster.getMetadata().setResourceVersion("1");
+    generations = new AtomicInteger(0);
+  }
+
+  @Test
+  void givenUnchangedInputs_shouldGenerateOnceAndReturnCopies() {
+    Secret secret = secret("1", "value");
+
+    List<HasMetadata> first = get(secret);
+    List<HasMetadata> second = get(secret);
+
+    assertEquals(1, generations.get());
+    assertEquals(first, second);
+    assertNotSame(first.get(0), second.get(0));
+    assertEquals(1, count("hit"));
+    assertEquals(1, count("miss"));
+  }
+
+  @Test
+  void givenADependencyWithANewResourceVersion_shouldGenerateAgain() {
+    get(secret("1", "value"));
+    get(secret("2", "value"));
+
+    assertEquals(2, generations.get());
+    assertEquals(2, count("miss"));
+  }
+
+  @Test
+  void givenAClusterWithANewResourceVersion_shouldGenerateAgain() {
+    Secret secret = secret("1", "value");
+    get(secret);
+    cluster.getMetadata().setResourceVersion("2");
+    get(secret);
+
+    assertEquals(2, generations.get());
+  }
+
+  @Test
+  void givenAValueWithoutResourceVersion_shouldUseItsContent() {
+    get(secret(null, "value"));
+    get(secret(null, "value"));
+    get(secret(null, "other"));
+
+    assertEquals(2, generations.get());
+  }
+
+  @Test
+  void givenATimeDependentFingerprint_shouldGenerateEachTime() {
+    Secret secret = secret("1", "value");
+    get(secret);
+    get(secret, true);
+    get(secret, true);
+    get(secret);
+
+    assertEquals(4, generations.get());
+    assertEquals(2, count("bypass"));
+    assertEquals(2, count("miss"));
+  }
+
+  private List<HasMetadata> get(Secret secret) {
+    return get(secret, false);
+  }
+
+  private List<HasMetadata> get(Secret secret, boolean timeDependent) {
+    return requiredResourcesCache.get(
+        cluster,
+        requiredResourcesCache.fingerprint()
+            .add(cluster)
+            .add(Map.of(secret.getMetadata().getName(), secret))
+            .timeDependent(timeDependent),
+        () -> {
+          generations.incrementAndGet();
+          return List.of(new SecretBuilder()
+              .withNewMetadata()
+              .withNamespace(cluster.getMetadata().getNamespace())
+              .withName(cluster.getMetadata().getName())
+              .endMetadata()
+              .withData(secret.getData())
+              .build());
+        });
+  }
+
+  private Secret secret(String resourceVersion, String value) {
+    return new SecretBuilder()
+        .withNewMetadata()
+        .withNamespace(cluster.getMetadata().getNamespace())
+        .withName("test")
+        .withResourceVersion(resourceVersion)
+        .endMetadata()
+        .withData(Map.of("key", value))
+        .build();
+  }
+
+  private double count(String result) {
+    return registry.get("stackgres_required_resources_cache")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.operator.conciliation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.api.model.ServiceAccount;
+import io.fabric8.kubernetes.api.model.ServiceAccountBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.api.model.rbac.Role;
+import io.fabric8.kubernetes.api.model.rbac.RoleBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ResourcesApplierTest {
+
+  private final ResourcesApplier resourcesApplier = new ResourcesApplier("test", 4);
+
+  @AfterEach
+  void tearDown() {
+    resourcesApplier.shutdown();
+  }
+
+  @Test
+  void levels_shouldGroupResourcesConsideredEqualByTheComparator() {
+    StatefulSet statefulSet = new StatefulSetBuilder().build();
+    Secret secret1 = new SecretBuilder().build();
+    ServiceAccount serviceAccount = new ServiceAccountBuilder().build();
+    Secret secret2 = new SecretBuilder().build();
+
+    assertEquals(
+        List.of(List.of(secret1, secret2), List.of(serviceAccount), List.of(statefulSet)),
+        ResourcesApplier.levels(
+            List.<HasMetadata>of(statefulSet, secret1, serviceAccount, secret2),
+            ReconciliationOperations.RESOURCES_COMPARATOR));
+  }
+
+  @Test
+  void apply_shouldApplyResourcesOfTheSameLevelConcurrentlyAndLevelsInOrder() {
+    CountDownLatch secretsApplied = new CountDownLatch(2);
+    List<HasMetadata> applied = Collections.synchronizedList(new ArrayList<>());
+    List<Exception> exceptions = new ArrayList<>();
+    StatefulSet statefulSet = new StatefulSetBuilder().build();
+
+    resourcesApplier.apply(
+        List.of(statefulSet, new SecretBuilder().build(), new SecretBuilder().build()),
+        ReconciliationOperations.RESOURCES_COMPARATOR,
+        resource -> {
+          if (resource instanceof Secret) {
+            secretsApplied.countDown();
+            try {
+              // Both secrets must be applied at the same time for this to succeed
+              if (!secretsApplied.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Secrets were not applied concurrently");
+              }
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+              throw new IllegalStateException(ex);
+            }
+          }
+          applied.add(resource);
+        },
+        resource -> false,
+        exceptions);
+
+    assertEquals(List.of(), exceptions);
+    assertEquals(3, applied.size());
+    assertSame(statefulSet, applied.get(2));
+  }
+
+  @Test
+  void apply_shouldCollectExceptionsAndAbortOnlyWhenRequested() {
+    List<HasMetadata> applied = new ArrayList<>();
+    List<Exception> exceptions = new ArrayList<>();
+    RuntimeException secretException = new RuntimeException("secret");
+    RuntimeException roleException = new RuntimeException("role");
+    Secret secret = new SecretBuilder().build();
+    Role role = new RoleBuilder().build();
+    StatefulSet statefulSet = new StatefulSetBuilder().build();
+
+    var thrown = assertThrows(RuntimeException.class, () -> resourcesApplier.apply(
+        List.of(statefulSet, role, secret),
+        ReconciliationOperations.RESOURCES_COMPARATOR,
+        resource -> {
+          if (resource == secret) {
+            throw secretException;
+          }
+          if (resource == role) {
+            throw roleException;
+          }
+          applied.add(resource);
+        },
+        resource -> resource instanceof Role,
+        exceptions));
+
+    assertSame(roleException, thrown);
+    assertEquals(List.of(secretException), exceptions);
+    assertEquals(List.of(), applied);
+  }
+
+}
@@ -707,7 +707,8 @@ class ClusterConciliatorTest {
     foundDeployed.stream()
         .forEach(resource -> resource.getMetadata().setResourceVersion("changed"));
     DeployedResourcesSnapshot deplyedResourcesSnapshot =
-        deployedResourcesCache.createDeployedResourcesSnapshot(ownedLastDeployed, foundDeployed);
+        deployedResourcesCache.createDeployedResourcesSnapshot(
+            cluster, ownedLastDeployed, foundDeployed);
 
     when(finder.findByNameAndNamespace(cluster.getMetadata().getName(), cluster.getMetadata().getNamespace()))
         .thenReturn(Optional.of(cluster));
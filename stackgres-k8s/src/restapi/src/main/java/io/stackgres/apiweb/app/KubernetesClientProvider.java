@@ -5,6 +5,8 @@
 
 package io.stackgres.apiweb.app;
 
+import java.util.Optional;
+
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.ConfigBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -36,22 +38,30 @@ public class KubernetesClientProvider {
   @Alternative
   @Priority(1)
   public KubernetesClient create() {
-    Config config;
-
-    if (!identity.isAnonymous()) {
-      String impersonated = k8sUsername != null ? k8sUsername : identity.getPrincipal().getName();
-      LOGGER.debug("Impersonate user {}", impersonated);
-      config = new ConfigBuilder()
-          .withImpersonateUsername(impersonated)
-          .withImpersonateGroups("system:authenticated")
-          .build();
-    } else {
-      config = new ConfigBuilder().build();
-    }
+    Config config = getImpersonatedUsername()
+        .map(impersonated -> {
+          LOGGER.debug("Impersonate user {}", impersonated);
+          return new ConfigBuilder()
+              .withImpersonateUsername(impersonated)
+              .withImpersonateGroups("system:authenticated")
+              .build();
+        })
+        .orElseGet(() -> new ConfigBuilder().build());
 
     return new KubernetesClientBuilder().withConfig(config).build();
   }
 
+  /**
+   * Return the user impersonated by the client of the request or empty if the request is
+   * anonymous.
+   */
+  public Optional<String> getImpersonatedUsername() {
+    if (identity.isAnonymous()) {
+      return Optional.empty();
+    }
+    return Optional.of(k8sUsername != null ? k8sUsername : identity.getPrincipal().getName());
+  }
+
   public KubernetesClient createDefault() {
     return new KubernetesClientBuilder().build();
   }
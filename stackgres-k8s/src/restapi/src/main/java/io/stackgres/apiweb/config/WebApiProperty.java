@@ -13,7 +13,12 @@ public enum WebApiProperty implements StackGresPropertyReader {
 
   RESTAPI_NAMESPACE("stackgres.restapiNamespace"),
   GRAFANA_EMBEDDED("stackgres.prometheus.grafanaEmbedded"),
-  EXTENSIONS_REPOSITORY_URLS("stackgres.extensionsRepositoryUrls");
+  EXTENSIONS_REPOSITORY_URLS("stackgres.extensionsRepositoryUrls"),
+  POD_STATS_CACHE_DURATION("stackgres.podStatsCacheDuration"),
+  POD_STATS_TIMEOUT("stackgres.podStatsTimeout"),
+  DISTRIBUTED_LOGS_FOLLOW_INTERVAL("stackgres.distributedLogsFollowInterval"),
+  DISTRIBUTED_LOGS_MAX_FOLLOWERS("stackgres.distributedLogsMaxFollowers"),
+  AUTHENTICATION_CACHE_DURATION("stackgres.authenticationCacheDuration");
 
   private static final Properties APPLICATION_PROPERTIES =
       StackGresPropertyReader.readApplicationProperties(WebApiProperty.class);
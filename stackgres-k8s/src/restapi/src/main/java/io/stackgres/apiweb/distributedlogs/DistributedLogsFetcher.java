@@ -6,11 +6,25 @@
 package io.stackgres.apiweb.distributedlogs;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import io.stackgres.apiweb.dto.cluster.ClusterDto;
 import io.stackgres.apiweb.dto.cluster.ClusterLogEntryDto;
 
 public interface DistributedLogsFetcher {
 
   List<ClusterLogEntryDto> logs(DistributedLogsQueryParameters parameters);
 
+  /**
+   * Stream the log entries to the consumer as they are read from the database without
+   * materializing the whole result.
+   */
+  void logs(DistributedLogsQueryParameters parameters, Consumer<ClusterLogEntryDto> consumer);
+
+  /**
+   * Return a fetcher for the logs of the cluster that resolves the credentials of the distributed
+   * logs database in the caller thread, so that it can be used outside of the request context.
+   */
+  DistributedLogsFetcher bind(ClusterDto cluster);
+
 }
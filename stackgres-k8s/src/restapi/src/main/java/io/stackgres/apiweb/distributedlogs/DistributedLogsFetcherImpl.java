@@ -10,10 +10,12 @@ import static io.stackgres.common.patroni.StackGresPasswordKeys.SUPERUSER_PASSWO
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import io.fabric8.kubernetes.api.model.Secret;
 import io.stackgres.apiweb.dto.cluster.ClusterDistributedLogs;
@@ -30,12 +32,12 @@ import io.stackgres.operatorframework.resource.ResourceUtil;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.NotFoundException;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
 import org.jooq.Record;
-import org.jooq.Select;
+import org.jooq.ResultQuery;
 import org.jooq.conf.ParamType;
 import org.jooq.impl.DSL;
-import org.jooq.lambda.Seq;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +46,8 @@ public class DistributedLogsFetcherImpl implements DistributedLogsFetcher {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DistributedLogsFetcherImpl.class);
 
+  private static final int FETCH_SIZE = 100;
+
   private final ResourceFinder<Secret> secretFinder;
   private final PostgresConnectionManager postgresConnectionManager;
 
@@ -57,16 +61,59 @@ public class DistributedLogsFetcherImpl implements DistributedLogsFetcher {
 
   @Override
   public List<ClusterLogEntryDto> logs(DistributedLogsQueryParameters parameters) {
-    try (Connection connection = getConnection(parameters.getCluster())) {
+    List<ClusterLogEntryDto> logs = new ArrayList<>(parameters.getRecords());
+    logs(parameters, logs::add);
+    return logs;
+  }
+
+  @Override
+  public void logs(DistributedLogsQueryParameters parameters,
+      Consumer<ClusterLogEntryDto> consumer) {
+    fetchLogs(getConnectionParameters(parameters.getCluster()), parameters, consumer);
+  }
+
+  @Override
+  public DistributedLogsFetcher bind(ClusterDto cluster) {
+    final ConnectionParameters connectionParameters = getConnectionParameters(cluster);
+    return new DistributedLogsFetcher() {
+      @Override
+      public List<ClusterLogEntryDto> logs(DistributedLogsQueryParameters parameters) {
+        List<ClusterLogEntryDto> logs = new ArrayList<>(parameters.getRecords());
+        logs(parameters, logs::add);
+        return logs;
+      }
+
+      @Override
+      public void logs(DistributedLogsQueryParameters parameters,
+          Consumer<ClusterLogEntryDto> consumer) {
+        fetchLogs(connectionParameters, parameters, consumer);
+      }
+
+      @Override
+      public DistributedLogsFetcher bind(ClusterDto cluster) {
+        return DistributedLogsFetcherImpl.this.bind(cluster);
+      }
+    };
+  }
+
+  private void fetchLogs(ConnectionParameters connectionParameters,
+      DistributedLogsQueryParameters parameters,
+      Consumer<ClusterLogEntryDto> consumer) {
+    try (Connection connection = postgresConnectionManager.getPooledConnection(
+        connectionParameters.host(), EnvoyUtil.PG_PORT,
+        connectionParameters.database(), "postgres",
+        connectionParameters.password())) {
       DSLContext context = DSL.using(connection);
       connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
       connection.setReadOnly(true);
-      connection.setAutoCommit(true);
+      // The driver only fetches rows in batches using a cursor inside a transaction
+      connection.setAutoCommit(false);
       try (PreparedStatement statement = connection.prepareStatement("SET TIME ZONE 'UTC'")) {
         statement.execute();
       }
-      Select<Record> query = new DistributedLogsQueryGenerator(context, parameters)
-          .generateQuery();
+      ResultQuery<Record> query = new DistributedLogsQueryGenerator(context, parameters)
+          .generateQuery()
+          .fetchSize(FETCH_SIZE);
       if (LOGGER.isTraceEnabled()) {
         LOGGER.trace("Query for cluster logs {}.{} with params"
             + " (records: {}, from: {}, to: {}, filters: {}, asc: {}, text: {}): {}",
@@ -90,23 +137,23 @@ public class DistributedLogsFetcherImpl implements DistributedLogsFetcher {
             parameters.getFullTextSearchQuery(),
             context.explain(query).toString().replace("\n", "\t"));
       }
-      return Seq.seq(query.fetch())
-          .<ClusterLogEntryDto>map(record -> record.into(MappedClusterLogEntryDto.class))
-          .toList();
+      try (Cursor<Record> cursor = query.fetchLazy()) {
+        cursor.forEach(record -> consumer.accept(record.into(MappedClusterLogEntryDto.class)));
+      }
     } catch (SQLException ex) {
       final String databaseName = FluentdUtil.databaseName(
           parameters.getCluster().getMetadata().getNamespace(),
           parameters.getCluster().getMetadata().getName());
       if (Objects.equals(ex.getMessage(),
           "FATAL: database \"" + databaseName + "\" does not exist")) {
-        return List.of();
+        return;
       }
       throw new RuntimeException(ex);
     }
   }
 
   @SuppressWarnings("null")
-  private Connection getConnection(ClusterDto cluster) throws SQLException {
+  private ConnectionParameters getConnectionParameters(ClusterDto cluster) {
     final String distributedLogs = Optional.ofNullable(cluster.getSpec())
         .map(ClusterSpec::getDistributedLogs)
         .map(ClusterDistributedLogs::getSgDistributedLogs)
@@ -120,12 +167,15 @@ public class DistributedLogsFetcherImpl implements DistributedLogsFetcher {
         .orElseThrow(() -> new NotFoundException(
             "Secret with username and password for user postgres can not be found."));
     Map<String, String> secretData = ResourceUtil.decodeSecret(secret.getData());
-    return postgresConnectionManager.getConnection(
-        serviceName + "." + namespace, EnvoyUtil.PG_PORT,
+    return new ConnectionParameters(
+        serviceName + "." + namespace,
         FluentdUtil.databaseName(
             cluster.getMetadata().getNamespace(),
             cluster.getMetadata().getName()),
-        "postgres",
         secretData.get(SUPERUSER_PASSWORD_KEY));
   }
+
+  private record ConnectionParameters(String host, String database, String password) {
+  }
+
 }
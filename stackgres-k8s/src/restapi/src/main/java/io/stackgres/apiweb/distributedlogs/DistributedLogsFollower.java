@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.distributedlogs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import io.stackgres.apiweb.config.WebApiProperty;
+import io.stackgres.apiweb.dto.cluster.ClusterLogEntryDto;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tail the distributed logs of a cluster sending new entries as server-sent events. Each poll
+ * only reads the entries after the {@code (log_time, log_time_index)} key of the last sent entry
+ * and the key is used as the event id so that a client can resume from it. The credentials of the
+ * distributed logs database are resolved in the request thread since the request context is not
+ * active in the thread that tails the logs.
+ */
+@ApplicationScoped
+public class DistributedLogsFollower {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DistributedLogsFollower.class);
+
+  private final DistributedLogsFetcher distributedLogsFetcher;
+  private final Duration interval;
+  private final Semaphore followers;
+  private final ExecutorService executor;
+
+  @Inject
+  public DistributedLogsFollower(DistributedLogsFetcher distributedLogsFetcher) {
+    this(distributedLogsFetcher, Duration.ofSeconds(
+        WebApiProperty.DISTRIBUTED_LOGS_FOLLOW_INTERVAL.get()
+            .map(Integer::parseInt)
+            .orElse(2)),
+        WebApiProperty.DISTRIBUTED_LOGS_MAX_FOLLOWERS.get()
+            .map(Integer::parseInt)
+            .orElse(32));
+  }
+
+  DistributedLogsFollower(DistributedLogsFetcher distributedLogsFetcher, Duration interval,
+      int maxFollowers) {
+    this.distributedLogsFetcher = distributedLogsFetcher;
+    this.interval = interval;
+    this.followers = new Semaphore(maxFollowers);
+    this.executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("DistributedLogsFollower-", 0).factory());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Send the entries matching the parameters to the event sink until it is closed. When no
+   * starting key is specified the latest entries are sent first.
+   *
+   * @throws WebApplicationException with status 429 when the maximum number of followers is reached
+   */
+  public void follow(DistributedLogsQueryParameters parameters, SseEventSink eventSink, Sse sse) {
+    final DistributedLogsFetcher clusterLogsFetcher =
+        distributedLogsFetcher.bind(parameters.getCluster());
+    if (!followers.tryAcquire()) {
+      throw new WebApplicationException("Too many clients are following logs",
+          Response.Status.TOO_MANY_REQUESTS);
+    }
+    try {
+      executor.execute(() -> {
+        try {
+          follow(clusterLogsFetcher, parameters, eventSink, sse);
+        } finally {
+          followers.release();
+        }
+      });
+    } catch (RuntimeException ex) {
+      followers.release();
+      throw ex;
+    }
+  }
+
+  private void follow(DistributedLogsFetcher clusterLogsFetcher,
+      DistributedLogsQueryParameters parameters, SseEventSink eventSink, Sse sse) {
+    try (eventSink) {
+      Optional<Tuple2<Instant, Integer>> last = parameters.getFromTimeAndIndex();
+      boolean fromInclusive = parameters.isFromInclusive();
+      if (last.isEmpty()) {
+        List<ClusterLogEntryDto> latest = clusterLogsFetcher.logs(
+            ImmutableDistributedLogsQueryParameters.copyOf(parameters)
+            .withIsSortAsc(false));
+        last = send(latest.reversed(), eventSink, sse);
+        fromInclusive = false;
+      }
+      while (!eventSink.isClosed()) {
+        List<ClusterLogEntryDto> entries = clusterLogsFetcher.logs(
+            ImmutableDistributedLogsQueryParameters.copyOf(parameters)
+            .withFromTimeAndIndex(last)
+            .withIsFromInclusive(fromInclusive)
+            .withIsSortAsc(true));
+        Optional<Tuple2<Instant, Integer>> sent = send(entries, eventSink, sse);
+        if (sent.isPresent()) {
+          last = sent;
+          fromInclusive = false;
+        }
+        if (entries.size() < parameters.getRecords()) {
+          Thread.sleep(interval.toMillis());
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException ex) {
+      LOGGER.debug("Error while following logs of cluster {}.{}",
+          parameters.getCluster().getMetadata().getNamespace(),
+          parameters.getCluster().getMetadata().getName(),
+          ex);
+    }
+  }
+
+  private Optional<Tuple2<Instant, Integer>> send(List<ClusterLogEntryDto> entries,
+      SseEventSink eventSink, Sse sse) {
+    Optional<Tuple2<Instant, Integer>> last = Optional.empty();
+    for (ClusterLogEntryDto entry : entries) {
+      if (eventSink.isClosed()) {
+        break;
+      }
+      eventSink.send(sse.newEventBuilder()
+          .id(entry.getLogTime() + "," + entry.getLogTimeIndex())
+          .mediaType(MediaType.APPLICATION_JSON_TYPE)
+          .data(ClusterLogEntryDto.class, entry)
+          .build())
+          .toCompletableFuture()
+          .join();
+      last = Optional.of(Tuple.tuple(Instant.parse(entry.getLogTime()), entry.getLogTimeIndex()));
+    }
+    return last;
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.dto.stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stackgres.common.StackGresUtil;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class StreamIndexesStatus {
+
+  private Boolean restoreRunning;
+
+  private Boolean restoreCompleted;
+
+  private Integer totalIndexCount;
+
+  private Integer remainingIndexCount;
+
+  private Integer failedIndexCount;
+
+  private Long restoreDurationInSeconds;
+
+  public Boolean getRestoreRunning() {
+    return restoreRunning;
+  }
+
+  public void setRestoreRunning(Boolean restoreRunning) {
+    this.restoreRunning = restoreRunning;
+  }
+
+  public Boolean getRestoreCompleted() {
+    return restoreCompleted;
+  }
+
+  public void setRestoreCompleted(Boolean restoreCompleted) {
+    this.restoreCompleted = restoreCompleted;
+  }
+
+  public Integer getTotalIndexCount() {
+    return totalIndexCount;
+  }
+
+  public void setTotalIndexCount(Integer totalIndexCount) {
+    this.totalIndexCount = totalIndexCount;
+  }
+
+  public Integer getRemainingIndexCount() {
+    return remainingIndexCount;
+  }
+
+  public void setRemainingIndexCount(Integer remainingIndexCount) {
+    this.remainingIndexCount = remainingIndexCount;
+  }
+
+  public Integer getFailedIndexCount() {
+    return failedIndexCount;
+  }
+
+  public void setFailedIndexCount(Integer failedIndexCount) {
+    this.failedIndexCount = failedIndexCount;
+  }
+
+  public Long getRestoreDurationInSeconds() {
+    return restoreDurationInSeconds;
+  }
+
+  public void setRestoreDurationInSeconds(Long restoreDurationInSeconds) {
+    this.restoreDurationInSeconds = restoreDurationInSeconds;
+  }
+
+  @Override
+  public String toString() {
+    return StackGresUtil.toPrettyYaml(this);
+  }
+
+}
@@ -25,6 +25,8 @@ public class StreamStatus {
 
   private StreamEventsStatus events;
 
+  private StreamIndexesStatus indexes;
+
   private String failure;
 
   public List<Condition> getConditions() {
@@ -59,6 +61,14 @@ public class StreamStatus {
     this.events = events;
   }
 
+  public StreamIndexesStatus getIndexes() {
+    return indexes;
+  }
+
+  public void setIndexes(StreamIndexesStatus indexes) {
+    this.indexes = indexes;
+  }
+
   public String getFailure() {
     return failure;
   }
@@ -29,6 +29,10 @@ public class StreamTargetCloudEventHttp {
 
   private Integer retryBackoffDelay;
 
+  private Integer batchSize;
+
+  private Integer maxInFlightRequests;
+
   public String getUrl() {
     return url;
   }
@@ -85,6 +89,22 @@ public class StreamTargetCloudEventHttp {
     this.retryBackoffDelay = retryBackoffDelay;
   }
 
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Integer getMaxInFlightRequests() {
+    return maxInFlightRequests;
+  }
+
+  public void setMaxInFlightRequests(Integer maxInFlightRequests) {
+    this.maxInFlightRequests = maxInFlightRequests;
+  }
+
   @Override
   public String toString() {
     return StackGresUtil.toPrettyYaml(this);
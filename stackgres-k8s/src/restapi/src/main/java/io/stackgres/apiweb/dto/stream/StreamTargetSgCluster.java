@@ -30,6 +30,16 @@ public class StreamTargetSgCluster {
 
   private String ddlImportRoleSkipFilter;
 
+  private Integer snapshotParallelism;
+
+  private Boolean skipSnapshotCopy;
+
+  private Integer restoreIndexesParallelism;
+
+  private String restoreIndexesMaintenanceWorkMem;
+
+  private Integer restoreIndexesMaxParallelMaintenanceWorkers;
+
   private StreamTargetJdbcSinkDebeziumProperties debeziumProperties;
 
   public String getName() {
@@ -96,6 +106,46 @@ public class StreamTargetSgCluster {
     this.ddlImportRoleSkipFilter = ddlImportRoleSkipFilter;
   }
 
+  public Integer getSnapshotParallelism() {
+    return snapshotParallelism;
+  }
+
+  public void setSnapshotParallelism(Integer snapshotParallelism) {
+    this.snapshotParallelism = snapshotParallelism;
+  }
+
+  public Boolean getSkipSnapshotCopy() {
+    return skipSnapshotCopy;
+  }
+
+  public void setSkipSnapshotCopy(Boolean skipSnapshotCopy) {
+    this.skipSnapshotCopy = skipSnapshotCopy;
+  }
+
+  public Integer getRestoreIndexesParallelism() {
+    return restoreIndexesParallelism;
+  }
+
+  public void setRestoreIndexesParallelism(Integer restoreIndexesParallelism) {
+    this.restoreIndexesParallelism = restoreIndexesParallelism;
+  }
+
+  public String getRestoreIndexesMaintenanceWorkMem() {
+    return restoreIndexesMaintenanceWorkMem;
+  }
+
+  public void setRestoreIndexesMaintenanceWorkMem(String restoreIndexesMaintenanceWorkMem) {
+    this.restoreIndexesMaintenanceWorkMem = restoreIndexesMaintenanceWorkMem;
+  }
+
+  public Integer getRestoreIndexesMaxParallelMaintenanceWorkers() {
+    return restoreIndexesMaxParallelMaintenanceWorkers;
+  }
+
+  public void setRestoreIndexesMaxParallelMaintenanceWorkers(Integer restoreIndexesMaxParallelMaintenanceWorkers) {
+    this.restoreIndexesMaxParallelMaintenanceWorkers = restoreIndexesMaxParallelMaintenanceWorkers;
+  }
+
   public StreamTargetJdbcSinkDebeziumProperties getDebeziumProperties() {
     return debeziumProperties;
   }
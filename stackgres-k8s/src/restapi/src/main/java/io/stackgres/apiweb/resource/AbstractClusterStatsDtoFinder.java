@@ -5,9 +5,24 @@
 
 package io.stackgres.apiweb.resource;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ImmutableMap;
 import io.fabric8.kubernetes.api.model.ContainerState;
 import io.fabric8.kubernetes.api.model.ContainerStateRunning;
@@ -19,18 +34,21 @@ import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewBuilder;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewStatus;
 import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.stackgres.apiweb.app.KubernetesClientProvider;
+import io.stackgres.apiweb.config.WebApiProperty;
 import io.stackgres.common.CdiUtil;
+import io.stackgres.common.OperatorProperty;
 import io.stackgres.common.StackGresContainer;
 import io.stackgres.common.StackGresUtil;
 import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.resource.CustomResourceFinder;
 import io.stackgres.common.resource.PersistentVolumeClaimFinder;
-import io.stackgres.common.resource.PodExecutor;
 import jakarta.inject.Inject;
 import org.jooq.lambda.Seq;
-import org.jooq.lambda.tuple.Tuple;
-import org.jooq.lambda.tuple.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,24 +58,45 @@ public abstract class AbstractClusterStatsDtoFinder<R, T extends CustomResource<
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractClusterStatsDtoFinder.class);
 
   private final CustomResourceFinder<T> clusterFinder;
-  private final PodExecutor podExecutor;
+  private final PodStatsClient podStatsClient;
   private final PersistentVolumeClaimFinder persistentVolumeClaimFinder;
+  private final AsyncCache<PodStatsKey, ImmutableMap<PatroniStatsScripts, String>> podStatsCache;
+  private final Cache<PodStatsReviewKey, Boolean> podStatsReviewCache;
+  private final boolean clusterRoleDisabled = OperatorProperty.CLUSTER_ROLE_DISABLED.getBoolean();
+  private KubernetesClientProvider kubernetesClientProvider;
+  private Duration podStatsTimeout;
 
   @Inject
   protected AbstractClusterStatsDtoFinder(
       CustomResourceFinder<T> clusterFinder,
-      PodExecutor podExecutor,
+      PodStatsClient podStatsClient,
       PersistentVolumeClaimFinder persistentVolumeClaimFinder) {
     this.clusterFinder = clusterFinder;
-    this.podExecutor = podExecutor;
+    this.podStatsClient = podStatsClient;
     this.persistentVolumeClaimFinder = persistentVolumeClaimFinder;
+    final Duration podStatsCacheDuration = Duration.ofSeconds(
+        WebApiProperty.POD_STATS_CACHE_DURATION.get()
+            .map(Integer::parseInt)
+            .orElse(5));
+    this.podStatsCache = Caffeine.newBuilder()
+        .expireAfterWrite(podStatsCacheDuration)
+        .buildAsync();
+    this.podStatsReviewCache = Caffeine.newBuilder()
+        .expireAfterWrite(podStatsCacheDuration)
+        .maximumSize(1000)
+        .build();
+    this.podStatsTimeout = Duration.ofSeconds(WebApiProperty.POD_STATS_TIMEOUT.get()
+        .map(Integer::parseInt)
+        .orElse(10));
   }
 
   protected AbstractClusterStatsDtoFinder() {
     CdiUtil.checkPublicNoArgsConstructorIsCalledToCreateProxy(getClass());
     this.clusterFinder = null;
-    this.podExecutor = null;
+    this.podStatsClient = null;
     this.persistentVolumeClaimFinder = null;
+    this.podStatsCache = null;
+    this.podStatsReviewCache = null;
   }
 
   @Override
@@ -69,6 +108,134 @@ public abstract class AbstractClusterStatsDtoFinder<R, T extends CustomResource<
 
   protected abstract R getClusterStats(T cluster);
 
+  @Inject
+  public void setKubernetesClientProvider(KubernetesClientProvider kubernetesClientProvider) {
+    this.kubernetesClientProvider = kubernetesClientProvider;
+  }
+
+  void setPodStatsTimeout(Duration podStatsTimeout) {
+    this.podStatsTimeout = podStatsTimeout;
+  }
+
+  /**
+   * Retrieve the stats of the Pods concurrently using the executor. Stats are retrieved only for
+   * the Pods of the namespaces where the user is allowed to read them (see
+   * {@link #isAllowedToReadPodStats(String, String)}), empty stats are returned for the others.
+   * Stats are cached for a short period per user and Pod, and a retrieval in progress is shared by
+   * the concurrent requests of the same user for the same Pod, so the console polls do not repeat
+   * them. If the stats of a Pod are not retrieved before the timeout, empty stats are returned for
+   * it so that a stuck Pod does not stall the whole response. The retrievals started by a request
+   * are cancelled when it ends, so that none keeps running after it.
+   */
+  protected List<ImmutableMap<PatroniStatsScripts, String>> getPodsStats(
+      List<Pod> pods, Executor executor) {
+    final String username = kubernetesClientProvider.getImpersonatedUsername().orElse("");
+    final Map<String, Boolean> allowedNamespaces = Seq.seq(pods)
+        .map(pod -> pod.getMetadata().getNamespace())
+        .distinct()
+        .toMap(namespace -> namespace, namespace -> isAllowedToReadPodStats(username, namespace));
+    final List<Future<?>> podsStatsRetrievals = new ArrayList<>();
+    try {
+      final List<CompletableFuture<ImmutableMap<PatroniStatsScripts, String>>> podsStats = pods
+          .stream()
+          .map(pod -> allowedNamespaces.get(pod.getMetadata().getNamespace())
+              ? retrievePodStats(pod, username, executor, podsStatsRetrievals)
+              : CompletableFuture.completedFuture(ImmutableMap.<PatroniStatsScripts, String>of()))
+          .toList();
+      final long deadline = System.nanoTime() + podStatsTimeout.toNanos();
+      return Seq.seq(podsStats)
+          .zip(pods)
+          .map(t -> awaitPodStats(t.v1, t.v2, deadline))
+          .toList();
+    } finally {
+      podsStatsRetrievals.forEach(podStatsRetrieval -> podStatsRetrieval.cancel(true));
+    }
+  }
+
+  private CompletableFuture<ImmutableMap<PatroniStatsScripts, String>> retrievePodStats(
+      Pod pod, String username, Executor executor, List<Future<?>> podsStatsRetrievals) {
+    return podStatsCache.get(
+        new PodStatsKey(username,
+            pod.getMetadata().getNamespace(),
+            pod.getMetadata().getName(),
+            pod.getMetadata().getUid()),
+        (key, cacheExecutor) -> {
+          PodStatsRetrieval podStatsRetrieval = new PodStatsRetrieval(pod);
+          podsStatsRetrievals.add(podStatsRetrieval);
+          executor.execute(podStatsRetrieval);
+          return podStatsRetrieval.podStats;
+        });
+  }
+
+  /**
+   * Check with a SubjectAccessReview that the user is allowed to execute commands in the Pods of
+   * the namespace, the permission that was required when the stats were retrieved by executing a
+   * script in the Patroni container, since the HTTP port of the cluster controller does not
+   * authenticate the caller. The result is cached for a short period. As for the other reviews of
+   * the REST API, the review is skipped when cluster roles are disabled.
+   */
+  boolean isAllowedToReadPodStats(String username, String namespace) {
+    if (username.isEmpty()) {
+      return false;
+    }
+    if (clusterRoleDisabled) {
+      return true;
+    }
+    return podStatsReviewCache.get(new PodStatsReviewKey(username, namespace),
+        key -> reviewPodStatsAccess(key.username(), key.namespace()));
+  }
+
+  private boolean reviewPodStatsAccess(String username, String namespace) {
+    try (KubernetesClient client = kubernetesClientProvider.createDefault()) {
+      return Optional.ofNullable(client.authorization().v1().subjectAccessReview()
+          .create(new SubjectAccessReviewBuilder()
+              .withNewSpec()
+              .withUser(username)
+              .withGroups("system:authenticated")
+              .withNewResourceAttributes()
+              .withNamespace(namespace)
+              .withResource("pods")
+              .withSubresource("exec")
+              .withVerb("create")
+              .endResourceAttributes()
+              .endSpec()
+              .build())
+          .getStatus())
+          .map(SubjectAccessReviewStatus::getAllowed)
+          .orElse(false);
+    } catch (RuntimeException ex) {
+      LOGGER.debug("An error accurred while reviewing access to stats of pods in namespace {}: {}",
+          namespace, ex.getMessage(), ex);
+      return false;
+    }
+  }
+
+  private ImmutableMap<PatroniStatsScripts, String> awaitPodStats(
+      Future<ImmutableMap<PatroniStatsScripts, String>> podStats, Pod pod, long deadline) {
+    try {
+      return podStats.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      LOGGER.debug("Timed out while retrieving stats for pod {}.{}",
+          pod.getMetadata().getNamespace(),
+          pod.getMetadata().getName());
+      return ImmutableMap.<PatroniStatsScripts, String>of();
+    } catch (ExecutionException ex) {
+      LOGGER.debug("An error accurred while retrieving stats for pod {}.{}: {}",
+          pod.getMetadata().getNamespace(),
+          pod.getMetadata().getName(),
+          ex.getCause().getMessage(), ex.getCause());
+      return ImmutableMap.<PatroniStatsScripts, String>of();
+    } catch (CancellationException ex) {
+      LOGGER.debug("Retrieval of stats for pod {}.{} was cancelled by another request",
+          pod.getMetadata().getNamespace(),
+          pod.getMetadata().getName());
+      return ImmutableMap.<PatroniStatsScripts, String>of();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return ImmutableMap.<PatroniStatsScripts, String>of();
+    }
+  }
+
   protected ImmutableMap<PatroniStatsScripts, String> getPodStats(Pod pod) {
     try {
       if (Optional.ofNullable(pod.getStatus())
@@ -87,31 +254,22 @@ public abstract class AbstractClusterStatsDtoFinder<R, T extends CustomResource<
         return ImmutableMap.<PatroniStatsScripts, String>of();
       }
 
-      return Seq.seq(podExecutor.exec(pod, StackGresContainer.PATRONI.getName(), "sh", "-c",
-          Seq.seq(PatroniStatsScripts.getScripts())
-              .map(tt -> "echo \"" + tt.v1.getName() + ":$( (" + tt.v2
-                  + ") 2>&1 | tr -d '\\n')\"\n")
-              .toString()))
-          .peek(line -> {
-            if (LOGGER.isTraceEnabled() && line.endsWith("#failed")) {
-              LOGGER.trace("An error accurred while retrieving stats for pod {}.{}: {}",
-                  pod.getMetadata().getNamespace(),
-                  pod.getMetadata().getName(),
-                  line.substring(0, line.indexOf("#failed")));
-            }
-          })
-          .filter(line -> !line.endsWith("#failed"))
-          .map(line -> Tuple.tuple(line, line.indexOf(":")))
-          .map(tt -> Tuple.tuple(
-              PatroniStatsScripts.fromName(tt.v1.substring(0, tt.v2)),
-              tt.v1.substring(tt.v2 + 1)))
-          .collect(ImmutableMap.toImmutableMap(Tuple2::v1, Tuple2::v2));
-    } catch (RuntimeException ex) {
+      return podStatsClient.getLatestStats(pod)
+          .orElseGet(() -> {
+            LOGGER.debug("Cluster controller has not sampled stats yet for pod {}.{}",
+                pod.getMetadata().getNamespace(),
+                pod.getMetadata().getName());
+            return ImmutableMap.<PatroniStatsScripts, String>of();
+          });
+    } catch (IOException | RuntimeException ex) {
       LOGGER.debug("An error accurred while retrieving stats for pod {}.{}: {}",
           pod.getMetadata().getNamespace(),
           pod.getMetadata().getName(),
           ex.getMessage(), ex);
       return ImmutableMap.<PatroniStatsScripts, String>of();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return ImmutableMap.<PatroniStatsScripts, String>of();
     }
   }
 
@@ -131,4 +289,34 @@ public abstract class AbstractClusterStatsDtoFinder<R, T extends CustomResource<
             .findByNameAndNamespace(podDataPvcName, pod.getMetadata().getNamespace()));
   }
 
+  record PodStatsKey(String username, String namespace, String name, String uid) {
+  }
+
+  record PodStatsReviewKey(String username, String namespace) {
+  }
+
+  /**
+   * Retrieval of the stats of a Pod that completes {@link #podStats} when it ends, also when it is
+   * cancelled, so that the cache does not keep it.
+   */
+  private class PodStatsRetrieval extends FutureTask<ImmutableMap<PatroniStatsScripts, String>> {
+
+    private final CompletableFuture<ImmutableMap<PatroniStatsScripts, String>> podStats =
+        new CompletableFuture<>();
+
+    PodStatsRetrieval(Pod pod) {
+      super(() -> getPodStats(pod));
+    }
+
+    @Override
+    protected void done() {
+      switch (state()) {
+        case SUCCESS -> podStats.complete(resultNow());
+        case FAILED -> podStats.completeExceptionally(exceptionNow());
+        default -> podStats.cancel(false);
+      }
+    }
+
+  }
+
 }
@@ -5,9 +5,11 @@
 
 package io.stackgres.apiweb.resource;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.stackgres.apiweb.dto.cluster.ClusterDto;
@@ -84,8 +86,14 @@ public class ClusterDtoScanner implements CustomResourceScanner<ClusterDto> {
     return new Transformer(getAllClusterPods());
   }
 
+  /**
+   * Join each SGCluster with its Pods. Pods are grouped once by the value of the cluster UID label
+   * (the key may change between SGClusters since it depends on the label prefix of each one) so
+   * that each SGCluster only checks the Pods that have its cluster UID instead of all of them.
+   */
   private class Transformer {
     private final List<Pod> clusterPods;
+    private final Map<String, Map<String, List<Pod>>> clusterPodsByUidKey = new HashMap<>();
 
     public Transformer(List<Pod> clusterPods) {
       this.clusterPods = clusterPods;
@@ -93,14 +101,22 @@ public class ClusterDtoScanner implements CustomResourceScanner<ClusterDto> {
 
     ClusterDto transform(StackGresCluster cluster) {
       var clusterLabels = labelFactory.clusterLabels(cluster);
+      var clusterUidKey = labelFactory.labelMapper().resourceUidKey(cluster);
       return clusterTransformer.toResourceWithPods(cluster,
-          clusterPods.stream()
-          .filter(pod -> pod.getMetadata().getLabels() != null
-              && clusterLabels.entrySet().stream()
-              .allMatch(clusterLabel -> pod.getMetadata().getLabels().entrySet().stream()
-                  .anyMatch(clusterLabel::equals)))
+          clusterPodsByUidKey.computeIfAbsent(clusterUidKey, this::groupByLabel)
+          .getOrDefault(clusterLabels.get(clusterUidKey), List.of())
+          .stream()
+          .filter(pod -> pod.getMetadata().getLabels().entrySet()
+              .containsAll(clusterLabels.entrySet()))
           .toList());
     }
+
+    private Map<String, List<Pod>> groupByLabel(String key) {
+      return clusterPods.stream()
+          .filter(pod -> pod.getMetadata().getLabels() != null
+              && pod.getMetadata().getLabels().containsKey(key))
+          .collect(Collectors.groupingBy(pod -> pod.getMetadata().getLabels().get(key)));
+    }
   }
 
   private List<Pod> getAllClusterPods() {
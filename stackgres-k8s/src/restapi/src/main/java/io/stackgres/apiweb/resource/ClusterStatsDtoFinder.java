@@ -6,7 +6,6 @@
 package io.stackgres.apiweb.resource;
 
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.stackgres.apiweb.dto.cluster.ClusterStatsDto;
@@ -15,12 +14,11 @@ import io.stackgres.common.crd.sgcluster.StackGresCluster;
 import io.stackgres.common.labels.ClusterLabelFactory;
 import io.stackgres.common.resource.CustomResourceFinder;
 import io.stackgres.common.resource.PersistentVolumeClaimFinder;
-import io.stackgres.common.resource.PodExecutor;
 import io.stackgres.common.resource.PodFinder;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.context.ManagedExecutor;
-import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.Seq;
 
 @ApplicationScoped
 public class ClusterStatsDtoFinder
@@ -36,11 +34,11 @@ public class ClusterStatsDtoFinder
       ManagedExecutor managedExecutor,
       CustomResourceFinder<StackGresCluster> clusterFinder,
       PodFinder podFinder,
-      PodExecutor podExecutor,
+      PodStatsClient podStatsClient,
       PersistentVolumeClaimFinder persistentVolumeClaimFinder,
       ClusterLabelFactory clusterLabelFactory,
       ClusterStatsTransformer clusterStatsTransformer) {
-    super(clusterFinder, podExecutor, persistentVolumeClaimFinder);
+    super(clusterFinder, podStatsClient, persistentVolumeClaimFinder);
     this.managedExecutor = managedExecutor;
     this.podFinder = podFinder;
     this.clusterLabelFactory = clusterLabelFactory;
@@ -53,12 +51,9 @@ public class ClusterStatsDtoFinder
         cluster.getMetadata().getNamespace(),
         clusterLabelFactory.clusterLabels(cluster));
 
-    List<PodStats> allPodStats = pods
-        .stream()
-        .map(Tuple::tuple)
-        .map(t -> CompletableFuture.supplyAsync(() -> t.concat(getPodStats(t.v1))
-            .concat(getPodPersitentVolumeClaim(cluster, t.v1)), managedExecutor))
-        .map(CompletableFuture::join)
+    List<PodStats> allPodStats = Seq.seq(pods)
+        .zip(getPodsStats(pods, managedExecutor))
+        .map(t -> t.concat(getPodPersitentVolumeClaim(cluster, t.v1)))
         .map(PodStats::fromTuple)
         .toList();
 
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.resource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.common.collect.ImmutableMap;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodStatus;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.lambda.Seq;
+
+/**
+ * Retrieve the latest Pod stats sampled by the cluster controller from its HTTP port.
+ */
+@ApplicationScoped
+public class PodStatsClient {
+
+  private static final String CLUSTER_CONTROLLER_LATEST_STATS_PATH = "/stats/latest";
+  private static final Duration CLUSTER_CONTROLLER_STATS_TIMEOUT = Duration.ofSeconds(2);
+  private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .connectTimeout(CLUSTER_CONTROLLER_STATS_TIMEOUT)
+      .build();
+  private int clusterControllerPort = 8080;
+
+  /**
+   * Return the latest stats sampled by the cluster controller of the Pod or empty if the cluster
+   * controller has not taken any sample yet.
+   */
+  public Optional<ImmutableMap<PatroniStatsScripts, String>> getLatestStats(Pod pod)
+      throws IOException, InterruptedException {
+    String podIp = Optional.ofNullable(pod.getStatus())
+        .map(PodStatus::getPodIP)
+        .orElseThrow(() -> new IOException("Pod " + pod.getMetadata().getNamespace()
+            + "." + pod.getMetadata().getName() + " has no IP"));
+    HttpResponse<String> response = httpClient.send(HttpRequest
+        .newBuilder(URI.create("http://" + podIp + ":" + clusterControllerPort
+            + CLUSTER_CONTROLLER_LATEST_STATS_PATH))
+        .timeout(CLUSTER_CONTROLLER_STATS_TIMEOUT)
+        .build(), HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() == 404) {
+      return Optional.empty();
+    }
+    if (response.statusCode() != 200) {
+      throw new IOException("Cluster controller of Pod " + pod.getMetadata().getNamespace()
+          + "." + pod.getMetadata().getName() + " responded with status "
+          + response.statusCode());
+    }
+    JsonNode stats = JSON_MAPPER.readTree(response.body()).path("stats");
+    return Optional.of(Seq.seq(stats.fields())
+        .filter(field -> PatroniStatsScripts.getScripts().keySet().stream()
+            .anyMatch(script -> script.getName().equals(field.getKey())))
+        .collect(ImmutableMap.toImmutableMap(
+            field -> PatroniStatsScripts.fromName(field.getKey()),
+            field -> field.getValue().asText())));
+  }
+
+  void setClusterControllerPort(int clusterControllerPort) {
+    this.clusterControllerPort = clusterControllerPort;
+  }
+
+}
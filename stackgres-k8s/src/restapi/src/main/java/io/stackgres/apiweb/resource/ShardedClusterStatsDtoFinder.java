@@ -6,7 +6,6 @@
 package io.stackgres.apiweb.resource;
 
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.stackgres.apiweb.dto.shardedcluster.ShardedClusterStatsDto;
@@ -18,11 +17,11 @@ import io.stackgres.common.labels.ShardedClusterLabelFactory;
 import io.stackgres.common.resource.CustomResourceFinder;
 import io.stackgres.common.resource.CustomResourceScanner;
 import io.stackgres.common.resource.PersistentVolumeClaimFinder;
-import io.stackgres.common.resource.PodExecutor;
 import io.stackgres.common.resource.PodFinder;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jooq.lambda.Seq;
 import org.jooq.lambda.tuple.Tuple;
 import org.jooq.lambda.tuple.Tuple2;
 
@@ -43,12 +42,12 @@ public class ShardedClusterStatsDtoFinder
       CustomResourceScanner<StackGresCluster> clusterScanner,
       ManagedExecutor managedExecutor,
       PodFinder podFinder,
-      PodExecutor podExecutor,
+      PodStatsClient podStatsClient,
       PersistentVolumeClaimFinder persistentVolumeClaimFinder,
       ShardedClusterLabelFactory shardedClusterLabelFactory,
       ClusterLabelFactory clusterLabelFactory,
       ShardedClusterStatsTransformer shardedClusterStatsTransformer) {
-    super(shardedClusterFinder, podExecutor, persistentVolumeClaimFinder);
+    super(shardedClusterFinder, podStatsClient, persistentVolumeClaimFinder);
     this.clusterScanner = clusterScanner;
     this.managedExecutor = managedExecutor;
     this.podFinder = podFinder;
@@ -70,14 +69,6 @@ public class ShardedClusterStatsDtoFinder
             .map(pod -> Tuple.tuple(cluster, pod)))
         .toList();
 
-    List<PodStats> allCoordinatorPodStats = coordinatorPods
-        .stream()
-        .map(t -> CompletableFuture.supplyAsync(() -> t.skip1().concat(getPodStats(t.v2))
-            .concat(getPodPersitentVolumeClaim(t.v1, t.v2)), managedExecutor))
-        .map(CompletableFuture::join)
-        .map(PodStats::fromTuple)
-        .toList();
-
     List<Tuple2<StackGresCluster, Pod>> shardsPods = clusterScanner.getResourcesWithLabels(
         shardedCluster.getMetadata().getNamespace(),
         shardedClusterLabelFactory.shardsLabels(shardedCluster))
@@ -89,16 +80,21 @@ public class ShardedClusterStatsDtoFinder
             .map(pod -> Tuple.tuple(cluster, pod)))
         .toList();
 
-    List<PodStats> allShardsPodStats = shardsPods
-        .stream()
-        .map(t -> CompletableFuture.supplyAsync(() -> t.skip1().concat(getPodStats(t.v2))
-            .concat(getPodPersitentVolumeClaim(t.v1, t.v2)), managedExecutor))
-        .map(CompletableFuture::join)
-        .map(PodStats::fromTuple)
-        .toList();
+    List<PodStats> allPodStats = getAllPodStats(
+        Seq.seq(coordinatorPods).append(shardsPods).toList());
 
     return shardedClusterStatsTransformer.toDtoWithAllPodStats(shardedCluster,
-        allCoordinatorPodStats, allShardsPodStats);
+        allPodStats.subList(0, coordinatorPods.size()),
+        allPodStats.subList(coordinatorPods.size(), allPodStats.size()));
+  }
+
+  private List<PodStats> getAllPodStats(
+      List<Tuple2<StackGresCluster, Pod>> clusterPods) {
+    return Seq.seq(clusterPods)
+        .zip(getPodsStats(clusterPods.stream().map(Tuple2::v2).toList(), managedExecutor))
+        .map(t -> Tuple.tuple(t.v1.v2, t.v2, getPodPersitentVolumeClaim(t.v1.v1, t.v1.v2)))
+        .map(PodStats::fromTuple)
+        .toList();
   }
 
 }
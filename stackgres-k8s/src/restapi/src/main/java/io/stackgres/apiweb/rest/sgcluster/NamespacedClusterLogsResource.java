@@ -14,6 +14,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import io.quarkus.security.Authenticated;
 import io.stackgres.apiweb.distributedlogs.DistributedLogsFetcher;
+import io.stackgres.apiweb.distributedlogs.DistributedLogsFollower;
 import io.stackgres.apiweb.distributedlogs.DistributedLogsQueryParameters;
 import io.stackgres.apiweb.distributedlogs.FullTextSearchQuery;
 import io.stackgres.apiweb.distributedlogs.ImmutableDistributedLogsQueryParameters;
@@ -27,10 +28,17 @@ import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -64,12 +72,15 @@ public class NamespacedClusterLogsResource {
 
   private final CustomResourceFinder<ClusterDto> clusterFinder;
   private final DistributedLogsFetcher distributedLogsFetcher;
+  private final DistributedLogsFollower distributedLogsFollower;
 
   @Inject
   public NamespacedClusterLogsResource(CustomResourceFinder<ClusterDto> clusterFinder,
-      DistributedLogsFetcher distributedLogsFetcher) {
+      DistributedLogsFetcher distributedLogsFetcher,
+      DistributedLogsFollower distributedLogsFollower) {
     this.clusterFinder = clusterFinder;
     this.distributedLogsFetcher = distributedLogsFetcher;
+    this.distributedLogsFollower = distributedLogsFollower;
   }
 
   /**
@@ -108,6 +119,78 @@ public class NamespacedClusterLogsResource {
     final ClusterDto cluster = clusterFinder.findByNameAndNamespace(name, namespace)
         .orElseThrow(NotFoundException::new);
 
+    final var filters = ImmutableMap.<String, List<String>>builder();
+    addFilter("logType", logType, filters);
+    addFilter("podName", podName, filters);
+    addFilter("role", role, filters);
+    addFilter("errorLevel", errorLevel, filters);
+    addFilter("userName", userName, filters);
+    addFilter("databaseName", databaseName, filters);
+
+    DistributedLogsQueryParameters logs = parameters(
+        cluster, records, from, to, sort, text, filters.build(), fromInclusive);
+
+    return distributedLogsFetcher.logs(logs);
+  }
+
+  /**
+   * Follow distributed logs sending each {@code ClusterLogEntry} as a server-sent event.
+   */
+  @APIResponse(responseCode = "200", description = "OK",
+      content = {@Content(
+          mediaType = MediaType.SERVER_SENT_EVENTS,
+          schema = @Schema(implementation = ClusterLogEntryDto.class))})
+  @Operation(summary = "Follow a sgcluster's logs", description = """
+      Follow a sgcluster's logs. Each log entry is sent as a server-sent event whose id can be
+      used as the `from` parameter (or `Last-Event-ID` header) to resume following the logs.
+      When `from` is not specified the latest `records` log entries are sent first.
+
+      ### RBAC permissions required
+
+      * sgclusters get
+      * secret get
+      * pod list
+      """)
+  @GET
+  @Path("{name}/logs/follow")
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  public void followLogs(
+      @PathParam("namespace") String namespace,
+      @PathParam("name") String name,
+      @QueryParam("records") Integer records,
+      @QueryParam("from") String from,
+      @QueryParam("text") String text,
+      @QueryParam("logType") List<String> logType,
+      @QueryParam("podName") List<String> podName,
+      @QueryParam("role") List<String> role,
+      @QueryParam("errorLevel") List<String> errorLevel,
+      @QueryParam("userName") List<String> userName,
+      @QueryParam("databaseName") List<String> databaseName,
+      @QueryParam("fromInclusive") Boolean fromInclusive,
+      @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventId,
+      @Context SseEventSink eventSink,
+      @Context Sse sse) {
+    final ClusterDto cluster = clusterFinder.findByNameAndNamespace(name, namespace)
+        .orElseThrow(NotFoundException::new);
+
+    final var filters = ImmutableMap.<String, List<String>>builder();
+    addFilter("logType", logType, filters);
+    addFilter("podName", podName, filters);
+    addFilter("role", role, filters);
+    addFilter("errorLevel", errorLevel, filters);
+    addFilter("userName", userName, filters);
+    addFilter("databaseName", databaseName, filters);
+
+    DistributedLogsQueryParameters logs = parameters(
+        cluster, records, Optional.ofNullable(lastEventId).orElse(from), null, "asc", text,
+        filters.build(), lastEventId == null && fromInclusive != null && fromInclusive);
+
+    distributedLogsFollower.follow(logs, eventSink, sse);
+  }
+
+  private DistributedLogsQueryParameters parameters(ClusterDto cluster, Integer records,
+      String from, String to, String sort, String text,
+      ImmutableMap<String, List<String>> filters, Boolean fromInclusive) {
     final int calculatedRecords = records != null ? records : 50;
 
     if (calculatedRecords <= 0) {
@@ -124,14 +207,6 @@ public class NamespacedClusterLogsResource {
           "Distributed logs are not configured for specified cluster");
     }
 
-    final var filters = ImmutableMap.<String, List<String>>builder();
-    addFilter("logType", logType, filters);
-    addFilter("podName", podName, filters);
-    addFilter("role", role, filters);
-    addFilter("errorLevel", errorLevel, filters);
-    addFilter("userName", userName, filters);
-    addFilter("databaseName", databaseName, filters);
-
     try {
       fromTuple = Optional.ofNullable(from)
           .map(s -> s.split(","))
@@ -160,19 +235,17 @@ public class NamespacedClusterLogsResource {
       throw new BadRequestException("sort only accept asc or desc values");
     }
 
-    DistributedLogsQueryParameters logs = ImmutableDistributedLogsQueryParameters.builder()
+    return ImmutableDistributedLogsQueryParameters.builder()
         .cluster(cluster)
         .records(calculatedRecords)
         .fromTimeAndIndex(fromTuple)
         .toTimeAndIndex(toTuple)
-        .filters(filters.build())
+        .filters(filters)
         .isSortAsc(Objects.equals("asc", sort))
         .fullTextSearchQuery(Optional.ofNullable(text)
             .map(FullTextSearchQuery::new))
         .isFromInclusive(fromInclusive != null && fromInclusive)
         .build();
-
-    return distributedLogsFetcher.logs(logs);
   }
 
   private void addFilter(String key, List<String> values,
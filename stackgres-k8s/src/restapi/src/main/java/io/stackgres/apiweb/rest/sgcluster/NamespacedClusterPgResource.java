@@ -135,7 +135,7 @@ public class NamespacedClusterPgResource {
 
     try (
         @SuppressWarnings("null")
-        Connection connection = postgresConnectionManager.getConnection(
+        Connection connection = postgresConnectionManager.getPooledConnection(
             host,
             port,
             StackGresPasswordKeys.SUPERUSER_DATABASE,
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.base.Strings;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.stackgres.apiweb.app.KubernetesClientProvider;
+import io.stackgres.apiweb.config.WebApiProperty;
+import io.stackgres.common.StackGresContext;
+import io.stackgres.operatorframework.resource.ResourceUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the REST API authentication secrets by API username backed by an informer on the
+ * secrets of the REST API namespace that have the authentication label. The informer is started
+ * on first use and the index is not used until it is synced and watching. The informer outlives
+ * any request so it uses a dedicated client with the REST API service account created with
+ * {@link KubernetesClientProvider#createDefault()} instead of the request scoped client that
+ * impersonates the user, and the client is closed on shutdown.
+ */
+@ApplicationScoped
+public class AuthSecretIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuthSecretIndex.class);
+
+  private static final String API_USERNAME_INDEX = "apiUsername";
+
+  private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+  private KubernetesClientProvider kubernetesClientProvider;
+  private volatile KubernetesClient client;
+  private volatile SharedIndexInformer<Secret> informer;
+  private volatile boolean failed;
+
+  /**
+   * Return the authentication secrets of the API username or empty if the index is not available.
+   */
+  public Optional<List<Secret>> findByApiUsername(String apiUsername) {
+    SharedIndexInformer<Secret> informer = getInformer();
+    if (failed
+        || !informer.hasSynced()
+        || !informer.isWatching()) {
+      return Optional.empty();
+    }
+    return Optional.of(informer.getIndexer().byIndex(API_USERNAME_INDEX, apiUsername));
+  }
+
+  /**
+   * Register a listener that is called each time an authentication secret changes.
+   */
+  public void addChangeListener(Runnable changeListener) {
+    changeListeners.add(changeListener);
+  }
+
+  static List<String> apiUsernameIndex(Secret secret) {
+    return Optional.ofNullable(secret.getData())
+        .map(data -> Optional.ofNullable(data.get(StackGresContext.REST_APIUSER_KEY))
+            .or(() -> Optional.ofNullable(data.get(StackGresContext.REST_K8SUSER_KEY))))
+        .flatMap(apiUsername -> apiUsername)
+        .filter(apiUsername -> !Strings.isNullOrEmpty(apiUsername))
+        .map(ResourceUtil::decodeSecret)
+        .map(List::of)
+        .orElse(List.of());
+  }
+
+  private SharedIndexInformer<Secret> getInformer() {
+    if (informer == null) {
+      synchronized (this) {
+        if (informer == null) {
+          informer = startInformer();
+        }
+      }
+    }
+    return informer;
+  }
+
+  private SharedIndexInformer<Secret> startInformer() {
+    client = kubernetesClientProvider.createDefault();
+    SharedIndexInformer<Secret> informer = client.secrets()
+        .inNamespace(WebApiProperty.RESTAPI_NAMESPACE.getString())
+        .withLabels(Map.of(StackGresContext.AUTH_KEY, StackGresContext.AUTH_USER_VALUE))
+        .runnableInformer(0);
+    informer.addIndexers(Map.of(API_USERNAME_INDEX, AuthSecretIndex::apiUsernameIndex));
+    informer.addEventHandler(new ResourceEventHandler<Secret>() {
+      @Override
+      public void onAdd(Secret obj) {
+        notifyChange();
+      }
+
+      @Override
+      public void onUpdate(Secret oldObj, Secret newObj) {
+        notifyChange();
+      }
+
+      @Override
+      public void onDelete(Secret obj, boolean deletedFinalStateUnknown) {
+        notifyChange();
+      }
+    });
+    informer.start()
+        .whenComplete((ignored, ex) -> {
+          if (ex != null) {
+            LOGGER.warn("Informer for authentication secrets failed to start,"
+                + " the API server will be used instead", ex);
+            failed = true;
+            informer.stop();
+          }
+        });
+    return informer;
+  }
+
+  private void notifyChange() {
+    changeListeners.forEach(Runnable::run);
+  }
+
+  @Inject
+  public void setKubernetesClientProvider(KubernetesClientProvider kubernetesClientProvider) {
+    this.kubernetesClientProvider = kubernetesClientProvider;
+  }
+
+  void onStop(@Observes ShutdownEvent ev) {
+    Optional.ofNullable(informer).ifPresent(SharedIndexInformer::stop);
+    Optional.ofNullable(client).ifPresent(KubernetesClient::close);
+  }
+
+}
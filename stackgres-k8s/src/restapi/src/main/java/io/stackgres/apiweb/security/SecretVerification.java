@@ -5,12 +5,22 @@
 
 package io.stackgres.apiweb.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Strings;
 import io.fabric8.kubernetes.api.model.Secret;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.security.AuthenticationFailedException;
 import io.stackgres.apiweb.config.WebApiProperty;
 import io.stackgres.common.StackGresContext;
@@ -23,39 +33,81 @@ import jakarta.inject.Inject;
 @ApplicationScoped
 public class SecretVerification {
 
+  private static final String AUTHENTICATION_DURATION_METRIC =
+      "stackgres_restapi_authentication_duration";
+
   private ResourceScanner<Secret> secretScanner;
+  private AuthSecretIndex authSecretIndex;
+  private MeterRegistry registry = Metrics.globalRegistry;
   private String namespace;
+  private Cache<VerifiedCredentials, String> verifiedCredentialsCache;
+  private final Map<AuthenticationDurationKey, Timer> authenticationDurationTimers =
+      new ConcurrentHashMap<>();
 
   @PostConstruct
   public void init() {
     this.namespace = WebApiProperty.RESTAPI_NAMESPACE.getString();
+    this.verifiedCredentialsCache = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofSeconds(WebApiProperty.AUTHENTICATION_CACHE_DURATION.get()
+            .map(Integer::parseInt)
+            .orElse(60)))
+        .maximumSize(1000)
+        .build();
+    Optional.ofNullable(authSecretIndex)
+        .ifPresent(index -> index.addChangeListener(verifiedCredentialsCache::invalidateAll));
   }
 
   /**
-   * Get the K8s username if the api Username and password match.
+   * Get the K8s username if the api Username and password match. Successfully verified
+   * credentials are cached for a short period and until any authentication secret changes.
    */
   public String verifyCredentials(String apiUsername, String password) {
     Objects.requireNonNull(apiUsername, StackGresContext.REST_APIUSER_KEY);
     Objects.requireNonNull(password, StackGresContext.REST_PASSWORD_KEY);
-    String passwordHash = TokenUtils.sha256(apiUsername + password);
-    return secretScanner
-        .getResourcesInNamespaceWithLabels(
-            namespace,
-            Map.of(StackGresContext.AUTH_KEY, StackGresContext.AUTH_USER_VALUE))
-        .stream()
-        .filter(s -> !Strings.isNullOrEmpty(s.getData().get(StackGresContext.REST_K8SUSER_KEY)))
-        .filter(s -> !Strings.isNullOrEmpty(s.getData().get(StackGresContext.REST_PASSWORD_KEY)))
-        .filter(s -> Optional.ofNullable(s.getData().get(StackGresContext.REST_APIUSER_KEY))
-            .map(ResourceUtil::decodeSecret)
-            .map(apiUsername::equals)
-            .orElse(Optional.of(s.getData().get(StackGresContext.REST_K8SUSER_KEY))
+    final Timer.Sample sample = Timer.start(registry);
+    String source = "cache";
+    boolean success = false;
+    try {
+      String passwordHash = TokenUtils.sha256(apiUsername + password);
+      VerifiedCredentials credentials = new VerifiedCredentials(apiUsername, passwordHash);
+      String k8sUsername = verifiedCredentialsCache.getIfPresent(credentials);
+      if (k8sUsername == null) {
+        Optional<List<Secret>> indexedSecrets = Optional.ofNullable(authSecretIndex)
+            .flatMap(index -> index.findByApiUsername(apiUsername));
+        source = indexedSecrets.isPresent() ? "index" : "api";
+        k8sUsername = indexedSecrets
+            .orElseGet(() -> secretScanner.getResourcesInNamespaceWithLabels(
+                namespace,
+                Map.of(StackGresContext.AUTH_KEY, StackGresContext.AUTH_USER_VALUE)))
+            .stream()
+            .filter(s -> !Strings.isNullOrEmpty(s.getData().get(StackGresContext.REST_K8SUSER_KEY)))
+            .filter(s -> !Strings.isNullOrEmpty(s.getData().get(StackGresContext.REST_PASSWORD_KEY)))
+            .filter(s -> Optional.ofNullable(s.getData().get(StackGresContext.REST_APIUSER_KEY))
                 .map(ResourceUtil::decodeSecret)
                 .map(apiUsername::equals)
-                .orElse(Boolean.FALSE)))
-        .filter(s -> Objects.equals(passwordHash, getStoredPassword(s)))
-        .map(this::getK8sUsername)
-        .findFirst()
-        .orElseThrow(AuthenticationFailedException::new);
+                .orElse(Optional.of(s.getData().get(StackGresContext.REST_K8SUSER_KEY))
+                    .map(ResourceUtil::decodeSecret)
+                    .map(apiUsername::equals)
+                    .orElse(Boolean.FALSE)))
+            .filter(s -> MessageDigest.isEqual(
+                passwordHash.getBytes(StandardCharsets.UTF_8),
+                getStoredPassword(s).getBytes(StandardCharsets.UTF_8)))
+            .map(this::getK8sUsername)
+            .findFirst()
+            .orElseThrow(AuthenticationFailedException::new);
+        verifiedCredentialsCache.put(credentials, k8sUsername);
+      }
+      success = true;
+      return k8sUsername;
+    } finally {
+      sample.stop(authenticationDurationTimers.computeIfAbsent(
+          new AuthenticationDurationKey(source, success ? "success" : "failure"), key -> Timer
+              .builder(AUTHENTICATION_DURATION_METRIC)
+              .description("Time spent verifying the credentials of a REST API login")
+              .tag("source", key.source())
+              .tag("result", key.result())
+              .register(registry)));
+    }
   }
 
   private String getStoredPassword(Secret secret) {
@@ -74,4 +126,20 @@ public class SecretVerification {
   public void setSecretScanner(ResourceScanner<Secret> secretScanner) {
     this.secretScanner = secretScanner;
   }
+
+  @Inject
+  public void setAuthSecretIndex(AuthSecretIndex authSecretIndex) {
+    this.authSecretIndex = authSecretIndex;
+  }
+
+  @Inject
+  public void setRegistry(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  record VerifiedCredentials(String apiUsername, String passwordHash) {
+  }
+
+  record AuthenticationDurationKey(String source, String result) {
+  }
 }
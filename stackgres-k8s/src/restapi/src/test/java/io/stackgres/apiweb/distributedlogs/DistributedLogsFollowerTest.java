@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.distributedlogs;
+
+import static io.stackgres.common.patroni.StackGresPasswordKeys.SUPERUSER_PASSWORD_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.stackgres.apiweb.dto.cluster.ClusterDistributedLogs;
+import io.stackgres.apiweb.dto.cluster.ClusterDto;
+import io.stackgres.apiweb.dto.cluster.ClusterLogEntryDto;
+import io.stackgres.apiweb.dto.cluster.ClusterSpec;
+import io.stackgres.common.postgres.PostgresConnectionManager;
+import io.stackgres.common.resource.ResourceFinder;
+import io.stackgres.operatorframework.resource.ResourceUtil;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.jooq.lambda.tuple.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DistributedLogsFollowerTest {
+
+  @Mock
+  private DistributedLogsFetcher distributedLogsFetcher;
+
+  @Mock
+  private Sse sse;
+
+  private DistributedLogsFollower distributedLogsFollower;
+
+  @BeforeEach
+  void setUp() {
+    distributedLogsFollower = new DistributedLogsFollower(
+        distributedLogsFetcher, Duration.ofMillis(10), 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    distributedLogsFollower.shutdown();
+  }
+
+  @Test
+  void follow_shouldSendLatestEntriesAndThenNewEntriesAfterTheLastSentKey() throws Exception {
+    when(distributedLogsFetcher.bind(any())).thenReturn(distributedLogsFetcher);
+    List<DistributedLogsQueryParameters> queries = new ArrayList<>();
+    when(distributedLogsFetcher.logs(any(DistributedLogsQueryParameters.class)))
+        .then(invocation -> {
+          queries.add(invocation.getArgument(0));
+          return switch (queries.size()) {
+            case 1 -> List.of(entry("2020-01-01T00:00:02Z", 0), entry("2020-01-01T00:00:01Z", 0));
+            case 2 -> List.of(entry("2020-01-01T00:00:03Z", 1));
+            default -> List.of();
+          };
+        });
+    List<String> ids = new ArrayList<>();
+    mockEventBuilder(ids);
+    TestEventSink eventSink = new TestEventSink(3);
+
+    distributedLogsFollower.follow(ImmutableDistributedLogsQueryParameters.builder()
+        .cluster(new ClusterDto())
+        .records(2)
+        .isSortAsc(true)
+        .isFromInclusive(false)
+        .build(), eventSink, sse);
+
+    assertTrue(eventSink.closed.await(10, TimeUnit.SECONDS));
+    assertEquals(List.of(
+        "2020-01-01T00:00:01Z,0",
+        "2020-01-01T00:00:02Z,0",
+        "2020-01-01T00:00:03Z,1"), ids);
+    assertFalse(queries.get(0).isSortAsc());
+    assertTrue(queries.get(1).isSortAsc());
+    assertFalse(queries.get(1).isFromInclusive());
+    assertEquals(Optional.of(Tuple.tuple(Instant.parse("2020-01-01T00:00:02Z"), 0)),
+        queries.get(1).getFromTimeAndIndex());
+  }
+
+  @Test
+  void follow_shouldNotUseTheCurrentTimeAsCursorWhenThereAreNoLatestEntries() throws Exception {
+    when(distributedLogsFetcher.bind(any())).thenReturn(distributedLogsFetcher);
+    List<DistributedLogsQueryParameters> queries = new ArrayList<>();
+    when(distributedLogsFetcher.logs(any(DistributedLogsQueryParameters.class)))
+        .then(invocation -> {
+          queries.add(invocation.getArgument(0));
+          return switch (queries.size()) {
+            case 1 -> List.of();
+            case 2 -> List.of(entry("2020-01-01T00:00:01Z", 0));
+            default -> List.of();
+          };
+        });
+    mockEventBuilder(new ArrayList<>());
+    TestEventSink eventSink = new TestEventSink(1);
+
+    distributedLogsFollower.follow(parameters(new ClusterDto()), eventSink, sse);
+
+    assertTrue(eventSink.closed.await(10, TimeUnit.SECONDS));
+    assertEquals(Optional.empty(), queries.get(1).getFromTimeAndIndex());
+    assertTrue(queries.get(1).isSortAsc());
+  }
+
+  @Test
+  void follow_shouldResolveTheCredentialsInTheRequestThread() throws Exception {
+    final Thread requestThread = Thread.currentThread();
+    @SuppressWarnings("unchecked")
+    ResourceFinder<Secret> secretFinder = mock(ResourceFinder.class);
+    when(secretFinder.findByNameAndNamespace("distributedlogs", "test")).then(invocation -> {
+      if (Thread.currentThread() != requestThread) {
+        throw new ContextNotActiveException();
+      }
+      return Optional.of(new SecretBuilder()
+          .withData(ResourceUtil.encodeSecret(Map.of(SUPERUSER_PASSWORD_KEY, "secret")))
+          .build());
+    });
+    PostgresConnectionManager postgresConnectionManager = mock(PostgresConnectionManager.class);
+    CountDownLatch connected = new CountDownLatch(1);
+    when(postgresConnectionManager.getPooledConnection(
+        any(), anyInt(), any(), any(), eq("secret")))
+        .then(invocation -> {
+          connected.countDown();
+          throw new SQLException("test");
+        });
+    DistributedLogsFollower follower = new DistributedLogsFollower(
+        new DistributedLogsFetcherImpl(secretFinder, postgresConnectionManager),
+        Duration.ofMillis(10), 1);
+    try {
+      TestEventSink eventSink = new TestEventSink(1);
+
+      follower.follow(parameters(clusterWithDistributedLogs()), eventSink, sse);
+
+      assertTrue(connected.await(10, TimeUnit.SECONDS));
+      assertTrue(eventSink.closed.await(10, TimeUnit.SECONDS));
+    } finally {
+      follower.shutdown();
+    }
+  }
+
+  @Test
+  void follow_shouldRejectFollowersOverTheMaximum() throws Exception {
+    when(distributedLogsFetcher.bind(any())).thenReturn(distributedLogsFetcher);
+    CountDownLatch following = new CountDownLatch(1);
+    when(distributedLogsFetcher.logs(any(DistributedLogsQueryParameters.class)))
+        .then(invocation -> {
+          following.countDown();
+          return List.of();
+        });
+    TestEventSink eventSink = new TestEventSink(1);
+    distributedLogsFollower.follow(parameters(new ClusterDto()), eventSink, sse);
+    assertTrue(following.await(10, TimeUnit.SECONDS));
+
+    WebApplicationException ex = assertThrows(WebApplicationException.class,
+        () -> distributedLogsFollower.follow(
+            parameters(new ClusterDto()), new TestEventSink(1), sse));
+
+    assertEquals(Response.Status.TOO_MANY_REQUESTS.getStatusCode(), ex.getResponse().getStatus());
+    eventSink.remaining = 0;
+    assertTrue(eventSink.closed.await(10, TimeUnit.SECONDS));
+  }
+
+  private void mockEventBuilder(List<String> ids) {
+    when(sse.newEventBuilder()).then(invocation -> {
+      OutboundSseEvent.Builder builder = mock(OutboundSseEvent.Builder.class, RETURNS_SELF);
+      when(builder.id(any())).then(idInvocation -> {
+        ids.add(idInvocation.getArgument(0));
+        return builder;
+      });
+      when(builder.build()).thenReturn(mock(OutboundSseEvent.class));
+      return builder;
+    });
+  }
+
+  private DistributedLogsQueryParameters parameters(ClusterDto cluster) {
+    return ImmutableDistributedLogsQueryParameters.builder()
+        .cluster(cluster)
+        .records(2)
+        .isSortAsc(true)
+        .isFromInclusive(false)
+        .build();
+  }
+
+  private ClusterDto clusterWithDistributedLogs() {
+    ClusterDto cluster = new ClusterDto();
+    cluster.getMetadata().setNamespace("test");
+    cluster.getMetadata().setName("test");
+    cluster.setSpec(new ClusterSpec());
+    cluster.getSpec().setDistributedLogs(new ClusterDistributedLogs());
+    cluster.getSpec().getDistributedLogs().setSgDistributedLogs("distributedlogs");
+    return cluster;
+  }
+
+  private ClusterLogEntryDto entry(String logTime, int logTimeIndex) {
+    ClusterLogEntryDto entry = new ClusterLogEntryDto();
+    entry.setLogTime(logTime);
+    entry.setLogTimeIndex(logTimeIndex);
+    return entry;
+  }
+
+  static class TestEventSink implements SseEventSink {
+
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private volatile int remaining;
+
+    TestEventSink(int events) {
+      this.remaining = events;
+    }
+
+    @Override
+    public boolean isClosed() {
+      return remaining <= 0;
+    }
+
+    @Override
+    public CompletableFuture<?> send(OutboundSseEvent event) {
+      remaining--;
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close() {
+      closed.countDown();
+    }
+
+  }
+
+}
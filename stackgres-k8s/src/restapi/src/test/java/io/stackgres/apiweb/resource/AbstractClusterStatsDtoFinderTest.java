@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableMap;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.stackgres.apiweb.app.KubernetesClientProvider;
+import io.stackgres.common.StackGresContainer;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.resource.CustomResourceFinder;
+import io.stackgres.common.resource.PersistentVolumeClaimFinder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AbstractClusterStatsDtoFinderTest {
+
+  @Mock
+  private CustomResourceFinder<StackGresCluster> clusterFinder;
+
+  @Mock
+  private PodStatsClient podStatsClient;
+
+  @Mock
+  private PersistentVolumeClaimFinder persistentVolumeClaimFinder;
+
+  @Mock
+  private KubernetesClientProvider kubernetesClientProvider;
+
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private KubernetesClient client;
+
+  private boolean allowed = true;
+
+  private ExecutorService executorService;
+
+  private AbstractClusterStatsDtoFinder<Void, StackGresCluster> finder;
+
+  @BeforeEach
+  void setUp() {
+    executorService = Executors.newCachedThreadPool();
+    finder = new AbstractClusterStatsDtoFinder<>(
+        clusterFinder, podStatsClient, persistentVolumeClaimFinder) {
+      @Override
+      protected Void getClusterStats(StackGresCluster cluster) {
+        return null;
+      }
+    };
+    finder.setKubernetesClientProvider(kubernetesClientProvider);
+    finder.setPodStatsTimeout(Duration.ofMillis(500));
+    when(kubernetesClientProvider.getImpersonatedUsername()).thenReturn(Optional.of("test"));
+    when(kubernetesClientProvider.createDefault()).thenReturn(client);
+    when(client.authorization().v1().subjectAccessReview().create(any()))
+        .then(invocation -> new SubjectAccessReviewBuilder()
+            .withNewStatus()
+            .withAllowed(allowed)
+            .endStatus()
+            .build());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    executorService.shutdownNow();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void getPodsStats_shouldReturnTheStatsOfEachPodInOrder() throws Exception {
+    Pod pod = pod("test-0");
+    Pod otherPod = pod("test-1");
+    when(podStatsClient.getLatestStats(argThat(isPod("test-0"))))
+        .thenReturn(Optional.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4")));
+    when(podStatsClient.getLatestStats(argThat(isPod("test-1"))))
+        .thenReturn(Optional.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "2")));
+
+    var podsStats = finder.getPodsStats(List.of(pod, otherPod), executorService);
+
+    assertEquals(List.of(
+        ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4"),
+        ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "2")),
+        podsStats);
+  }
+
+  @Test
+  void getPodsStats_shouldReturnEmptyStatsAndCancelTheRetrievalOnTimeout() throws Exception {
+    Pod pod = pod("test-0");
+    Pod stuckPod = pod("test-1");
+    CountDownLatch cancelled = new CountDownLatch(1);
+    when(podStatsClient.getLatestStats(argThat(isPod("test-0"))))
+        .thenReturn(Optional.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4")));
+    when(podStatsClient.getLatestStats(argThat(isPod("test-1"))))
+        .then(invocation -> {
+          try {
+            Thread.sleep(Duration.ofMinutes(1));
+          } catch (InterruptedException ex) {
+            cancelled.countDown();
+          }
+          return Optional.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "2"));
+        });
+
+    var podsStats = finder.getPodsStats(List.of(pod, stuckPod), executorService);
+
+    assertEquals(List.of(
+        ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4"),
+        ImmutableMap.of()),
+        podsStats);
+    assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void getPodsStats_shouldReturnEmptyStatsWhenTheClusterControllerHasNotSampledYet()
+      throws Exception {
+    Pod pod = pod("test-0");
+    when(podStatsClient.getLatestStats(any())).thenReturn(Optional.empty());
+
+    var podsStats = finder.getPodsStats(List.of(pod), executorService);
+
+    assertEquals(List.of(ImmutableMap.of()), podsStats);
+  }
+
+  @Test
+  void getPodsStats_shouldReturnEmptyStatsOnFailure() throws Exception {
+    Pod pod = pod("test-0");
+    when(podStatsClient.getLatestStats(any())).thenThrow(new IOException("test"));
+
+    var podsStats = finder.getPodsStats(List.of(pod), executorService);
+
+    assertEquals(List.of(ImmutableMap.of()), podsStats);
+  }
+
+  @Test
+  void getPodsStats_shouldNotRetrieveTheStatsWhenTheUserIsNotAllowed() throws Exception {
+    Pod pod = pod("test-0");
+    allowed = false;
+
+    var podsStats = finder.getPodsStats(List.of(pod), executorService);
+
+    assertEquals(List.of(ImmutableMap.of()), podsStats);
+    verify(podStatsClient, never()).getLatestStats(any());
+  }
+
+  @Test
+  void getPodsStats_shouldReuseTheStatsAndTheReviewOfTheSameUser() throws Exception {
+    Pod pod = pod("test-0");
+    when(podStatsClient.getLatestStats(any()))
+        .thenReturn(Optional.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4")));
+
+    var podsStats = finder.getPodsStats(List.of(pod), executorService);
+    var cachedPodsStats = finder.getPodsStats(List.of(pod), executorService);
+
+    assertEquals(List.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4")), podsStats);
+    assertEquals(podsStats, cachedPodsStats);
+    verify(podStatsClient, times(1)).getLatestStats(any());
+    verify(kubernetesClientProvider, times(1)).createDefault();
+  }
+
+  @Test
+  void getPodsStats_shouldNotReuseTheStatsOfAnotherUser() throws Exception {
+    Pod pod = pod("test-0");
+    when(podStatsClient.getLatestStats(any()))
+        .thenReturn(Optional.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4")));
+
+    finder.getPodsStats(List.of(pod), executorService);
+    when(kubernetesClientProvider.getImpersonatedUsername()).thenReturn(Optional.of("other"));
+    finder.getPodsStats(List.of(pod), executorService);
+
+    verify(podStatsClient, times(2)).getLatestStats(any());
+    verify(kubernetesClientProvider, times(2)).createDefault();
+  }
+
+  @Test
+  void getPodsStats_shouldShareARetrievalInProgressBetweenConcurrentRequests() throws Exception {
+    Pod pod = pod("test-0");
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(podStatsClient.getLatestStats(any()))
+        .then(invocation -> {
+          started.countDown();
+          release.await();
+          return Optional.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4"));
+        });
+
+    var podsStats = CompletableFuture.supplyAsync(
+        () -> finder.getPodsStats(List.of(pod), executorService), executorService);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    var concurrentPodsStats = CompletableFuture.supplyAsync(
+        () -> finder.getPodsStats(List.of(pod), executorService), executorService);
+    release.countDown();
+
+    assertEquals(List.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4")),
+        podsStats.get(10, TimeUnit.SECONDS));
+    assertEquals(List.of(ImmutableMap.of(PatroniStatsScripts.CPU_FOUND, "4")),
+        concurrentPodsStats.get(10, TimeUnit.SECONDS));
+    verify(podStatsClient, times(1)).getLatestStats(any());
+  }
+
+  private ArgumentMatcher<Pod> isPod(String name) {
+    return pod -> pod != null && name.equals(pod.getMetadata().getName());
+  }
+
+  private Pod pod(String name) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withNamespace("test")
+        .withName(name)
+        .withAnnotations(Map.of())
+        .endMetadata()
+        .withNewStatus()
+        .addNewContainerStatus()
+        .withName(StackGresContainer.PATRONI.getName())
+        .withNewState()
+        .withNewRunning()
+        .withStartedAt("2024-01-01T00:00:00Z")
+        .endRunning()
+        .endState()
+        .endContainerStatus()
+        .endStatus()
+        .build();
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.stackgres.apiweb.config.WebApiProperty;
+import io.stackgres.apiweb.dto.cluster.ClusterDto;
+import io.stackgres.apiweb.dto.cluster.KubernetesPod;
+import io.stackgres.apiweb.transformer.ClusterPodTransformer;
+import io.stackgres.apiweb.transformer.ClusterTransformer;
+import io.stackgres.common.StackGresPropertyContext;
+import io.stackgres.common.crd.sgcluster.StackGresCluster;
+import io.stackgres.common.crd.sgcluster.StackGresClusterStatus;
+import io.stackgres.common.fixture.Fixtures;
+import io.stackgres.common.labels.ClusterLabelFactory;
+import io.stackgres.common.labels.ClusterLabelMapper;
+import io.stackgres.common.resource.CustomResourceScanner;
+import io.stackgres.common.resource.PodFinder;
+import io.stackgres.testutil.JsonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterDtoScannerTest {
+
+  @Mock
+  private CustomResourceScanner<StackGresCluster> clusterScanner;
+
+  @Mock
+  private PodFinder podFinder;
+
+  @Mock
+  private StackGresPropertyContext<WebApiProperty> context;
+
+  private ClusterLabelFactory labelFactory;
+
+  private ClusterDtoScanner scanner;
+
+  @BeforeEach
+  void setUp() {
+    labelFactory = new ClusterLabelFactory(new ClusterLabelMapper());
+    scanner = new ClusterDtoScanner();
+    scanner.setClusterScanner(clusterScanner);
+    scanner.setPodFinder(podFinder);
+    scanner.setClusterTransformer(new ClusterTransformer(
+        context, new ClusterPodTransformer(), JsonUtil.jsonMapper()));
+    scanner.setLabelFactory(labelFactory);
+  }
+
+  @Test
+  void getResources_shouldJoinEachClusterWithItsPods() {
+    StackGresCluster cluster = cluster("test", "1", null);
+    StackGresCluster otherCluster = cluster("other", "2", "other.stackgres.io/");
+    Pod pod = pod("test-0", labelFactory.clusterLabels(cluster));
+    Pod otherPod = pod("other-0", labelFactory.clusterLabels(otherCluster));
+    Map<String, String> sameUidOtherScopeLabels = new HashMap<>(labelFactory.clusterLabels(cluster));
+    sameUidOtherScopeLabels.put(labelFactory.labelMapper().resourceScopeKey(cluster), "other");
+    Pod sameUidOtherScopePod = pod("scope-0", sameUidOtherScopeLabels);
+    Pod unlabeledPod = pod("unlabeled-0", null);
+    when(clusterScanner.getResources()).thenReturn(List.of(cluster, otherCluster));
+    when(podFinder.getResourcesWithLabels(any())).thenReturn(
+        List.of(pod, otherPod, sameUidOtherScopePod, unlabeledPod));
+
+    List<ClusterDto> clusters = scanner.getResources();
+
+    assertEquals(List.of("test-0"), podNames(clusters.get(0)));
+    assertEquals(List.of("other-0"), podNames(clusters.get(1)));
+  }
+
+  @Test
+  void getResources_shouldReturnClustersWithoutPods() {
+    StackGresCluster cluster = cluster("test", "1", null);
+    when(clusterScanner.getResources()).thenReturn(List.of(cluster));
+    when(podFinder.getResourcesWithLabels(any())).thenReturn(List.of());
+
+    List<ClusterDto> clusters = scanner.getResources();
+
+    assertEquals(List.of(), podNames(clusters.get(0)));
+  }
+
+  private List<String> podNames(ClusterDto cluster) {
+    return cluster.getPods().stream()
+        .map(KubernetesPod::getName)
+        .toList();
+  }
+
+  private StackGresCluster cluster(String name, String uid, String labelPrefix) {
+    StackGresCluster cluster = Fixtures.cluster().loadDefault().get();
+    cluster.getMetadata().setName(name);
+    cluster.getMetadata().setUid(uid);
+    cluster.setStatus(new StackGresClusterStatus());
+    cluster.getStatus().setLabelPrefix(labelPrefix);
+    return cluster;
+  }
+
+  private Pod pod(String name, Map<String, String> labels) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withNamespace("stackgres")
+        .withName(name)
+        .withLabels(labels)
+        .withAnnotations(Map.of())
+        .endMetadata()
+        .withNewSpec()
+        .endSpec()
+        .withNewStatus()
+        .withPhase("Running")
+        .endStatus()
+        .build();
+  }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.apiweb.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.ImmutableMap;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PodStatsClientTest {
+
+  private final PodStatsClient client = new PodStatsClient();
+
+  private final AtomicInteger statusCode = new AtomicInteger(200);
+
+  private final AtomicReference<String> body = new AtomicReference<>("");
+
+  private HttpServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/stats/latest", exchange -> reply(exchange));
+    server.start();
+    client.setClusterControllerPort(server.getAddress().getPort());
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void getLatestStats_shouldReturnTheKnownStatsOfTheLatestSample() throws Exception {
+    body.set("""
+        {"timestamp": "2024-01-01T00:00:00Z",
+         "stats": {"cpuFound": "4", "connections": "3", "unknown": "1"}}
+        """);
+
+    var stats = client.getLatestStats(pod("127.0.0.1"));
+
+    assertEquals(Optional.of(ImmutableMap.of(
+        PatroniStatsScripts.CPU_FOUND, "4",
+        PatroniStatsScripts.CONNECTIONS, "3")),
+        stats);
+  }
+
+  @Test
+  void getLatestStats_shouldReturnEmptyWhenThereIsNoSampleYet() throws Exception {
+    statusCode.set(404);
+
+    assertEquals(Optional.empty(), client.getLatestStats(pod("127.0.0.1")));
+  }
+
+  @Test
+  void getLatestStats_shouldFailOnUnexpectedStatus() {
+    statusCode.set(500);
+
+    assertThrows(IOException.class, () -> client.getLatestStats(pod("127.0.0.1")));
+  }
+
+  @Test
+  void getLatestStats_shouldFailWhenThePodHasNoIp() {
+    assertThrows(IOException.class, () -> client.getLatestStats(pod(null)));
+  }
+
+  private void reply(HttpExchange exchange) throws IOException {
+    byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(statusCode.get(), bytes.length == 0 ? -1 : bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private Pod pod(String podIp) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withNamespace("test")
+        .withName("test-0")
+        .endMetadata()
+        .withNewStatus()
+        .withPodIP(podIp)
+        .endStatus()
+        .build();
+  }
+
+}
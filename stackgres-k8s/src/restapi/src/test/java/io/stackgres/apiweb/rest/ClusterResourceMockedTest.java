@@ -32,7 +32,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
@@ -44,8 +43,12 @@ import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.stackgres.apiweb.app.KubernetesClientProvider;
 import io.stackgres.apiweb.config.WebApiProperty;
 import io.stackgres.apiweb.distributedlogs.DistributedLogsFetcher;
+import io.stackgres.apiweb.distributedlogs.DistributedLogsFollower;
 import io.stackgres.apiweb.distributedlogs.DistributedLogsQueryParameters;
 import io.stackgres.apiweb.distributedlogs.FullTextSearchQuery;
 import io.stackgres.apiweb.dto.Metadata;
@@ -70,6 +73,8 @@ import io.stackgres.apiweb.dto.script.ScriptSpec;
 import io.stackgres.apiweb.resource.ClusterDtoFinder;
 import io.stackgres.apiweb.resource.ClusterDtoScanner;
 import io.stackgres.apiweb.resource.ClusterStatsDtoFinder;
+import io.stackgres.apiweb.resource.PatroniStatsScripts;
+import io.stackgres.apiweb.resource.PodStatsClient;
 import io.stackgres.apiweb.rest.sgcluster.ClusterResource;
 import io.stackgres.apiweb.rest.sgcluster.NamespacedClusterLogsResource;
 import io.stackgres.apiweb.rest.sgcluster.NamespacedClusterResource;
@@ -102,7 +107,6 @@ import io.stackgres.common.labels.ClusterLabelMapper;
 import io.stackgres.common.resource.CustomResourceFinder;
 import io.stackgres.common.resource.CustomResourceScheduler;
 import io.stackgres.common.resource.PersistentVolumeClaimFinder;
-import io.stackgres.common.resource.PodExecutor;
 import io.stackgres.common.resource.PodFinder;
 import io.stackgres.common.resource.ResourceFinder;
 import io.stackgres.common.resource.ResourceWriter;
@@ -115,6 +119,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
@@ -134,11 +139,17 @@ class ClusterResourceMockedTest extends
   @Mock
   private DistributedLogsFetcher distributedLogsFetcher;
   @Mock
+  private DistributedLogsFollower distributedLogsFollower;
+  @Mock
   private StackGresPropertyContext<WebApiProperty> configContext;
   @Mock
   private PodFinder podFinder;
   @Mock
-  private PodExecutor podExecutor;
+  private PodStatsClient podStatsClient;
+  @Mock
+  private KubernetesClientProvider kubernetesClientProvider;
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private KubernetesClient client;
   @Mock
   private PersistentVolumeClaimFinder persistentVolumeClaimFinder;
 
@@ -240,9 +251,9 @@ class ClusterResourceMockedTest extends
   }
 
   @Test
-  void getOfAnExistingDtoStatsShouldReturnTheExistingDtoStats() {
+  void getOfAnExistingDtoStatsShouldReturnTheExistingDtoStats() throws Exception {
     clusterMocks();
-    mockPodExecutor();
+    mockPodStatsClient();
 
     when(finder.findByNameAndNamespace(getResourceName(), getResourceNamespace()))
         .thenReturn(Optional.of(customResources.getItems().get(0)));
@@ -685,8 +696,16 @@ class ClusterResourceMockedTest extends
             .build()));
   }
 
-  private void mockPodExecutor() {
-    when(podExecutor.exec(any(), anyString(), any(String[].class))).thenReturn(ImmutableList.of(
+  private void mockPodStatsClient() throws Exception {
+    when(kubernetesClientProvider.getImpersonatedUsername()).thenReturn(Optional.of("test"));
+    when(kubernetesClientProvider.createDefault()).thenReturn(client);
+    when(client.authorization().v1().subjectAccessReview().create(any()))
+        .thenReturn(new SubjectAccessReviewBuilder()
+            .withNewStatus()
+            .withAllowed(true)
+            .endStatus()
+            .build());
+    when(podStatsClient.getLatestStats(any())).thenReturn(Optional.of(Seq.of(
         "cpuFound:4",
         "cpuQuota:50000",
         "cpuPeriod:100000",
@@ -717,7 +736,10 @@ class ClusterResourceMockedTest extends
         "load1m:0.5",
         "load5m:1.0",
         "load10m:1.5",
-        "connections:2000"));
+        "connections:2000")
+        .collect(ImmutableMap.toImmutableMap(
+            line -> PatroniStatsScripts.fromName(line.substring(0, line.indexOf(':'))),
+            line -> line.substring(line.indexOf(':') + 1)))));
   }
 
   @Override
@@ -772,8 +794,9 @@ class ClusterResourceMockedTest extends
     final ClusterStatsTransformer clusterStatsTransformer = new ClusterStatsTransformer(
         new ClusterPodTransformer());
     final ClusterStatsDtoFinder statsDtoFinder = new ClusterStatsDtoFinder(
-        managedExecutor, clusterFinder, podFinder, podExecutor,
+        managedExecutor, clusterFinder, podFinder, podStatsClient,
         persistentVolumeClaimFinder, labelFactory, clusterStatsTransformer);
+    statsDtoFinder.setKubernetesClientProvider(kubernetesClientProvider);
 
     return new NamespacedClusterStatsResource(statsDtoFinder);
   }
@@ -787,7 +810,8 @@ class ClusterResourceMockedTest extends
     dtoFinder.setClusterTransformer(clusterTransformer);
     dtoFinder.setLabelFactory(labelFactory);
 
-    return new NamespacedClusterLogsResource(dtoFinder, distributedLogsFetcher);
+    return new NamespacedClusterLogsResource(dtoFinder, distributedLogsFetcher,
+        distributedLogsFollower);
   }
 
   @Override
@@ -124,7 +124,7 @@ public class NamespacedClusterPgResourceTest {
               .thenReturn(Optional.of(cluster));
 
     Mockito.doThrow(new SQLException("Could not connect to the database"))
-        .when(postgresConnectionManager).getConnection(
+        .when(postgresConnectionManager).getPooledConnection(
             any(), anyInt(), any(), any(), any());
 
     Assertions.assertThrows(RuntimeException.class, () ->
@@ -170,7 +170,7 @@ public class NamespacedClusterPgResourceTest {
         )
               .thenReturn(Optional.of(cluster));
 
-    Mockito.when(postgresConnectionManager.getConnection(
+    Mockito.when(postgresConnectionManager.getPooledConnection(
         any(), anyInt(), any(), any(), any()))
         .thenReturn(connection);
 
@@ -223,7 +223,7 @@ public class NamespacedClusterPgResourceTest {
         )
               .thenReturn(Optional.of(cluster));
 
-    Mockito.when(postgresConnectionManager.getConnection(
+    Mockito.when(postgresConnectionManager.getPooledConnection(
         any(), anyInt(), any(), any(), any()))
         .thenReturn(mockConnection);
 
@@ -272,7 +272,7 @@ public class NamespacedClusterPgResourceTest {
         )
             .thenReturn(Optional.of(cluster));
 
-    Mockito.when(postgresConnectionManager.getConnection(
+    Mockito.when(postgresConnectionManager.getPooledConnection(
         any(), anyInt(), any(), any(), any()))
         .thenReturn(mockConnection);
 
@@ -26,7 +26,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
@@ -38,6 +37,9 @@ import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.authorization.v1.SubjectAccessReviewBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.stackgres.apiweb.app.KubernetesClientProvider;
 import io.stackgres.apiweb.config.WebApiProperty;
 import io.stackgres.apiweb.dto.Metadata;
 import io.stackgres.apiweb.dto.cluster.ClusterConfigurations;
@@ -50,6 +52,8 @@ import io.stackgres.apiweb.dto.script.ScriptSpec;
 import io.stackgres.apiweb.dto.shardedcluster.ShardedClusterDto;
 import io.stackgres.apiweb.dto.shardedcluster.ShardedClusterSpec;
 import io.stackgres.apiweb.dto.shardedcluster.ShardedClusterStatsDto;
+import io.stackgres.apiweb.resource.PatroniStatsScripts;
+import io.stackgres.apiweb.resource.PodStatsClient;
 import io.stackgres.apiweb.resource.ShardedClusterStatsDtoFinder;
 import io.stackgres.apiweb.rest.sgshardedcluster.NamespacedShardedClusterResource;
 import io.stackgres.apiweb.rest.sgshardedcluster.NamespacedShardedClusterStatsResource;
@@ -79,7 +83,6 @@ import io.stackgres.common.resource.CustomResourceFinder;
 import io.stackgres.common.resource.CustomResourceScanner;
 import io.stackgres.common.resource.CustomResourceScheduler;
 import io.stackgres.common.resource.PersistentVolumeClaimFinder;
-import io.stackgres.common.resource.PodExecutor;
 import io.stackgres.common.resource.PodFinder;
 import io.stackgres.common.resource.ResourceFinder;
 import io.stackgres.common.resource.ResourceWriter;
@@ -90,6 +93,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -126,7 +130,11 @@ class ShardedClusterResourceMockedTest extends
   @Mock
   private ResourceFinder<Service> serviceFinder;
   @Mock
-  private PodExecutor podExecutor;
+  private PodStatsClient podStatsClient;
+  @Mock
+  private KubernetesClientProvider kubernetesClientProvider;
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private KubernetesClient client;
   @Mock
   private PodFinder podFinder;
   @Mock
@@ -206,9 +214,9 @@ class ShardedClusterResourceMockedTest extends
   }
 
   @Test
-  void getOfAnExistingDtoStatsShouldReturnTheExistingDtoStats() {
+  void getOfAnExistingDtoStatsShouldReturnTheExistingDtoStats() throws Exception {
     clusterMocks();
-    mockPodExecutor();
+    mockPodStatsClient();
 
     when(finder.findByNameAndNamespace(getResourceName(), getResourceNamespace()))
         .thenReturn(Optional.of(customResources.getItems().get(0)));
@@ -651,8 +659,16 @@ class ShardedClusterResourceMockedTest extends
         .thenReturn(Optional.of(configMap));
   }
 
-  private void mockPodExecutor() {
-    when(podExecutor.exec(any(), anyString(), any(String[].class))).thenReturn(ImmutableList.of(
+  private void mockPodStatsClient() throws Exception {
+    when(kubernetesClientProvider.getImpersonatedUsername()).thenReturn(Optional.of("test"));
+    when(kubernetesClientProvider.createDefault()).thenReturn(client);
+    when(client.authorization().v1().subjectAccessReview().create(any()))
+        .thenReturn(new SubjectAccessReviewBuilder()
+            .withNewStatus()
+            .withAllowed(true)
+            .endStatus()
+            .build());
+    when(podStatsClient.getLatestStats(any())).thenReturn(Optional.of(Seq.of(
         "cpuFound:4",
         "cpuQuota:50000",
         "cpuPeriod:100000",
@@ -683,7 +699,10 @@ class ShardedClusterResourceMockedTest extends
         "load1m:0.5",
         "load5m:1.0",
         "load10m:1.5",
-        "connections:2000"));
+        "connections:2000")
+        .collect(ImmutableMap.toImmutableMap(
+            line -> PatroniStatsScripts.fromName(line.substring(0, line.indexOf(':'))),
+            line -> line.substring(line.indexOf(':') + 1)))));
   }
 
   @Override
@@ -731,8 +750,9 @@ class ShardedClusterResourceMockedTest extends
         new ShardedClusterStatsTransformer(new ClusterPodTransformer());
     final ShardedClusterStatsDtoFinder statsDtoFinder = new ShardedClusterStatsDtoFinder(
         shardedClusterFinder, clusterScanner, managedExecutor, podFinder,
-        podExecutor, persistentVolumeClaimFinder, shardedClusterLabelFactory,
+        podStatsClient, persistentVolumeClaimFinder, shardedClusterLabelFactory,
         clusterLabelFactory, shardedClusterStatsTransformer);
+    statsDtoFinder.setKubernetesClientProvider(kubernetesClientProvider);
 
     return new NamespacedShardedClusterStatsResource(statsDtoFinder);
   }
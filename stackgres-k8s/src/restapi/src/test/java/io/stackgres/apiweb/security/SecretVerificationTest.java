@@ -9,10 +9,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
@@ -32,6 +36,9 @@ public class SecretVerificationTest {
   @Mock
   private ResourceScanner<Secret> secretScanner;
 
+  @Mock
+  private AuthSecretIndex authSecretIndex;
+
   private Secret secret;
 
   private SecretVerification secretVerification;
@@ -138,6 +145,45 @@ public class SecretVerificationTest {
     assertEquals("test2", secretVerification.verifyCredentials("test", "test"));
   }
 
+  @Test
+  void secondLogin_shouldBeVerifiedFromCacheTest() throws Exception {
+    when(secretScanner.getResourcesInNamespaceWithLabels(eq("stackgres"), any()))
+        .thenReturn(List.of(secret));
+    assertEquals("test", secretVerification.verifyCredentials("test", "test"));
+    assertEquals("test", secretVerification.verifyCredentials("test", "test"));
+    verify(secretScanner, times(1)).getResourcesInNamespaceWithLabels(eq("stackgres"), any());
+  }
+
+  @Test
+  void failedLogin_shouldNotBeCachedTest() throws Exception {
+    when(secretScanner.getResourcesInNamespaceWithLabels(eq("stackgres"), any()))
+        .thenReturn(List.of(secret));
+    assertThrows(AuthenticationFailedException.class,
+        () -> secretVerification.verifyCredentials("test", "wrong"));
+    assertThrows(AuthenticationFailedException.class,
+        () -> secretVerification.verifyCredentials("test", "wrong"));
+    verify(secretScanner, times(2)).getResourcesInNamespaceWithLabels(eq("stackgres"), any());
+  }
+
+  @Test
+  void loginWithIndex_shouldNotListSecretsTest() throws Exception {
+    secretVerification.setAuthSecretIndex(authSecretIndex);
+    secretVerification.init();
+    when(authSecretIndex.findByApiUsername("test")).thenReturn(Optional.of(List.of(secret)));
+    assertEquals("test", secretVerification.verifyCredentials("test", "test"));
+    verify(secretScanner, never()).getResourcesInNamespaceWithLabels(any(), any());
+  }
+
+  @Test
+  void apiUsernameIndex_shouldPreferApiUsernameOverK8sUsernameTest() throws Exception {
+    assertEquals(List.of("test"), AuthSecretIndex.apiUsernameIndex(secret));
+    assertEquals(List.of("test2"), AuthSecretIndex.apiUsernameIndex(new SecretBuilder(secret)
+        .withData(Map.of(
+            StackGresContext.REST_K8SUSER_KEY, ResourceUtil.encodeSecret("test"),
+            StackGresContext.REST_APIUSER_KEY, ResourceUtil.encodeSecret("test2")))
+        .build()));
+  }
+
   @Test
   void sha256Encoding_shouldSucceedTest() throws Exception {
     String sha256enc = TokenUtils.sha256("testtest");
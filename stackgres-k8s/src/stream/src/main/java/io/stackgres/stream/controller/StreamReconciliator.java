@@ -105,6 +105,9 @@ public class StreamReconciliator
     stream.getStatus().getEvents().setTotalNumberOfEventsSent(metrics.getTotalNumberOfEventsSent());
     stream.getStatus().getEvents().setLastErrorSeen(metrics.getLastErrorSeen());
     stream.getStatus().getEvents().setTotalNumberOfErrorsSeen(metrics.getTotalNumberOfErrorsSeen());
+    if (metrics.getIndexesStatus() != null) {
+      stream.getStatus().setIndexes(metrics.getIndexesStatus());
+    }
     streamScheduler.update(stream, Unchecked.consumer(
         currentStream -> currentStream.setStatus(stream.getStatus())));
     return new ReconciliationResult<Void>();
@@ -5,15 +5,27 @@
 
 package io.stackgres.stream.jobs;
 
-import java.util.Locale;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.stackgres.common.crd.sgstream.StackGresStreamIndexesStatus;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import org.jooq.lambda.tuple.Tuple;
 
+/**
+ * Metrics of the stream. Meters are registered once and updated without locking since they are
+ * updated from the Debezium and the sender threads while the status is read from the
+ * reconciliation thread.
+ */
 @Singleton
 public class Metrics {
 
@@ -21,24 +33,60 @@ public class Metrics {
 
   private final MeterRegistry registry;
 
-  private Boolean lastEventWasSent;
-  private String lastEventSent;
-  private long totalNumberOfEventsSent = 0L;
-  private String lastErrorSeen;
-  private long totalNumberOfErrorsSeen = 0L;
+  private final AtomicReference<Boolean> lastEventWasSent = new AtomicReference<>();
+  private volatile String lastEventSent;
+  private final LongAdder totalNumberOfEventsSent = new LongAdder();
+  private volatile String lastErrorSeen;
+  private final LongAdder totalNumberOfErrorsSeen = new LongAdder();
+  private volatile StackGresStreamIndexesStatus indexesStatus;
+
+  private final Timer eventLatency;
+  private final DistributionSummary cloudEventBatchSize;
+  private final Timer cloudEventRequestSuccessDuration;
+  private final Timer cloudEventRequestErrorDuration;
+  private final Map<String, Counter> tableEventsSent = new ConcurrentHashMap<>();
+  private final Map<String, Counter> snapshotTableRecordsWritten = new ConcurrentHashMap<>();
+  private final Map<String, Timer> snapshotTableWriteDuration = new ConcurrentHashMap<>();
+  private final Map<String, AtomicReference<Number>> attributeGauges = new ConcurrentHashMap<>();
 
   @Inject
   public Metrics(MeterRegistry registry) {
     this.registry = registry;
+    Gauge.builder(STREAM_METRIC_PREFIX + "last_event_was_sent", lastEventWasSent,
+        value -> value.get() == null || value.get() ? 1 : 0)
+        .register(registry);
+    FunctionCounter.builder(STREAM_METRIC_PREFIX + "total_number_of_events_sent",
+        totalNumberOfEventsSent, LongAdder::sum)
+        .register(registry);
+    FunctionCounter.builder(STREAM_METRIC_PREFIX + "total_number_of_errors_seen",
+        totalNumberOfErrorsSeen, LongAdder::sum)
+        .register(registry);
+    this.eventLatency = Timer.builder(STREAM_METRIC_PREFIX + "event_latency")
+        .description("Time from the commit of an event in the source database to its"
+            + " acknowledgment by the target")
+        .publishPercentileHistogram()
+        .register(registry);
+    this.cloudEventBatchSize = DistributionSummary
+        .builder(STREAM_METRIC_PREFIX + "cloudevent_batch_size")
+        .description("Number of CloudEvents sent in a single request")
+        .register(registry);
+    this.cloudEventRequestSuccessDuration = cloudEventRequestDuration("success");
+    this.cloudEventRequestErrorDuration = cloudEventRequestDuration("error");
+  }
+
+  private Timer cloudEventRequestDuration(String result) {
+    return Timer.builder(STREAM_METRIC_PREFIX + "cloudevent_request_duration")
+        .description("Duration of the requests that send CloudEvents")
+        .tag("result", result)
+        .register(registry);
   }
 
   public Boolean isLastEventWasSent() {
-    return lastEventWasSent;
+    return lastEventWasSent.get();
   }
 
   public void setLastEventWasSent(Boolean lastEventWasSent) {
-    registry.gauge(STREAM_METRIC_PREFIX + "last_event_was_sent", lastEventWasSent == null || lastEventWasSent ? 1 : 0);
-    this.lastEventWasSent = lastEventWasSent;
+    this.lastEventWasSent.set(lastEventWasSent);
   }
 
   public String getLastEventSent() {
@@ -50,12 +98,11 @@ public class Metrics {
   }
 
   public long getTotalNumberOfEventsSent() {
-    return totalNumberOfEventsSent;
+    return totalNumberOfEventsSent.sum();
   }
 
   public void incrementTotalNumberOfEventsSent(int size) {
-    totalNumberOfEventsSent = totalNumberOfEventsSent + size;
-    registry.gauge(STREAM_METRIC_PREFIX + "total_number_of_events_sent", totalNumberOfEventsSent);
+    totalNumberOfEventsSent.add(size);
   }
 
   public String getLastErrorSeen() {
@@ -67,23 +114,89 @@ public class Metrics {
   }
 
   public long getTotalNumberOfErrorsSeen() {
-    return totalNumberOfErrorsSeen;
+    return totalNumberOfErrorsSeen.sum();
   }
 
   public void incrementTotalNumberOfErrorsSeen() {
-    totalNumberOfErrorsSeen = totalNumberOfErrorsSeen + 1;
-    registry.gauge(STREAM_METRIC_PREFIX + "total_number_of_errors_seen", totalNumberOfErrorsSeen);
+    totalNumberOfErrorsSeen.increment();
+  }
+
+  public StackGresStreamIndexesStatus getIndexesStatus() {
+    return indexesStatus;
+  }
+
+  public void setIndexesStatus(StackGresStreamIndexesStatus indexesStatus) {
+    this.indexesStatus = indexesStatus;
+  }
+
+  /**
+   * Record an event acknowledged by the target. The source timestamp is the time in milliseconds
+   * since the epoch the event was committed in the source database and is ignored when
+   * {@code null}.
+   */
+  public void recordEventSent(String table, Long sourceTimestamp) {
+    tableEventsSent.computeIfAbsent(table, key -> Counter
+        .builder(STREAM_METRIC_PREFIX + "table_events_sent")
+        .description("Number of events of the source table acknowledged by the target")
+        .tag("table", key)
+        .register(registry))
+        .increment();
+    if (sourceTimestamp != null) {
+      eventLatency.record(
+          Duration.ofMillis(Math.max(0L, System.currentTimeMillis() - sourceTimestamp)));
+    }
+  }
+
+  public void recordCloudEventBatchSize(int size) {
+    cloudEventBatchSize.record(size);
+  }
+
+  public void recordCloudEventRequestDuration(Duration duration, boolean success) {
+    (success ? cloudEventRequestSuccessDuration : cloudEventRequestErrorDuration)
+        .record(duration);
   }
 
+  public void recordSnapshotTableWrite(String table, int records, Duration duration) {
+    snapshotTableRecordsWritten.computeIfAbsent(table, key -> Counter
+        .builder(STREAM_METRIC_PREFIX + "snapshot_records_written")
+        .description("Number of snapshot records written to the target table")
+        .tag("table", key)
+        .register(registry))
+        .increment(records);
+    snapshotTableWriteDuration.computeIfAbsent(table, key -> Timer
+        .builder(STREAM_METRIC_PREFIX + "snapshot_write_duration")
+        .description("Duration of the writes of snapshot records to the target table")
+        .tag("table", key)
+        .register(registry))
+        .record(duration);
+  }
+
+  /**
+   * Set the value of the gauge for an attribute of the Debezium metrics. The gauge is registered
+   * the first time, named after the attribute converted to snake case.
+   */
   public void gauge(String attributeName, Number attributeValueNumber) {
-    String attributeNameNormalized = Pattern.compile(".")
-        .matcher(attributeName)
-        .results()
-        .map(result -> Tuple.tuple(result.group(), result.group().toLowerCase(Locale.US)))
-        .map(t -> t.v1.equals(t.v2) ? t.v1 : "_" + t.v2)
-        .collect(Collectors.joining())
-        .replaceAll("^_", "");
-    registry.gauge(STREAM_METRIC_PREFIX + attributeNameNormalized, attributeValueNumber);
+    attributeGauges.computeIfAbsent(attributeName, key -> {
+      final AtomicReference<Number> attributeValue = new AtomicReference<>(attributeValueNumber);
+      Gauge.builder(STREAM_METRIC_PREFIX + normalizeAttributeName(key),
+          attributeValue, value -> value.get().doubleValue())
+          .register(registry);
+      return attributeValue;
+    })
+        .set(attributeValueNumber);
+  }
+
+  static String normalizeAttributeName(String attributeName) {
+    final StringBuilder attributeNameNormalized = new StringBuilder(attributeName.length() + 8);
+    for (int index = 0; index < attributeName.length(); index++) {
+      final char character = attributeName.charAt(index);
+      final char lowerCaseCharacter = Character.toLowerCase(character);
+      if (character != lowerCaseCharacter && index > 0) {
+        attributeNameNormalized.append('_');
+      }
+      attributeNameNormalized.append(lowerCaseCharacter);
+    }
+    return attributeNameNormalized.toString();
   }
 
 }
@@ -37,6 +37,7 @@ import io.stackgres.common.resource.CustomResourceScheduler;
 import io.stackgres.common.resource.ResourceFinder;
 import io.stackgres.operatorframework.resource.ResourceUtil;
 import io.stackgres.stream.jobs.StreamDebeziumSignalActionProvider;
+import io.stackgres.stream.jobs.target.migration.postgres.IndexesRestorer;
 import io.stackgres.stream.jobs.target.migration.postgres.SnapshotHelperQueries;
 import org.hibernate.SessionFactory;
 import org.hibernate.StatelessSession;
@@ -173,6 +174,9 @@ public class TombstoneDebeziumSignalAction implements SignalAction<Partition> {
           SessionFactory sessionFactory = config.getHibernateConfiguration().buildSessionFactory();
           StatelessSession session = sessionFactory.openStatelessSession();
           ) {
+        IndexesRestorer.create(sessionFactory, sgCluster.get(), status -> { })
+            .restore()
+            .join();
         Transaction transaction = session.beginTransaction();
         try {
           session.createNativeQuery(
@@ -5,22 +5,33 @@
 
 package io.stackgres.stream.jobs.target.cloudevent;
 
+import java.io.IOException;
 import java.net.URI;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.debezium.engine.ChangeEvent;
 import io.debezium.engine.DebeziumEngine.RecordCommitter;
+import io.debezium.engine.Header;
 import io.debezium.engine.format.CloudEvents;
 import io.stackgres.common.RetryUtil;
 import io.stackgres.common.crd.sgstream.StackGresStream;
@@ -38,6 +49,7 @@ import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.jooq.lambda.Unchecked;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,10 +58,23 @@ import org.slf4j.LoggerFactory;
 @StreamTargetOperation(StreamTargetType.CLOUD_EVENT)
 public class StreamCloudEventHandler implements TargetEventHandler {
 
-  private static final String CLOUDEVENT_ID_HEADER = "ce-id";
-  private static final String CLOUDEVENT_SPECVERSION_HEADER = "ce-specversion";
-  private static final String CLOUDEVENT_TYPE_HEADER = "ce-type";
-  private static final String CLOUDEVENT_SOURCE_HEADER = "ce-source";
+  private static final String CLOUDEVENT_HEADER_PREFIX = "ce-";
+  private static final String CLOUDEVENT_KAFKA_HEADER_PREFIX = "ce_";
+  private static final String CLOUDEVENT_ID = "id";
+  private static final String CLOUDEVENT_SPECVERSION = "specversion";
+  private static final String CLOUDEVENT_TYPE = "type";
+  private static final String CLOUDEVENT_SOURCE = "source";
+  private static final String CLOUDEVENT_DEBEZIUM_SCHEMA = "iodebeziumschema";
+  private static final String CLOUDEVENT_DEBEZIUM_TABLE = "iodebeziumtable";
+  private static final String CLOUDEVENT_DEBEZIUM_TS_MS = "iodebeziumtsms";
+  private static final Set<String> CLOUDEVENT_ATTRIBUTES =
+      Set.of(CLOUDEVENT_ID, CLOUDEVENT_SPECVERSION, CLOUDEVENT_TYPE, CLOUDEVENT_SOURCE,
+          CLOUDEVENT_DEBEZIUM_SCHEMA, CLOUDEVENT_DEBEZIUM_TABLE, CLOUDEVENT_DEBEZIUM_TS_MS);
+  private static final String CLOUDEVENT_ID_HEADER = CLOUDEVENT_HEADER_PREFIX + CLOUDEVENT_ID;
+  private static final String CLOUDEVENT_SPECVERSION_HEADER =
+      CLOUDEVENT_HEADER_PREFIX + CLOUDEVENT_SPECVERSION;
+  private static final String CLOUDEVENT_TYPE_HEADER = CLOUDEVENT_HEADER_PREFIX + CLOUDEVENT_TYPE;
+  private static final String CLOUDEVENT_SOURCE_HEADER = CLOUDEVENT_HEADER_PREFIX + CLOUDEVENT_SOURCE;
   private static final List<String> CLOUDEVENT_HEADERS =
       List.of(
           CLOUDEVENT_ID_HEADER,
@@ -57,6 +82,8 @@ public class StreamCloudEventHandler implements TargetEventHandler {
           CLOUDEVENT_TYPE_HEADER,
           CLOUDEVENT_SOURCE_HEADER);
 
+  private static final String CLOUDEVENTS_BATCH_MEDIA_TYPE = "application/cloudevents-batch+json";
+
   private static final Logger LOGGER = LoggerFactory.getLogger(StreamCloudEventHandler.class);
 
   @Inject
@@ -102,21 +129,85 @@ public class StreamCloudEventHandler implements TargetEventHandler {
         .flatMap(Set::stream)
         .filter(Predicate.not(entry -> CLOUDEVENT_HEADERS.contains(entry.getKey())))
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    int batchSize = http
+        .map(StackGresStreamTargetCloudEventHttp::getBatchSize)
+        .orElse(1);
+    int maxInFlightRequests = http
+        .map(StackGresStreamTargetCloudEventHttp::getMaxInFlightRequests)
+        .orElse(1);
+    if (maxInFlightRequests > 1
+        && brokerClientBuilder instanceof ResteasyClientBuilder resteasyClientBuilder) {
+      resteasyClientBuilder
+          .connectionPoolSize(maxInFlightRequests)
+          .maxPooledPerRoute(maxInFlightRequests);
+    }
     final RetryHandler handler;
     if (retryLimit.isPresent()) {
       handler = new RetryWithLimitHandler(
           baseUri, brokerClientBuilder.build(),
           retryBackoffDelay, retryLimit.get().intValue(),
-          headers);
+          headers, batchSize, maxInFlightRequests);
     } else {
       handler = new RetryHandler(
           baseUri, brokerClientBuilder.build(),
           retryBackoffDelay,
-          headers);
+          headers, batchSize, maxInFlightRequests);
     }
     return handler;
   }
 
+  /**
+   * Extract the CloudEvent attributes used as headers and the Debezium extension attributes from
+   * the Debezium {@link ChangeEvent} headers. When the headers do not carry them (the Debezium
+   * CloudEvents converter only produces the structured content mode) only the top level fields
+   * of the event are read without building a tree of the whole event.
+   */
+  CloudEventAttributes attributes(ChangeEvent<String, String> changeEvent) throws IOException {
+    final Map<String, String> attributes = new HashMap<>(CLOUDEVENT_ATTRIBUTES.size());
+    for (Header<Object> header : changeEvent.<Object>headers()) {
+      final String key = header.getKey().toLowerCase(Locale.US);
+      if ((key.startsWith(CLOUDEVENT_HEADER_PREFIX) || key.startsWith(CLOUDEVENT_KAFKA_HEADER_PREFIX))
+          && CLOUDEVENT_ATTRIBUTES.contains(key.substring(CLOUDEVENT_HEADER_PREFIX.length()))
+          && header.getValue() != null) {
+        attributes.put(key.substring(CLOUDEVENT_HEADER_PREFIX.length()), header.getValue().toString());
+      }
+    }
+    if (attributes.size() < CLOUDEVENT_ATTRIBUTES.size()) {
+      try (JsonParser parser = jsonMapper.createParser(changeEvent.value())) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+          throw new IOException("CloudEvent is not a JSON object");
+        }
+        while (attributes.size() < CLOUDEVENT_ATTRIBUTES.size()
+            && parser.nextToken() == JsonToken.FIELD_NAME) {
+          final String field = parser.currentName();
+          final JsonToken value = parser.nextToken();
+          if (value.isScalarValue() && CLOUDEVENT_ATTRIBUTES.contains(field)) {
+            attributes.putIfAbsent(field, parser.getValueAsString());
+          } else {
+            parser.skipChildren();
+          }
+        }
+      }
+    }
+    return new CloudEventAttributes(
+        attributes.get(CLOUDEVENT_ID),
+        attributes.get(CLOUDEVENT_SPECVERSION),
+        attributes.get(CLOUDEVENT_TYPE),
+        attributes.get(CLOUDEVENT_SOURCE),
+        attributes.get(CLOUDEVENT_DEBEZIUM_SCHEMA),
+        attributes.get(CLOUDEVENT_DEBEZIUM_TABLE),
+        attributes.get(CLOUDEVENT_DEBEZIUM_TS_MS));
+  }
+
+  record CloudEventAttributes(String id, String specversion, String type, String source,
+      String debeziumSchema, String debeziumTable, String debeziumTsMs) {
+  }
+
+  record InFlightRequest(
+      List<ChangeEvent<String, String>> changeEvents,
+      CompletableFuture<String> lastEventSent) {
+  }
+
   protected class RetryWithLimitHandler extends RetryHandler {
 
     private final int retryLimit;
@@ -126,17 +217,20 @@ public class StreamCloudEventHandler implements TargetEventHandler {
         Client brokerClient,
         int retryBackoffDelay,
         int retryLimit,
-        Map<String, String> headers) {
-      super(baseUri, brokerClient, retryBackoffDelay, headers);
+        Map<String, String> headers,
+        int batchSize,
+        int maxInFlightRequests) {
+      super(baseUri, brokerClient, retryBackoffDelay, headers, batchSize, maxInFlightRequests);
       this.retryLimit = retryLimit;
     }
 
     @Override
-    protected void consumeEvent(ChangeEvent<String, String> changeEvent) {
-      RetryUtil.retryWithLimit(() -> sendCloudEvent(changeEvent), ex -> true,
+    protected String consumeBatch(List<ChangeEvent<String, String>> changeEvents) {
+      return RetryUtil.retryWithLimit(() -> sendCloudEvents(changeEvents),
+          ex -> !Thread.currentThread().isInterrupted(),
           retryLimit, retryBackoffDelay, retryBackoffDelay, retryBackoffDelay);
     }
-    
+
   }
 
   protected class RetryHandler implements TargetEventConsumer<String> {
@@ -144,58 +238,150 @@ public class StreamCloudEventHandler implements TargetEventHandler {
     final Client brokerClient;
     final int retryBackoffDelay;
     final Map<String, String> headers;
+    final int batchSize;
+    final int maxInFlightRequests;
+    final ThreadFactory senderThreadFactory;
 
     RetryHandler(
         URI baseUri,
         Client brokerClient,
         int retryBackoffDelay,
-        Map<String, String> headers) {
+        Map<String, String> headers,
+        int batchSize,
+        int maxInFlightRequests) {
       this.baseUri = baseUri;
       this.brokerClient = brokerClient;
       this.retryBackoffDelay = retryBackoffDelay;
       this.headers = headers;
+      this.batchSize = batchSize;
+      this.maxInFlightRequests = maxInFlightRequests;
+      this.senderThreadFactory = Thread.ofVirtual().name("CloudEventSender-", 0).factory();
     }
 
+    /**
+     * Send the events in requests of up to batch size events keeping up to max in flight
+     * requests running concurrently. Events are marked as processed in order and only after
+     * the request that sent them and all the previous requests succeeded. When a request fails
+     * the requests still in flight are interrupted and waited for so that they do not keep
+     * sending events while the failed events are retried.
+     */
     @Override
     public void consumeEvents(
         List<ChangeEvent<String, String>> changeEvents,
         RecordCommitter<ChangeEvent<String, String>> committer) {
-      for (var changeEvent : changeEvents) {
-        consumeEvent(changeEvent);
-        Unchecked.runnable(() -> committer.markProcessed(changeEvent)).run();
+      final Deque<InFlightRequest> inFlightRequests = new ArrayDeque<>(maxInFlightRequests);
+      final ExecutorService executor = maxInFlightRequests > 1
+          ? Executors.newThreadPerTaskExecutor(senderThreadFactory)
+          : null;
+      try {
+        for (int index = 0; index < changeEvents.size(); index += batchSize) {
+          if (inFlightRequests.size() >= maxInFlightRequests) {
+            markProcessed(inFlightRequests.removeFirst(), committer);
+          }
+          var batch = changeEvents.subList(index, Math.min(index + batchSize, changeEvents.size()));
+          inFlightRequests.addLast(new InFlightRequest(batch, send(batch, executor)));
+        }
+        while (!inFlightRequests.isEmpty()) {
+          markProcessed(inFlightRequests.removeFirst(), committer);
+        }
+      } finally {
+        if (executor != null) {
+          executor.shutdownNow();
+          executor.close();
+        }
       }
       Unchecked.runnable(() -> committer.markBatchFinished()).run();
     }
 
-    protected void consumeEvent(ChangeEvent<String, String> changeEvent) {
-      RetryUtil.retry(() -> sendCloudEvent(changeEvent), ex -> true,
+    @Override
+    public void close() {
+      brokerClient.close();
+    }
+
+    private CompletableFuture<String> send(
+        List<ChangeEvent<String, String>> changeEvents,
+        ExecutorService executor) {
+      metrics.recordCloudEventBatchSize(changeEvents.size());
+      if (executor == null) {
+        return CompletableFuture.completedFuture(consumeBatch(changeEvents));
+      }
+      return CompletableFuture.supplyAsync(() -> consumeBatch(changeEvents), executor);
+    }
+
+    private void markProcessed(
+        InFlightRequest inFlightRequest,
+        RecordCommitter<ChangeEvent<String, String>> committer) {
+      final String lastEventSent;
+      try {
+        lastEventSent = inFlightRequest.lastEventSent().join();
+      } catch (CompletionException ex) {
+        if (ex.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw ex;
+      }
+      for (var changeEvent : inFlightRequest.changeEvents()) {
+        Unchecked.runnable(() -> committer.markProcessed(changeEvent)).run();
+        recordEventSent(changeEvent);
+      }
+      metrics.incrementTotalNumberOfEventsSent(inFlightRequest.changeEvents().size());
+      metrics.setLastEventSent(lastEventSent);
+      metrics.setLastEventWasSent(true);
+    }
+
+    private void recordEventSent(ChangeEvent<String, String> changeEvent) {
+      final CloudEventAttributes attributes =
+          Unchecked.supplier(() -> attributes(changeEvent)).get();
+      metrics.recordEventSent(
+          attributes.debeziumTable() != null
+          ? attributes.debeziumSchema() + "." + attributes.debeziumTable()
+          : attributes.source(),
+          Optional.ofNullable(attributes.debeziumTsMs())
+          .filter(tsMs -> !tsMs.isEmpty() && tsMs.chars().allMatch(Character::isDigit))
+          .map(Long::valueOf)
+          .orElse(null));
+    }
+
+    protected String consumeBatch(List<ChangeEvent<String, String>> changeEvents) {
+      return RetryUtil.retry(() -> sendCloudEvents(changeEvents),
+          ex -> !Thread.currentThread().isInterrupted(),
           retryBackoffDelay * 10 / 100, retryBackoffDelay, retryBackoffDelay * 10 / 100);
     }
 
-    void sendCloudEvent(ChangeEvent<String, String> changeEvent) {
+    String sendCloudEvents(List<ChangeEvent<String, String>> changeEvents) {
+      final long start = System.nanoTime();
+      boolean success = false;
       try {
-        JsonNode recordNode = jsonMapper.readTree(changeEvent.value());
-        LOGGER.trace("ChangeEvent: id:{} specversion:{} type:{}, source:{}",
-            recordNode.get("id").asText(), recordNode.get("specversion").asText(),
-            recordNode.get("type").asText(), recordNode.get("source").asText());
         Invocation.Builder invocationBuilder = brokerClient.target(baseUri).request();
         headers.forEach(invocationBuilder::header);
-        invocationBuilder
-            .header(CLOUDEVENT_ID_HEADER, recordNode.get("id").asText())
-            .header(CLOUDEVENT_SPECVERSION_HEADER, recordNode.get("specversion").asText())
-            .header(CLOUDEVENT_TYPE_HEADER, recordNode.get("type").asText())
-            .header(CLOUDEVENT_SOURCE_HEADER, recordNode.get("source").asText());
-        Response response = invocationBuilder
-            .post(Entity.json(changeEvent.value()));
-        if (response.getStatus() != 200) {
-          metrics.incrementTotalNumberOfErrorsSeen();
-          metrics.setLastEventWasSent(false);
-          throw new RuntimeException("Error " + response.getStatus()
-              + (response.isClosed() || !response.hasEntity() ? "" : ": " + response.readEntity(String.class)));
+        final CloudEventAttributes lastAttributes =
+            attributes(changeEvents.get(changeEvents.size() - 1));
+        final Entity<String> entity;
+        if (batchSize > 1) {
+          LOGGER.trace("ChangeEvents: {} up to id:{}", changeEvents.size(), lastAttributes.id());
+          entity = Entity.entity(changeEvents.stream()
+              .map(ChangeEvent::value)
+              .collect(Collectors.joining(",", "[", "]")), CLOUDEVENTS_BATCH_MEDIA_TYPE);
+        } else {
+          LOGGER.trace("ChangeEvent: id:{} specversion:{} type:{}, source:{}",
+              lastAttributes.id(), lastAttributes.specversion(),
+              lastAttributes.type(), lastAttributes.source());
+          invocationBuilder
+              .header(CLOUDEVENT_ID_HEADER, lastAttributes.id())
+              .header(CLOUDEVENT_SPECVERSION_HEADER, lastAttributes.specversion())
+              .header(CLOUDEVENT_TYPE_HEADER, lastAttributes.type())
+              .header(CLOUDEVENT_SOURCE_HEADER, lastAttributes.source());
+          entity = Entity.json(changeEvents.get(0).value());
         }
-        metrics.incrementTotalNumberOfEventsSent(1);
-        metrics.setLastEventSent(recordNode.get("id").asText());
-        metrics.setLastEventWasSent(true);
+        try (Response response = invocationBuilder.post(entity)) {
+          if (Response.Status.Family.familyOf(response.getStatus())
+              != Response.Status.Family.SUCCESSFUL) {
+            throw new RuntimeException("Error " + response.getStatus()
+                + (response.isClosed() || !response.hasEntity() ? "" : ": " + response.readEntity(String.class)));
+          }
+        }
+        success = true;
+        return lastAttributes.id();
       } catch (RuntimeException ex) {
         metrics.incrementTotalNumberOfErrorsSeen();
         metrics.setLastEventWasSent(false);
@@ -204,9 +390,10 @@ public class StreamCloudEventHandler implements TargetEventHandler {
         metrics.incrementTotalNumberOfErrorsSeen();
         metrics.setLastEventWasSent(false);
         throw new RuntimeException(ex);
+      } finally {
+        metrics.recordCloudEventRequestDuration(Duration.ofNanos(System.nanoTime() - start), success);
       }
     }
   }
 
 }
-
@@ -0,0 +1,336 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import io.debezium.connector.jdbc.JdbcChangeEventSink;
+import io.debezium.connector.jdbc.JdbcKafkaSinkRecord;
+import io.debezium.connector.jdbc.JdbcSinkConnectorConfig;
+import io.debezium.connector.jdbc.JdbcSinkRecord;
+import io.debezium.connector.jdbc.ValueBindDescriptor;
+import io.debezium.connector.jdbc.relational.TableDescriptor;
+import io.debezium.metadata.CollectionId;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.hibernate.JDBCException;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write the records of the snapshot of a table with a {@code COPY ... FROM STDIN} statement in
+ * the text format. The text of each value is obtained from the value bound by the type of the
+ * dialect so that it is read by the same input function of the column type that the cast of the
+ * {@code INSERT} statement would use. Records that can not be copied, like deletes or records of
+ * tables that have to be created or altered or that have values bound with functions, and batches
+ * that fail to be copied, like when rows already exist, are written by the JDBC sink instead.
+ */
+class CopySnapshotWriter implements SnapshotWriters.SnapshotWriter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CopySnapshotWriter.class);
+
+  private static final int FLUSH_SIZE = 1 << 16;
+
+  private final JdbcSinkConnectorConfig config;
+  private final StatelessSession session;
+  private final EnhanchedPostgresDatabaseDialect dialect;
+  private final JdbcChangeEventSink changeEventSink;
+  private final Map<CollectionId, TableDescriptor> tables = new HashMap<>();
+  private final Set<CollectionId> notCopiedTables = new HashSet<>();
+
+  CopySnapshotWriter(
+      JdbcSinkConnectorConfig config,
+      StatelessSession session,
+      EnhanchedPostgresDatabaseDialect dialect,
+      JdbcChangeEventSink changeEventSink) {
+    this.config = config;
+    this.session = session;
+    this.dialect = dialect;
+    this.changeEventSink = changeEventSink;
+  }
+
+  @Override
+  public void write(List<SinkRecord> records) {
+    final List<JdbcSinkRecord> sinkRecords = records.stream()
+        .<JdbcSinkRecord>map(record -> new JdbcKafkaSinkRecord(
+            record,
+            config.getPrimaryKeyMode(),
+            config.getPrimaryKeyFields(),
+            config.getFieldFilter(),
+            dialect))
+        .toList();
+    final Optional<String> copyStatement = getCopyStatement(sinkRecords);
+    if (copyStatement.isEmpty()) {
+      changeEventSink.execute(records);
+      return;
+    }
+    final Transaction transaction = session.beginTransaction();
+    try {
+      session.doWork(connection -> copy(connection, copyStatement.get(), sinkRecords));
+      transaction.commit();
+    } catch (JDBCException ex) {
+      transaction.rollback();
+      LOGGER.warn("Error while copying snapshot records to target database, inserting them instead",
+          ex);
+      changeEventSink.execute(records);
+    } catch (RuntimeException ex) {
+      transaction.rollback();
+      throw ex;
+    }
+  }
+
+  private Optional<String> getCopyStatement(List<JdbcSinkRecord> records) {
+    if (records.stream().anyMatch(record -> record.isTombstone()
+        || record.isDelete()
+        || record.isTruncate()
+        || record.isSchemaChange())) {
+      return Optional.empty();
+    }
+    final Optional<CollectionId> collectionId =
+        changeEventSink.getCollectionIdFromRecord(records.getFirst());
+    if (collectionId.isEmpty() || notCopiedTables.contains(collectionId.get())) {
+      return Optional.empty();
+    }
+    final TableDescriptor table = getTable(collectionId.get());
+    if (table == null
+        || !dialect.resolveMissingFields(records.getFirst(), table).isEmpty()) {
+      // The JDBC sink will create or alter the table
+      tables.remove(collectionId.get());
+      return Optional.empty();
+    }
+    final Optional<String> copyStatement = dialect.getCopyStatement(table, records.getFirst());
+    if (copyStatement.isEmpty()) {
+      LOGGER.info("Snapshot records of table {} can not be copied, inserting them instead",
+          collectionId.get().toFullIdentiferString());
+      notCopiedTables.add(collectionId.get());
+      return Optional.empty();
+    }
+    if (records.stream().skip(1)
+        .map(record -> dialect.getCopyStatement(table, record))
+        .allMatch(copyStatement::equals)) {
+      return copyStatement;
+    }
+    return Optional.empty();
+  }
+
+  private TableDescriptor getTable(CollectionId collectionId) {
+    return tables.computeIfAbsent(collectionId, id -> session.doReturningWork(connection -> {
+      if (!dialect.tableExists(connection, id)) {
+        return null;
+      }
+      return dialect.readTable(connection, id);
+    }));
+  }
+
+  private void copy(Connection connection, String copyStatement, List<JdbcSinkRecord> records)
+      throws SQLException {
+    LOGGER.trace("SQL: {}", copyStatement);
+    final CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copyStatement);
+    try {
+      final StringBuilder rows = new StringBuilder();
+      for (JdbcSinkRecord record : records) {
+        appendRow(rows, record);
+        if (rows.length() >= FLUSH_SIZE) {
+          writeToCopy(copyIn, rows);
+        }
+      }
+      writeToCopy(copyIn, rows);
+      copyIn.endCopy();
+    } catch (SQLException | RuntimeException ex) {
+      if (copyIn.isActive()) {
+        try {
+          copyIn.cancelCopy();
+        } catch (SQLException cancelEx) {
+          ex.addSuppressed(cancelEx);
+        }
+      }
+      throw ex;
+    }
+  }
+
+  private void writeToCopy(CopyIn copyIn, StringBuilder rows) throws SQLException {
+    final byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    rows.setLength(0);
+  }
+
+  // Sync the code below with the code of the methods
+  // io.debezium.connector.jdbc.RecordWriter.bindKeyValuesToQuery(...)
+  // io.debezium.connector.jdbc.RecordWriter.bindNonKeyValuesToQuery(...)
+  private void appendRow(StringBuilder rows, JdbcSinkRecord record) throws SQLException {
+    boolean first = true;
+    final Struct keyStruct = record.getKeyStruct(config.getPrimaryKeyMode());
+    if (keyStruct == null && !record.keyFieldNames().isEmpty()) {
+      throw new SQLException("Record has no key and can not be copied");
+    }
+    for (String fieldName : record.keyFieldNames()) {
+      first = appendField(rows, record, keyStruct, fieldName, first);
+    }
+    final Struct payload = record.getPayload();
+    for (String fieldName : record.getNonKeyFieldNames()) {
+      first = appendField(rows, record, payload, fieldName, first);
+    }
+    rows.append('\n');
+  }
+
+  private boolean appendField(StringBuilder rows, JdbcSinkRecord record, Struct source,
+      String fieldName, boolean first) throws SQLException {
+    if (!first) {
+      rows.append('\t');
+    }
+    final JdbcSinkRecord.FieldDescriptor field = record.allFields().get(fieldName);
+    final Object value = field.getSchema().isOptional()
+        ? source.getWithoutDefault(fieldName) : source.get(fieldName);
+    final List<ValueBindDescriptor> boundValues = dialect.bindValue(field, 1, value);
+    if (boundValues.size() != 1) {
+      throw new SQLException("Field " + fieldName + " is bound to " + boundValues.size()
+          + " values and can not be copied");
+    }
+    appendValue(rows, boundValues.getFirst().getValue());
+    return false;
+  }
+
+  /**
+   * Append the value in the text format of {@code COPY}.
+   */
+  static void appendValue(StringBuilder rows, Object value) throws SQLException {
+    if (value == null) {
+      rows.append("\\N");
+      return;
+    }
+    final String text = toText(value);
+    for (int index = 0; index < text.length(); index++) {
+      final char character = text.charAt(index);
+      switch (character) {
+        case '\\' -> rows.append("\\\\");
+        case '\n' -> rows.append("\\n");
+        case '\r' -> rows.append("\\r");
+        case '\t' -> rows.append("\\t");
+        default -> rows.append(character);
+      }
+    }
+  }
+
+  private static String toText(Object value) throws SQLException {
+    if (value instanceof String string) {
+      return string;
+    }
+    if (value instanceof Boolean bool) {
+      return bool ? "t" : "f";
+    }
+    if (value instanceof BigDecimal decimal) {
+      return decimal.toPlainString();
+    }
+    if (value instanceof Number
+        || value instanceof Character
+        || value instanceof UUID) {
+      return value.toString();
+    }
+    if (value instanceof java.sql.Date date) {
+      return DateTimeFormatter.ISO_LOCAL_DATE.format(date.toLocalDate());
+    }
+    if (value instanceof java.sql.Time time) {
+      return DateTimeFormatter.ISO_LOCAL_TIME.format(time.toLocalTime());
+    }
+    if (value instanceof java.sql.Timestamp timestamp) {
+      return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp.toLocalDateTime());
+    }
+    if (value instanceof java.util.Date date) {
+      // Date#toString() uses a format the input functions of date and time types can not read
+      return DateTimeFormatter.ISO_INSTANT.format(date.toInstant());
+    }
+    if (value instanceof byte[] bytes) {
+      return "\\x" + HexFormat.of().formatHex(bytes);
+    }
+    if (value instanceof ByteBuffer buffer) {
+      final byte[] bytes = new byte[buffer.remaining()];
+      buffer.duplicate().get(bytes);
+      return "\\x" + HexFormat.of().formatHex(bytes);
+    }
+    if (value instanceof ZonedDateTime || value instanceof OffsetDateTime) {
+      return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format((Temporal) value);
+    }
+    if (value instanceof LocalDateTime localDateTime) {
+      return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(localDateTime);
+    }
+    if (value instanceof Temporal) {
+      return value.toString();
+    }
+    if (value instanceof Collection<?> collection) {
+      final StringBuilder array = new StringBuilder();
+      appendArray(array, collection);
+      return array.toString();
+    }
+    throw new SQLException("Value of type " + value.getClass().getName() + " can not be copied");
+  }
+
+  /**
+   * Append the collection as an array literal. Nested collections are appended as nested array
+   * literals, without quoting them, so that they are read as the dimensions of a multidimensional
+   * array instead of as text elements.
+   */
+  private static void appendArray(StringBuilder array, Collection<?> collection)
+      throws SQLException {
+    array.append('{');
+    boolean first = true;
+    for (Object element : collection) {
+      if (!first) {
+        array.append(',');
+      }
+      first = false;
+      if (element == null) {
+        array.append("NULL");
+        continue;
+      }
+      if (element instanceof Collection<?> nestedCollection) {
+        appendArray(array, nestedCollection);
+        continue;
+      }
+      array.append('"');
+      final String elementText = toText(element);
+      for (int index = 0; index < elementText.length(); index++) {
+        final char character = elementText.charAt(index);
+        if (character == '"' || character == '\\') {
+          array.append('\\');
+        }
+        array.append(character);
+      }
+      array.append('"');
+    }
+    array.append('}');
+  }
+
+  @Override
+  public void close() {
+    changeEventSink.close();
+    if (session.isOpen()) {
+      session.close();
+    }
+  }
+
+}
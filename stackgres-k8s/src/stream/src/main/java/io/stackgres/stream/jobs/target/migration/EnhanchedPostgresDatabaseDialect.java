@@ -7,9 +7,15 @@ package io.stackgres.stream.jobs.target.migration;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import io.debezium.connector.jdbc.JdbcSinkConnectorConfig;
+import io.debezium.connector.jdbc.JdbcSinkRecord;
+import io.debezium.connector.jdbc.dialect.SqlStatementBuilder;
 import io.debezium.connector.jdbc.relational.ColumnDescriptor;
+import io.debezium.connector.jdbc.relational.TableDescriptor;
 import io.debezium.connector.jdbc.type.Type;
 import io.stackgres.stream.jobs.target.migration.dialect.postgres.PostgresDatabaseDialect;
 import org.apache.kafka.connect.data.Schema;
@@ -17,6 +23,9 @@ import org.hibernate.SessionFactory;
 
 public class EnhanchedPostgresDatabaseDialect extends PostgresDatabaseDialect {
 
+  private static final Pattern COPY_QUERY_BINDING_PATTERN =
+      Pattern.compile("\\?(::[^?]+)?|cast\\(\\? as [^?]+\\)");
+
   public EnhanchedPostgresDatabaseDialect(
       JdbcSinkConnectorConfig config,
       SessionFactory sessionFactory) {
@@ -56,4 +65,26 @@ public class EnhanchedPostgresDatabaseDialect extends PostgresDatabaseDialect {
     return queryBindingWithValueCast;
   }
 
+  /**
+   * Return the {@code COPY ... FROM STDIN} statement that writes the record in the text format.
+   * The statement is not returned when any of the values is bound with an expression other than
+   * a cast (like the PostGIS types) since the text of a value is read only with the input
+   * function of the column type.
+   */
+  public Optional<String> getCopyStatement(TableDescriptor table, JdbcSinkRecord record) {
+    if (Stream.concat(record.keyFieldNames().stream(), record.getNonKeyFieldNames().stream())
+        .map(name -> columnQueryBindingFromField(name, table, record))
+        .anyMatch(binding -> !COPY_QUERY_BINDING_PATTERN.matcher(binding).matches())) {
+      return Optional.empty();
+    }
+    final SqlStatementBuilder builder = new SqlStatementBuilder();
+    builder.append("COPY ");
+    builder.append(getQualifiedTableName(table.getId()));
+    builder.append(" (");
+    builder.appendLists(",", record.keyFieldNames(), record.getNonKeyFieldNames(),
+        (name) -> columnNameFromField(name, record));
+    builder.append(") FROM STDIN");
+    return Optional.of(builder.build());
+  }
+
 }
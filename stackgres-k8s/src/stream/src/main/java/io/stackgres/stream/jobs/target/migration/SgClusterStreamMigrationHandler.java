@@ -15,6 +15,7 @@ import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import io.debezium.connector.AbstractSourceInfo;
 import io.debezium.connector.jdbc.JdbcChangeEventSink;
 import io.debezium.connector.jdbc.JdbcSinkConnectorConfig;
 import io.debezium.connector.jdbc.QueryBinderResolver;
@@ -22,6 +23,7 @@ import io.debezium.connector.jdbc.RecordWriter;
 import io.debezium.connector.jdbc.dialect.DatabaseDialect;
 import io.debezium.connector.jdbc.dialect.DatabaseDialectResolver;
 import io.debezium.connector.jdbc.dialect.postgres.PostgresDatabaseDialect;
+import io.debezium.data.Envelope;
 import io.debezium.embedded.Connect;
 import io.debezium.engine.ChangeEvent;
 import io.debezium.engine.DebeziumEngine.RecordCommitter;
@@ -32,6 +34,8 @@ import io.fabric8.kubernetes.api.model.Secret;
 import io.stackgres.common.PatroniUtil;
 import io.stackgres.common.crd.SecretKeySelector;
 import io.stackgres.common.crd.sgstream.StackGresStream;
+import io.stackgres.common.crd.sgstream.StackGresStreamSourcePostgres;
+import io.stackgres.common.crd.sgstream.StackGresStreamSourcePostgresDebeziumProperties;
 import io.stackgres.common.crd.sgstream.StackGresStreamSourceSgCluster;
 import io.stackgres.common.crd.sgstream.StackGresStreamTargetJdbcSinkDebeziumProperties;
 import io.stackgres.common.crd.sgstream.StackGresStreamTargetSgCluster;
@@ -48,10 +52,12 @@ import io.stackgres.stream.jobs.StreamTargetOperation;
 import io.stackgres.stream.jobs.TargetEventConsumer;
 import io.stackgres.stream.jobs.TargetEventHandler;
 import io.stackgres.stream.jobs.source.SgClusterDebeziumEngineHandler;
+import io.stackgres.stream.jobs.target.migration.postgres.IndexesRestorer;
 import io.stackgres.stream.jobs.target.migration.postgres.SnapshotHelperQueries;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.hibernate.SessionFactory;
@@ -111,6 +117,9 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
     SessionFactory sessionFactory;
     StatelessSession session;
     DatabaseDialect databaseDialect;
+    JdbcSinkConnectorConfig config;
+    SnapshotWriters snapshotWriters;
+    IndexesRestorer indexesRestorer;
     long counter = 0L;
     long lastLsn = 0L;
 
@@ -173,7 +182,7 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
               clusterName,
               clusterPort,
               clusterDatabase));
-      final JdbcSinkConnectorConfig config = new JdbcSinkConnectorConfig(props
+      config = new JdbcSinkConnectorConfig(props
           .entrySet()
           .stream()
           .map(e -> Map.entry(e.getKey().toString(), e.getValue().toString()))
@@ -202,6 +211,12 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
 
     @Override
     public void close() throws Exception {
+      if (indexesRestorer != null) {
+        indexesRestorer.cancel();
+      }
+      if (snapshotWriters != null) {
+        snapshotWriters.close();
+      }
       if (changeEventSink != null) {
         changeEventSink.close();
       }
@@ -221,7 +236,72 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
       return databaseDialect;
     }
 
-    
+    private SnapshotWriters snapshotWriters() {
+      if (snapshotWriters == null) {
+        final int parallelism = Optional.ofNullable(stream.getSpec().getTarget().getSgCluster())
+            .map(StackGresStreamTargetSgCluster::getSnapshotParallelism)
+            .or(() -> sourceDebeziumProperties()
+                .map(StackGresStreamSourcePostgresDebeziumProperties::getSnapshotMaxThreads))
+            .orElse(1);
+        LOGGER.info("Writing snapshot to target database using {} sessions", parallelism);
+        snapshotWriters = new SnapshotWriters(
+            parallelism,
+            this::createSnapshotWriter,
+            sinkRecord -> tableName(sinkRecord.topic()),
+            metrics);
+      }
+      return snapshotWriters;
+    }
+
+    private String tableName(String topic) {
+      final String topicPrefix = SgClusterDebeziumEngineHandler.topicPrefix(stream) + ".";
+      return topic.startsWith(topicPrefix) ? topic.substring(topicPrefix.length()) : topic;
+    }
+
+    private void recordEventsSent(List<ChangeEvent<SourceRecord, SourceRecord>> changeEvents) {
+      for (var changeEvent : changeEvents) {
+        final SourceRecord sourceRecord = changeEvent.value();
+        metrics.recordEventSent(
+            tableName(sourceRecord.topic()),
+            Optional.ofNullable(sourceRecord.value())
+            .filter(Struct.class::isInstance)
+            .map(Struct.class::cast)
+            .filter(value -> value.schema().field(Envelope.FieldName.SOURCE) != null)
+            .map(value -> value.getStruct(Envelope.FieldName.SOURCE))
+            .filter(source -> source.schema().field(AbstractSourceInfo.TIMESTAMP_KEY) != null)
+            .map(source -> source.getInt64(AbstractSourceInfo.TIMESTAMP_KEY))
+            .orElse(null));
+      }
+    }
+
+    private Optional<StackGresStreamSourcePostgresDebeziumProperties> sourceDebeziumProperties() {
+      return Optional.ofNullable(stream.getSpec().getSource().getSgCluster())
+          .filter(sgCluster -> Objects.equals(
+              stream.getSpec().getSource().getType(),
+              StreamSourceType.SGCLUSTER.toString()))
+          .map(StackGresStreamSourceSgCluster::getDebeziumProperties)
+          .or(() -> Optional.ofNullable(stream.getSpec().getSource().getPostgres())
+              .filter(postgres -> Objects.equals(
+                  stream.getSpec().getSource().getType(),
+                  StreamSourceType.POSTGRES.toString()))
+              .map(StackGresStreamSourcePostgres::getDebeziumProperties));
+    }
+
+    private SnapshotWriters.SnapshotWriter createSnapshotWriter() {
+      final StatelessSession writerSession = sessionFactory.openStatelessSession();
+      final DatabaseDialect writerDatabaseDialect = resolveDatabaseDialect(config, sessionFactory);
+      final JdbcChangeEventSink writerChangeEventSink = new JdbcChangeEventSink(
+          config, writerSession, writerDatabaseDialect,
+          new RecordWriter(writerSession, new QueryBinderResolver(), config, writerDatabaseDialect));
+      if (writerDatabaseDialect instanceof EnhanchedPostgresDatabaseDialect postgresDatabaseDialect
+          && !Optional.ofNullable(stream.getSpec().getTarget().getSgCluster())
+          .map(StackGresStreamTargetSgCluster::getSkipSnapshotCopy)
+          .orElse(false)) {
+        return new CopySnapshotWriter(
+            config, writerSession, postgresDatabaseDialect, writerChangeEventSink);
+      }
+      return new JdbcSnapshotWriter(writerSession, writerChangeEventSink);
+    }
 
     @Override
     public void consumeEvents(
@@ -249,16 +329,21 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
               .orElse(false)) {
             snapshot = false;
             if (!sinkRecords.isEmpty()) {
-              changeEventSink.execute(sinkRecords);
+              snapshotWriters().write(sinkRecords);
               for (var committedChangeEvent : committedChangeEvents) {
                 Unchecked.runnable(() -> committer.markProcessed(committedChangeEvent)).run();
               }
+              recordEventsSent(committedChangeEvents);
               metrics.incrementTotalNumberOfEventsSent(sinkRecords.size());
               metrics.setLastEventSent(lastSourceOffset);
               metrics.setLastEventWasSent(true);
             }
             sinkRecords.clear();
             committedChangeEvents.clear();
+            if (snapshotWriters != null) {
+              snapshotWriters.close();
+              snapshotWriters = null;
+            }
             restoreIndexes();
           }
           String sourceOffset = sourceRecord.sourceOffset()
@@ -289,11 +374,16 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
           committedChangeEvents.add(changeEvent);
           lastSourceOffset = sourceOffset;
         }
-        changeEventSink.execute(sinkRecords);
+        if (snapshot) {
+          snapshotWriters().write(sinkRecords);
+        } else {
+          changeEventSink.execute(sinkRecords);
+        }
         for (var committedChangeEvent : committedChangeEvents) {
           Unchecked.runnable(() -> committer.markProcessed(committedChangeEvent)).run();
         }
         Unchecked.runnable(() -> committer.markBatchFinished()).run();
+        recordEventsSent(committedChangeEvents);
         metrics.incrementTotalNumberOfEventsSent(sinkRecords.size());
         metrics.setLastEventSent(lastSourceOffset);
         metrics.setLastEventWasSent(true);
@@ -432,9 +522,36 @@ public class SgClusterStreamMigrationHandler implements TargetEventHandler {
     }
 
     private void restoreIndexesSgCluster() {
-      LOGGER.info("Restore indexes for target database");
-      executeCommand(session, SnapshotHelperQueries.RESTORE_INDEXES.readSql());
+      LOGGER.info("Restore indexes for target database in background");
+      indexesRestorer = IndexesRestorer.create(
+          sessionFactory, stream.getSpec().getTarget().getSgCluster(), metrics::setIndexesStatus);
+      indexesRestorer.restore();
+    }
+  }
+
+  static class JdbcSnapshotWriter implements SnapshotWriters.SnapshotWriter {
+
+    private final StatelessSession session;
+    private final JdbcChangeEventSink changeEventSink;
+
+    JdbcSnapshotWriter(StatelessSession session, JdbcChangeEventSink changeEventSink) {
+      this.session = session;
+      this.changeEventSink = changeEventSink;
     }
+
+    @Override
+    public void write(List<SinkRecord> records) {
+      changeEventSink.execute(records);
+    }
+
+    @Override
+    public void close() {
+      changeEventSink.close();
+      if (session.isOpen()) {
+        session.close();
+      }
+    }
+
   }
 
   private String getSecretKeyValue(String namespace, String secretName, String secretKey) {
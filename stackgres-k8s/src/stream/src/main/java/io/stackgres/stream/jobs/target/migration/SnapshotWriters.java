@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import io.stackgres.stream.jobs.Metrics;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write the records of the snapshot using a pool of writers, each with its own session. The
+ * records of a table are always written by the same writer, in order, while the records of
+ * different tables are written concurrently. A call to {@link #write(List)} returns only after
+ * all the records have been written so that they can be marked as processed.
+ */
+class SnapshotWriters implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotWriters.class);
+
+  private final List<SnapshotWriter> writers;
+  private final Function<SinkRecord, String> tableNameResolver;
+  private final Metrics metrics;
+  private final ExecutorService executor;
+
+  SnapshotWriters(
+      int parallelism,
+      Supplier<SnapshotWriter> writerFactory,
+      Function<SinkRecord, String> tableNameResolver,
+      Metrics metrics) {
+    this.writers = new ArrayList<>(parallelism);
+    try {
+      IntStream.range(0, parallelism).forEach(index -> writers.add(writerFactory.get()));
+    } catch (RuntimeException ex) {
+      closeWriters(ex);
+      throw ex;
+    }
+    this.tableNameResolver = tableNameResolver;
+    this.metrics = metrics;
+    this.executor = Executors.newFixedThreadPool(parallelism,
+        r -> new Thread(r, "SnapshotWriter"));
+  }
+
+  void write(List<SinkRecord> records) {
+    final Map<String, List<SinkRecord>> recordsByTable = new LinkedHashMap<>();
+    for (SinkRecord record : records) {
+      recordsByTable.computeIfAbsent(tableNameResolver.apply(record), table -> new ArrayList<>())
+          .add(record);
+    }
+    final List<List<Map.Entry<String, List<SinkRecord>>>> tablesByWriter = new ArrayList<>();
+    writers.forEach(writer -> tablesByWriter.add(new ArrayList<>()));
+    recordsByTable.entrySet().forEach(tableRecords -> tablesByWriter
+        .get(Math.floorMod(tableRecords.getKey().hashCode(), writers.size()))
+        .add(tableRecords));
+    final List<CompletableFuture<Void>> futures = IntStream.range(0, writers.size())
+        .filter(index -> !tablesByWriter.get(index).isEmpty())
+        .mapToObj(index -> CompletableFuture.runAsync(
+            () -> write(writers.get(index), tablesByWriter.get(index)), executor))
+        .toList();
+    RuntimeException exception = null;
+    for (CompletableFuture<Void> future : futures) {
+      try {
+        future.join();
+      } catch (CompletionException ex) {
+        final RuntimeException cause = ex.getCause() instanceof RuntimeException rex
+            ? rex : ex;
+        if (exception == null) {
+          exception = cause;
+        } else {
+          exception.addSuppressed(cause);
+        }
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  private void write(SnapshotWriter writer, List<Map.Entry<String, List<SinkRecord>>> tables) {
+    for (var tableRecords : tables) {
+      final long start = System.nanoTime();
+      writer.write(tableRecords.getValue());
+      metrics.recordSnapshotTableWrite(tableRecords.getKey(), tableRecords.getValue().size(),
+          Duration.ofNanos(System.nanoTime() - start));
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+    closeWriters(null);
+  }
+
+  private void closeWriters(RuntimeException ex) {
+    for (SnapshotWriter writer : writers) {
+      try {
+        writer.close();
+      } catch (RuntimeException closeEx) {
+        if (ex != null) {
+          ex.addSuppressed(closeEx);
+        } else {
+          LOGGER.warn("Error while closing snapshot writer", closeEx);
+        }
+      }
+    }
+  }
+
+  interface SnapshotWriter extends AutoCloseable {
+
+    void write(List<SinkRecord> records);
+
+    @Override
+    void close();
+
+  }
+
+}
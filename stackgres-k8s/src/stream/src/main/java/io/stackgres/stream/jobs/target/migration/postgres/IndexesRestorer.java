@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration.postgres;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import io.stackgres.common.crd.sgstream.StackGresStreamIndexesStatus;
+import io.stackgres.common.crd.sgstream.StackGresStreamTargetSgCluster;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Restore the indexes stored in the {@code __migration__.indexes} table using concurrent sessions.
+ * Each session claims the index of the largest table that no other session is restoring, keeping
+ * the claim in a transaction of one connection while the index is created with
+ * {@code CREATE INDEX CONCURRENTLY} in another connection, so that writes to the table are not
+ * blocked. The index is removed from the table once created. Any other restore of the stored
+ * indexes waits for the claimed ones. An index left invalid by a failed or interrupted creation
+ * is dropped before retrying it and an index that was already created is not created again, so
+ * an interrupted restore can be resumed.
+ */
+public class IndexesRestorer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IndexesRestorer.class);
+
+  private static final String COUNT_INDEXES_SQL = "SELECT COUNT(*) FROM __migration__.indexes";
+
+  private static final String CLAIM_INDEX_SQL = """
+      SELECT statement
+        FROM __migration__.indexes
+        WHERE statement <> ALL (?)
+        ORDER BY pg_catalog.pg_relation_size(
+          pg_catalog.to_regclass(pg_catalog.to_jsonb(indexes) ->> 'table_name')) DESC NULLS LAST
+        LIMIT 1
+        FOR UPDATE SKIP LOCKED
+      """;
+
+  private static final String DELETE_INDEX_SQL =
+      "DELETE FROM __migration__.indexes WHERE statement = ?";
+
+  private static final String SET_SESSION_SQL = "SELECT pg_catalog.set_config(?, ?, false)";
+
+  private static final String IS_INDEX_VALID_SQL = """
+      SELECT indisvalid
+        FROM pg_catalog.pg_index
+        WHERE indexrelid = pg_catalog.to_regclass(?)
+      """;
+
+  private static final String IDENTIFIER_REGEX = "(?:\"(?:[^\"]|\"\")+\"|[^\\s\".]+)";
+
+  private static final Pattern CREATE_INDEX_PATTERN = Pattern.compile(
+      "^CREATE (UNIQUE )?INDEX (" + IDENTIFIER_REGEX + ") ON (?:ONLY )?(" + IDENTIFIER_REGEX + ")\\.",
+      Pattern.DOTALL);
+
+  private static final List<String> FOLLOWING_STATEMENT_PREFIXES = List.of(
+      ";\nALTER TABLE ", ";\nCOMMENT ON INDEX ");
+
+  private final SessionFactory sessionFactory;
+  private final int parallelism;
+  private final Map<String, String> settings;
+  private final Consumer<StackGresStreamIndexesStatus> statusConsumer;
+  private final ExecutorService executor;
+  private final Set<String> failedStatements = ConcurrentHashMap.newKeySet();
+  private final Set<Statement> runningStatements = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger restoredIndexCount = new AtomicInteger();
+  private volatile Instant start;
+  private volatile int totalIndexCount;
+  private volatile boolean cancelled;
+
+  IndexesRestorer(
+      SessionFactory sessionFactory,
+      int parallelism,
+      Map<String, String> settings,
+      Consumer<StackGresStreamIndexesStatus> statusConsumer) {
+    this.sessionFactory = sessionFactory;
+    this.parallelism = parallelism;
+    this.settings = settings;
+    this.statusConsumer = statusConsumer;
+    this.executor = Executors.newFixedThreadPool(parallelism,
+        r -> new Thread(r, "IndexesRestorer"));
+  }
+
+  public static IndexesRestorer create(
+      SessionFactory sessionFactory,
+      StackGresStreamTargetSgCluster sgCluster,
+      Consumer<StackGresStreamIndexesStatus> statusConsumer) {
+    final Map<String, String> settings = new LinkedHashMap<>();
+    Optional.ofNullable(sgCluster.getRestoreIndexesMaintenanceWorkMem())
+        .ifPresent(value -> settings.put("maintenance_work_mem", value));
+    Optional.ofNullable(sgCluster.getRestoreIndexesMaxParallelMaintenanceWorkers())
+        .map(String::valueOf)
+        .ifPresent(value -> settings.put("max_parallel_maintenance_workers", value));
+    return new IndexesRestorer(
+        sessionFactory,
+        Optional.ofNullable(sgCluster.getRestoreIndexesParallelism()).orElse(1),
+        settings,
+        statusConsumer);
+  }
+
+  /**
+   * Restore the stored indexes in background. The returned future completes when all the
+   * sessions finish. Indexes that fail to be restored are logged and kept in the table.
+   */
+  public CompletableFuture<Void> restore() {
+    return CompletableFuture
+        .runAsync(this::countIndexes, executor)
+        .thenCompose(ignored -> CompletableFuture.allOf(IntStream.range(0, parallelism)
+            .mapToObj(session -> CompletableFuture.runAsync(this::restoreIndexes, executor))
+            .toArray(CompletableFuture[]::new)))
+        .whenComplete((ignored, ex) -> {
+          executor.shutdown();
+          publishStatus(false);
+          if (ex != null) {
+            LOGGER.error("Restore of indexes for target database was interrupted", ex);
+          } else if (!failedStatements.isEmpty()) {
+            LOGGER.warn("Restore of indexes for target database completed with {} failed indexes",
+                failedStatements.size());
+          } else {
+            LOGGER.info("Restore of indexes for target database completed");
+          }
+        });
+  }
+
+  /**
+   * Cancel the running statements and wait for the sessions to release their connections.
+   * Indexes that were being restored remain stored.
+   */
+  public void cancel() {
+    cancelled = true;
+    runningStatements.forEach(statement -> {
+      try {
+        statement.cancel();
+      } catch (SQLException ex) {
+        LOGGER.debug("Error while cancelling index restore", ex);
+      }
+    });
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+        LOGGER.warn("Sessions restoring indexes did not terminate after cancel");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void countIndexes() {
+    start = Instant.now();
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      session.doWork(connection -> {
+        try (Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(COUNT_INDEXES_SQL)) {
+          resultSet.next();
+          totalIndexCount = resultSet.getInt(1);
+        }
+      });
+    }
+    LOGGER.info("Restoring {} indexes for target database using {} sessions",
+        totalIndexCount, parallelism);
+    publishStatus(true);
+  }
+
+  private void restoreIndexes() {
+    try (StatelessSession claimSession = sessionFactory.openStatelessSession();
+        StatelessSession createSession = sessionFactory.openStatelessSession()) {
+      claimSession.doWork(claimConnection -> createSession.doWork(
+          createConnection -> restoreIndexes(claimConnection, createConnection)));
+    }
+  }
+
+  private void restoreIndexes(Connection claimConnection, Connection createConnection)
+      throws SQLException {
+    final boolean claimAutoCommit = claimConnection.getAutoCommit();
+    final boolean createAutoCommit = createConnection.getAutoCommit();
+    claimConnection.setAutoCommit(false);
+    // CREATE INDEX CONCURRENTLY can not run inside a transaction block
+    createConnection.setAutoCommit(true);
+    try {
+      setSessionSettings(createConnection);
+      while (!cancelled) {
+        final String statement = claimIndex(claimConnection);
+        if (statement == null) {
+          claimConnection.commit();
+          return;
+        }
+        try {
+          restoreIndex(createConnection, statement);
+          deleteIndex(claimConnection, statement);
+          claimConnection.commit();
+          restoredIndexCount.incrementAndGet();
+        } catch (SQLException ex) {
+          claimConnection.rollback();
+          if (cancelled) {
+            return;
+          }
+          LOGGER.error("Error while restoring index for target database: {}", statement, ex);
+          failedStatements.add(statement);
+        }
+        publishStatus(true);
+      }
+    } finally {
+      claimConnection.rollback();
+      claimConnection.setAutoCommit(claimAutoCommit);
+      resetSessionSettings(createConnection);
+      createConnection.setAutoCommit(createAutoCommit);
+    }
+  }
+
+  private void setSessionSettings(Connection connection) throws SQLException {
+    for (var setting : settings.entrySet()) {
+      try (PreparedStatement statement = connection.prepareStatement(SET_SESSION_SQL)) {
+        statement.setString(1, setting.getKey());
+        statement.setString(2, setting.getValue());
+        statement.execute();
+      }
+    }
+  }
+
+  private void resetSessionSettings(Connection connection) {
+    for (var setting : settings.keySet()) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("RESET " + setting);
+      } catch (SQLException ex) {
+        LOGGER.debug("Error while resetting setting {} after restoring indexes", setting, ex);
+      }
+    }
+  }
+
+  private String claimIndex(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(CLAIM_INDEX_SQL)) {
+      statement.setArray(1, connection.createArrayOf("text", failedStatements.toArray()));
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next() ? resultSet.getString(1) : null;
+      }
+    }
+  }
+
+  private void deleteIndex(Connection connection, String indexStatement) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(DELETE_INDEX_SQL)) {
+      statement.setString(1, indexStatement);
+      statement.executeUpdate();
+    }
+  }
+
+  private void restoreIndex(Connection connection, String indexStatement) throws SQLException {
+    LOGGER.debug("Restoring index for target database: {}", indexStatement);
+    final Matcher matcher = CREATE_INDEX_PATTERN.matcher(indexStatement);
+    if (!matcher.find()) {
+      // Not a statement generated by pg_get_indexdef, run it in a transaction as is
+      connection.setAutoCommit(false);
+      try {
+        execute(connection, indexStatement);
+        connection.commit();
+      } finally {
+        connection.rollback();
+        connection.setAutoCommit(true);
+      }
+      return;
+    }
+    final String indexName = matcher.group(3) + "." + matcher.group(2);
+    final int createIndexEnd = FOLLOWING_STATEMENT_PREFIXES.stream()
+        .mapToInt(indexStatement::indexOf)
+        .filter(index -> index >= 0)
+        .min()
+        .orElse(indexStatement.length());
+    final Optional<Boolean> valid = isIndexValid(connection, indexName);
+    if (valid.isEmpty() || !valid.get()) {
+      if (valid.isPresent()) {
+        LOGGER.debug("Dropping invalid index {} left by a previous restore", indexName);
+        execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+      }
+      try {
+        execute(connection, "CREATE " + Optional.ofNullable(matcher.group(1)).orElse("")
+            + "INDEX CONCURRENTLY " + indexStatement.substring(matcher.start(2), createIndexEnd));
+      } catch (SQLException ex) {
+        dropInvalidIndex(connection, indexName);
+        throw ex;
+      }
+    }
+    if (createIndexEnd + 1 < indexStatement.length()) {
+      execute(connection, indexStatement.substring(createIndexEnd + 1));
+    }
+  }
+
+  private Optional<Boolean> isIndexValid(Connection connection, String indexName)
+      throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(IS_INDEX_VALID_SQL)) {
+      statement.setString(1, indexName);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next() ? Optional.of(resultSet.getBoolean(1)) : Optional.empty();
+      }
+    }
+  }
+
+  /**
+   * A failed {@code CREATE INDEX CONCURRENTLY} leaves an invalid index behind that would make
+   * any retry fail, drop it.
+   */
+  private void dropInvalidIndex(Connection connection, String indexName) {
+    try {
+      if (isIndexValid(connection, indexName).filter(valid -> !valid).isPresent()) {
+        execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+      }
+    } catch (SQLException ex) {
+      LOGGER.warn("Error while dropping invalid index {} for target database", indexName, ex);
+    }
+  }
+
+  private void execute(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      runningStatements.add(statement);
+      try {
+        statement.execute(sql);
+      } finally {
+        runningStatements.remove(statement);
+      }
+    }
+  }
+
+  private synchronized void publishStatus(boolean running) {
+    final StackGresStreamIndexesStatus status = new StackGresStreamIndexesStatus();
+    status.setRestoreRunning(running);
+    status.setRestoreCompleted(!running && !cancelled && failedStatements.isEmpty());
+    status.setTotalIndexCount(totalIndexCount);
+    status.setRemainingIndexCount(Math.max(0, totalIndexCount - restoredIndexCount.get()));
+    status.setFailedIndexCount(failedStatements.size());
+    Optional.ofNullable(start)
+        .map(value -> Duration.between(value, Instant.now()).toSeconds())
+        .ifPresent(status::setRestoreDurationInSeconds);
+    statusConsumer.accept(status);
+  }
+
+}
@@ -2,11 +2,12 @@ DO $$
   DECLARE
     statement_to_restore text;
   BEGIN
-    DROP TABLE IF EXISTS __migration__indexes_to_restore; 
-    CREATE TEMPORARY TABLE __migration__indexes_to_restore AS SELECT statement FROM __migration__.indexes; 
     FOR statement_to_restore IN (
         SELECT statement
-        FROM __migration__indexes_to_restore) LOOP
+        FROM __migration__.indexes
+        ORDER BY pg_catalog.pg_relation_size(
+          pg_catalog.to_regclass(pg_catalog.to_jsonb(indexes) ->> 'table_name')) DESC NULLS LAST
+        FOR UPDATE) LOOP
       EXECUTE statement_to_restore;
       DELETE FROM __migration__.indexes WHERE statement = statement_to_restore;
     END LOOP;
@@ -10,7 +10,9 @@ CREATE TABLE IF NOT EXISTS __migration__.indexes AS
       ELSE '' END
       || COALESCE(E'\n' || 'COMMENT ON INDEX ' || pg_catalog.quote_ident(pg_namespace.nspname) || '.'
       || pg_catalog.quote_ident(pg_class_index.relname) || ' IS ' || quote_literal(pg_description.description)
-      || ';', '') AS statement
+      || ';', '') AS statement,
+      pg_catalog.quote_ident(pg_namespace.nspname) || '.'
+      || pg_catalog.quote_ident(pg_class_table.relname) AS table_name
     FROM pg_catalog.pg_index
       INNER JOIN pg_catalog.pg_class pg_class_table ON pg_class_table.oid = pg_index.indrelid
       INNER JOIN pg_catalog.pg_class pg_class_index ON pg_class_index.oid = pg_index.indexrelid
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MetricsTest {
+
+  private SimpleMeterRegistry registry;
+
+  private Metrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    metrics = new Metrics(registry);
+  }
+
+  @Test
+  void totals_shouldBeRegisteredOnceAndFollowTheIncrements() {
+    metrics.incrementTotalNumberOfEventsSent(3);
+    metrics.incrementTotalNumberOfEventsSent(2);
+    metrics.incrementTotalNumberOfErrorsSeen();
+    metrics.setLastEventWasSent(false);
+
+    assertEquals(5, metrics.getTotalNumberOfEventsSent());
+    assertEquals(5, registry.get("stream_total_number_of_events_sent").functionCounter().count());
+    assertEquals(1, registry.get("stream_total_number_of_errors_seen").functionCounter().count());
+    assertEquals(0, registry.get("stream_last_event_was_sent").gauge().value());
+  }
+
+  @Test
+  void gauge_shouldNormalizeTheAttributeNameAndKeepTheLastValue() {
+    metrics.gauge("MilliSecondsBehindSource", 10L);
+    metrics.gauge("MilliSecondsBehindSource", 20L);
+
+    assertEquals(1, registry.find("stream_milli_seconds_behind_source").gauges().size());
+    assertEquals(20, registry.get("stream_milli_seconds_behind_source").gauge().value());
+  }
+
+  @Test
+  void recordEventSent_shouldCountEventsByTableAndRecordTheLatency() {
+    metrics.recordEventSent("public.test", System.currentTimeMillis() - 1000);
+    metrics.recordEventSent("public.test", null);
+    metrics.recordEventSent("public.other", null);
+
+    assertEquals(2, registry.get("stream_table_events_sent").tag("table", "public.test")
+        .counter().count());
+    assertEquals(1, registry.get("stream_table_events_sent").tag("table", "public.other")
+        .counter().count());
+    assertEquals(1, registry.get("stream_event_latency").timer().count());
+    assertTrue(registry.get("stream_event_latency").timer()
+        .totalTime(TimeUnit.MILLISECONDS) >= 1000);
+  }
+
+}
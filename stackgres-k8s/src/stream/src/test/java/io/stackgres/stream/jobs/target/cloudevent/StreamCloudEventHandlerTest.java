@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.cloudevent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import io.debezium.engine.ChangeEvent;
+import io.debezium.engine.DebeziumEngine.RecordCommitter;
+import io.debezium.engine.Header;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.stream.jobs.Metrics;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StreamCloudEventHandlerTest {
+
+  private static final URI BASE_URI = URI.create("http://localhost");
+
+  @Mock
+  private Client client;
+
+  @Mock
+  private WebTarget webTarget;
+
+  @Mock
+  private Invocation.Builder invocationBuilder;
+
+  @Mock
+  private Response response;
+
+  @Mock
+  private RecordCommitter<ChangeEvent<String, String>> committer;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private StreamCloudEventHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    handler = new StreamCloudEventHandler();
+    handler.metrics = new Metrics(registry);
+  }
+
+  @Test
+  void attributes_shouldReadTopLevelFieldsOnly() throws Exception {
+    var attributes = handler.attributes(changeEvent(
+        "{\"data\":{\"id\":\"nested\",\"source\":[\"nested\"]},\"id\":\"1\","
+            + "\"specversion\":\"1.0\",\"type\":\"test\",\"source\":\"/test\"}"));
+
+    assertEquals(new StreamCloudEventHandler.CloudEventAttributes("1", "1.0", "test", "/test",
+        null, null, null), attributes);
+  }
+
+  @Test
+  void attributes_shouldPreferChangeEventHeaders() throws Exception {
+    var attributes = handler.attributes(changeEvent(
+        "{\"id\":\"1\",\"specversion\":\"1.0\",\"type\":\"test\",\"source\":\"/test\"}",
+        header("ce_id", "2"), header("ce-type", "header"), header("other", "value")));
+
+    assertEquals(new StreamCloudEventHandler.CloudEventAttributes("2", "1.0", "header", "/test",
+        null, null, null), attributes);
+  }
+
+  @Test
+  void attributes_shouldReadDebeziumExtensionAttributes() throws Exception {
+    var attributes = handler.attributes(changeEvent(
+        "{\"id\":\"1\",\"specversion\":\"1.0\",\"type\":\"test\",\"source\":\"/test\","
+            + "\"iodebeziumtsms\":1700000000000,\"iodebeziumschema\":\"public\","
+            + "\"iodebeziumtable\":\"test\",\"data\":{}}"));
+
+    assertEquals(new StreamCloudEventHandler.CloudEventAttributes("1", "1.0", "test", "/test",
+        "public", "test", "1700000000000"), attributes);
+  }
+
+  @Test
+  void consumeEvents_shouldSendBatchesAndMarkProcessedInOrder() throws Exception {
+    when(client.target(BASE_URI)).thenReturn(webTarget);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any())).thenReturn(response);
+    when(response.getStatus()).thenReturn(200);
+    var changeEvents = changeEvents(5);
+
+    handler.new RetryHandler(BASE_URI, client, 1000, Map.of(), 2, 1)
+        .consumeEvents(changeEvents, committer);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Entity<String>> entityCaptor = ArgumentCaptor.forClass(Entity.class);
+    verify(invocationBuilder, times(3)).post(entityCaptor.capture());
+    verify(invocationBuilder, never()).header(anyString(), any());
+    assertEquals("application/cloudevents-batch+json",
+        entityCaptor.getValue().getMediaType().toString());
+    assertEquals(List.of(
+        "[" + changeEvents.get(0).value() + "," + changeEvents.get(1).value() + "]",
+        "[" + changeEvents.get(2).value() + "," + changeEvents.get(3).value() + "]",
+        "[" + changeEvents.get(4).value() + "]"),
+        entityCaptor.getAllValues().stream().map(Entity::getEntity).toList());
+    InOrder inOrder = inOrder(committer);
+    for (var changeEvent : changeEvents) {
+      inOrder.verify(committer).markProcessed(changeEvent);
+    }
+    inOrder.verify(committer).markBatchFinished();
+    assertEquals(5, handler.metrics.getTotalNumberOfEventsSent());
+    assertEquals(5, registry.get("stream_table_events_sent").tag("table", "/test")
+        .counter().count());
+    assertEquals("4", handler.metrics.getLastEventSent());
+  }
+
+  @Test
+  void consumeEvents_shouldSendConcurrentlyAndMarkProcessedInOrder() throws Exception {
+    when(client.target(BASE_URI)).thenReturn(webTarget);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    CountDownLatch requestsSent = new CountDownLatch(3);
+    List<String> sent = Collections.synchronizedList(new ArrayList<>());
+    when(invocationBuilder.header(anyString(), any())).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any())).then(invocation -> {
+      requestsSent.countDown();
+      // All the requests in the window must be in flight at the same time for this to succeed
+      if (!requestsSent.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("Requests were not sent concurrently");
+      }
+      sent.add(invocation.<Entity<String>>getArgument(0).getEntity());
+      return response;
+    });
+    when(response.getStatus()).thenReturn(200);
+    var changeEvents = changeEvents(3);
+
+    handler.new RetryHandler(BASE_URI, client, 1000, Map.of(), 1, 3)
+        .consumeEvents(changeEvents, committer);
+
+    assertEquals(3, sent.size());
+    verify(invocationBuilder).header("ce-id", "0");
+    InOrder inOrder = inOrder(committer);
+    for (var changeEvent : changeEvents) {
+      inOrder.verify(committer).markProcessed(changeEvent);
+    }
+    inOrder.verify(committer).markBatchFinished();
+  }
+
+  @Test
+  void consumeEvents_shouldStopTheRequestsInFlightWhenARequestFails() throws Exception {
+    when(client.target(BASE_URI)).thenReturn(webTarget);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.header(anyString(), any())).thenReturn(invocationBuilder);
+    CountDownLatch stuckRequestSent = new CountDownLatch(1);
+    AtomicBoolean stuckRequestInterrupted = new AtomicBoolean(false);
+    when(invocationBuilder.post(any())).then(invocation -> {
+      if (invocation.<Entity<String>>getArgument(0).getEntity().contains("\"id\":\"1\"")) {
+        stuckRequestSent.countDown();
+        try {
+          Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException ex) {
+          stuckRequestInterrupted.set(true);
+          Thread.currentThread().interrupt();
+          throw new ProcessingException(ex);
+        }
+        return response;
+      }
+      stuckRequestSent.await(10, TimeUnit.SECONDS);
+      throw new IllegalStateException("test");
+    });
+    var changeEvents = changeEvents(2);
+
+    assertThrows(RuntimeException.class, () -> handler.new RetryWithLimitHandler(
+        BASE_URI, client, 1, 1, Map.of(), 1, 2)
+        .consumeEvents(changeEvents, committer));
+
+    assertTrue(stuckRequestInterrupted.get());
+    verify(committer, never()).markProcessed(any());
+    assertEquals(2, registry.get("stream_cloudevent_batch_size").summary().count());
+  }
+
+  @Test
+  void sendCloudEvents_shouldAcceptAnySuccessfulStatusAndCloseTheResponse() throws Exception {
+    when(client.target(BASE_URI)).thenReturn(webTarget);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.header(anyString(), any())).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any())).thenReturn(response);
+    when(response.getStatus()).thenReturn(202);
+
+    String id = handler.new RetryHandler(BASE_URI, client, 1000, Map.of(), 1, 1)
+        .sendCloudEvents(changeEvents(1));
+
+    assertEquals("0", id);
+    verify(response).close();
+  }
+
+  @Test
+  void sendCloudEvents_shouldFailOnErrorStatusAndCloseTheResponse() throws Exception {
+    when(client.target(BASE_URI)).thenReturn(webTarget);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.header(anyString(), any())).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any())).thenReturn(response);
+    when(response.getStatus()).thenReturn(500);
+    when(response.hasEntity()).thenReturn(true);
+    when(response.readEntity(String.class)).thenReturn("failure");
+    var retryHandler = handler.new RetryHandler(BASE_URI, client, 1000, Map.of(), 1, 1);
+    var changeEvents = changeEvents(1);
+
+    RuntimeException ex = assertThrows(RuntimeException.class,
+        () -> retryHandler.sendCloudEvents(changeEvents));
+
+    assertEquals("Error 500: failure", ex.getMessage());
+    verify(response).close();
+  }
+
+  private List<ChangeEvent<String, String>> changeEvents(int size) {
+    return IntStream.range(0, size)
+        .mapToObj(index -> changeEvent("{\"id\":\"" + index
+            + "\",\"specversion\":\"1.0\",\"type\":\"test\",\"source\":\"/test\"}"))
+        .toList();
+  }
+
+  @SafeVarargs
+  private ChangeEvent<String, String> changeEvent(String value, Header<Object>... headers) {
+    return new ChangeEvent<String, String>() {
+      @Override
+      public String key() {
+        return null;
+      }
+
+      @Override
+      public String value() {
+        return value;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public <H> List<Header<H>> headers() {
+        return List.of(headers).stream().map(header -> (Header<H>) header).toList();
+      }
+
+      @Override
+      public String destination() {
+        return null;
+      }
+
+      @Override
+      public Integer partition() {
+        return null;
+      }
+    };
+  }
+
+  private Header<Object> header(String key, Object value) {
+    return new Header<Object>() {
+      @Override
+      public String getKey() {
+        return key;
+      }
+
+      @Override
+      public Object getValue() {
+        return value;
+      }
+    };
+  }
+
+}
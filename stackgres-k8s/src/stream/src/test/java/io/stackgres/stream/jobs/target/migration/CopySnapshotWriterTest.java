@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CopySnapshotWriterTest {
+
+  @Test
+  void appendValue_shouldEscapeTextFormatSpecialCharacters() throws Exception {
+    assertEquals("a\\\\b\\nc\\rd\\te", text("a\\b\nc\rd\te"));
+    assertEquals("\\N", text(null));
+  }
+
+  @Test
+  void appendValue_shouldFormatValuesForTheColumnTypeInputFunction() throws Exception {
+    assertEquals("t", text(true));
+    assertEquals("1000", text(new BigDecimal("1E+3")));
+    assertEquals("42", text(42L));
+    assertEquals("\\\\x01ff", text(new byte[] { 1, (byte) 0xff }));
+    assertEquals("2024-01-02", text(LocalDate.of(2024, 1, 2)));
+    assertEquals("2024-01-02T03:04:05.000006",
+        text(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6000)));
+    assertEquals("2024-01-02T03:04:05+02:00",
+        text(ZonedDateTime.of(2024, 1, 2, 3, 4, 5, 0, ZoneOffset.ofHours(2))));
+  }
+
+  @Test
+  void appendValue_shouldFormatArrayLiterals() throws Exception {
+    assertEquals("{\"a\",NULL,\"b\\\\\\\\\\\\\"c\"}", text(Arrays.asList("a", null, "b\\\"c")));
+    assertEquals("{\"1\",\"2\"}", text(List.of(1, 2)));
+  }
+
+  @Test
+  void appendValue_shouldFormatDatesInIso8601() throws Exception {
+    assertEquals("2024-01-02T03:04:05.006Z",
+        text(Date.from(Instant.parse("2024-01-02T03:04:05.006Z"))));
+    assertEquals("2024-01-02", text(java.sql.Date.valueOf(LocalDate.of(2024, 1, 2))));
+    assertEquals("03:04:05", text(java.sql.Time.valueOf(LocalTime.of(3, 4, 5))));
+    assertEquals("2024-01-02T03:04:05.000006", text(java.sql.Timestamp.valueOf(
+        LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6000))));
+  }
+
+  @Test
+  void appendValue_shouldFormatNestedArrayLiterals() throws Exception {
+    assertEquals("{{\"1\",\"2\"},{\"3\",NULL}}",
+        text(List.of(List.of(1, 2), Arrays.asList(3, null))));
+    assertEquals("{{\"a\\\\\"{b}\"},{\"c\"}}", text(List.of(List.of("a\"{b}"), List.of("c"))));
+  }
+
+  @Test
+  void appendValue_shouldFailForUnsupportedValues() {
+    assertThrows(SQLException.class, () -> text(new Object()));
+  }
+
+  private String text(Object value) throws SQLException {
+    StringBuilder row = new StringBuilder();
+    CopySnapshotWriter.appendValue(row, value);
+    return row.toString();
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stackgres.stream.jobs.Metrics;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SnapshotWritersTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final List<TestSnapshotWriter> writers = Collections.synchronizedList(new ArrayList<>());
+
+  private CountDownLatch tablesWritten = new CountDownLatch(0);
+
+  private SnapshotWriters snapshotWriters;
+
+  @AfterEach
+  void tearDown() {
+    snapshotWriters.close();
+  }
+
+  @Test
+  void write_shouldWriteEachTableInOrderWithTheSameWriterAndTablesConcurrently() {
+    snapshotWriters = new SnapshotWriters(2, TestSnapshotWriter::new, SinkRecord::topic,
+        new Metrics(registry));
+    // The topics hash to different writers
+    tablesWritten = new CountDownLatch(2);
+    SinkRecord a1 = record("a");
+    SinkRecord b1 = record("b");
+    SinkRecord a2 = record("a");
+    SinkRecord b2 = record("b");
+
+    snapshotWriters.write(List.of(a1, b1, a2, b2));
+
+    assertEquals(2, writers.size());
+    assertTrue(writers.stream().anyMatch(writer -> writer.written.equals(List.of(List.of(a1, a2)))));
+    assertTrue(writers.stream().anyMatch(writer -> writer.written.equals(List.of(List.of(b1, b2)))));
+    assertEquals(2, registry.get("stream_snapshot_records_written").tag("table", "a")
+        .counter().count());
+    assertEquals(1, registry.get("stream_snapshot_write_duration").tag("table", "b")
+        .timer().count());
+  }
+
+  @Test
+  void write_shouldThrowTheWriterFailureAfterAllWritersComplete() {
+    RuntimeException failure = new RuntimeException("test");
+    snapshotWriters = new SnapshotWriters(2, () -> new TestSnapshotWriter(failure),
+        SinkRecord::topic, new Metrics(registry));
+
+    assertSame(failure, assertThrows(RuntimeException.class,
+        () -> snapshotWriters.write(List.of(record("a")))));
+  }
+
+  private SinkRecord record(String topic) {
+    return new SinkRecord(topic, 0, null, null, null, null, 0);
+  }
+
+  class TestSnapshotWriter implements SnapshotWriters.SnapshotWriter {
+
+    final List<List<SinkRecord>> written = new ArrayList<>();
+    final RuntimeException failure;
+
+    TestSnapshotWriter() {
+      this(null);
+    }
+
+    TestSnapshotWriter(RuntimeException failure) {
+      this.failure = failure;
+      writers.add(this);
+    }
+
+    @Override
+    public void write(List<SinkRecord> records) {
+      if (failure != null) {
+        throw failure;
+      }
+      tablesWritten.countDown();
+      try {
+        // Both tables must be written at the same time for this to succeed
+        if (!tablesWritten.await(10, TimeUnit.SECONDS)) {
+          throw new IllegalStateException("Tables were not written concurrently");
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(ex);
+      }
+      written.add(records);
+    }
+
+    @Override
+    public void close() {
+    }
+
+  }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2019 OnGres, Inc.
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+
+package io.stackgres.stream.jobs.target.migration.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.stackgres.common.crd.sgstream.StackGresStreamIndexesStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.jdbc.Work;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IndexesRestorerTest {
+
+  private static final String INDEX_A = "CREATE INDEX a ON public.t USING btree (c);";
+
+  private static final String INDEX_B = "CREATE UNIQUE INDEX b ON public.t USING btree (d);"
+      + "\nCOMMENT ON INDEX public.b IS 'test';";
+
+  @Mock
+  private SessionFactory sessionFactory;
+
+  @Mock
+  private StatelessSession claimSession;
+
+  @Mock
+  private StatelessSession createSession;
+
+  @Mock
+  private Connection claimConnection;
+
+  @Mock
+  private Connection createConnection;
+
+  @Mock
+  private Statement countStatement;
+
+  @Mock
+  private Statement createStatement;
+
+  @Mock
+  private ResultSet countResultSet;
+
+  @Mock
+  private PreparedStatement setSessionStatement;
+
+  @Mock
+  private PreparedStatement claimStatement;
+
+  @Mock
+  private ResultSet claimResultSet;
+
+  @Mock
+  private PreparedStatement deleteStatement;
+
+  @Mock
+  private PreparedStatement isIndexValidStatement;
+
+  @Mock
+  private ResultSet isIndexValidResultSet;
+
+  private final List<StackGresStreamIndexesStatus> statuses = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(sessionFactory.openStatelessSession())
+        .thenReturn(claimSession, claimSession, createSession);
+    doWork(claimSession, claimConnection);
+    doWork(createSession, createConnection);
+    when(claimConnection.createStatement()).thenReturn(countStatement);
+    when(countStatement.executeQuery(anyString())).thenReturn(countResultSet);
+    when(countResultSet.getInt(1)).thenReturn(2);
+    when(claimConnection.prepareStatement(anyString())).then(invocation -> {
+      String sql = invocation.getArgument(0);
+      if (sql.contains("FOR UPDATE SKIP LOCKED")) {
+        return claimStatement;
+      }
+      return deleteStatement;
+    });
+    when(claimStatement.executeQuery()).thenReturn(claimResultSet);
+    when(claimResultSet.next()).thenReturn(true, true, false);
+    when(claimResultSet.getString(1)).thenReturn(INDEX_A, INDEX_B);
+    when(claimConnection.getAutoCommit()).thenReturn(true);
+    when(createConnection.createStatement()).thenReturn(createStatement);
+    lenient().when(createConnection.prepareStatement(anyString())).then(invocation -> {
+      String sql = invocation.getArgument(0);
+      if (sql.contains("set_config")) {
+        return setSessionStatement;
+      }
+      return isIndexValidStatement;
+    });
+    lenient().when(isIndexValidStatement.executeQuery()).thenReturn(isIndexValidResultSet);
+    when(createConnection.getAutoCommit()).thenReturn(true);
+  }
+
+  private void doWork(StatelessSession session, Connection connection) {
+    doAnswer(invocation -> {
+      invocation.<Work>getArgument(0).execute(connection);
+      return null;
+    }).when(session).doWork(any());
+  }
+
+  @Test
+  void restore_shouldCreateEachClaimedIndexConcurrentlyAndRemoveIt() throws Exception {
+    new IndexesRestorer(sessionFactory, 1, Map.of("maintenance_work_mem", "1GB"), statuses::add)
+        .restore()
+        .join();
+
+    verify(createStatement).execute("CREATE INDEX CONCURRENTLY a ON public.t USING btree (c);");
+    verify(createStatement).execute(
+        "CREATE UNIQUE INDEX CONCURRENTLY b ON public.t USING btree (d)");
+    verify(createStatement).execute("\nCOMMENT ON INDEX public.b IS 'test';");
+    verify(isIndexValidStatement).setString(1, "public.a");
+    verify(isIndexValidStatement).setString(1, "public.b");
+    verify(deleteStatement).setString(1, INDEX_A);
+    verify(deleteStatement).setString(1, INDEX_B);
+    verify(setSessionStatement, times(1)).setString(2, "1GB");
+    verify(createStatement).execute("RESET maintenance_work_mem");
+    verify(createConnection, never()).setAutoCommit(false);
+    verify(claimConnection).setAutoCommit(false);
+    verify(claimConnection).setAutoCommit(true);
+    StackGresStreamIndexesStatus status = statuses.get(statuses.size() - 1);
+    assertFalse(status.getRestoreRunning());
+    assertTrue(status.getRestoreCompleted());
+    assertEquals(2, status.getTotalIndexCount());
+    assertEquals(0, status.getRemainingIndexCount());
+    assertEquals(0, status.getFailedIndexCount());
+  }
+
+  @Test
+  void restore_shouldDropTheInvalidIndexAndKeepFailedIndexesAndContinueWithTheOthers()
+      throws Exception {
+    doThrow(new SQLException("duplicate key")).when(createStatement)
+        .execute("CREATE INDEX CONCURRENTLY a ON public.t USING btree (c);");
+    when(isIndexValidResultSet.next()).thenReturn(false, true, false);
+    when(isIndexValidResultSet.getBoolean(1)).thenReturn(false);
+
+    new IndexesRestorer(sessionFactory, 1, Map.of(), statuses::add)
+        .restore()
+        .join();
+
+    verify(createStatement).execute("DROP INDEX CONCURRENTLY IF EXISTS public.a");
+    verify(createStatement).execute(
+        "CREATE UNIQUE INDEX CONCURRENTLY b ON public.t USING btree (d)");
+    verify(deleteStatement, never()).setString(1, INDEX_A);
+    verify(deleteStatement).setString(1, INDEX_B);
+    StackGresStreamIndexesStatus status = statuses.get(statuses.size() - 1);
+    assertFalse(status.getRestoreCompleted());
+    assertEquals(1, status.getRemainingIndexCount());
+    assertEquals(1, status.getFailedIndexCount());
+  }
+
+  @Test
+  void restore_shouldNotCreateAgainAnIndexThatIsAlreadyValid() throws Exception {
+    when(isIndexValidResultSet.next()).thenReturn(true, false);
+    when(isIndexValidResultSet.getBoolean(1)).thenReturn(true);
+
+    new IndexesRestorer(sessionFactory, 1, Map.of(), statuses::add)
+        .restore()
+        .join();
+
+    verify(createStatement, never()).execute(
+        "CREATE INDEX CONCURRENTLY a ON public.t USING btree (c);");
+    verify(createStatement, never()).execute("DROP INDEX CONCURRENTLY IF EXISTS public.a");
+    verify(deleteStatement).setString(1, INDEX_A);
+    verify(deleteStatement).setString(1, INDEX_B);
+    assertTrue(statuses.get(statuses.size() - 1).getRestoreCompleted());
+  }
+
+}